@@ -21,6 +21,8 @@ import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_INS_BYLEVEL;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_INS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_LNS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_MAINTREE_MAXDEPTH;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_UPPER_IN_KEY_BYTES;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_UPPER_IN_SLOTS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_GROUP_DESC;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_GROUP_NAME;
 
@@ -111,6 +113,43 @@ public class BtreeStats extends DatabaseStats {
         return stats.getInt(BT_COUNT_MAINTREE_MAXDEPTH);
     }
 
+    /**
+     * Returns the number of bytes used to store keys in the Internal Nodes
+     * of the database btree, including key prefixes. Bottom Internal Nodes
+     * are not included.
+     *
+     * @since 18.3.13
+     */
+    public long getUpperINKeyBytes() {
+        return stats.getLong(BT_COUNT_UPPER_IN_KEY_BYTES);
+    }
+
+    /**
+     * Returns the number of slots in the Internal Nodes of the database
+     * btree. Bottom Internal Nodes are not included.
+     *
+     * @since 18.3.13
+     */
+    public long getUpperINSlotCount() {
+        return stats.getLong(BT_COUNT_UPPER_IN_SLOTS);
+    }
+
+    /**
+     * Returns the average number of key bytes per slot in the Internal Nodes
+     * of the database btree, or zero if there are no Internal Nodes. This is
+     * {@link #getUpperINKeyBytes} divided by {@link #getUpperINSlotCount}.
+     * Smaller keys in Internal Nodes allow more of them to fit in cache.
+     *
+     * @since 18.3.13
+     */
+    public float getAvgUpperINKeyBytes() {
+        final long slots = getUpperINSlotCount();
+        if (slots == 0) {
+            return 0;
+        }
+        return ((float) getUpperINKeyBytes()) / slots;
+    }
+
     /**
      * @deprecated as of 5.0, returns zero.
      */
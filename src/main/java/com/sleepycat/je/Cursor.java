@@ -191,6 +191,12 @@ public class Cursor implements ForwardCursor {
 
     private boolean includeInOpStats = true;
 
+    /*
+     * Whether a put may use the BIN the cursor is positioned on as a hint
+     * for the insertion; see putNoNotify.
+     */
+    private boolean useInsertHint = false;
+
     /*
      * For range searches, it establishes the upper bound (K2) of the search
      * range via a function that returns false if a key is >= K2.
@@ -396,6 +402,15 @@ public class Cursor implements ForwardCursor {
         includeInOpStats = false;
     }
 
+    /**
+     * Allows puts to insert into the cursor's current BIN without a tree
+     * search, when the key falls within it. Used by Database.putAll, whose
+     * records are written in key order.
+     */
+    void enableInsertHint() {
+        useInsertHint = true;
+    }
+
     /**
      * Internal entrypoint.
      */
@@ -1325,6 +1340,196 @@ public class Cursor implements ForwardCursor {
         return position(key, data, lockMode, cacheMode, getType == Get.FIRST);
     }
 
+    /**
+     * Moves the cursor forward or backward over multiple records, returning
+     * each record's key and data, and returns the number of records found.
+     *
+     * <p>This method is equivalent to calling {@link
+     * #get(DatabaseEntry, DatabaseEntry, Get, ReadOptions)} repeatedly with
+     * the given getType, until {@code keys.length} records have been returned
+     * or no more records are found. The i-th record is returned via {@code
+     * keys[i]} and {@code datas[i]}. On return the cursor is positioned on
+     * the last record returned, or is unmoved if no records are found.</p>
+     *
+     * <p>The difference is that records in the same BIN (bottom internal
+     * node) are returned under a single BIN latch acquisition, and without
+     * creating a new internal cursor for each record. For large scans this
+     * reduces the per-record overhead considerably. The array elements may
+     * be reused across calls, like the DatabaseEntry parameters of other
+     * cursor methods.</p>
+     *
+     * <p>Each record returned is locked according to the {@link
+     * ReadOptions#getLockMode() lock mode} specified, and the locks are held
+     * as they would be for the equivalent sequence of {@code get} calls. For
+     * a transactional cursor (other than a read-committed cursor), all locks
+     * are held until the transaction ends. For a non-transactional or
+     * read-committed cursor, only the lock on the last record returned is
+     * held until the next cursor operation.</p>
+     *
+     * <p>The batched access path is used only for a database without
+     * duplicates, and when serializable isolation and a {@link
+     * TransactionConfig#setNoWait no-wait} default are not in effect. In
+     * other cases, and for secondary cursors, this method simply performs
+     * the equivalent sequence of {@code get} calls.</p>
+     *
+     * @param keys the keys returned as
+     * <a href="DatabaseEntry.html#outParam">output</a>. May not be null or
+     * empty. An element may be null, in which case the key is not returned.
+     *
+     * @param datas the data returned as
+     * <a href="DatabaseEntry.html#outParam">output</a>, or null if no data
+     * should be returned. If non-null, it must be at least as long as the
+     * keys array. An element may be null, in which case the data is not
+     * returned.
+     *
+     * @param getType is {@link Get#NEXT} or {@link Get#PREV}. If the cursor is
+     * uninitialized, it will be moved to the first or last record,
+     * respectively, as with {@code get}.
+     *
+     * @param options the ReadOptions, or null to use default options.
+     *
+     * @return the number of records returned, which is zero if the record
+     * requested is not found.
+     *
+     * @throws OperationFailureException if one of the <a
+     * href="OperationFailureException.html#readFailures">Read Operation
+     * Failures</a> occurs.
+     *
+     * @throws EnvironmentFailureException if an unexpected, internal or
+     * environment-wide failure occurs.
+     *
+     * @throws IllegalStateException if the cursor or database has been closed,
+     * or the non-transactional cursor was created in a different thread.
+     *
+     * @throws IllegalArgumentException if an invalid parameter is specified.
+     * This includes passing a null or empty keys array, a datas array that is
+     * shorter than the keys array, a getType other than NEXT or PREV, and
+     * specifying a {@link ReadOptions#getLockMode() lock mode} of
+     * READ_COMMITTED.
+     *
+     * @since 18.3.13
+     */
+    public int getBatch(
+        final DatabaseEntry[] keys,
+        final DatabaseEntry[] datas,
+        final Get getType,
+        ReadOptions options) {
+
+        try {
+            checkOpen();
+
+            DatabaseUtil.checkForZeroLengthArrayParam(keys, "keys");
+            DatabaseUtil.checkForNullParam(getType, "getType");
+
+            if (datas != null && datas.length < keys.length) {
+                throw new IllegalArgumentException(
+                    "datas array is shorter than keys array");
+            }
+
+            if (getType != Get.NEXT && getType != Get.PREV) {
+                throw new IllegalArgumentException(
+                    "getType must be NEXT or PREV: " + getType);
+            }
+
+            if (options == null) {
+                options = DEFAULT_READ_OPTIONS;
+            }
+
+            final LockMode lockMode = options.getLockMode();
+
+            trace(
+                Level.FINEST, "Cursor.getBatch: ", String.valueOf(getType),
+                null, null, lockMode);
+
+            final boolean useBatch =
+                !isSecondaryCursor() &&
+                !dbImpl.getSortedDuplicates() &&
+                !isSerializableIsolation(lockMode) &&
+                !cursorImpl.getLocker().getDefaultNoWait();
+
+            int nFound = 0;
+
+            while (nFound < keys.length) {
+
+                /*
+                 * Move to the next record with get(), which may block on a
+                 * lock and may cross into another BIN.
+                 */
+                if (getInternal(
+                    keys[nFound], (datas != null) ? datas[nFound] : null,
+                    getType, options, lockMode) == null) {
+                    break;
+                }
+
+                nFound += 1;
+
+                if (useBatch) {
+                    /* Return the following records in the same BIN. */
+                    nFound += retrieveNextBatch(
+                        keys, datas, nFound, lockMode, options.getCacheMode(),
+                        getType == Get.NEXT);
+                }
+            }
+
+            return nFound;
+
+        } catch (Error E) {
+            dbImpl.getEnv().invalidate(E);
+            throw E;
+        }
+    }
+
+    /**
+     * Returns the records following the current position in the current BIN,
+     * for getBatch. The cursor must be initialized.
+     */
+    private int retrieveNextBatch(
+        final DatabaseEntry[] keys,
+        final DatabaseEntry[] datas,
+        final int offset,
+        final LockMode lockMode,
+        final CacheMode cacheMode,
+        final boolean forward) {
+
+        if (offset >= keys.length) {
+            return 0;
+        }
+
+        synchronized (getTxnSynchronizer()) {
+
+            checkTxnState();
+
+            final Locker locker = cursorImpl.getLocker();
+
+            final CursorImpl dup =
+                beginMoveCursor(true /*samePosition*/, cacheMode);
+
+            int nFound = 0;
+            try {
+                nFound = dup.getNextBatch(
+                    keys, datas, offset, keys.length,
+                    getLockType(lockMode, false),
+                    lockMode == LockMode.READ_UNCOMMITTED_ALL,
+                    forward, rangeConstraint,
+                    !locker.isTransactional() ||
+                    locker.isReadCommittedIsolation());
+            } finally {
+
+                /*
+                 * The position is unchanged when no records are found, so a
+                 * non-cloned cursor must not be reset.
+                 */
+                endMoveCursor(dup, nFound > 0 || dup == cursorImpl);
+            }
+
+            if (nFound > 0 && includeInOpStats) {
+                dbImpl.getEnv().incPositionOps(dbImpl, nFound);
+            }
+
+            return nFound;
+        }
+    }
+
     /**
      * Returns the key/data pair to which the cursor refers.
      *
@@ -2934,10 +3139,19 @@ public class Cursor implements ForwardCursor {
 
             dup = beginMoveCursor(false /*samePosition*/, cacheMode);
 
+            /*
+             * When the cursor was cloned, its current BIN remains pinned by
+             * cursorImpl until endMoveCursor, and may be used for the insert
+             * if the key falls within it.
+             */
+            final BIN hintBIN =
+                (useInsertHint && dup != cursorImpl) ?
+                cursorImpl.getBIN() : null;
+
             /* Perform operation. */
             result = dup.insertOrUpdateRecord(
                 key, data, ln, expInfo, putMode,
-                returnOldData, returnNewData, repContext);
+                returnOldData, returnNewData, hintBIN, repContext);
 
             if (includeInOpStats) {
                 if (result == null) {
@@ -15,8 +15,10 @@ package com.sleepycat.je;
 
 import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -31,6 +33,7 @@ import com.sleepycat.je.dbi.TriggerManager;
 import com.sleepycat.je.evictor.OffHeapCache;
 import com.sleepycat.je.tree.BIN;
 import com.sleepycat.je.tree.IN;
+import com.sleepycat.je.tree.Key;
 import com.sleepycat.je.txn.HandleLocker;
 import com.sleepycat.je.txn.Locker;
 import com.sleepycat.je.txn.LockerFactory;
@@ -344,6 +347,17 @@ public class Database implements Closeable {
             }
         }
 
+        /* Check if DataCompression property is updated. */
+        boolean newDataCompression = config.getDataCompression();
+        if (newDataCompression != dbImpl.getDataCompression()) {
+            dbImplModified = true;
+            if (newDataCompression) {
+                dbImpl.setDataCompression();
+            } else {
+                dbImpl.clearDataCompression();
+            }
+        }
+
         /*
          * Check if NodeMaxEntries properties are updated.
          */
@@ -1645,6 +1659,154 @@ public class Database implements Closeable {
         }
     }
 
+    /**
+     * Inserts or updates multiple records according to the specified {@link
+     * Put} type.
+     *
+     * <p>Calling this method is equivalent to calling {@link
+     * #put(Transaction, DatabaseEntry, DatabaseEntry, Put, WriteOptions)}
+     * for each {@code keys[i]} and {@code datas[i]}, except that:</p>
+     * <ul>
+     * <li>The records are written in key order, using a single cursor. When
+     * consecutive keys belong in the same BIN (bottom internal node), the BIN
+     * is used without a new search from the root of the Btree.</li>
+     * <li>When txn is null and the database is transactional, all records
+     * are written in a single auto-commit transaction rather than one
+     * transaction per record. Either all or none of the records are written,
+     * and only one commit record is logged. All records remain locked until
+     * the method returns, so a very large number of records should be split
+     * into multiple calls.</li>
+     * </ul>
+     *
+     * <p>If the same key appears more than once in a database without
+     * duplicates, the records are written in array order, and the last one
+     * written wins as it would with individual put calls.</p>
+     *
+     * @param txn For a transactional database, an explicit transaction may be
+     * specified, or null may be specified to use auto-commit.  For a
+     * non-transactional database, null must be specified.
+     *
+     * @param keys the keys used as
+     * <a href="DatabaseEntry.html#inParam">input</a>. May not be null.
+     *
+     * @param datas the data used as
+     * <a href="DatabaseEntry.html#inParam">input</a>. Must have the same
+     * length as keys.
+     *
+     * @param putType the Put operation type. May not be null.
+     *
+     * @param options the WriteOptions, or null to use default options.
+     *
+     * @return the number of records written, that is, the number of
+     * individual put operations that would have returned a non-null
+     * OperationResult.
+     *
+     * @throws OperationFailureException if one of the <a
+     * href="../je/OperationFailureException.html#writeFailures">Write
+     * Operation Failures</a> occurs.
+     *
+     * @throws EnvironmentFailureException if an unexpected, internal or
+     * environment-wide failure occurs.
+     *
+     * @throws UnsupportedOperationException if the database is read-only, or
+     * putType is Put.NO_DUP_DATA and the database is not configured for
+     * duplicates.
+     *
+     * @throws IllegalStateException if the database has been closed.
+     *
+     * @throws IllegalArgumentException if an invalid parameter is specified.
+     * This includes passing a null putType, null or different length
+     * keys/datas arrays, a null input key/data parameter, an input key/data
+     * parameter with a null data array, a partial key/data input parameter,
+     * or when putType is Put.CURRENT.
+     *
+     * @since 18.3.13
+     */
+    public int putAll(
+        final Transaction txn,
+        final DatabaseEntry[] keys,
+        final DatabaseEntry[] datas,
+        final Put putType,
+        final WriteOptions options) {
+
+        try {
+            checkEnv();
+            final DatabaseImpl dbImpl = checkOpen();
+
+            DatabaseUtil.checkForNullParam(keys, "keys");
+            DatabaseUtil.checkForNullParam(datas, "datas");
+            DatabaseUtil.checkForNullParam(putType, "putType");
+
+            if (keys.length != datas.length) {
+                throw new IllegalArgumentException(
+                    "keys and datas arrays must have the same length");
+            }
+
+            if (putType == Put.CURRENT) {
+                throw new IllegalArgumentException(
+                    "putType may not be Put.CURRENT");
+            }
+
+            trace(
+                Level.FINEST, "Database.putAll", String.valueOf(putType), txn,
+                null, null, null);
+
+            /*
+             * Sort the record indexes by key. The sort is stable, so records
+             * with equal keys are written in array order.
+             */
+            final byte[][] keyBytes = new byte[keys.length][];
+            final Integer[] order = new Integer[keys.length];
+
+            for (int i = 0; i < keys.length; i += 1) {
+                DatabaseUtil.checkForNullDbt(keys[i], "key", true);
+                DatabaseUtil.checkForPartial(keys[i], "key");
+                keyBytes[i] = Key.makeKey(keys[i]);
+                order[i] = i;
+            }
+
+            final Comparator<byte[]> comparator =
+                dbImpl.getBtreeComparator();
+
+            Arrays.sort(
+                order,
+                (i1, i2) -> Key.compareKeys(
+                    keyBytes[i1], keyBytes[i2], comparator));
+
+            final Locker locker = LockerFactory.getWritableLocker(
+                envHandle, txn,
+                dbImpl.isInternalDb(),
+                isTransactional(),
+                dbImpl.isReplicated()); // autoTxnIsReplicated
+
+            int nWritten = 0;
+            boolean success = false;
+
+            try {
+                try (final Cursor cursor =
+                         new Cursor(this, locker, DEFAULT_CURSOR_CONFIG)) {
+
+                    cursor.enableInsertHint();
+
+                    for (final int i : order) {
+                        if (cursor.putInternal(
+                            keys[i], datas[i], putType, options) != null) {
+                            nWritten += 1;
+                        }
+                    }
+                }
+                success = true;
+            } finally {
+                locker.operationEnd(success);
+            }
+
+            return nWritten;
+        } catch (Error E) {
+            envHandle.invalidate(E);
+            throw E;
+        }
+    }
+
     /**
      * Stores the key/data pair into the database.
      *
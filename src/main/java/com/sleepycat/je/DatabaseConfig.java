@@ -47,6 +47,7 @@ import com.sleepycat.je.trigger.Trigger;
  *     <td>{@link DatabaseConfig#getBtreeComparator() btree comparator}<br>
  *         {@link DatabaseConfig#getDuplicateComparator() duplicate comparator}<br>
  *         {@link DatabaseConfig#getKeyPrefixing() key prefixing}<br>
+ *         {@link DatabaseConfig#getDataCompression() data compression}<br>
  *         {@link DatabaseConfig#getNodeMaxEntries() nodeMaxEntries}<br>
  *         <!--
  *         {@link DatabaseConfig#getTriggers() triggers}<br></td>
@@ -109,6 +110,7 @@ public class DatabaseConfig implements Cloneable {
     private boolean deferredWrite = false;
     private boolean temporary = false;
     private boolean keyPrefixing = false;
+    private boolean dataCompression = false;
     private boolean replicated = true;
 
     private int nodeMaxEntries;
@@ -332,6 +334,62 @@ public class DatabaseConfig implements Cloneable {
         this.keyPrefixing = keyPrefixing;
     }
 
+    /**
+     * Returns the data compression configuration.
+     *
+     * @return true if data compression has been enabled in this database.
+     *
+     * @since 18.3.13
+     */
+    public boolean getDataCompression() {
+        return dataCompression;
+    }
+
+    /**
+     * Configure the database to compress record data when it is written to
+     * the log.
+     *
+     * <p>When data compression is enabled, the data of each record that is
+     * inserted or updated is compressed, and is written to the log in
+     * compressed form if this reduces its size. Data smaller than 128 bytes
+     * is never compressed. Keys are not compressed. Records are decompressed
+     * when they are read from the log, so the data is stored uncompressed in
+     * the JE cache. Compression reduces the disk space used by records with
+     * large, redundant data, such as JSON or XML documents, and reduces the
+     * I/O performed by the log cleaner. The cost is the CPU time spent
+     * compressing each record when it is written and decompressing it when
+     * it is fetched from disk.</p>
+     *
+     * <p>Changing this setting affects records written afterward; records
+     * already in the log are not rewritten. Record data is always sent to
+     * replicas in uncompressed form, and each node compresses it according
+     * to its own copy of the database configuration.</p>
+     *
+     * <p>Log entries containing compressed data cannot be read by JE
+     * releases prior to 18.3.13.</p>
+     *
+     * @param dataCompression If true, enables data compression for the
+     * database.
+     *
+     * @return this
+     *
+     * @see EnvironmentStats#getNLNsCompressed
+     *
+     * @since 18.3.13
+     */
+    public DatabaseConfig setDataCompression(boolean dataCompression) {
+        setDataCompressionVoid(dataCompression);
+        return this;
+    }
+
+    /**
+     * @hidden
+     * The void return setter for use by Bean editors.
+     */
+    public void setDataCompressionVoid(boolean dataCompression) {
+        this.dataCompression = dataCompression;
+    }
+
     /**
      * Encloses the database open within a transaction.
      *
@@ -1737,6 +1795,7 @@ public class DatabaseConfig implements Cloneable {
                 (dbImpl.getDuplicateComparator(),
                  dbImpl.getDuplicateComparatorByClass());
             showConfig.setKeyPrefixing(dbImpl.getKeyPrefixing());
+            showConfig.setDataCompression(dbImpl.getDataCompression());
             showConfig.setNodeMaxEntries(dbImpl.getNodeMaxTreeEntries());
             showConfig.setTriggers(dbImpl.getTriggers());
 
@@ -1768,6 +1827,7 @@ public class DatabaseConfig implements Cloneable {
             "\ndeferredWrite=" + deferredWrite +
             "\ntemporary=" + temporary +
             "\nkeyPrefixing=" + keyPrefixing +
+            "\ndataCompression=" + dataCompression +
             "\n";
     }
 }
@@ -1887,6 +1887,46 @@ public class Environment implements Closeable {
         }
     }
 
+    /**
+     * Saves a snapshot of the nodes resident in the main cache to a file in
+     * the environment home directory, replacing the previous snapshot, if
+     * any. When the environment is next opened with {@link
+     * EnvironmentConfig#ENV_LOAD_CACHE_SNAPSHOT} set to true, the nodes in
+     * the snapshot are fetched in log file order, most recently used nodes
+     * first, so that the cache is warm when the {@code Environment}
+     * constructor returns.
+     *
+     * <p>Only the LSNs of the nodes are saved, not their contents, and the
+     * snapshot is small compared to the cache. A checkpoint is performed
+     * before the snapshot is saved, unless the environment is read-only, so
+     * that the LSNs are those of the current versions of the nodes. Nodes
+     * that are logged again after the snapshot is saved are not loaded, so
+     * the snapshot is most effective when saved shortly before the
+     * environment is closed. Nodes in the off-heap cache are not included in
+     * the snapshot.</p>
+     *
+     * @throws EnvironmentFailureException if an unexpected, internal or
+     * environment-wide failure occurs, including an I/O error writing the
+     * snapshot file.
+     *
+     * @throws IllegalStateException if this handle or the underlying
+     * environment has been closed.
+     *
+     * @since 18.3.13
+     */
+    public void saveCacheSnapshot()
+        throws DatabaseException {
+
+        final EnvironmentImpl envImpl = checkOpen();
+
+        try {
+            envImpl.saveCacheSnapshot();
+        } catch (Error E) {
+            envImpl.invalidate(E);
+            throw E;
+        }
+    }
+
     /**
      * Synchronously invokes the compressor mechanism which compacts in memory
      * data structures after delete operations.
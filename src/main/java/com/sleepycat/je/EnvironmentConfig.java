@@ -779,6 +779,93 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
     public static final String ENV_RECOVERY_FORCE_NEW_FILE =
         "je.env.recoveryForceNewFile";
 
+    /**
+     * The number of threads used to replay the log during recovery. When
+     * greater than one, the INs of user databases are replayed in parallel,
+     * partitioned by database, while a single thread reads the log. The INs
+     * of a given database are always replayed by one thread in log order, so
+     * the recovered tree is the same as with serial recovery.
+     *
+     * <p>Parallel replay is most effective for environments with many
+     * databases and a large amount of log to replay since the last
+     * checkpoint. The mapping database and the LN undo and redo passes are
+     * always processed by a single thread.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td><td>Minimum</td><td>Maximum</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Integer</td>
+     * <td>No</td>
+     * <td>1</td>
+     * <td>1</td>
+     * <td>64</td>
+     * </tr>
+     * </table>
+     *
+     * @since 18.3.13
+     */
+    public static final String ENV_RECOVERY_THREADS =
+        "je.env.recoveryThreads";
+
+    /**
+     * If true, the cache is warmed when the environment is opened, using the
+     * snapshot written by the last call to {@link
+     * Environment#saveCacheSnapshot}. The nodes listed in the snapshot are
+     * fetched in log file order and attached to the Btree, most recently used
+     * nodes first, until the snapshot is exhausted or the cache is full.
+     * Nodes that were logged again after the snapshot was saved are not
+     * fetched, since only the versions listed in the snapshot are loaded.
+     *
+     * <p>Loading is done before the {@code Environment} constructor returns,
+     * and before the background daemon threads are started. If the snapshot
+     * does not exist, this parameter has no effect.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @see #ENV_LOAD_CACHE_SNAPSHOT_THREADS
+     * @since 18.3.13
+     */
+    public static final String ENV_LOAD_CACHE_SNAPSHOT =
+        "je.env.loadCacheSnapshot";
+
+    /**
+     * The number of threads used to read log entries when the cache snapshot
+     * is loaded. The entries are read ahead of the thread that attaches the
+     * nodes to the Btree, which allows multiple reads to be outstanding on
+     * storage devices that support concurrent I/O.
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td><td>Minimum</td><td>Maximum</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Integer</td>
+     * <td>No</td>
+     * <td>4</td>
+     * <td>1</td>
+     * <td>64</td>
+     * </tr>
+     * </table>
+     *
+     * @see #ENV_LOAD_CACHE_SNAPSHOT
+     * @since 18.3.13
+     */
+    public static final String ENV_LOAD_CACHE_SNAPSHOT_THREADS =
+        "je.env.loadCacheSnapshotThreads";
+
     /**
      * By default, if a checksum exception is found at the end of the log
      * during Environment startup, JE will assume the checksum is due to
@@ -1411,6 +1498,47 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String LOG_NUM_BUFFERS = "je.log.numBuffers";
 
+    /**
+     * The maximum number of JE log buffers when the log buffer pool is
+     * sized adaptively, or zero to use a fixed number of buffers.
+     *
+     * <p>When this parameter is greater than {@link #LOG_NUM_BUFFERS}, the
+     * pool starts with {@link #LOG_NUM_BUFFERS} buffers and adds a buffer,
+     * up to this maximum, each time a writer finds no free buffer and must
+     * write the dirty buffers while holding the log write latch. When the
+     * write rate drops, so that buffers are no longer exhausted, the extra
+     * buffers are released one at a time. The memory for the extra buffers
+     * is counted in the cache usage, in addition to the log buffer budget.
+     * The size of each buffer is not changed.</p>
+     *
+     * <p>This is useful when bursts of small, frequent writes exhaust the
+     * log buffers. The number of times this occurs is shown by {@link
+     * EnvironmentStats#getNNoFreeBuffer}, and the current number of buffers
+     * by {@link EnvironmentStats#getNLogBuffers}.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td><td>Minimum</td><td>Maximum</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Integer</td>
+     * <td>No</td>
+     * <td>0</td>
+     * <td>0</td>
+     * <td>-none-</td>
+     * </tr>
+     * </table>
+     *
+     * @see #LOG_NUM_BUFFERS
+     *
+     * @see <a href="EnvironmentStats.html#logBuffer">I/O Statistics: Log
+     * Buffers</a>
+     *
+     * @since 18.3.13
+     */
+    public static final String LOG_MAX_NUM_BUFFERS = "je.log.maxNumBuffers";
+
     /**
      * The maximum size of each JE log buffer. The actual buffer size is
      * further restricted and calculated as follows:
@@ -1624,6 +1752,37 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String LOG_VERIFY_CHECKSUMS = "je.log.verifyChecksums";
 
+    /**
+     * If true, new log entries are written with a CRC32C checksum rather
+     * than an Adler32 checksum.
+     *
+     * <p>CRC32C detects more classes of corruption than Adler32, and when
+     * running on Java 9 or later it is computed using the CRC32C instruction
+     * of the processor, which is faster than Adler32 for the entry sizes
+     * typical of JE. On Java 8 a pure Java implementation is used, which is
+     * slower than Adler32, so this parameter should only be set when running
+     * on Java 9 or later.</p>
+     *
+     * <p>The algorithm is recorded in each log entry, so log files may
+     * contain entries of both kinds, and this parameter may be changed when
+     * the environment is reopened. However, log entries written with a CRC32C
+     * checksum cannot be read by releases earlier than JE 18.3.13.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @since 18.3.13
+     */
+    public static final String LOG_CHECKSUM_CRC32C = "je.log.checksumCRC32C";
+
     /**
      * If true, operates in an in-memory test mode without flushing the log to
      * disk. An environment directory must be specified, but it need not exist
@@ -1897,12 +2056,83 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String LOG_USE_ODSYNC = "je.log.useODSYNC";
 
+    /**
+     * If true (default is false), direct I/O (O_DIRECT) is used to write the
+     * JE log, so that log writes bypass the file system cache and do not
+     * displace the cached pages of the log files being read.
+     *
+     * <p>Each write is expanded to whole file system blocks, and the part of
+     * the last block that was written by the previous write is written
+     * again. The file length is kept equal to the end of the log. Reads are
+     * not affected and continue to use the file system cache. Log buffers
+     * are written as a whole, so the {@link #LOG_BUFFER_SIZE log buffer
+     * size} should be large relative to the block size. This mode is most
+     * useful when the file system cache is used to cache log files that are
+     * read, and the write rate is high.</p>
+     *
+     * <p>Direct I/O requires Java 10 or later, and a file system that
+     * supports it. When it is not supported, a warning is logged and the log
+     * is written through the file system cache.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#logFileAccess">I/O Statistics:
+     * File Access</a>
+     *
+     * @since 18.3.13
+     */
+    public static final String LOG_USE_DIRECT_IO = "je.log.useDirectIO";
+
     /**
      * @deprecated NIO is no longer used by JE and this parameter has no
      * effect.
      */
     public static final String LOG_USE_NIO = "je.log.useNIO";
 
+    /**
+     * If true (default is false) log files are read using positional
+     * {@code FileChannel} reads rather than a seek followed by a read on the
+     * {@code RandomAccessFile}.
+     *
+     * <p>Positional reads do not change the file pointer, so concurrent
+     * readers of the same log file do not need to synchronize on the file
+     * object, and the cached file handle may be latched in shared mode.
+     * This reduces contention for random-read workloads, such as those where
+     * LNs are frequently fetched from disk because of cache misses.</p>
+     *
+     * <p>Note that a thread that is interrupted while performing a read will
+     * cause the underlying channel to be closed. As with other I/O
+     * operations in JE, this will cause a {@link ThreadInterruptedException}
+     * and the environment to be invalidated.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#logFileAccess">I/O Statistics:
+     * File Access</a>
+     *
+     * @since 18.3.13
+     */
+    public static final String LOG_USE_POSITIONAL_READ =
+        "je.log.usePositionalRead";
+
     /**
      * If true (default is true) the Write Queue is used for file I/O
      * operations which are blocked by concurrent I/O operations.
@@ -2377,6 +2607,99 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String TREE_MAX_EMBEDDED_LN = "je.tree.maxEmbeddedLN";
 
+    /**
+     * Whether Btree searches first descend the upper levels of the tree
+     * without latching the internal nodes, validating the path once the
+     * bottom internal node (BIN) is latched.
+     *
+     * <p>With the default setting, each search latches every internal node on
+     * the path in shared mode, from the root down to the BIN. Even though
+     * shared latches do not block each other, acquiring and releasing them
+     * writes to the latch state, so the cache lines holding the latches of
+     * the root and other upper nodes are contended when many threads search
+     * the same tree concurrently.</p>
+     *
+     * <p>When this parameter is true, a search instead reads a version stamp
+     * for each upper node and descends without latching it. Only the BIN is
+     * latched, after which the stamps are checked to ensure that no node on
+     * the path was modified during the descent. If a node was modified, or a
+     * node on the path is not in cache, the search is repeated using latches.
+     * The number of such restarts is reported by {@link
+     * EnvironmentStats#getNOptimisticSearchRestarts()}.</p>
+     *
+     * <p>This can improve the scalability of read-mostly workloads with many
+     * threads and a mostly-resident Btree. The cost is a small amount of
+     * additional memory per upper internal node, which is included in the
+     * cache budget, and a small additional cost when latching such nodes
+     * exclusively. Neither cost is incurred when this parameter is
+     * false.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @since 18.3.13
+     */
+    public static final String TREE_OPTIMISTIC_SEARCH =
+        "je.tree.optimisticSearch";
+
+    /**
+     * Whether the evictor keeps a Bloom filter of the keys of each bottom
+     * internal node (BIN) that it evicts, so that a read of an absent key
+     * may return without fetching the BIN.
+     *
+     * <p>When this parameter is true and a BIN is evicted from the main
+     * cache, a filter of its keys is stored in the BIN's parent. An
+     * exact-match read, such as {@link Database#get} or a {@link
+     * Get#SEARCH} with a cursor, checks the filter before fetching the BIN,
+     * and returns without fetching it if the filter shows that the key is
+     * absent. Reads with serializable isolation, which must lock the next
+     * key, always fetch the BIN.</p>
+     *
+     * <p>This can reduce BIN fetch misses, and the random read I/O they
+     * cause, for workloads that often read absent keys and whose BINs do not
+     * all fit in the cache. The cost is about one byte of cache per key in
+     * each evicted BIN, and the work of building the filter during
+     * eviction. Filters are not used for BINs evicted to the off-heap
+     * cache, or for databases that use a key or duplicate comparator that is
+     * not a {@link BinaryEqualityComparator}, since equal keys may then
+     * have different bytes. See {@link
+     * EnvironmentStats#getNBINsFetchFiltered()} and {@link
+     * EnvironmentStats#getBINFilterFalsePositiveRate()}.</p>
+     *
+     * <p>When BIN fetches are served from the file system cache rather than
+     * from storage, the filters may reduce throughput, because building them
+     * costs more than the fetches they avoid. For example, in one test with
+     * 50% of reads for absent keys and all log files in the file system
+     * cache, filters reduced BIN fetch misses by 36% but also reduced
+     * throughput from 69.7K to 64.4K reads per second. This parameter should be enabled only when measurements show
+     * that it is beneficial for the application.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#cacheSizing">Cache Statistics:
+     * Sizing</a>
+     *
+     * @since 18.3.13
+     */
+    public static final String TREE_BIN_KEY_FILTERS = "je.tree.binKeyFilters";
+
     /**
      * @deprecated as of JE 6.0.  The {@link #TREE_BIN_DELTA} param alone now
      * determines whether a delta is logged.
@@ -2759,6 +3082,43 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String EVICTOR_N_LRU_LISTS = "je.evictor.nLRULists";
 
+    /**
+     * Whether accesses to nodes in the main JE cache are buffered and
+     * applied to the LRU lists in batches.
+     *
+     * <p>By default, each access to a node moves it to the back of its LRU
+     * list, which requires synchronizing on the list. With many threads
+     * accessing the cache, this synchronization can become a bottleneck even
+     * with several LRU lists (see {@link #EVICTOR_N_LRU_LISTS}). When this
+     * parameter is true, an access is instead recorded in a striped buffer
+     * without blocking, and the buffer is drained into the LRU lists by a
+     * dedicated background thread, and before each eviction batch. An access
+     * may be dropped when the buffer is full or contended, which slightly
+     * decreases the accuracy of the LRU.</p>
+     *
+     * <p>When using the shared cache feature, the value of this property is
+     * applied the first time the cache is set up. New environments that
+     * join the cache do not alter the cache setting.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#cacheLRUListContention">Cache
+     * Statistics: LRU List Contention</a>
+     *
+     * @since 18.3.13
+     */
+    public static final String EVICTOR_BUFFER_LRU_ACCESSES =
+        "je.evictor.bufferLRUAccesses";
+
     /**
      * Call Thread.yield() at each check for cache overflow. This potentially
      * improves GC performance, but little testing has been done and the actual
@@ -2978,6 +3338,92 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String OFFHEAP_CHECKSUM = "je.offHeap.checksum";
 
+    /**
+     * The allocator used for the off-heap cache, either "MALLOC" or "SLAB".
+     *
+     * <p>With the default "MALLOC" allocator, each block in the off-heap
+     * cache is allocated and freed with the C runtime heap functions. The
+     * memory overhead and fragmentation of the C heap can only be estimated,
+     * so the process may use noticeably more memory than the {@link
+     * #MAX_OFF_HEAP_MEMORY off-heap cache size}.</p>
+     *
+     * <p>With the "SLAB" allocator, memory is obtained from the system in
+     * large regions, and blocks are carved from them in a fixed set of size
+     * classes. The memory obtained never exceeds the off-heap cache size,
+     * and the memory lost to fragmentation is known exactly; see {@link
+     * EnvironmentStats#getOffHeapFragmentedBytes()} and {@link
+     * EnvironmentStats#getOffHeapFreeBytes()}. Blocks larger than 32 KB are
+     * still allocated individually.</p>
+     *
+     * <p>When using the shared cache feature, the value of this property is
+     * applied the first time the cache is set up. New environments that
+     * join the cache do not alter the cache setting.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>String</td>
+     * <td>No</td>
+     * <td>"MALLOC"</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#cacheSizing">Cache Statistics:
+     * Sizing</a>
+     *
+     * @since 18.3.13
+     */
+    public static final String OFFHEAP_ALLOCATOR = "je.offHeap.allocator";
+
+    /**
+     * If true, the contents of the off-heap cache are saved when the
+     * environment is closed, and are used to warm the cache when it is
+     * opened again.
+     *
+     * <p>When the environment is closed normally, after the final
+     * checkpoint, the BINs and LNs in the off-heap cache that are identical
+     * to their logged versions are written to a snapshot file in the
+     * environment home directory. When the environment is next opened, the
+     * snapshot is memory-mapped, but only if the end of the log and the
+     * last checkpoint found by recovery are the ones recorded in the
+     * snapshot, i.e., if the log was not changed in the meantime. A BIN or
+     * LN is then copied from the snapshot, instead of being read from the
+     * log, the first time it is needed. Because the file is memory-mapped,
+     * only the parts that are used are read from disk.</p>
+     *
+     * <p>The snapshot can be used only once, since it is invalidated when
+     * it is opened. It is not written if the environment is closed
+     * abnormally or after an {@link EnvironmentFailureException}. Writing
+     * the snapshot adds to the time needed to close the environment, and the
+     * file is about as large as the used portion of the off-heap cache.
+     * BINs in the main cache are not saved. Use {@link
+     * EnvironmentStats#getOffHeapWarmBINsLoaded()} and related stats to
+     * monitor how well the snapshot is warming the cache.</p>
+     *
+     * <p>This parameter has no effect when the off-heap cache is not used,
+     * or the environment is read-only or in-memory. A read-only environment
+     * uses an existing snapshot but does not write one.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#cacheWarmRestart">Cache
+     * Statistics: Warm Restart</a>
+     *
+     * @since 18.3.13
+     */
+    public static final String OFFHEAP_WARM_RESTART = "je.offHeap.warmRestart";
+
     /**
      * The minimum number of threads in the off-heap eviction thread pool.
      * <p>
@@ -3207,6 +3653,58 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
     public static final String CLEANER_MIN_FILE_UTILIZATION =
         "je.cleaner.minFileUtilization";
 
+    /**
+     * The policy used to select the file to clean when total utilization is
+     * below {@link #CLEANER_MIN_UTILIZATION}, either "UTILIZATION" or
+     * "COST_BENEFIT".
+     *
+     * <p>With the default "UTILIZATION" policy, the file with the lowest
+     * utilization is cleaned. This minimizes the amount of data migrated to
+     * reclaim a file.</p>
+     *
+     * <p>With the "COST_BENEFIT" policy, each file is given a score that
+     * weighs the space reclaimed against the cost of cleaning, as in the
+     * cost-benefit policy of log-structured file systems, and the file with
+     * the highest score is cleaned. The score is:</p>
+     * <pre>
+     *    (1 - u) * age / (1 + u + (u - uf))
+     * </pre>
+     * <p>where {@code u} is the file's current utilization, {@code age} is
+     * the number of files written since the file, and {@code uf} is the
+     * utilization the file will have one day from now, after the data that
+     * {@link WriteOptions#setTTL(int) expires} in the next day is removed.
+     * Older files hold data that is less likely to be updated or deleted
+     * soon, so they are preferred at a given utilization. A file holding data
+     * that is about to expire is deferred, since the data migrated now
+     * would soon become obsolete again. Only files with a utilization below
+     * {@link #CLEANER_MIN_UTILIZATION} are scored; if there are none, the
+     * file with the lowest utilization is cleaned. This policy can reduce write
+     * amplification for workloads that update a subset of their data
+     * frequently, or that use TTL. Write amplification is reported by {@link
+     * EnvironmentStats#getCleanerWriteAmplification()}.</p>
+     *
+     * <p>The policy does not apply to files cleaned because their
+     * utilization is below {@link #CLEANER_MIN_FILE_UTILIZATION}.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>String</td>
+     * <td>Yes</td>
+     * <td>"UTILIZATION"</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#cleanerUtil">Cleaning Statistics:
+     * Utilization</a>
+     *
+     * @since 18.3.13
+     */
+    public static final String CLEANER_FILE_SELECTION_POLICY =
+        "je.cleaner.fileSelectionPolicy";
+
     /**
      * The cleaner checks disk utilization every time we write this many bytes
      * to the log.  If zero (and by default) it is set to either the {@link
@@ -3508,6 +4006,47 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String CLEANER_READ_SIZE = "je.cleaner.readSize";
 
+    /**
+     * The number of bytes that the cleaner reads ahead of its processing of
+     * a log file, or zero (the default) to disable read-ahead.
+     *
+     * <p>When non-zero, each cleaner thread uses an additional thread to read
+     * the file it is cleaning, at most this many bytes ahead of the entry
+     * being processed. The data read ahead is placed in the file system
+     * cache, so that the reads needed to process the entries overlap with
+     * the Btree lookups and migration of earlier entries, rather than
+     * waiting for the disk. This is most useful when the log is on storage
+     * with a high read latency, and cleaning cannot keep up with the write
+     * rate. The file system cache must be large enough to hold this many
+     * bytes for each {@link #CLEANER_THREADS cleaner thread}.</p>
+     *
+     * <p>When read-ahead is enabled, the LNs queued in the {@link
+     * #CLEANER_LOOK_AHEAD_CACHE_SIZE look ahead cache} are also processed in
+     * key order rather than log order, so that successive Btree lookups
+     * visit neighboring BINs.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td><td>Minimum</td><td>Maximum</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Integer</td>
+     * <td>Yes</td>
+     * <td>0</td>
+     * <td>0</td>
+     * <td>-none-</td>
+     * </tr>
+     * </table>
+     *
+     * @see <a href="EnvironmentStats.html#cleanerEfficiency">Cleaning
+     * Efficiency</a>
+     *
+     * @since 18.3.13
+     */
+    public static final String CLEANER_READ_AHEAD_SIZE =
+        "je.cleaner.readAheadSize";
+
     /**
      * Tracking of detailed cleaning information will use no more than this
      * percentage of the cache.  The default value is 2% of {@link
@@ -3695,6 +4234,32 @@ public class EnvironmentConfig extends EnvironmentMutableConfig {
      */
     public static final String LOCK_N_LOCK_TABLES = "je.lock.nLockTables";
 
+    /**
+     * If true (default is false) each lock table is an open-addressing hash
+     * table keyed by primitive long LSNs, rather than a HashMap keyed by
+     * Long.
+     *
+     * <p>The open-addressing tables do not allocate a key object or a hash
+     * map entry per lock, which reduces garbage and improves cache locality
+     * when many locks are taken concurrently. This is most useful together
+     * with a {@link #LOCK_N_LOCK_TABLES} value greater than one.</p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @since 18.3.13
+     */
+    public static final String LOCK_PRIMITIVE_TABLES =
+        "je.lock.primitiveTables";
+
     /**
      * Configures the default lock timeout. It may be overridden on a
      * per-transaction basis by calling
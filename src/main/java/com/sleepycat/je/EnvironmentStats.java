@@ -21,6 +21,9 @@ import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_BIN_DELTAS_
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_BIN_DELTAS_OBSOLETE;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_DELETIONS;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_DISK_READS;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_PROCESS_MS;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_READ_AHEAD_BYTES;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_READ_MS;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_ENTRIES_READ;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_INS_CLEANED;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_INS_DEAD;
@@ -34,6 +37,7 @@ import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_EXTINCT
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_LOCKED;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_MARKED;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_MIGRATED;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LN_BYTES_MIGRATED;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_OBSOLETE;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_MAX_UTILIZATION;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_MIN_UTILIZATION;
@@ -56,6 +60,7 @@ import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_DELETES;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_GETS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_INSERTS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_UPDATES;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_OPTIMISTIC_SEARCH_RESTARTS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_RELATCHES_REQUIRED;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_ROOT_SPLITS;
 import static com.sleepycat.je.dbi.DbiStatDefinition.BACKUP_COPY_FILES_COUNT;
@@ -82,6 +87,10 @@ import static com.sleepycat.je.dbi.DbiStatDefinition.THROUGHPUT_SEC_SEARCH;
 import static com.sleepycat.je.dbi.DbiStatDefinition.THROUGHPUT_SEC_SEARCH_FAIL;
 import static com.sleepycat.je.dbi.DbiStatDefinition.THROUGHPUT_SEC_UPDATE;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_DELTA_BLIND_OPS;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.BINS_FROZEN;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.BINS_THAWED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FETCH_FILTERED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FILTER_FALSE_POSITIVE;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_DELTA_FETCH_MISS;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FETCH;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FETCH_MISS;
@@ -96,6 +105,9 @@ import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_DIRTY_NODES
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_EVICTION_RUNS;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_LNS_EVICTED;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_NODES_EVICTED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_LRU_BUFFER_CONTENTION;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_LRU_BUFFER_DROPS;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_NODES_ADMITTED;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_NODES_MOVED_TO_PRI2_LRU;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_NODES_MUTATED;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_NODES_PUT_BACK;
@@ -112,6 +124,7 @@ import static com.sleepycat.je.evictor.EvictorStatDefinition.PRI2_LRU_SIZE;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.THREAD_UNAVAILABLE;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.UPPER_IN_FETCH;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.UPPER_IN_FETCH_MISS;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.UPPER_IN_FETCH_MISS_RATIO;
 import static com.sleepycat.je.incomp.INCompStatDefinition.INCOMP_CURSORS_BINS;
 import static com.sleepycat.je.incomp.INCompStatDefinition.INCOMP_DBCLOSED_BINS;
 import static com.sleepycat.je.incomp.INCompStatDefinition.INCOMP_NON_EMPTY_BINS;
@@ -121,12 +134,16 @@ import static com.sleepycat.je.incomp.INCompStatDefinition.INCOMP_SPLIT_BINS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_BYTES_READ_FROM_WRITEQUEUE;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_BYTES_WRITTEN_FROM_WRITEQUEUE;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_OPENS;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_SWITCHES;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_SWITCH_AVG_MS;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_SWITCH_MAX_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_95_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_99_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_AVG_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_MAX_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_LOG_FSYNCS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_OPEN_FILES;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_POSITIONAL_READS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_RANDOM_READS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_RANDOM_READ_BYTES;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_RANDOM_WRITES;
@@ -139,6 +156,18 @@ import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_SEQUENTIAL_WRITE_BY
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITEQUEUE_OVERFLOW;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITEQUEUE_OVERFLOW_FAILURES;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITES_FROM_WRITEQUEUE;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITE_95_US;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITE_99_US;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITE_AVG_US;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITE_MAX_US;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_REQUESTS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_BATCHES;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_BATCH_95_SIZE;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_BATCH_MAX_SIZE;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_AVG_MS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_95_MS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_99_MS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_MAX_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_FSYNCS;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_FSYNC_REQUESTS;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_N_GROUP_COMMIT_REQUESTS;
@@ -149,6 +178,9 @@ import static com.sleepycat.je.log.LogStatDefinition.LBFP_MISS;
 import static com.sleepycat.je.log.LogStatDefinition.LBFP_NOT_RESIDENT;
 import static com.sleepycat.je.log.LogStatDefinition.LBFP_NO_FREE_BUFFER;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_END_OF_LOG;
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LNS_COMPRESSED;
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LN_COMPRESSED_BYTES;
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LN_COMPRESS_RAW_BYTES;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_REPEAT_FAULT_READS;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_REPEAT_ITERATOR_READS;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_TEMP_BUFFER_WRITES;
@@ -396,6 +428,14 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  *   <td>
  *    {@value com.sleepycat.je.evictor.OffHeapStatDefinition#TOTAL_BYTES_NAME}
  *   </td></tr>
+ *  <tr><td>{@link #getOffHeapFragmentedBytes}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.OffHeapStatDefinition#FRAGMENTED_BYTES_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getOffHeapFreeBytes}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.OffHeapStatDefinition#FREE_BYTES_DESC}
+ *   </td></tr>
  *  <tr><td>{@link #getOffHeapCachedLNs}</td>
  *   <td>
  *    {@value com.sleepycat.je.evictor.OffHeapStatDefinition#CACHED_LNS_DESC}
@@ -460,6 +500,29 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * accessed multiple times per operation, and internal Btree accesses are
  * included in the stat values.</p>
  *
+ * <p>When {@link EnvironmentConfig#TREE_BIN_KEY_FILTERS} is set, the
+ * evictor keeps a Bloom filter of the keys of each evicted BIN in the BIN's
+ * parent. An exact-match read of a key that the filter shows is absent
+ * then returns without fetching the BIN. This reduces BIN misses for
+ * workloads that read many absent keys. The filters use about one byte of
+ * cache per evicted key. Their effect is indicated by:</p>
+ *
+ * <table style="margin-left: 2em" border="1"
+ *        summary="Accessors and definitions">
+ *  <tr><td>{@link #getNBINsFetchFiltered}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#BIN_FETCH_FILTERED_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNBINFilterFalsePositives}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#BIN_FILTER_FALSE_POSITIVE_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getBINFilterFalsePositiveRate}</td>
+ *   <td>
+ *    The fraction of absent keys that a key filter did not exclude.
+ *   </td></tr>
+ * </table>
+ *
  * <p>Ideally, all BINs and LNs for the active data set should fit in cache so
  * that operations do not result in fetch misses, which often perform random
  * read I/O. When this is not practical, which is often the case for large
@@ -541,6 +604,25 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * <p>Enabling key prefixing for all databases is strongly recommended. When
  * using Oracle NoSQL DB, key prefixing is always enabled.</p>
  *
+ * <p>When LNs are evicted from a BIN, the BIN is also frozen: the capacity of
+ * its slot arrays is reduced to the number of slots in use. A frozen BIN is
+ * thawed when a slot is needed for an insertion. The following stats
+ * indicate how often this happens. A number of thawed BINs that is close to
+ * the number of frozen BINs indicates that insertions are spread across
+ * BINs that are evicted frequently.</p>
+ *
+ * <table style="margin-left: 2em" border="1"
+ *           summary="Accessors and definitions">
+ *  <tr><td>{@link #getNBINsFrozen}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#BINS_FROZEN_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNBINsThawed}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#BINS_THAWED_DESC}
+ *   </td></tr>
+ * </table>
+ *
  * <p>Another configuration param impacting BIN cache size is {@code
  * TREE_MAX_EMBEDDED_LN}. There is currently no stat indicating the number of
  * embedded LNs. See:</p>
@@ -848,6 +930,47 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * <p>However, note that increasing the number of LRU lists will decrease the
  * accuracy of the LRU.</p>
  *
+ * <p>Alternatively, accesses to nodes in the main cache can be buffered and
+ * applied to the LRU lists in batches, using {@link
+ * EnvironmentConfig#EVICTOR_BUFFER_LRU_ACCESSES}. The following stats then
+ * indicate contention on the buffer, and the number of accesses that were
+ * not applied to the LRU lists. If drops are a large fraction of the number
+ * of operations, consider increasing the number of LRU lists.</p>
+ * <ul>
+ *     <li>{@link #getNLRUBufferContention()}</li>
+ *     <li>{@link #getNLRUBufferDrops()}</li>
+ * </ul>
+ *
+ * <h4><a name="cacheWarmRestart">Cache Statistics: Warm Restart</a></h4>
+ *
+ * <p>When {@link EnvironmentConfig#OFFHEAP_WARM_RESTART} is true, the
+ * off-heap cache is saved when the environment is closed, and BINs and LNs
+ * are loaded from the saved snapshot after the environment is opened again.
+ * The fraction of fetches satisfied by the snapshot, while it is in use, is
+ * the number of BINs and LNs loaded divided by that number plus the number
+ * of misses. A snapshot is no longer in use when all its entries have been
+ * loaded.</p>
+ *
+ * <table style="margin-left: 2em" border="1"
+ *        summary="Accessors and definitions">
+ *  <tr><td>{@link #getOffHeapWarmBINsLoaded}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_BINS_LOADED_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getOffHeapWarmLNsLoaded}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_LNS_LOADED_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getOffHeapWarmMisses}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_MISSES_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getOffHeapWarmEntries}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_ENTRIES_DESC}
+ *   </td></tr>
+ * </table>
+ *
  * <h4><a name="cacheDebugging">Cache Statistics: Debugging</a></h4>
  *
  * <p>The following cache stats are unlikely to be needed for monitoring or
@@ -875,6 +998,10 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  *   <td>
  *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#EVICTOR_NODES_PUT_BACK_DESC}
  *   </td></tr>
+ *  <tr><td>{@link #getNNodesAdmitted}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#EVICTOR_NODES_ADMITTED_DESC}
+ *   </td></tr>
  *  <tr><td>{@link #getNNodesMovedToDirtyLRU}</td>
  *   <td>
  *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#EVICTOR_NODES_MOVED_TO_PRI2_LRU_DESC}
@@ -891,6 +1018,10 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  *   <td>
  *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#BIN_FETCH_MISS_RATIO_DESC}
  *   </td></tr>
+ *  <tr><td>{@link #getNUpperINsFetchMissRatio}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#UPPER_IN_FETCH_MISS_RATIO_DESC}
+ *   </td></tr>
  *  <tr><td>{@link #getNINSparseTarget}</td>
  *   <td>
  *    {@value com.sleepycat.je.evictor.EvictorStatDefinition#CACHED_IN_SPARSE_TARGET_DESC}
@@ -1191,7 +1322,29 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * </table>
  *
  * <p>The impact of cleaner read IO can sometimes be reduced by increasing the
- * {@link EnvironmentConfig#CLEANER_READ_SIZE read buffer size}.</p>
+ * {@link EnvironmentConfig#CLEANER_READ_SIZE read buffer size}, or by
+ * configuring {@link EnvironmentConfig#CLEANER_READ_AHEAD_SIZE read-ahead}.
+ * The time that cleaner threads spend reading, and the time spent processing
+ * the entries that were read, are indicated by the following stats:</p>
+ *
+ * <table style="margin-left: 2em" border="1"
+ *        summary="Accessors and definitions">
+ *  <tr><td>{@link #getCleanerReadMs}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_READ_MS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getCleanerProcessMs}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_PROCESS_MS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNCleanerReadAheadBytes}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_READ_AHEAD_BYTES_DESC}
+ *   </td></tr>
+ * </table>
+ *
+ * <p>When the read time is a large fraction of the total, read-ahead may
+ * allow cleaning to proceed faster.</p>
  *
  * <p>The write IO caused by cleaning is due to {@link #getNLNsMigrated()
  * active LN migration} and by logging of INs that were dirtied by the
@@ -1201,6 +1354,26 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * especially when the data size is small, yet too large to be embedded in
  * the BIN.</p>
  *
+ * <p>The write IO for LN migration is indicated by the following stats.
+ * The write amplification is the number of bytes written to the log per byte
+ * written for other purposes, which is mostly application writes. For
+ * workloads that update some data much more often than the rest, or that use
+ * TTL, the {@link EnvironmentConfig#CLEANER_FILE_SELECTION_POLICY
+ * cost-benefit file selection policy} may reduce it.</p>
+ *
+ * <table style="margin-left: 2em" border="1"
+ *        summary="Accessors and definitions">
+ *  <tr><td>{@link #getNLNBytesMigrated}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_LN_BYTES_MIGRATED_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getCleanerWriteAmplification}</td>
+ *   <td>
+ *    Total bytes written to the log, divided by the bytes written other
+ *    than for LN migration.
+ *   </td></tr>
+ * </table>
+ *
  * <p>When a workload involves inserting and deleting large numbers of
  * records, another way of increasing cleaner efficiency is to remove the
  * records using {@link WriteOptions#setTTL(int) TTL} or {@link
@@ -1703,6 +1876,10 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  *   <td>
  *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_OPENS_DESC}
  *   </td></tr>
+ *  <tr><td>{@link #getNPositionalReads()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_POSITIONAL_READS_DESC}
+ *   </td></tr>
  * </table>
  *
  * <p>To prevent expensive file open operations during record read operations,
@@ -1717,6 +1894,11 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * Therefore, this stat cannot be used to determine whether the file cache
  * is too small.</p>
  *
+ * <p>When {@link EnvironmentConfig#LOG_USE_POSITIONAL_READ} is set to true,
+ * cached file handles are shared by concurrent readers and temporary handles
+ * are not opened. Reads are then counted by {@link #getNPositionalReads()}
+ * as well as by the random and sequential read stats.</p>
+ *
  * <p>When a file read is performed, it is always possible for the read buffer
  * size to be smaller than the log entry being read. This is because JE's
  * append-only log contains variable sized entries rather than pages. If the
@@ -1869,6 +2051,32 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  *     write stats.</li>
  * </ul>
  *
+ * <p>The time taken by log file writes, not including the fsync, is
+ * indicated by the following stats. When {@link
+ * EnvironmentConfig#LOG_USE_DIRECT_IO direct I/O} is used, writes go to the
+ * storage device rather than the file system cache and these values will be
+ * larger, while the time taken by fsyncs will be smaller.</p>
+ *
+ * <table style="margin-left: 2em" border="1"
+ *        summary="Accessors and definitions">
+ *  <tr><td>{@link #getWriteAvgUs()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_AVG_US_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getWrite95Us()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_95_US_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getWrite99Us()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_99_US_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getWriteMaxUs()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_MAX_US_DESC}
+ *   </td></tr>
+ * </table>
+ *
  * <h4><a name="logCritical">I/O Statistics: Logging Critical Section</a></h4>
  *
  * <p>JE uses an append-only storage system where each log entry is
@@ -1897,6 +2105,27 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * and these generally impact performance negatively. These special cases
  * will be noted in the sections that follow.</p>
  *
+ * <p>One such case is moving to a new log file, when the current file
+ * reaches its {@link EnvironmentConfig#LOG_FILE_MAX maximum size}. The
+ * dirty log buffers are written and the previous file is fsync'ed in the
+ * critical section. This is indicated by the following stats:</p>
+ *
+ * <table style="margin-left: 2em" border="1"
+ *        summary="Accessors and definitions">
+ *  <tr><td>{@link #getNFileSwitches()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_SWITCHES_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getFileSwitchAvgMs()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_SWITCH_AVG_MS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getFileSwitchMaxMs()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_SWITCH_MAX_MS_DESC}
+ *   </td></tr>
+ * </table>
+ *
  * <h4><a name="logBuffer">I/O Statistics: Log Buffers</a></h4>
  *
  * <p>A set of JE log buffers is used to buffer writes. When write operations
@@ -1969,7 +2198,11 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * </table>
  *
  * <p>When {@link #getNNoFreeBuffer()} is consistently non-zero, consider
- * increasing the number of log buffers.</p>
+ * increasing the number of log buffers, or configuring {@link
+ * EnvironmentConfig#LOG_MAX_NUM_BUFFERS} so that buffers are added when this
+ * occurs and released when the write rate drops. In that case, {@link
+ * #getNLogBuffers()} and {@link #getBufferBytes()} reflect the current size
+ * of the pool.</p>
  *
  * <p>The number of log buffers also impacts read performance. JE read
  * operations use the log buffers to read entries that were recently written.
@@ -2253,6 +2486,50 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  * <p>Note that {@link #getNFSyncs()} is a subset of the
  * {@link #getNLogFSyncs()} total that is described further above.</p>
  *
+ * <p>When {@link Transaction#commitAsync} is used, the file write and fsync
+ * are performed by a dedicated thread, which performs a single group commit
+ * for all asynchronous commits that are waiting. These group commits are
+ * included in the stats above, and are also described by the following
+ * stats. The batch size is the number of asynchronous commits completed by
+ * one group commit, and the commit latency is the time from the {@code
+ * commitAsync} call until its group commit is complete.</p>
+ *
+ * <table style="margin-left: 2em" border="1"
+ *        summary="Accessors and definitions">
+ *  <tr><td>{@link #getNAsyncCommitRequests()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_REQUESTS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getNAsyncCommitBatches()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_BATCHES_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getAsyncCommitBatch95Size()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_BATCH_95_SIZE_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getAsyncCommitBatchMaxSize()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_BATCH_MAX_SIZE_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getAsyncCommitAvgMs()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_AVG_MS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getAsyncCommit95Ms()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_95_MS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getAsyncCommit99Ms()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_99_MS_DESC}
+ *   </td></tr>
+ *  <tr><td>{@link #getAsyncCommitMaxMs()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_MAX_MS_DESC}
+ *   </td></tr>
+ * </table>
+ *
  * <h3><a name="incomp">Node Compression Statistics</a></h3>
  *
  * <p style="margin-left: 2em">Group Name: {@value
@@ -2489,6 +2766,10 @@ import com.sleepycat.je.utilint.TaskCoordinator;
  *   <td>
  *    {@value com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_BIN_DELTA_DELETES_DESC}
  *   </td></tr>
+ *  <tr><td>{@link #getNOptimisticSearchRestarts()}</td>
+ *   <td>
+ *    {@value com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_OPTIMISTIC_SEARCH_RESTARTS_DESC}
+ *   </td></tr>
  * </table>
  *
  * <h3><a name="env">Miscellaneous Environment-Wide Statistics</a></h3>
@@ -3286,6 +3567,57 @@ public class EnvironmentStats implements Serializable {
         return cleanerStats.getLong(CLEANER_DISK_READS);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_READ_AHEAD_BYTES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_READ_AHEAD_BYTES_NAME}</p>
+     *
+     * @see <a href="#cleanerEfficiency">Cleaning Efficiency</a>
+     *
+     * @since 18.3.13
+     */
+    public long getNCleanerReadAheadBytes() {
+        return cleanerStats.getLong(CLEANER_READ_AHEAD_BYTES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_READ_MS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_READ_MS_NAME}</p>
+     *
+     * @see <a href="#cleanerEfficiency">Cleaning Efficiency</a>
+     *
+     * @since 18.3.13
+     */
+    public long getCleanerReadMs() {
+        return cleanerStats.getLong(CLEANER_READ_MS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_PROCESS_MS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_PROCESS_MS_NAME}</p>
+     *
+     * @see <a href="#cleanerEfficiency">Cleaning Efficiency</a>
+     *
+     * @since 18.3.13
+     */
+    public long getCleanerProcessMs() {
+        return cleanerStats.getLong(CLEANER_PROCESS_MS);
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_ENTRIES_READ_DESC}</p>
@@ -3548,6 +3880,50 @@ public class EnvironmentStats implements Serializable {
         return cleanerStats.getLong(CLEANER_LNS_MIGRATED);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_LN_BYTES_MIGRATED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_LN_BYTES_MIGRATED_NAME}</p>
+     *
+     * @see <a href="#cleanerEfficiency">Cleaning Efficiency</a>
+     *
+     * @since 18.3.13
+     */
+    public long getNLNBytesMigrated() {
+        return cleanerStats.getLong(CLEANER_LN_BYTES_MIGRATED);
+    }
+
+    /**
+     * Returns the write amplification caused by LN migration: the total
+     * number of bytes written to the log, divided by the number of bytes
+     * written other than to migrate LNs. Returns 1 if no bytes were written.
+     *
+     * <p>This value is calculated from {@link #getNLNBytesMigrated} and the
+     * {@link #getNSequentialWriteBytes sequential} and {@link
+     * #getNRandomWriteBytes random} write bytes, for the same interval. INs
+     * that are dirtied by the cleaner and logged by the checkpointer are not
+     * counted as migration.</p>
+     *
+     * @see <a href="#cleanerEfficiency">Cleaning Efficiency</a>
+     *
+     * @since 18.3.13
+     */
+    public float getCleanerWriteAmplification() {
+        final long totalBytes =
+            logStats.getLong(FILEMGR_SEQUENTIAL_WRITE_BYTES) +
+            logStats.getLong(FILEMGR_RANDOM_WRITE_BYTES);
+        final long otherBytes =
+            totalBytes - cleanerStats.getLong(CLEANER_LN_BYTES_MIGRATED);
+        if (otherBytes <= 0) {
+            return 1;
+        }
+        return ((float) totalBytes) / otherBytes;
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.cleaner.CleanerStatDefinition#CLEANER_LNS_MARKED_DESC}</p>
@@ -4095,167 +4471,425 @@ public class EnvironmentStats implements Serializable {
 
     /**
      * <p>{@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_LOG_FSYNCS_DESC}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_REQUESTS_DESC}</p>
      *
      * <p style="margin-left: 2em">Group: {@value
      * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
      * <br>Name: {@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_LOG_FSYNCS_NAME}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_REQUESTS_NAME}</p>
      *
      * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     *
+     * @since 18.3.13
      */
-    public long getNLogFSyncs() {
-        return logStats.getLong(FILEMGR_LOG_FSYNCS);
+    public long getNAsyncCommitRequests() {
+        return logStats.getLong(FSYNCMGR_ASYNC_COMMIT_REQUESTS);
     }
 
     /**
      * <p>{@value
-     * com.sleepycat.je.log.LogStatDefinition#LBFP_LOG_BUFFERS_DESC}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_BATCHES_DESC}</p>
      *
      * <p style="margin-left: 2em">Group: {@value
      * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
      * <br>Name: {@value
-     * com.sleepycat.je.log.LogStatDefinition#LBFP_LOG_BUFFERS_NAME}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_BATCHES_NAME}</p>
      *
-     * @see <a href="#logBuffer">I/O Statistics: Log Buffers</a>
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     *
+     * @since 18.3.13
      */
-    public int getNLogBuffers() {
-        return logStats.getInt(LBFP_LOG_BUFFERS);
+    public long getNAsyncCommitBatches() {
+        return logStats.getLong(FSYNCMGR_ASYNC_COMMIT_BATCHES);
     }
 
     /**
      * <p>{@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_READS_DESC}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_BATCH_95_SIZE_DESC}</p>
      *
      * <p style="margin-left: 2em">Group: {@value
      * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
      * <br>Name: {@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_READS_NAME}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_BATCH_95_SIZE_NAME}</p>
      *
-     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     *
+     * @since 18.3.13
      */
-    public long getNRandomReads() {
-        return logStats.getLong(FILEMGR_RANDOM_READS);
+    public long getAsyncCommitBatch95Size() {
+        return logStats.getLong(FSYNCMGR_ASYNC_BATCH_95_SIZE);
     }
 
     /**
      * <p>{@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_READ_BYTES_DESC}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_BATCH_MAX_SIZE_DESC}</p>
      *
      * <p style="margin-left: 2em">Group: {@value
      * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
      * <br>Name: {@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_READ_BYTES_NAME}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_BATCH_MAX_SIZE_NAME}</p>
      *
-     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     *
+     * @since 18.3.13
      */
-    public long getNRandomReadBytes() {
-        return logStats.getLong(FILEMGR_RANDOM_READ_BYTES);
+    public long getAsyncCommitBatchMaxSize() {
+        return logStats.getLong(FSYNCMGR_ASYNC_BATCH_MAX_SIZE);
     }
 
     /**
      * <p>{@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_WRITES_DESC}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_AVG_MS_DESC}</p>
      *
      * <p style="margin-left: 2em">Group: {@value
      * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
      * <br>Name: {@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_WRITES_NAME}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_AVG_MS_NAME}</p>
      *
-     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     *
+     * @since 18.3.13
      */
-    public long getNRandomWrites() {
-        return logStats.getLong(FILEMGR_RANDOM_WRITES);
+    public long getAsyncCommitAvgMs() {
+        return logStats.getLong(FSYNCMGR_ASYNC_COMMIT_AVG_MS);
     }
 
     /**
      * <p>{@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_WRITE_BYTES_DESC}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_95_MS_DESC}</p>
      *
      * <p style="margin-left: 2em">Group: {@value
      * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
      * <br>Name: {@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_WRITE_BYTES_NAME}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_95_MS_NAME}</p>
      *
-     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     *
+     * @since 18.3.13
      */
-    public long getNRandomWriteBytes() {
-        return logStats.getLong(FILEMGR_RANDOM_WRITE_BYTES);
+    public long getAsyncCommit95Ms() {
+        return logStats.getLong(FSYNCMGR_ASYNC_COMMIT_95_MS);
     }
 
     /**
      * <p>{@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_READS_DESC}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_99_MS_DESC}</p>
      *
      * <p style="margin-left: 2em">Group: {@value
      * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
      * <br>Name: {@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_READS_NAME}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_99_MS_NAME}</p>
      *
-     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     *
+     * @since 18.3.13
      */
-    public long getNSequentialReads() {
-        return logStats.getLong(FILEMGR_SEQUENTIAL_READS);
+    public long getAsyncCommit99Ms() {
+        return logStats.getLong(FSYNCMGR_ASYNC_COMMIT_99_MS);
     }
 
     /**
      * <p>{@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_READ_BYTES_DESC}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_MAX_MS_DESC}</p>
      *
      * <p style="margin-left: 2em">Group: {@value
      * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
      * <br>Name: {@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_READ_BYTES_NAME}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FSYNCMGR_ASYNC_COMMIT_MAX_MS_NAME}</p>
      *
-     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
+     *
+     * @since 18.3.13
      */
-    public long getNSequentialReadBytes() {
-        return logStats.getLong(FILEMGR_SEQUENTIAL_READ_BYTES);
+    public long getAsyncCommitMaxMs() {
+        return logStats.getLong(FSYNCMGR_ASYNC_COMMIT_MAX_MS);
     }
 
     /**
      * <p>{@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_WRITES_DESC}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_LOG_FSYNCS_DESC}</p>
      *
      * <p style="margin-left: 2em">Group: {@value
      * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
      * <br>Name: {@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_WRITES_NAME}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_LOG_FSYNCS_NAME}</p>
      *
-     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     * @see <a href="#logFsync">I/O Statistics: Fsync and Group Commit</a>
      */
-    public long getNSequentialWrites() {
-        return logStats.getLong(FILEMGR_SEQUENTIAL_WRITES);
+    public long getNLogFSyncs() {
+        return logStats.getLong(FILEMGR_LOG_FSYNCS);
     }
 
     /**
      * <p>{@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_WRITE_BYTES_DESC}</p>
+     * com.sleepycat.je.log.LogStatDefinition#LBFP_LOG_BUFFERS_DESC}</p>
      *
      * <p style="margin-left: 2em">Group: {@value
      * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
      * <br>Name: {@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_WRITE_BYTES_NAME}</p>
+     * com.sleepycat.je.log.LogStatDefinition#LBFP_LOG_BUFFERS_NAME}</p>
      *
-     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     * @see <a href="#logBuffer">I/O Statistics: Log Buffers</a>
      */
-    public long getNSequentialWriteBytes() {
-        return logStats.getLong(FILEMGR_SEQUENTIAL_WRITE_BYTES);
+    public int getNLogBuffers() {
+        return logStats.getInt(LBFP_LOG_BUFFERS);
     }
 
     /**
      * <p>{@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_BYTES_READ_FROM_WRITEQUEUE_DESC}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_READS_DESC}</p>
      *
      * <p style="margin-left: 2em">Group: {@value
      * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
      * <br>Name: {@value
-     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_BYTES_READ_FROM_WRITEQUEUE_NAME}</p>
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_READS_NAME}</p>
      *
-     * @see <a href="#logWriteQueue">I/O Statistics: The Write Queue</a>
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
      */
-    public long getNBytesReadFromWriteQueue() {
-        return logStats.getLong(FILEMGR_BYTES_READ_FROM_WRITEQUEUE);
+    public long getNRandomReads() {
+        return logStats.getLong(FILEMGR_RANDOM_READS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_READ_BYTES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_READ_BYTES_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     */
+    public long getNRandomReadBytes() {
+        return logStats.getLong(FILEMGR_RANDOM_READ_BYTES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_WRITES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_WRITES_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     */
+    public long getNRandomWrites() {
+        return logStats.getLong(FILEMGR_RANDOM_WRITES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_WRITE_BYTES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_RANDOM_WRITE_BYTES_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     */
+    public long getNRandomWriteBytes() {
+        return logStats.getLong(FILEMGR_RANDOM_WRITE_BYTES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_READS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_READS_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     */
+    public long getNSequentialReads() {
+        return logStats.getLong(FILEMGR_SEQUENTIAL_READS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_READ_BYTES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_READ_BYTES_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     */
+    public long getNSequentialReadBytes() {
+        return logStats.getLong(FILEMGR_SEQUENTIAL_READ_BYTES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_WRITES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_WRITES_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     */
+    public long getNSequentialWrites() {
+        return logStats.getLong(FILEMGR_SEQUENTIAL_WRITES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_WRITE_BYTES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_SEQUENTIAL_WRITE_BYTES_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     */
+    public long getNSequentialWriteBytes() {
+        return logStats.getLong(FILEMGR_SEQUENTIAL_WRITE_BYTES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_AVG_US_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_AVG_US_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     *
+     * @since 18.3.13
+     */
+    public long getWriteAvgUs() {
+        return logStats.getLong(FILEMGR_WRITE_AVG_US);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_95_US_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_95_US_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     *
+     * @since 18.3.13
+     */
+    public long getWrite95Us() {
+        return logStats.getLong(FILEMGR_WRITE_95_US);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_99_US_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_99_US_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     *
+     * @since 18.3.13
+     */
+    public long getWrite99Us() {
+        return logStats.getLong(FILEMGR_WRITE_99_US);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_MAX_US_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_WRITE_MAX_US_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     *
+     * @since 18.3.13
+     */
+    public long getWriteMaxUs() {
+        return logStats.getLong(FILEMGR_WRITE_MAX_US);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_SWITCHES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_SWITCHES_NAME}</p>
+     *
+     * @see <a href="#logCritical">I/O Statistics: Logging Critical
+     * Section</a>
+     *
+     * @since 18.3.13
+     */
+    public long getNFileSwitches() {
+        return logStats.getLong(FILEMGR_FILE_SWITCHES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_SWITCH_AVG_MS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_SWITCH_AVG_MS_NAME}</p>
+     *
+     * @see <a href="#logCritical">I/O Statistics: Logging Critical
+     * Section</a>
+     *
+     * @since 18.3.13
+     */
+    public long getFileSwitchAvgMs() {
+        return logStats.getLong(FILEMGR_FILE_SWITCH_AVG_MS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_SWITCH_MAX_MS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_FILE_SWITCH_MAX_MS_NAME}</p>
+     *
+     * @see <a href="#logCritical">I/O Statistics: Logging Critical
+     * Section</a>
+     *
+     * @since 18.3.13
+     */
+    public long getFileSwitchMaxMs() {
+        return logStats.getLong(FILEMGR_FILE_SWITCH_MAX_MS);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_BYTES_READ_FROM_WRITEQUEUE_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_BYTES_READ_FROM_WRITEQUEUE_NAME}</p>
+     *
+     * @see <a href="#logWriteQueue">I/O Statistics: The Write Queue</a>
+     */
+    public long getNBytesReadFromWriteQueue() {
+        return logStats.getLong(FILEMGR_BYTES_READ_FROM_WRITEQUEUE);
     }
 
     /**
@@ -4416,6 +5050,60 @@ public class EnvironmentStats implements Serializable {
         return logStats.getLong(LOGMGR_TEMP_BUFFER_WRITES);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LNS_COMPRESSED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LNS_COMPRESSED_NAME}</p>
+     *
+     * @see DatabaseConfig#setDataCompression
+     *
+     * @since 18.3.13
+     */
+    public long getNLNsCompressed() {
+        return logStats.getLong(LOGMGR_LNS_COMPRESSED);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESS_RAW_BYTES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESS_RAW_BYTES_NAME}</p>
+     *
+     * @see DatabaseConfig#setDataCompression
+     *
+     * @since 18.3.13
+     */
+    public long getLNCompressRawBytes() {
+        return logStats.getLong(LOGMGR_LN_COMPRESS_RAW_BYTES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESSED_BYTES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#LOGMGR_LN_COMPRESSED_BYTES_NAME}</p>
+     *
+     * <p>The ratio of this value to {@link #getLNCompressRawBytes} is the
+     * compression ratio achieved for LN data.</p>
+     *
+     * @see DatabaseConfig#setDataCompression
+     *
+     * @since 18.3.13
+     */
+    public long getLNCompressedBytes() {
+        return logStats.getLong(LOGMGR_LN_COMPRESSED_BYTES);
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.log.LogStatDefinition#LBFP_NO_FREE_BUFFER_DESC}</p>
@@ -4464,6 +5152,22 @@ public class EnvironmentStats implements Serializable {
         return logStats.getInt(FILEMGR_OPEN_FILES);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_POSITIONAL_READS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.log.LogStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.log.LogStatDefinition#FILEMGR_POSITIONAL_READS_NAME}</p>
+     *
+     * @see <a href="#logFileAccess">I/O Statistics: File Access</a>
+     * @since 18.3.13
+     */
+    public long getNPositionalReads() {
+        return logStats.getLong(FILEMGR_POSITIONAL_READS);
+    }
+
     /* Return Evictor stats. */
 
     /**
@@ -4709,6 +5413,68 @@ public class EnvironmentStats implements Serializable {
         return cacheStats.getLong(EVICTOR_NODES_PUT_BACK);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#EVICTOR_NODES_ADMITTED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#EVICTOR_NODES_ADMITTED_NAME}</p>
+     *
+     * <p>This stat is non-zero only when the internal TinyLFU eviction
+     * policy is configured. Each node counted was retained, after its first
+     * stay in the cache, because it was accessed more frequently than a node
+     * already in the cache. When the working set fits in the cache, this
+     * number stays small relative to the number of nodes evicted.</p>
+     *
+     * @see <a href="#cacheDebugging">Cache Statistics: Debugging</a>
+     * @since 18.3.13
+     */
+    public long getNNodesAdmitted() {
+        return cacheStats.getLong(EVICTOR_NODES_ADMITTED);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#EVICTOR_LRU_BUFFER_CONTENTION_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#EVICTOR_LRU_BUFFER_CONTENTION_NAME}</p>
+     *
+     * <p>This stat is non-zero only when {@link
+     * EnvironmentConfig#EVICTOR_BUFFER_LRU_ACCESSES} is true.</p>
+     *
+     * @see <a href="#cacheLRUListContention">Cache Statistics: LRU List
+     * Contention</a>
+     * @since 18.3.13
+     */
+    public long getNLRUBufferContention() {
+        return cacheStats.getLong(EVICTOR_LRU_BUFFER_CONTENTION);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#EVICTOR_LRU_BUFFER_DROPS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#EVICTOR_LRU_BUFFER_DROPS_NAME}</p>
+     *
+     * <p>This stat is non-zero only when {@link
+     * EnvironmentConfig#EVICTOR_BUFFER_LRU_ACCESSES} is true.</p>
+     *
+     * @see <a href="#cacheLRUListContention">Cache Statistics: LRU List
+     * Contention</a>
+     * @since 18.3.13
+     */
+    public long getNLRUBufferDrops() {
+        return cacheStats.getLong(EVICTOR_LRU_BUFFER_DROPS);
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.evictor.EvictorStatDefinition#EVICTOR_NODES_MOVED_TO_PRI2_LRU_DESC}</p>
@@ -4941,6 +5707,68 @@ public class EnvironmentStats implements Serializable {
         return cacheStats.getAtomicLong(UPPER_IN_FETCH_MISS);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#BIN_FETCH_FILTERED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#BIN_FETCH_FILTERED_NAME}</p>
+     *
+     * <p>Filtered reads are not included in {@link #getNBINsFetch()}.</p>
+     *
+     * @see <a href="#cacheSizing">Cache Statistics: Sizing</a>
+     *
+     * @since 18.3.13
+     */
+    public long getNBINsFetchFiltered() {
+        return cacheStats.getAtomicLong(BIN_FETCH_FILTERED);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#BIN_FILTER_FALSE_POSITIVE_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#BIN_FILTER_FALSE_POSITIVE_NAME}</p>
+     *
+     * <p>A fetched BIN-delta is counted only if its own Bloom filter shows
+     * that the full BIN does not contain the key.</p>
+     *
+     * @see <a href="#cacheSizing">Cache Statistics: Sizing</a>
+     *
+     * @since 18.3.13
+     */
+    public long getNBINFilterFalsePositives() {
+        return cacheStats.getAtomicLong(BIN_FILTER_FALSE_POSITIVE);
+    }
+
+    /**
+     * Returns the false positive rate of the key filters kept for evicted
+     * BINs: the number of {@link #getNBINFilterFalsePositives false
+     * positives}, divided by the total number of absent keys that were
+     * checked against a filter, i.e., the false positives plus the {@link
+     * #getNBINsFetchFiltered filtered} fetches. Returns 0 if no absent keys
+     * were checked.
+     *
+     * @see <a href="#cacheSizing">Cache Statistics: Sizing</a>
+     *
+     * @since 18.3.13
+     */
+    public float getBINFilterFalsePositiveRate() {
+        final long falsePositives =
+            cacheStats.getAtomicLong(BIN_FILTER_FALSE_POSITIVE);
+        final long absentKeys =
+            falsePositives + cacheStats.getAtomicLong(BIN_FETCH_FILTERED);
+        if (absentKeys == 0) {
+            return 0;
+        }
+        return ((float) falsePositives) / absentKeys;
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.evictor.EvictorStatDefinition#BIN_FETCH_MISS_RATIO_DESC}</p>
@@ -4961,6 +5789,26 @@ public class EnvironmentStats implements Serializable {
         return cacheStats.getFloat(BIN_FETCH_MISS_RATIO);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#UPPER_IN_FETCH_MISS_RATIO_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#UPPER_IN_FETCH_MISS_RATIO_NAME}</p>
+     *
+     * <p>Together with {@link #getNBINsFetchMissRatio()}, this may be used
+     * to compare the effectiveness of cache configurations for a given
+     * workload.</p>
+     *
+     * @see <a href="#cacheDebugging">Cache Statistics: Debugging</a>
+     * @since 18.3.13
+     */
+    public float getNUpperINsFetchMissRatio() {
+        return cacheStats.getFloat(UPPER_IN_FETCH_MISS_RATIO);
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.evictor.EvictorStatDefinition#BIN_DELTA_BLIND_OPS_DESC}</p>
@@ -5092,6 +5940,42 @@ public class EnvironmentStats implements Serializable {
         return cacheStats.getLong(CACHED_IN_COMPACT_KEY);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#BINS_FROZEN_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#BINS_FROZEN_NAME}</p>
+     *
+     * @see <a href="#cacheSizeOptimizations">Cache Statistics: Size
+     * Optimizations</a>
+     *
+     * @since 18.3.13
+     */
+    public long getNBINsFrozen() {
+        return cacheStats.getAtomicLong(BINS_FROZEN);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#BINS_THAWED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.EvictorStatDefinition#BINS_THAWED_NAME}</p>
+     *
+     * @see <a href="#cacheSizeOptimizations">Cache Statistics: Size
+     * Optimizations</a>
+     *
+     * @since 18.3.13
+     */
+    public long getNBINsThawed() {
+        return cacheStats.getAtomicLong(BINS_THAWED);
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.evictor.EvictorStatDefinition#PRI2_LRU_SIZE_DESC}</p>
@@ -5945,6 +6829,52 @@ public class EnvironmentStats implements Serializable {
         return offHeapStats.getLong(OffHeapStatDefinition.TOTAL_BYTES);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#FRAGMENTED_BYTES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#FRAGMENTED_BYTES_NAME}</p>
+     *
+     * <p>This stat is non-zero only when {@link
+     * EnvironmentConfig#OFFHEAP_ALLOCATOR} is "SLAB". The sum of {@link
+     * #getOffHeapTotalBytes}, this value and {@link #getOffHeapFreeBytes} is
+     * then the off-heap memory obtained from the system.</p>
+     *
+     * <p>If this environment uses the shared cache, the return value is the
+     * total for all environments that are sharing the cache.</p>
+     *
+     * @see <a href="#cacheSizing">Cache Statistics: Sizing</a>
+     * @since 18.3.13
+     */
+    public long getOffHeapFragmentedBytes() {
+        return offHeapStats.getLong(OffHeapStatDefinition.FRAGMENTED_BYTES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#FREE_BYTES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#FREE_BYTES_NAME}</p>
+     *
+     * <p>This stat is non-zero only when {@link
+     * EnvironmentConfig#OFFHEAP_ALLOCATOR} is "SLAB".</p>
+     *
+     * <p>If this environment uses the shared cache, the return value is the
+     * total for all environments that are sharing the cache.</p>
+     *
+     * @see <a href="#cacheSizing">Cache Statistics: Sizing</a>
+     * @since 18.3.13
+     */
+    public long getOffHeapFreeBytes() {
+        return offHeapStats.getLong(OffHeapStatDefinition.FREE_BYTES);
+    }
+
     /**
      * <p>{@value
      * com.sleepycat.je.evictor.OffHeapStatDefinition#TOTAL_BLOCKS_DESC}</p>
@@ -5996,6 +6926,82 @@ public class EnvironmentStats implements Serializable {
         return offHeapStats.getInt(OffHeapStatDefinition.LRU_SIZE);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_BINS_LOADED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_BINS_LOADED_NAME}</p>
+     *
+     * <p>If this environment uses the shared cache, the return value is the
+     * total for all environments that are sharing the cache.</p>
+     *
+     * @see <a href="#cacheWarmRestart">Cache Statistics: Warm Restart</a>
+     * @since 18.3.13
+     */
+    public long getOffHeapWarmBINsLoaded() {
+        return offHeapStats.getLong(OffHeapStatDefinition.WARM_BINS_LOADED);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_LNS_LOADED_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_LNS_LOADED_NAME}</p>
+     *
+     * <p>If this environment uses the shared cache, the return value is the
+     * total for all environments that are sharing the cache.</p>
+     *
+     * @see <a href="#cacheWarmRestart">Cache Statistics: Warm Restart</a>
+     * @since 18.3.13
+     */
+    public long getOffHeapWarmLNsLoaded() {
+        return offHeapStats.getLong(OffHeapStatDefinition.WARM_LNS_LOADED);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_MISSES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_MISSES_NAME}</p>
+     *
+     * <p>If this environment uses the shared cache, the return value is the
+     * total for all environments that are sharing the cache.</p>
+     *
+     * @see <a href="#cacheWarmRestart">Cache Statistics: Warm Restart</a>
+     * @since 18.3.13
+     */
+    public long getOffHeapWarmMisses() {
+        return offHeapStats.getLong(OffHeapStatDefinition.WARM_MISSES);
+    }
+
+    /**
+     * <p>{@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_ENTRIES_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.evictor.OffHeapStatDefinition#WARM_ENTRIES_NAME}</p>
+     *
+     * <p>If this environment uses the shared cache, the return value is the
+     * total for all environments that are sharing the cache.</p>
+     *
+     * @see <a href="#cacheWarmRestart">Cache Statistics: Warm Restart</a>
+     * @since 18.3.13
+     */
+    public long getOffHeapWarmEntries() {
+        return offHeapStats.getInt(OffHeapStatDefinition.WARM_ENTRIES);
+    }
+
     /* Btree operation stats. */
 
     /**
@@ -6088,6 +7094,25 @@ public class EnvironmentStats implements Serializable {
         return btreeOpStats.getAtomicLong(BT_OP_BIN_DELTA_DELETES);
     }
 
+    /**
+     * <p>{@value
+     * com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_OPTIMISTIC_SEARCH_RESTARTS_DESC}</p>
+     *
+     * <p style="margin-left: 2em">Group: {@value
+     * com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_GROUP_NAME}
+     * <br>Name: {@value
+     * com.sleepycat.je.dbi.BTreeStatDefinition#BT_OP_OPTIMISTIC_SEARCH_RESTARTS_NAME}</p>
+     *
+     * <p>This stat is non-zero only when {@link
+     * EnvironmentConfig#TREE_OPTIMISTIC_SEARCH} is true.</p>
+     *
+     * @see <a href="#btreeop">Btree Operation Statistics</a>
+     * @since 18.3.13
+     */
+    public long getNOptimisticSearchRestarts() {
+        return btreeOpStats.getAtomicLong(BT_OP_OPTIMISTIC_SEARCH_RESTARTS);
+    }
+
     /* Lock stats. */
 
     /**
@@ -13,6 +13,7 @@
 
 package com.sleepycat.je;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import com.sleepycat.je.Durability.ReplicaAckPolicy;
@@ -401,6 +402,82 @@ public class Transaction {
         doCommit(durability, false /* explicitSync */);
     }
 
+    /**
+     * End the transaction using the specified durability requirements,
+     * without waiting for the log write or fsync required by the local
+     * {@link Durability.SyncPolicy}. The returned future completes when the
+     * transaction is durable according to the local sync policy.
+     *
+     * <p>When this method returns, the commit record has been added to the
+     * JE log buffers and the transaction's locks have been released, so
+     * other transactions may see its changes. The log write, and the fsync
+     * for {@link Durability.SyncPolicy#SYNC SYNC}, are then performed by a
+     * dedicated thread, which performs a single group commit for all
+     * asynchronous commits that are waiting. Because the log is written in
+     * order, a transaction that depends on this transaction cannot become
+     * durable before this transaction does.</p>
+     *
+     * <p>This method allows committing threads to proceed without blocking
+     * while the fsync is performed, and allows high commit rates with a small
+     * number of threads. If the environment is invalidated before the commit
+     * is durable, the future completes exceptionally with the {@link
+     * EnvironmentFailureException}; in that case the transaction may or may
+     * not be committed after recovery.</p>
+     *
+     * <p>Actions that depend on the future and are not asynchronous are
+     * performed by the JE thread that completes the future, and must not
+     * block. In particular, they must not wait for another asynchronous
+     * commit.</p>
+     *
+     * <p>In a replicated environment, replica acknowledgments are awaited by
+     * this method as in {@link #commit(Durability)}, before it returns.</p>
+     *
+     * <p>In all other respects this method behaves as {@link
+     * #commit(Durability)}, and it throws the same exceptions.</p>
+     *
+     * @param durability the durability requirements for this transaction
+     *
+     * @return a future that completes when the transaction is durable
+     * according to the local sync policy of the durability parameter.
+     *
+     * @throws OperationFailureException if this exception occurred earlier and
+     * caused the transaction to be invalidated.
+     *
+     * @throws EnvironmentFailureException if an unexpected, internal or
+     * environment-wide failure occurs.
+     *
+     * @throws IllegalStateException if the transaction or environment has been
+     * closed, or cursors associated with the transaction are still open.
+     *
+     * @throws IllegalArgumentException if an invalid parameter is specified.
+     *
+     * @since 18.3.13
+     */
+    public synchronized CompletableFuture<Void> commitAsync(
+        Durability durability)
+        throws DatabaseException {
+
+        try {
+            checkEnv();
+            checkOpen();
+            env.removeReferringHandle(this);
+            if (txn.getExplicitSyncConfigured()) {
+                throw new IllegalArgumentException
+                    ("Mixed use of new durability API for the " +
+                      "transaction commit with deprecated durability API for" +
+                      " TransactionConfig or MutableEnvironmentConfig");
+            }
+            final CompletableFuture<Void> future = txn.commitAsync(durability);
+            commitToken = txn.getCommitToken();
+            /* Remove reference to internal txn, so we can reclaim memory. */
+            setTxnNull();
+            return future;
+        } catch (Error E) {
+            DbInternal.getNonNullEnvImpl(env).invalidate(E);
+            throw E;
+        }
+    }
+
     /**
      * End the transaction, writing to stable storage and committing
      * synchronously.  This means the transaction will exhibit all of the ACID
@@ -35,6 +35,7 @@ import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_EXTINCT
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_LOCKED;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_MARKED;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_MIGRATED;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LN_BYTES_MIGRATED;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_LNS_OBSOLETE;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_MAX_UTILIZATION;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_MIN_UTILIZATION;
@@ -47,7 +48,10 @@ import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_PENDING_LN_
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_PREDICTED_MAX_UTILIZATION;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_PREDICTED_MIN_UTILIZATION;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_PROTECTED_LOG_SIZE;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_PROCESS_MS;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_PROTECTED_LOG_SIZE_MAP;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_READ_AHEAD_BYTES;
+import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_READ_MS;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_RESERVED_LOG_SIZE;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_REVISAL_RUNS;
 import static com.sleepycat.je.cleaner.CleanerStatDefinition.CLEANER_RUNS;
@@ -215,6 +219,7 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
     final LongStat nLNsDead;
     final LongStat nLNsLocked;
     final LongStat nLNsMigrated;
+    final LongStat nLNBytesMigrated;
     final LongStat nLNsMarked;
     final LongStat nLNQueueHits;
     private final LongStat nPendingLNsProcessed;
@@ -223,6 +228,9 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
     private final LongStat nPendingDBsIncomplete;
     final LongStat nEntriesRead;
     final LongStat nDiskReads;
+    final LongStat nReadAheadBytes;
+    final LongStat readMs;
+    final LongStat processMs;
     /*
      * Log size stats. These are CUMMULATIVE and the stat objects are created
      * by loadStats. They are accessed as a group while synchronized on
@@ -263,6 +271,7 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
      */
     long lockTimeout;
     int readBufferSize;
+    int readAheadSize;
     int lookAheadCacheSize;
     long nDeadlockRetries;
     boolean expunge;
@@ -277,6 +286,7 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
     private final boolean rmwFixEnabled;
     int minUtilization;
     int minFileUtilization;
+    UtilizationCalculator.FileSelectionPolicy fileSelectionPolicy;
     int minAge;
     private long maxDiskLimit;
     private long freeDiskLimit;
@@ -333,6 +343,7 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
         nLNsDead = new LongStat(statGroup, CLEANER_LNS_DEAD);
         nLNsLocked = new LongStat(statGroup, CLEANER_LNS_LOCKED);
         nLNsMigrated = new LongStat(statGroup, CLEANER_LNS_MIGRATED);
+        nLNBytesMigrated = new LongStat(statGroup, CLEANER_LN_BYTES_MIGRATED);
         nLNsMarked = new LongStat(statGroup, CLEANER_LNS_MARKED);
         nLNQueueHits = new LongStat(statGroup, CLEANER_LNQUEUE_HITS);
         nPendingLNsProcessed =
@@ -344,6 +355,9 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
             new LongStat(statGroup, CLEANER_PENDING_DBS_INCOMPLETE);
         nEntriesRead = new LongStat(statGroup, CLEANER_ENTRIES_READ);
         nDiskReads = new LongStat(statGroup, CLEANER_DISK_READS);
+        nReadAheadBytes = new LongStat(statGroup, CLEANER_READ_AHEAD_BYTES);
+        readMs = new LongStat(statGroup, CLEANER_READ_MS);
+        processMs = new LongStat(statGroup, CLEANER_PROCESS_MS);
 
         logSizeStats =
             new FileProtector.LogSizeStats(0, 0, 0, new HashMap<>());
@@ -413,6 +427,8 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
                 cm.getInt(EnvironmentParams.LOG_ITERATOR_READ_SIZE);
         }
 
+        readAheadSize = cm.getInt(EnvironmentParams.CLEANER_READ_AHEAD_SIZE);
+
         lookAheadCacheSize =
             cm.getInt(EnvironmentParams.CLEANER_LOOK_AHEAD_CACHE_SIZE);
 
@@ -503,6 +519,9 @@ public class Cleaner implements DaemonRunner, EnvConfigObserver {
         minUtilization = cm.getInt(EnvironmentParams.CLEANER_MIN_UTILIZATION);
         minFileUtilization =
             cm.getInt(EnvironmentParams.CLEANER_MIN_FILE_UTILIZATION);
+        fileSelectionPolicy =
+            UtilizationCalculator.FileSelectionPolicy.valueOf(
+                cm.get(EnvironmentParams.CLEANER_FILE_SELECTION_POLICY));
 
         maxDiskLimit = cm.getLong(EnvironmentParams.MAX_DISK);
         adjustedMaxDiskLimit = maxDiskLimit;
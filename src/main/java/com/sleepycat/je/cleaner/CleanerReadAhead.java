@@ -0,0 +1,168 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.cleaner;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.RandomAccessFile;
+
+import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.utilint.LoggerUtils;
+import com.sleepycat.je.utilint.StoppableThreadFactory;
+
+/**
+ * Reads a file that is being cleaned ahead of the FileProcessor, so that the
+ * data is in the file system cache when the CleanerFileReader reads it. The
+ * disk reads are then overlapped with the Btree lookups and migration done
+ * by the FileProcessor, rather than alternating with them.
+ *
+ * See EnvironmentConfig.CLEANER_READ_AHEAD_SIZE.
+ *
+ * The read-ahead thread stays at most readAheadSize bytes ahead of the offset
+ * of the entry being processed, which the FileProcessor reports by calling
+ * setProcessedOffset. When it is that far ahead it waits, and it is notified
+ * when the FileProcessor has caught up by half that amount. A separate file
+ * descriptor is used so that the reads do not contend with the reads of the
+ * CleanerFileReader.
+ *
+ * An instance is used for a single file. Read errors are logged but are
+ * otherwise ignored, since the CleanerFileReader will encounter them also.
+ */
+class CleanerReadAhead implements Runnable {
+
+    private final EnvironmentImpl envImpl;
+    private final Cleaner cleaner;
+    private final long fileNum;
+    private final int readAheadSize;
+    private final int bufSize;
+    private final Thread thread;
+
+    /* Protected by this object's monitor. */
+    private long processedOffset;
+    private long readOffset;
+    private boolean waiting;
+    private boolean stop;
+
+    CleanerReadAhead(final EnvironmentImpl envImpl,
+                     final Cleaner cleaner,
+                     final long fileNum,
+                     final int readAheadSize,
+                     final int bufSize) {
+        this.envImpl = envImpl;
+        this.cleaner = cleaner;
+        this.fileNum = fileNum;
+        this.readAheadSize = readAheadSize;
+        this.bufSize = Math.min(bufSize, readAheadSize);
+
+        thread = new StoppableThreadFactory(
+            envImpl, "JECleanerReadAhead",
+            LoggerUtils.getLogger(getClass())).newThread(this);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops reading ahead and waits for the thread to exit. At most one read
+     * will occur after calling this method.
+     */
+    void shutdown() {
+
+        synchronized (this) {
+            stop = true;
+            notify();
+        }
+
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Called by the FileProcessor with the offset of each entry it reads.
+     */
+    synchronized void setProcessedOffset(final long offset) {
+
+        processedOffset = offset;
+
+        if (waiting && (readOffset - offset) <= (readAheadSize / 2)) {
+            notify();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            doRun();
+        } catch (Throwable e) {
+
+            /*
+             * Log error as SEVERE but do not invalidate environment, since
+             * cleaning can continue without read-ahead.
+             */
+            LoggerUtils.traceAndLogException(
+                envImpl, CleanerReadAhead.class.getName(), "run",
+                "Unable to read ahead of cleaning due to exception", e);
+        }
+    }
+
+    private void doRun()
+        throws Throwable {
+
+        final File file =
+            new File(envImpl.getFileManager().getFullFileName(fileNum));
+
+        final RandomAccessFile raf;
+        try {
+            raf = new RandomAccessFile(file, "r");
+        } catch (FileNotFoundException e) {
+            /* The CleanerFileReader will report a missing file. */
+            return;
+        }
+
+        try {
+            final byte[] buf = new byte[bufSize];
+
+            while (true) {
+                synchronized (this) {
+                    while (!stop &&
+                           (readOffset - processedOffset) >= readAheadSize) {
+                        waiting = true;
+                        wait();
+                        waiting = false;
+                    }
+                    if (stop) {
+                        return;
+                    }
+                }
+
+                final int bytes = raf.read(buf, 0, bufSize);
+                if (bytes < 0) {
+                    return;
+                }
+
+                cleaner.nReadAheadBytes.add(bytes);
+
+                synchronized (this) {
+                    readOffset += bytes;
+                }
+            }
+        } finally {
+            raf.close();
+        }
+    }
+}
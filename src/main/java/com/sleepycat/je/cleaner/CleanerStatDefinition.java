@@ -220,6 +220,15 @@ public class CleanerStatDefinition {
             CLEANER_LNS_MIGRATED_NAME,
             CLEANER_LNS_MIGRATED_DESC);
 
+    public static final String CLEANER_LN_BYTES_MIGRATED_NAME =
+        "nLNBytesMigrated";
+    public static final String CLEANER_LN_BYTES_MIGRATED_DESC =
+        "Number of bytes logged by the cleaner to migrate active LNs.";
+    public static final StatDefinition CLEANER_LN_BYTES_MIGRATED =
+        new StatDefinition(
+            CLEANER_LN_BYTES_MIGRATED_NAME,
+            CLEANER_LN_BYTES_MIGRATED_DESC);
+
     public static final String CLEANER_LNS_MARKED_NAME =
         "nLNsMarked";
     public static final String CLEANER_LNS_MARKED_DESC =
@@ -295,6 +304,36 @@ public class CleanerStatDefinition {
             CLEANER_DISK_READS_NAME,
             CLEANER_DISK_READS_DESC);
 
+    public static final String CLEANER_READ_AHEAD_BYTES_NAME =
+        "nCleanerReadAheadBytes";
+    public static final String CLEANER_READ_AHEAD_BYTES_DESC =
+        "Number of bytes read ahead of file processing by the cleaner.";
+    public static final StatDefinition CLEANER_READ_AHEAD_BYTES =
+        new StatDefinition(
+            CLEANER_READ_AHEAD_BYTES_NAME,
+            CLEANER_READ_AHEAD_BYTES_DESC);
+
+    public static final String CLEANER_READ_MS_NAME =
+        "cleanerReadMs";
+    public static final String CLEANER_READ_MS_DESC =
+        "Accumulated milliseconds spent by cleaner threads reading log " +
+            "entries from the files being cleaned.";
+    public static final StatDefinition CLEANER_READ_MS =
+        new StatDefinition(
+            CLEANER_READ_MS_NAME,
+            CLEANER_READ_MS_DESC);
+
+    public static final String CLEANER_PROCESS_MS_NAME =
+        "cleanerProcessMs";
+    public static final String CLEANER_PROCESS_MS_DESC =
+        "Accumulated milliseconds spent by cleaner threads determining " +
+            "whether log entries are obsolete, and looking up and " +
+            "migrating the active entries.";
+    public static final StatDefinition CLEANER_PROCESS_MS =
+        new StatDefinition(
+            CLEANER_PROCESS_MS_NAME,
+            CLEANER_PROCESS_MS_DESC);
+
     public static final String CLEANER_ACTIVE_LOG_SIZE_NAME =
         "activeLogSize";
     public static final String CLEANER_ACTIVE_LOG_SIZE_DESC =
@@ -534,6 +534,28 @@ public class ExpirationProfile {
         }
     }
 
+    /**
+     * Returns the number of bytes in the given file that will have expired
+     * at the given time, which may be in the future. Unlike {@link
+     * #getExpiredBytes}, the histogram is evaluated by each call.
+     */
+    public int getExpiredBytesAt(final long fileNum, final long time) {
+
+        synchronized (map) {
+
+            final ExpInfo info = map.get(fileNum);
+
+            if (info == null) {
+                return 0;
+            }
+
+            final int hourLimit = (int) (time / TTL.MILLIS_PER_HOUR);
+
+            return ExpirationTracker.getExpiredBytes(
+                info.serializedForm, hourLimit / 24, hourLimit);
+        }
+    }
+
     public String toString(final long fileNum) {
         synchronized (map) {
             final ExpInfo info = map.get(fileNum);
@@ -17,12 +17,15 @@ import static com.sleepycat.je.ExtinctionFilter.ExtinctionStatus.EXTINCT;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
 import com.sleepycat.je.CacheMode;
@@ -45,6 +48,7 @@ import com.sleepycat.je.log.entry.LNLogEntry;
 import com.sleepycat.je.tree.BIN;
 import com.sleepycat.je.tree.ChildReference;
 import com.sleepycat.je.tree.IN;
+import com.sleepycat.je.tree.Key;
 import com.sleepycat.je.tree.LN;
 import com.sleepycat.je.tree.MapLN;
 import com.sleepycat.je.tree.OldBINDelta;
@@ -208,6 +212,11 @@ public class FileProcessor extends DaemonThread {
      */
     private int nLNsMigratedThisRun = 0;
 
+    /*
+     * Number of bytes logged to migrate LN logrecs.
+     */
+    private long nLNBytesMigratedThisRun = 0;
+
     /*
      * This applies to temporary DBs only. It is the number of LN logrecs that
      * were still active, but instead of migrating them, we attached the LN to
@@ -225,6 +234,13 @@ public class FileProcessor extends DaemonThread {
      */
     private int nEntriesReadThisRun;
 
+    /*
+     * Time spent reading log entries, and the remaining time spent
+     * processing them, during cleaning.
+     */
+    private long readNanosThisRun;
+    private long processNanosThisRun;
+
     FileProcessor(String name,
                   boolean firstThread,
                   EnvironmentImpl env,
@@ -534,7 +550,11 @@ public class FileProcessor extends DaemonThread {
                     " nLNsMigrated=" + nLNsMigratedThisRun +
                     " nLNsMarked=" + nLNsMarkedThisRun +
                     " nLNQueueHits=" + nLNQueueHitsThisRun +
-                    " nLNsLocked=" + nLNsLockedThisRun;
+                    " nLNsLocked=" + nLNsLockedThisRun +
+                    " readMs=" +
+                    TimeUnit.NANOSECONDS.toMillis(readNanosThisRun) +
+                    " processMs=" +
+                    TimeUnit.NANOSECONDS.toMillis(processNanosThisRun);
 
                 Trace.trace(envImpl, endMsg);
 
@@ -705,6 +725,7 @@ public class FileProcessor extends DaemonThread {
 
         /* Copy to local variables because they are mutable properties. */
         final int readBufferSize = cleaner.readBufferSize;
+        final int readAheadSize = countOnly ? 0 : cleaner.readAheadSize;
         final int lookAheadCacheSize =
             countOnly ? 0 : cleaner.lookAheadCacheSize;
 
@@ -754,12 +775,25 @@ public class FileProcessor extends DaemonThread {
         /* Validate all entries before ever deleting a file. */
         reader.setAlwaysValidateChecksum(true);
 
+        /* Read the file ahead of processing, if configured. */
+        final CleanerReadAhead readAhead = (readAheadSize > 0) ?
+            new CleanerReadAhead(
+                envImpl, cleaner, fileNum, readAheadSize, readBufferSize) :
+            null;
+
+        if (readAhead != null) {
+            readAhead.start();
+        }
+
+        final long startNanos = System.nanoTime();
+        final long startReadNanos = readNanosThisRun;
+
         try {
             final TreeLocation location = new TreeLocation();
 
             int nProcessedEntries = 0;
 
-            while (reader.readNextEntryAllowExceptions()) {
+            while (readNextEntry(reader)) {
 
                 nProcessedEntries += 1;
                 cleaner.nEntriesRead.increment();
@@ -771,6 +805,10 @@ public class FileProcessor extends DaemonThread {
 
                 long logLsn = reader.getLastLsn();
                 long fileOffset = DbLsn.getFileOffset(logLsn);
+
+                if (readAhead != null) {
+                    readAhead.setProcessedOffset(fileOffset);
+                }
                 boolean isLN = reader.isLN();
                 boolean isIN = reader.isIN();
                 boolean isBINDelta = reader.isBINDelta();
@@ -1018,7 +1056,14 @@ public class FileProcessor extends DaemonThread {
                         new LNInfo(targetLN, dbId, key, expirationTime));
 
                     if (lookAheadCache.isFull()) {
-                        processLN(fileNum, location, lookAheadCache, dbCache);
+                        if (readAheadSize > 0) {
+                            processLNBatch(
+                                fileNum, location, lookAheadCache, dbCache);
+                        } else {
+                            processLN(
+                                fileNum, location, lookAheadCache, dbCache,
+                                lookAheadCache.nextOffset());
+                        }
                     }
 
                 } else if (isDbTree) {
@@ -1074,7 +1119,9 @@ public class FileProcessor extends DaemonThread {
                 if (Cleaner.DO_CRITICAL_EVICTION) {
                     envImpl.daemonEviction(true /*backgroundIO*/);
                 }
-                processLN(fileNum, location, lookAheadCache, dbCache);
+                processLN(
+                    fileNum, location, lookAheadCache, dbCache,
+                    lookAheadCache.nextOffset());
                 /* Sleep if background read/write limit was exceeded. */
                 envImpl.sleepAfterBackgroundIO();
             }
@@ -1104,6 +1151,13 @@ public class FileProcessor extends DaemonThread {
             throw new EnvironmentFailureException
                 (envImpl, EnvironmentFailureReason.LOG_CHECKSUM, e);
         } finally {
+            if (readAhead != null) {
+                readAhead.shutdown();
+            }
+
+            processNanosThisRun += (System.nanoTime() - startNanos) -
+                (readNanosThisRun - startReadNanos);
+
             /* Subtract the overhead of this method from the budget. */
             budget.updateAdminMemoryUsage(0 - adjustMem);
 
@@ -1126,18 +1180,71 @@ public class FileProcessor extends DaemonThread {
     }
 
     /**
-     * Processes the first LN in the look ahead cache and removes it from the
-     * cache. While the BIN is latched, look through the BIN for other LNs in
-     * the cache; if any match, process them to avoid a tree search later.
+     * Reads the next entry and adds the time taken to the per-run read time.
      */
-    private void processLN(
+    private boolean readNextEntry(final CleanerFileReader reader)
+        throws ChecksumException, FileNotFoundException {
+
+        final long startNanos = System.nanoTime();
+        try {
+            return reader.readNextEntryAllowExceptions();
+        } finally {
+            readNanosThisRun += System.nanoTime() - startNanos;
+        }
+    }
+
+    /**
+     * Called when the look ahead cache is full to process LNs in the cache,
+     * until it is no more than half full. The LNs are processed in database
+     * and key order, so that successive Btree lookups tend to visit the same
+     * or neighboring BINs, along a path of INs that was just searched, rather
+     * than visiting BINs in the order the LNs were logged.
+     * Keys are compared as unsigned bytes; the order is only an optimization
+     * and need not match the database's comparator.
+     *
+     * Used only when read-ahead is configured, since the file entries are
+     * then likely to be in the file system cache, and the Btree lookups
+     * dominate the cost of processing. Otherwise the LN with the lowest
+     * offset is processed, one at a time.
+     */
+    private void processLNBatch(
         final Long fileNum,
         final TreeLocation location,
         final LookAheadCache lookAheadCache,
         final DbCache dbCache) {
 
-        /* Get the first LN from the queue. */
-        final Long offset = lookAheadCache.nextOffset();
+        for (final Long offset : lookAheadCache.offsetsInKeyOrder()) {
+
+            if (!lookAheadCache.isOverHalfFull()) {
+                return;
+            }
+
+            /* The LN may have been processed along with another in its BIN. */
+            if (!lookAheadCache.contains(offset)) {
+                continue;
+            }
+
+            if (Cleaner.DO_CRITICAL_EVICTION) {
+                envImpl.daemonEviction(true /*backgroundIO*/);
+            }
+
+            processLN(fileNum, location, lookAheadCache, dbCache, offset);
+        }
+    }
+
+    /**
+     * Processes the LN at the given offset in the look ahead cache and
+     * removes it from the cache. While the BIN is latched, look through the
+     * BIN for other LNs in the cache; if any match, process them to avoid a
+     * tree search later.
+     */
+    private void processLN(
+        final Long fileNum,
+        final TreeLocation location,
+        final LookAheadCache lookAheadCache,
+        final DbCache dbCache,
+        final Long offset) {
+
         final LNInfo info = lookAheadCache.remove(offset);
 
         final LN lnFromLog = info.getLN();
@@ -1505,6 +1612,7 @@ public class FileProcessor extends DaemonThread {
                     db, logLsn, logItem.lsn, locker /*excludeLocker*/);
 
                 nLNsMigratedThisRun++;
+                nLNBytesMigratedThisRun += logItem.size;
             }
 
             migrated = true;
@@ -1958,11 +2066,14 @@ public class FileProcessor extends DaemonThread {
         nLNsCleanedThisRun = 0;
         nLNsDeadThisRun = 0;
         nLNsMigratedThisRun = 0;
+        nLNBytesMigratedThisRun = 0;
         nLNsMarkedThisRun = 0;
         nLNQueueHitsThisRun = 0;
         nLNsLockedThisRun = 0;
         nDbLookupsThisRun = 0;
         nEntriesReadThisRun = 0;
+        readNanosThisRun = 0;
+        processNanosThisRun = 0;
     }
 
     /**
@@ -1983,9 +2094,13 @@ public class FileProcessor extends DaemonThread {
         cleaner.nLNsCleaned.add(nLNsCleanedThisRun);
         cleaner.nLNsDead.add(nLNsDeadThisRun);
         cleaner.nLNsMigrated.add(nLNsMigratedThisRun);
+        cleaner.nLNBytesMigrated.add(nLNBytesMigratedThisRun);
         cleaner.nLNsMarked.add(nLNsMarkedThisRun);
         cleaner.nLNQueueHits.add(nLNQueueHitsThisRun);
         cleaner.nLNsLocked.add(nLNsLockedThisRun);
+        cleaner.readMs.add(TimeUnit.NANOSECONDS.toMillis(readNanosThisRun));
+        cleaner.processMs.add(
+            TimeUnit.NANOSECONDS.toMillis(processNanosThisRun));
     }
 
     /**
@@ -2013,10 +2128,46 @@ public class FileProcessor extends DaemonThread {
             return usedMem >= maxMem;
         }
 
+        boolean isOverHalfFull() {
+            return !map.isEmpty() && usedMem > maxMem / 2;
+        }
+
+        boolean contains(Long offset) {
+            return map.containsKey(offset);
+        }
+
         Long nextOffset() {
             return map.firstKey();
         }
 
+        /**
+         * Returns the offsets of the cached LNs ordered by database ID and
+         * then by key.
+         */
+        List<Long> offsetsInKeyOrder() {
+            final List<Map.Entry<Long, LNInfo>> entries =
+                new ArrayList<>(map.entrySet());
+
+            entries.sort((e1, e2) -> {
+                final LNInfo i1 = e1.getValue();
+                final LNInfo i2 = e2.getValue();
+                final int cmp = i1.getDbId().compareTo(i2.getDbId());
+                if (cmp != 0) {
+                    return cmp;
+                }
+                final byte[] k1 = i1.getKey();
+                final byte[] k2 = i2.getKey();
+                return Key.compareUnsignedBytes(
+                    k1, 0, k1.length, k2, 0, k2.length);
+            });
+
+            final List<Long> offsets = new ArrayList<>(entries.size());
+            for (final Map.Entry<Long, LNInfo> entry : entries) {
+                offsets.add(entry.getKey());
+            }
+            return offsets;
+        }
+
         void add(Long lsnOffset, LNInfo info) {
             map.put(lsnOffset, info);
             usedMem += info.getMemorySize();
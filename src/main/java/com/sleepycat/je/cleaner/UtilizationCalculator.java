@@ -93,9 +93,50 @@ import com.sleepycat.je.utilint.Pair;
  * boundaries. For purposes of driving cleaning, the utilization lower bound is
  * calculated by distributing the bytes that expired in the current day/hour
  * period evenly over that day/hour.
+ *
+ * === Cost-Benefit File Selection ===
+ *
+ * When the COST_BENEFIT {@link FileSelectionPolicy} is configured, the "best"
+ * file is the one with the highest cost-benefit score, rather than the one
+ * with the lowest avg utilization. As in LFS, the benefit of cleaning a file
+ * is the space reclaimed (1 - u) times the age of its data, since old data is
+ * less likely to become obsolete soon. The cost is reading the file (1) plus
+ * migrating its utilized data (u). In addition, data that expires within the
+ * next COST_BENEFIT_HORIZON_MS, according to the file's expiration histogram,
+ * is counted a second time as a cost, because migrating it wastes a write
+ * and the space it occupies must be reclaimed again shortly after. If uf is
+ * the utilization after that data expires:
+ *
+ *   score = ((1 - u) * age) / (1 + u + (u - uf))
+ *
+ * Age is the distance in files from the first active file, like minAge.
+ * Utilization is the avg of the min and max utilization. Only files with a
+ * utilization below minUtilization are scored. Otherwise an old file with a
+ * high utilization could have the highest score, and cleaning it would
+ * reclaim so little space that the total utilization would stay below
+ * minUtilization while most of the log is rewritten. If no file is below
+ * minUtilization, the file with the lowest utilization is chosen, as with
+ * the UTILIZATION policy. The policy only determines the "best" file; the
+ * thresholds that trigger cleaning, the "best gradual" file and two-pass
+ * cleaning are unchanged.
  */
 public class UtilizationCalculator implements EnvConfigObserver {
 
+    /**
+     * Policy for selecting the "best" file to clean. See
+     * EnvironmentConfig.CLEANER_FILE_SELECTION_POLICY.
+     */
+    public enum FileSelectionPolicy {
+        UTILIZATION,
+        COST_BENEFIT
+    }
+
+    /*
+     * Data expiring within this time is considered when computing the
+     * cost-benefit score.
+     */
+    private static final long COST_BENEFIT_HORIZON_MS = TTL.MILLIS_PER_DAY;
+
     private final EnvironmentImpl env;
     private final Cleaner cleaner;
     private final Logger logger;
@@ -177,6 +218,8 @@ public class UtilizationCalculator implements EnvConfigObserver {
         final int twoPassGap = cleaner.twoPassGap;
         final int minAge = cleaner.minAge;
         final boolean gradualExpiration = cleaner.gradualExpiration;
+        final boolean costBenefit =
+            cleaner.fileSelectionPolicy == FileSelectionPolicy.COST_BENEFIT;
         final boolean expirationEnabled = env.isExpirationEnabled();
 
         /*
@@ -240,7 +283,8 @@ public class UtilizationCalculator implements EnvConfigObserver {
          *   spikes after hour/day boundaries.
          *
          * + Utilization for the "best" file to use when cleaning normally. The
-          *  file with the lowest avg utilization is selected.
+          *  file with the lowest avg utilization is selected, or the file with
+          *  the highest cost-benefit score when that policy is configured.
          *
          * + Also determine the "best gradual" file with the lowest gradual
          *   max utilization. Note that when a file is selected due to the
@@ -252,6 +296,7 @@ public class UtilizationCalculator implements EnvConfigObserver {
         int bestFileAvgUtil = 101;
         int bestFileMinUtil = 0;
         int bestFileMaxUtil = 0;
+        double bestFileScore = -1;
         Long bestGradualFile = null;
         int bestGradualFileMaxUtil = 101;
         long currentTotalSize = 0;
@@ -342,7 +387,11 @@ public class UtilizationCalculator implements EnvConfigObserver {
 
             /*
              * Pick the "best" file -- the one having the lowest avg
-             * utilization so far.
+             * utilization so far, or for COST_BENEFIT, the one having the
+             * highest score so far among files with an avg utilization below
+             * minUtilization. A file at or above minUtilization is never
+             * preferred to a scored file, since cleaning it reclaims too
+             * little space to raise the total utilization.
              */
             final int thisMinUtil = FileSummary.utilization(
                 maxObsoleteSize, summary.totalSize);
@@ -352,7 +401,38 @@ public class UtilizationCalculator implements EnvConfigObserver {
 
             final int thisAvgUtil = (thisMinUtil + thisMaxUtil) / 2;
 
-            if (bestFile == null || thisAvgUtil < bestFileAvgUtil) {
+            if (costBenefit && thisAvgUtil < totalThreshold) {
+
+                final int futureExpiredSize = expirationEnabled ?
+                    Math.min(
+                        expProfile.getExpiredBytesAt(
+                            fileNum, currentTime + COST_BENEFIT_HORIZON_MS),
+                        summary.totalSize) :
+                    expiredSize;
+
+                final int thisFutureAvgUtil = (
+                    FileSummary.utilization(
+                        Math.min(obsoleteSize + futureExpiredSize,
+                                 summary.totalSize),
+                        summary.totalSize) +
+                    FileSummary.utilization(
+                        Math.max(obsoleteSize, futureExpiredSize),
+                        summary.totalSize)) / 2;
+
+                final double thisScore = costBenefitScore(
+                    thisAvgUtil, thisFutureAvgUtil,
+                    firstActiveFile - fileNum);
+
+                if (bestFileScore < 0 || thisScore > bestFileScore) {
+                    bestFile = file;
+                    bestFileScore = thisScore;
+                    bestFileAvgUtil = thisAvgUtil;
+                    bestFileMinUtil = thisMinUtil;
+                    bestFileMaxUtil = thisMaxUtil;
+                }
+
+            } else if (bestFileScore < 0 &&
+                       (bestFile == null || thisAvgUtil < bestFileAvgUtil)) {
                 bestFile = file;
                 bestFileAvgUtil = thisAvgUtil;
                 bestFileMinUtil = thisMinUtil;
@@ -440,7 +520,9 @@ public class UtilizationCalculator implements EnvConfigObserver {
             bestFileMsg =
                 ", chose file with util min: " + bestFileMinUtil +
                 " max: " + bestFileMaxUtil +
-                " avg: " + bestFileAvgUtil;
+                " avg: " + bestFileAvgUtil +
+                (bestFileScore >= 0 ?
+                    String.format(" score: %.2f", bestFileScore) : "");
 
             /*
              * If the difference between the file's min and max utilization is
@@ -480,6 +562,21 @@ public class UtilizationCalculator implements EnvConfigObserver {
             null;
     }
 
+    /**
+     * Returns the cost-benefit score for a file, given its current and
+     * future avg utilization percentages and its age in files. See the
+     * class comment.
+     */
+    static double costBenefitScore(final int avgUtil,
+                                   final int futureAvgUtil,
+                                   final long age) {
+
+        final double u = avgUtil / 100.0;
+        final double uf = Math.min(futureAvgUtil, avgUtil) / 100.0;
+
+        return ((1 - u) * Math.max(age, 1)) / (1 + u + (u - uf));
+    }
+
     /**
      * Process notifications of mutable property changes.
      *
@@ -23,7 +23,10 @@ import com.sleepycat.je.BackupFileCopy;
 import com.sleepycat.je.Durability;
 import com.sleepycat.je.EnvironmentConfig;
 import com.sleepycat.je.EnvironmentStats;
+import com.sleepycat.je.cleaner.UtilizationCalculator;
 import com.sleepycat.je.dbi.BackupManager;
+import com.sleepycat.je.evictor.Evictor;
+import com.sleepycat.je.evictor.OffHeapAllocatorFactory;
 import com.sleepycat.je.util.DbBackup;
 
 /**
@@ -123,6 +126,28 @@ public class EnvironmentParams {
                                false,         // mutable
                                false);        // forReplication
 
+    public static final IntConfigParam ENV_RECOVERY_THREADS =
+        new IntConfigParam(EnvironmentConfig.ENV_RECOVERY_THREADS,
+                           1,             // min
+                           64,            // max
+                           1,             // default
+                           false,         // mutable
+                           false);        // forReplication
+
+    public static final BooleanConfigParam ENV_LOAD_CACHE_SNAPSHOT =
+        new BooleanConfigParam(EnvironmentConfig.ENV_LOAD_CACHE_SNAPSHOT,
+                               false,         // default
+                               false,         // mutable
+                               false);        // forReplication
+
+    public static final IntConfigParam ENV_LOAD_CACHE_SNAPSHOT_THREADS =
+        new IntConfigParam(EnvironmentConfig.ENV_LOAD_CACHE_SNAPSHOT_THREADS,
+                           1,             // min
+                           64,            // max
+                           4,             // default
+                           false,         // mutable
+                           false);        // forReplication
+
     public static final BooleanConfigParam ENV_RECOVERY_FORCE_NEW_FILE =
         new BooleanConfigParam(EnvironmentConfig.ENV_RECOVERY_FORCE_NEW_FILE,
                                false,         // default
@@ -505,6 +530,14 @@ public class EnvironmentParams {
                            false,              // mutable
                            false);             // forReplication
 
+    public static final IntConfigParam LOG_MAX_NUM_BUFFERS =
+        new IntConfigParam(EnvironmentConfig.LOG_MAX_NUM_BUFFERS,
+                           0,                  // min
+                           null,               // max
+                           0,                  // default
+                           false,              // mutable
+                           false);             // forReplication
+
     public static final IntConfigParam LOG_BUFFER_MAX_SIZE =
         new IntConfigParam(EnvironmentConfig.LOG_BUFFER_SIZE,
                            1 << 10,  // min
@@ -559,6 +592,12 @@ public class EnvironmentParams {
                                false,              // mutable
                                false);             // forReplication
 
+    public static final BooleanConfigParam LOG_CHECKSUM_CRC32C =
+        new BooleanConfigParam(EnvironmentConfig.LOG_CHECKSUM_CRC32C,
+                               false,              // default
+                               false,              // mutable
+                               false);             // forReplication
+
     public static final BooleanConfigParam LOG_VERIFY_CHECKSUMS =
         new BooleanConfigParam(EnvironmentConfig.LOG_VERIFY_CHECKSUMS,
                                false,              // default
@@ -843,12 +882,24 @@ public class EnvironmentParams {
                                false,          // mutable
                                false);         // forReplication
 
+    public static final BooleanConfigParam LOG_USE_DIRECT_IO =
+        new BooleanConfigParam(EnvironmentConfig.LOG_USE_DIRECT_IO,
+                               false,          // default
+                               false,          // mutable
+                               false);         // forReplication
+
     public static final BooleanConfigParam LOG_USE_NIO =
         new BooleanConfigParam(EnvironmentConfig.LOG_USE_NIO,
                                false,          // default
                                false,          // mutable
                                false);         // forReplication
 
+    public static final BooleanConfigParam LOG_USE_POSITIONAL_READ =
+        new BooleanConfigParam(EnvironmentConfig.LOG_USE_POSITIONAL_READ,
+                               false,          // default
+                               false,          // mutable
+                               false);         // forReplication
+
     public static final BooleanConfigParam LOG_USE_WRITE_QUEUE =
         new BooleanConfigParam(EnvironmentConfig.LOG_USE_WRITE_QUEUE,
                                true,           // default
@@ -1046,6 +1097,18 @@ public class EnvironmentParams {
                            false,  // mutable
                            false); // forReplication
 
+    public static final BooleanConfigParam TREE_OPTIMISTIC_SEARCH =
+        new BooleanConfigParam(EnvironmentConfig.TREE_OPTIMISTIC_SEARCH,
+                               false,  // default
+                               false,  // mutable
+                               false); // forReplication
+
+    public static final BooleanConfigParam TREE_BIN_KEY_FILTERS =
+        new BooleanConfigParam(EnvironmentConfig.TREE_BIN_KEY_FILTERS,
+                               false,  // default
+                               false,  // mutable
+                               false); // forReplication
+
     /**
      * @deprecated as of JE 6.0
      */
@@ -1085,6 +1148,17 @@ public class EnvironmentParams {
                                false,        // mutable
                                false);       // forReplication
 
+    /*
+     * Whether the key stored in the parent for the new right-hand BIN of a
+     * split is truncated to the shortest key that separates the two BINs.
+     * Only applies to databases using the default key comparison.
+     */
+    public static final BooleanConfigParam TREE_SUFFIX_TRUNCATION =
+        new BooleanConfigParam("je.tree.suffixTruncation",
+                               true,         // default
+                               false,        // mutable
+                               false);       // forReplication
+
     public static final LongConfigParam MIN_TREE_MEMORY =
         new LongConfigParam(EnvironmentConfig.TREE_MIN_MEMORY,
                             50L * 1024,   // min
@@ -1255,6 +1329,46 @@ public class EnvironmentParams {
                            false,   // mutable
                            false);  // forReplication
 
+    public static final BooleanConfigParam EVICTOR_BUFFER_LRU_ACCESSES =
+        new BooleanConfigParam(EnvironmentConfig.EVICTOR_BUFFER_LRU_ACCESSES,
+                               false,             // default
+                               false,             // mutable
+                               false);            // forReplication
+
+    /**
+     * The eviction policy used for the main cache, either "LRU" or
+     * "TINY_LFU". See {@link Evictor.EvictionPolicy}.
+     *
+     * TINY_LFU is not public because, in the workloads measured so far with
+     * EvictionPolicyBenchmark, it does not reduce BIN fetch misses compared
+     * to LRU. Stripping LNs before evicting a BIN already keeps a scan from
+     * displacing the BINs of the working set.
+     *
+     * <p><table border="1"
+     *           summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td><td>Default</td></tr>
+     * <tr>
+     * <td>(Use @value if documented publicly)</td>
+     * <td>String</td>
+     * <td>No</td>
+     * <td>"LRU"</td>
+     * </tr>
+     * </table>
+     */
+    public static final ConfigParam EVICTOR_POLICY =
+        new ConfigParam("je.evictor.policy",
+                        Evictor.EvictionPolicy.LRU.name(),  // default
+                        false,                              // mutable
+                        false) {                            // forReplication
+
+            @Override
+            public void validateValue(String value)
+                throws IllegalArgumentException {
+
+                Evictor.EvictionPolicy.valueOf(value);
+            }
+    };
+
     public static final BooleanConfigParam EVICTOR_FORCED_YIELD =
         new BooleanConfigParam(EnvironmentConfig.EVICTOR_FORCED_YIELD,
                                false,             // default
@@ -1285,6 +1399,26 @@ public class EnvironmentParams {
             false,                 // mutable
             false);                // forReplication
 
+    public static final ConfigParam OFFHEAP_ALLOCATOR =
+        new ConfigParam(EnvironmentConfig.OFFHEAP_ALLOCATOR,
+            OffHeapAllocatorFactory.AllocatorType.MALLOC.name(), // default
+            false,                 // mutable
+            false) {               // forReplication
+
+            @Override
+            public void validateValue(String value)
+                throws IllegalArgumentException {
+
+                OffHeapAllocatorFactory.AllocatorType.valueOf(value);
+            }
+    };
+
+    public static final BooleanConfigParam OFFHEAP_WARM_RESTART =
+        new BooleanConfigParam(EnvironmentConfig.OFFHEAP_WARM_RESTART,
+            false,                 // default
+            false,                 // mutable
+            false);                // forReplication
+
     /**
      */
     public static final BooleanConfigParam ENV_RUN_OFFHEAP_EVICTOR =
@@ -1383,6 +1517,21 @@ public class EnvironmentParams {
                            true,        // mutable
                            false);      // forReplication
 
+    public static final ConfigParam CLEANER_FILE_SELECTION_POLICY =
+        new ConfigParam(EnvironmentConfig.CLEANER_FILE_SELECTION_POLICY,
+                        UtilizationCalculator.FileSelectionPolicy.
+                            UTILIZATION.name(),         // default
+                        true,                           // mutable
+                        false) {                        // forReplication
+
+            @Override
+            public void validateValue(String value)
+                throws IllegalArgumentException {
+
+                UtilizationCalculator.FileSelectionPolicy.valueOf(value);
+            }
+    };
+
     public static final LongConfigParam CLEANER_BYTES_INTERVAL =
         new LongConfigParam(EnvironmentConfig.CLEANER_BYTES_INTERVAL,
                             0L,             // min
@@ -1636,6 +1785,14 @@ public class EnvironmentParams {
                            true,   // mutable
                            false); // forReplication
 
+    public static final IntConfigParam CLEANER_READ_AHEAD_SIZE =
+        new IntConfigParam(EnvironmentConfig.CLEANER_READ_AHEAD_SIZE,
+                           0,      // min
+                           null,   // max
+                           0,      // default
+                           true,   // mutable
+                           false); // forReplication
+
     /**
      * DiskOrderedScan
      */
@@ -1891,6 +2048,12 @@ public class EnvironmentParams {
                            false,  // mutable
                            false); // forReplication
 
+    public static final BooleanConfigParam LOCK_PRIMITIVE_TABLES =
+        new BooleanConfigParam(EnvironmentConfig.LOCK_PRIMITIVE_TABLES,
+                               false,  // default
+                               false,  // mutable
+                               false); // forReplication
+
     public static final DurationConfigParam LOCK_TIMEOUT =
         new DurationConfigParam(EnvironmentConfig.LOCK_TIMEOUT,
                                 null,              // min
@@ -74,6 +74,20 @@ public class BTreeStatDefinition {
                                "10-19% full, ..., 90-100% full].",
                            StatType.CUMULATIVE);
 
+    public static final StatDefinition BT_COUNT_UPPER_IN_KEY_BYTES =
+        new StatDefinition("upperINKeyBytes",
+                           "Number of bytes used to store keys in the " +
+                               "internal nodes of the database btree, " +
+                               "including key prefixes. BINs are not " +
+                               "included.",
+                           StatType.CUMULATIVE);
+
+    public static final StatDefinition BT_COUNT_UPPER_IN_SLOTS =
+        new StatDefinition("upperINSlots",
+                           "Number of slots in the internal nodes of the " +
+                               "database btree. BINs are not included.",
+                           StatType.CUMULATIVE);
+
     /*
      * The BT_OP group is used for EnvironmentStats.
      */
@@ -135,4 +149,16 @@ public class BTreeStatDefinition {
         new StatDefinition(
             BT_OP_BIN_DELTA_DELETES_NAME,
             BT_OP_BIN_DELTA_DELETES_DESC);
+
+    public static final String BT_OP_OPTIMISTIC_SEARCH_RESTARTS_NAME =
+        "nOptimisticSearchRestarts";
+    public static final String BT_OP_OPTIMISTIC_SEARCH_RESTARTS_DESC =
+        "Number of btree searches that descended without latching the " +
+            "upper internal nodes, but had to be repeated with latches " +
+            "because a node on the path was modified concurrently. A " +
+            "measurement of contention.";
+    public static final StatDefinition BT_OP_OPTIMISTIC_SEARCH_RESTARTS =
+        new StatDefinition(
+            BT_OP_OPTIMISTIC_SEARCH_RESTARTS_NAME,
+            BT_OP_OPTIMISTIC_SEARCH_RESTARTS_DESC);
 }
@@ -0,0 +1,527 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.dbi;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import com.sleepycat.je.CacheMode;
+import com.sleepycat.je.DatabaseException;
+import com.sleepycat.je.dbi.SortedLSNTreeWalker.TreeNodeProcessor;
+import com.sleepycat.je.log.LogEntryType;
+import com.sleepycat.je.tree.BIN;
+import com.sleepycat.je.tree.IN;
+import com.sleepycat.je.tree.LN;
+import com.sleepycat.je.tree.Node;
+import com.sleepycat.je.utilint.Adler32;
+import com.sleepycat.je.utilint.DbLsn;
+import com.sleepycat.je.utilint.LoggerUtils;
+
+/**
+ * A file in the environment home listing the nodes that were resident in the
+ * main cache when {@link com.sleepycat.je.Environment#saveCacheSnapshot} was
+ * called, and which are fetched when the environment is opened with {@link
+ * com.sleepycat.je.EnvironmentConfig#ENV_LOAD_CACHE_SNAPSHOT}.
+ *
+ * Each entry is the database ID, LSN, type and memory size of an IN or LN.
+ * Upper INs come first, with higher levels first, followed by BINs ordered
+ * by LRU position, most recently used first. The resident LNs of each BIN
+ * follow the BIN. A prefix of the entries is therefore the hottest part of
+ * the cache, and a node's ancestors always precede it.
+ *
+ * When the snapshot is loaded, the longest prefix whose total memory size
+ * fits in the free cache memory is selected. The Btrees of the databases in
+ * the prefix are then walked by a SortedLSNTreeWalker, which fetches only
+ * the children whose slot LSN is in the prefix, one level at a time and in
+ * LSN order. Because a slot LSN identifies a single version of a node, an
+ * entry for a node that was logged again after the snapshot was saved is
+ * simply never matched, so the snapshot never needs to be invalidated.
+ *
+ * File format:
+ *
+ *  magic (int), file version (int),
+ *  entries: type (byte), database ID (long), LSN (long), memory size (int),
+ *  end marker: type zero (byte), number of entries (int),
+ *  checksum of all preceding bytes (int)
+ */
+class CacheSnapshot {
+
+    static final String FILE_NAME = "je.cacheSnapshot";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int MAGIC = 0x4a454353;
+    private static final int FILE_VERSION = 1;
+
+    private static final byte TYPE_END = 0;
+    private static final byte TYPE_IN = 1;
+    private static final byte TYPE_LN = 2;
+
+    /**
+     * Thrown through the SortedLSNTreeWalker when the cache is full.
+     */
+    @SuppressWarnings("serial")
+    private static class CacheFullException extends RuntimeException {
+        CacheFullException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final CacheFullException CACHE_FULL_EXCEPTION =
+        new CacheFullException();
+
+    /**
+     * Writes a snapshot of the nodes resident in the main cache, replacing
+     * the previous snapshot, if any.
+     *
+     * @return the number of entries written.
+     */
+    static int save(final EnvironmentImpl envImpl)
+        throws IOException {
+
+        final File tempFile =
+            new File(envImpl.getEnvironmentHome(), FILE_NAME + TEMP_SUFFIX);
+
+        final CheckedOutputStream checkedOut = new CheckedOutputStream(
+            new BufferedOutputStream(new FileOutputStream(tempFile), 1 << 16),
+            Adler32.makeChecksum());
+
+        final DataOutputStream out = new DataOutputStream(checkedOut);
+        int nEntries = 0;
+        boolean success = false;
+
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(FILE_VERSION);
+
+            final List<IN> upperINs = new ArrayList<>();
+            for (final IN in : envImpl.getInMemoryINs()) {
+                if (in.isUpperIN()) {
+                    upperINs.add(in);
+                }
+            }
+
+            upperINs.sort(new Comparator<IN>() {
+                @Override
+                public int compare(IN in1, IN in2) {
+                    return Integer.compare(
+                        in2.getNormalizedLevel(), in1.getNormalizedLevel());
+                }
+            });
+
+            for (final IN in : upperINs) {
+                nEntries += writeIN(out, in);
+            }
+
+            /* With a shared cache, the LRU lists contain other envs' INs. */
+            for (final IN in : envImpl.getEvictor().getINsByRecency()) {
+                if (in.isBIN() && in.getDatabase().getEnv() == envImpl) {
+                    nEntries += writeIN(out, in);
+                }
+            }
+
+            out.writeByte(TYPE_END);
+            out.writeInt(nEntries);
+            out.flush();
+            out.writeInt((int) checkedOut.getChecksum().getValue());
+            out.close();
+
+            final File file = new File(envImpl.getEnvironmentHome(), FILE_NAME);
+            file.delete();
+
+            if (!tempFile.renameTo(file)) {
+                throw new IOException(
+                    "Unable to rename " + tempFile + " to " + file);
+            }
+
+            success = true;
+            return nEntries;
+
+        } finally {
+            if (!success) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    /* Ignore, the file is deleted. */
+                }
+                tempFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Writes an entry for the given IN and, if it is a BIN, for its resident
+     * LNs.
+     *
+     * @return the number of entries written.
+     */
+    private static int writeIN(final DataOutputStream out, final IN in)
+        throws IOException {
+
+        in.latchShared(CacheMode.UNCHANGED);
+        try {
+            if (!in.getInListResident()) {
+                return 0;
+            }
+
+            final DatabaseImpl db = in.getDatabase();
+            if (!isSnapshotDb(db)) {
+                return 0;
+            }
+
+            final long lsn = in.getLastLoggedLsn();
+            if (lsn == DbLsn.NULL_LSN) {
+                return 0;
+            }
+
+            final long dbId = db.getId().getId();
+
+            writeEntry(out, TYPE_IN, dbId, lsn, in.getBudgetedMemorySize());
+            int nEntries = 1;
+
+            if (!in.isBIN()) {
+                return nEntries;
+            }
+
+            final BIN bin = (BIN) in;
+
+            for (int i = 0; i < bin.getNEntries(); i += 1) {
+
+                final Node target = bin.getTarget(i);
+                final long lnLsn = bin.getLsn(i);
+
+                if (target == null ||
+                    !target.isLN() ||
+                    lnLsn == DbLsn.NULL_LSN ||
+                    bin.isEmbeddedLN(i)) {
+                    continue;
+                }
+
+                writeEntry(
+                    out, TYPE_LN, dbId, lnLsn,
+                    ((LN) target).getMemorySizeIncludedByParent());
+                nEntries += 1;
+            }
+
+            return nEntries;
+
+        } finally {
+            in.releaseLatch();
+        }
+    }
+
+    private static void writeEntry(final DataOutputStream out,
+                                   final byte type,
+                                   final long dbId,
+                                   final long lsn,
+                                   final long memorySize)
+        throws IOException {
+
+        out.writeByte(type);
+        out.writeLong(dbId);
+        out.writeLong(lsn);
+        out.writeInt((int) Math.min(memorySize, Integer.MAX_VALUE));
+    }
+
+    /**
+     * The ID database is excluded because its MapLNs are managed by the
+     * DbTree, and temporary databases are not recovered.
+     */
+    private static boolean isSnapshotDb(final DatabaseImpl db) {
+        return !db.getId().equals(DbTree.ID_DB_ID) &&
+            !db.isTemporary() &&
+            !db.isDeleting();
+    }
+
+    /**
+     * Loads the snapshot, if one exists, into the main cache. Must be called
+     * before the environment is used by other threads, since the roots of
+     * the databases in the snapshot are latched during the load.
+     */
+    static void load(final EnvironmentImpl envImpl, final int nThreads) {
+
+        final Logger logger = envImpl.getLogger();
+        final File file = new File(envImpl.getEnvironmentHome(), FILE_NAME);
+
+        if (!file.exists()) {
+            return;
+        }
+
+        final long startTime = System.currentTimeMillis();
+        final MemoryBudget memBudget = envImpl.getMemoryBudget();
+
+        final long budget =
+            memBudget.getMaxMemory() - memBudget.getCacheMemoryUsage();
+
+        final long[] lsns;
+        final Set<Long> dbIds = new HashSet<>();
+        boolean hasLNs = false;
+
+        try (CheckedInputStream checkedIn = new CheckedInputStream(
+                 new BufferedInputStream(new FileInputStream(file), 1 << 16),
+                 Adler32.makeChecksum())) {
+
+            final DataInputStream in = new DataInputStream(checkedIn);
+
+            if (in.readInt() != MAGIC || in.readInt() != FILE_VERSION) {
+                LoggerUtils.warning(
+                    logger, envImpl,
+                    "Ignoring cache snapshot with unknown format: " + file);
+                return;
+            }
+
+            long[] prefix = new long[1024];
+            int nPrefix = 0;
+            int nEntries = 0;
+            long prefixSize = 0;
+            boolean prefixComplete = false;
+
+            while (true) {
+                final byte type = in.readByte();
+                if (type == TYPE_END) {
+                    break;
+                }
+
+                final long dbId = in.readLong();
+                final long lsn = in.readLong();
+                final int memorySize = in.readInt();
+                nEntries += 1;
+
+                /* Keep reading to verify the checksum. */
+                if (prefixComplete || prefixSize + memorySize > budget) {
+                    prefixComplete = true;
+                    continue;
+                }
+
+                prefixSize += memorySize;
+
+                if (nPrefix == prefix.length) {
+                    prefix = Arrays.copyOf(prefix, nPrefix * 2);
+                }
+                prefix[nPrefix] = lsn;
+                nPrefix += 1;
+
+                dbIds.add(dbId);
+                if (type == TYPE_LN) {
+                    hasLNs = true;
+                }
+            }
+
+            final int storedEntries = in.readInt();
+            final int checksum = (int) checkedIn.getChecksum().getValue();
+
+            if (storedEntries != nEntries || in.readInt() != checksum) {
+                LoggerUtils.warning(
+                    logger, envImpl,
+                    "Ignoring cache snapshot with invalid checksum: " + file);
+                return;
+            }
+
+            lsns = Arrays.copyOf(prefix, nPrefix);
+
+        } catch (IOException e) {
+            LoggerUtils.warning(
+                logger, envImpl,
+                "Ignoring unreadable cache snapshot: " + file + " " + e);
+            return;
+        }
+
+        Arrays.sort(lsns);
+
+        final DbTree dbTree = envImpl.getDbTree();
+        final List<DatabaseImpl> dbs = new ArrayList<>();
+
+        try {
+            for (final long dbId : dbIds) {
+                final DatabaseImpl db = dbTree.getDb(new DatabaseId(dbId));
+                if (db == null) {
+                    continue;
+                }
+                if (!isSnapshotDb(db)) {
+                    dbTree.releaseDb(db);
+                    continue;
+                }
+                dbs.add(db);
+            }
+
+            if (dbs.isEmpty()) {
+                return;
+            }
+
+            /* Latch the roots in a well-defined order, as in preload. */
+            dbs.sort(new Comparator<DatabaseImpl>() {
+                @Override
+                public int compare(DatabaseImpl db1, DatabaseImpl db2) {
+                    return db1.getId().compareTo(db2.getId());
+                }
+            });
+
+            final DatabaseImpl[] dbImpls =
+                dbs.toArray(new DatabaseImpl[dbs.size()]);
+
+            final long[] rootLsns = new long[dbImpls.length];
+            for (int i = 0; i < dbImpls.length; i += 1) {
+                rootLsns[i] = dbImpls[i].getTree().getRootLsn();
+            }
+
+            final LoadProcessor callback = new LoadProcessor(memBudget);
+            final List<DatabaseException> exceptions = new ArrayList<>();
+
+            final SnapshotTreeWalker walker = new SnapshotTreeWalker(
+                dbImpls, rootLsns, lsns, callback, exceptions);
+
+            walker.accumulateLNs = hasLNs;
+            walker.setReadAheadThreads(nThreads);
+
+            try {
+                walker.walk();
+            } catch (CacheFullException e) {
+                /* Stop loading. */
+            }
+
+            for (final DatabaseException e : exceptions) {
+                LoggerUtils.warning(
+                    logger, envImpl,
+                    "Error while loading cache snapshot: " + e);
+            }
+
+            LoggerUtils.info(
+                logger, envImpl,
+                "Loaded cache snapshot: " + callback.nINs + " INs and " +
+                callback.nLNs + " LNs resident, " + lsns.length +
+                " snapshot entries selected, in " +
+                (System.currentTimeMillis() - startTime) + " ms");
+
+        } finally {
+            for (final DatabaseImpl db : dbs) {
+                dbTree.releaseDb(db);
+            }
+        }
+    }
+
+    /**
+     * Counts the resident nodes and stops the walk when the cache is full.
+     */
+    private static class LoadProcessor implements TreeNodeProcessor {
+
+        private final MemoryBudget memBudget;
+        int nINs;
+        int nLNs;
+
+        LoadProcessor(final MemoryBudget memBudget) {
+            this.memBudget = memBudget;
+        }
+
+        @Override
+        public void processLSN(long childLsn,
+                               LogEntryType childType,
+                               Node node,
+                               byte[] lnKey,
+                               int lastLoggedSize,
+                               boolean isEmbedded) {
+
+            if (node == null) {
+                return;
+            }
+
+            if (node.isLN()) {
+                nLNs += 1;
+            } else {
+                nINs += 1;
+            }
+
+            if (memBudget.getCacheMemoryUsage() > memBudget.getMaxMemory()) {
+                throw CACHE_FULL_EXCEPTION;
+            }
+        }
+
+        @Override
+        public void processDirtyDeletedLN(long childLsn, LN ln, byte[] lnKey) {
+        }
+
+        @Override
+        public void noteMemoryExceeded() {
+        }
+    }
+
+    /**
+     * Fetches and inserts into the tree the children whose LSN is in the
+     * sorted LSN array, and latches the roots during the walk as in preload.
+     */
+    private static class SnapshotTreeWalker extends SortedLSNTreeWalker {
+
+        private final long[] lsns;
+
+        SnapshotTreeWalker(final DatabaseImpl[] dbImpls,
+                           final long[] rootLsns,
+                           final long[] lsns,
+                           final TreeNodeProcessor callback,
+                           final List<DatabaseException> savedExceptions) {
+
+            super(dbImpls, rootLsns, callback, savedExceptions,
+                  null /*excPredicate*/);
+
+            this.lsns = lsns;
+        }
+
+        @Override
+        public void walk() {
+
+            int nDbsLatched = 0;
+            try {
+                for (final DatabaseImpl dbImpl : dbImpls) {
+                    dbImpl.getTree().latchRootLatchExclusive();
+                    nDbsLatched += 1;
+                }
+
+                walkInternal();
+            } finally {
+                for (int i = nDbsLatched - 1; i >= 0; i -= 1) {
+                    dbImpls[i].getTree().releaseRootLatch();
+                }
+            }
+        }
+
+        @Override
+        IN getRootIN(DatabaseImpl dbImpl,
+                     @SuppressWarnings("unused") long rootLsn) {
+            return dbImpl.getTree().getRootINRootAlreadyLatched(
+                CacheMode.UNCHANGED, false /*exclusive*/);
+        }
+
+        @Override
+        protected boolean fetchAndInsertIntoTree() {
+            return true;
+        }
+
+        @Override
+        protected boolean shouldFetch(long lsn) {
+            return Arrays.binarySearch(lsns, lsn) >= 0;
+        }
+    }
+}
@@ -1150,7 +1150,7 @@ public class CursorImpl implements Cloneable {
             final Pair<LockStanding, OperationResult> result =
                 insertRecordInternal(
                     key, ln, null /*expirationInfo*/, blindInsertion,
-                    null /*returnNewData*/, repContext);
+                    null /*returnNewData*/, null /*hintBIN*/, repContext);
 
             return result.second() != null;
         } finally {
@@ -1194,6 +1194,11 @@ public class CursorImpl implements Cloneable {
      * partial; will be null otherwise. Note: "returnNewData" may be different
      * than "data" only if "data" is partial.
      *
+     * @param hintBIN if non-null, is a BIN that may be used for the insertion
+     * without a tree search; see findBinForInsert. The caller must ensure
+     * that another cursor is registered with the hint BIN, so that it cannot
+     * be evicted or removed from the tree.
+     *
      * @return OperationResult where isUpdate() distinguishes insertions and
      * updates. Is null only if an expired LN was purged and a partial 'data'
      * param was supplied.
@@ -1206,6 +1211,7 @@ public class CursorImpl implements Cloneable {
         final PutMode putMode,
         final DatabaseEntry returnOldData,
         final DatabaseEntry returnNewData,
+        final BIN hintBIN,
         final ReplicationContext repContext) {
 
         assert key != null;
@@ -1242,7 +1248,7 @@ public class CursorImpl implements Cloneable {
                 insertRecordInternal(
                     keyCopy, ln, expInfo,
                     false /*blindInsertion*/,
-                    returnNewData, repContext);
+                    returnNewData, hintBIN, repContext);
 
             if (insertResult.second() != null) {
                 inserted = true;
@@ -1316,10 +1322,10 @@ public class CursorImpl implements Cloneable {
         ExpirationInfo expInfo,
         final boolean blindInsertion,
         final DatabaseEntry returnNewData,
+        final BIN hintBIN,
         final ReplicationContext repContext) {
 
         final EnvironmentImpl envImpl = dbImpl.getEnv();
-        final Tree tree = dbImpl.getTree();
         WriteLockInfo wli;
         LockStanding lockStanding = null;
         final boolean isSlotReuse;
@@ -1355,7 +1361,7 @@ public class CursorImpl implements Cloneable {
          * the tree search, this.bin is latched, but "this" is still not
          * registered.
          */
-        bin = tree.findBinForInsert(key, getCacheMode());
+        bin = findBinForInsert(key, hintBIN);
 
         /*
          * In the case where logging occurs before locking, allow lockers to
@@ -1549,6 +1555,41 @@ public class CursorImpl implements Cloneable {
                 expInfo.expiration, expInfo.expirationInHours));
     }
 
+    /**
+     * Returns the latched BIN in which the given key should be inserted.
+     *
+     * If a hint BIN is given and the key falls between its first and last
+     * keys, the key must belong in that BIN and it is returned without a
+     * tree search. A hint is passed only by Database.putAll, whose keys are
+     * written in sorted order, and this saves the latching and key
+     * comparisons of a search from the root. Like DupConvert, the hint is
+     * not used when the BIN must be split, so that the search can split
+     * it, or when it is a BIN-delta and its full key range is not known.
+     */
+    private BIN findBinForInsert(final byte[] key, final BIN hintBIN) {
+
+        if (hintBIN != null) {
+
+            hintBIN.latch(getCacheMode());
+
+            /*
+             * Check the key bounds first, since needsSplitting thaws a full
+             * frozen BIN, which is wasted if the key is out of bounds.
+             */
+            if (!hintBIN.isBINDelta() &&
+                hintBIN.isKeyInBounds(key) &&
+                !hintBIN.needsSplitting()) {
+
+                assert hintBIN.nCursors() > 0;
+                return hintBIN;
+            }
+
+            hintBIN.releaseLatch();
+        }
+
+        return dbImpl.getTree().findBinForInsert(key, getCacheMode());
+    }
+
     /**
      * Update the record where the cursor is currently positioned at. The
      * cursor is registered with this position, the associated bin is latched,
@@ -1950,7 +1991,9 @@ public class CursorImpl implements Cloneable {
      * The method returns with the BIN latched, unless an exception is raised.
      *
      * In all cases, the method registers the cursor with the BIN that contains
-     * or should contain the search key.
+     * or should contain the search key, unless the BIN was not fetched
+     * because a key filter showed that the key is absent; see
+     * Tree.searchExact. In that case this.bin is null.
      *
      * @return the LockStanding for the found record, or null if no record was
      * found.
@@ -1969,7 +2012,7 @@ public class CursorImpl implements Cloneable {
         try {
             byte[] key = Key.makeKey(searchKey);
 
-            bin = dbImpl.getTree().search(key, cacheMode);
+            bin = dbImpl.getTree().searchExact(key, cacheMode);
 
             if (bin != null) {
 
@@ -2682,6 +2725,154 @@ public class CursorImpl implements Cloneable {
         return result;
     }
 
+    /**
+     * Move the cursor forward or backward within its current BIN, returning
+     * the "valid" records found in the following slots. Up to (end - offset)
+     * records are copied into foundKeys[offset, end) and foundDatas[offset,
+     * end). The BIN is latched once and all slots are visited under that
+     * latch, rather than being re-latched for every record as with repeated
+     * calls to getNext.
+     *
+     * Lock semantics are the same as for getNext, except that a record is
+     * locked with a no-wait request so the latch need not be released. The
+     * batch ends at the first record that cannot be locked without waiting,
+     * at the first defunct record that must be returned for
+     * READ_UNCOMMITTED_ALL, at the first key that is out of range, and at
+     * the end of the BIN. It is then up to the caller to call getNext, which
+     * will block or cross into the next BIN as needed.
+     *
+     * The locker's default no-wait setting must be false, since otherwise a
+     * no-wait lock request throws LockNotAvailableException. Not supported
+     * for duplicates DBs.
+     *
+     * On return, no latches are held. The cursor is positioned on the last
+     * record returned, or is left at its original position if no records are
+     * returned.
+     *
+     * @param releaseLocks is true to release the lock on each record returned,
+     * except for the last one, after moving past it. This should be true for
+     * non-transactional and read-committed lockers, which would otherwise
+     * release the lock when the cursor moves.
+     *
+     * @return the number of records returned.
+     */
+    public int getNextBatch(
+        final DatabaseEntry[] foundKeys,
+        final DatabaseEntry[] foundDatas,
+        final int offset,
+        final int end,
+        final LockType lockType,
+        final boolean dirtyReadAll,
+        final boolean forward,
+        final RangeConstraint rangeConstraint,
+        final boolean releaseLocks) {
+
+        assert assertCursorState(
+            true /*mustBeInitialized*/, false /*mustNotBeInitialized*/);
+        assert !dbImpl.getSortedDuplicates();
+        assert !locker.getDefaultNoWait();
+
+        final boolean evictLNs =
+            cacheMode != CacheMode.DEFAULT &&
+            cacheMode != CacheMode.KEEP_HOT;
+
+        int nFound = 0;
+        int lastIndex = index;
+        LockStanding lastStanding = null;
+
+        latchBIN();
+
+        try {
+            if (DEBUG) {
+                verifyCursor(bin);
+            }
+
+            bin.mutateToFullBIN(false /*leaveFreeSlot*/);
+
+            while (offset + nFound < end) {
+
+                final int i = forward ? (index + 1) : (index - 1);
+
+                if (i < 0 || i >= bin.getNEntries()) {
+                    break;
+                }
+
+                if (rangeConstraint != null &&
+                    !rangeConstraint.inBounds(bin.getKey(i))) {
+                    break;
+                }
+
+                index = i;
+
+                /* See lockAndGetCurrent. */
+                if (bin.isDeleted(i)) {
+                    bin.queueSlotDeletion(i);
+                }
+
+                if (bin.isEntryKnownDeleted(i)) {
+                    continue;
+                }
+
+                final LockStanding standing = lockLN(
+                    lockType, false /*allowUncontended*/, true /*noWait*/);
+
+                if (lockType == LockType.NONE) {
+                    if (!standing.recordExists()) {
+                        if (dirtyReadAll) {
+                            /* Let getNext apply READ_UNCOMMITTED_ALL rules. */
+                            break;
+                        }
+                        continue;
+                    }
+                } else {
+                    if (standing.lockResult.getLockGrant() ==
+                        LockGrantType.DENIED) {
+                        break;
+                    }
+                    if (!standing.recordExists()) {
+                        revertLock(standing);
+                        continue;
+                    }
+                }
+
+                final int slot = offset + nFound;
+
+                final OperationResult result = getCurrent(
+                    foundKeys[slot],
+                    (foundDatas != null) ? foundDatas[slot] : null);
+
+                if (result == null) {
+                    /* An expired LN was purged. */
+                    revertLock(standing);
+                    continue;
+                }
+
+                incrementLNCount();
+
+                if (nFound > 0) {
+                    if (releaseLocks) {
+                        revertLock(lastStanding);
+                    }
+                    if (evictLNs) {
+                        bin.evictLN(
+                            lastIndex,
+                            cacheMode == CacheMode.UNCHANGED ||
+                            cacheMode == CacheMode.MAKE_COLD);
+                    }
+                }
+
+                lastStanding = standing;
+                lastIndex = i;
+                nFound += 1;
+            }
+        } finally {
+            index = lastIndex;
+            releaseBIN();
+        }
+
+        return nFound;
+    }
+
     /**
      * Used to detect phantoms during "get next" operations with serializable
      * isolation.  If this method returns true, the caller should restart the
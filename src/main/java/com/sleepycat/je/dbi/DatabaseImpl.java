@@ -110,6 +110,8 @@ public class DatabaseImpl implements Loggable, Cloneable {
     private static final byte PREFIXING_ENABLED = 0x10;// getKeyPrefixing()
     /* 0x20 was used for UTILIZATION_REPAIR_DONE prior to log version 16. */
     private static final byte DUPS_CONVERTED = 0x40;   // getKeyPrefixing()
+    private static final byte DATA_COMPRESSION_ENABLED = (byte) 0x80;
+                                                       // getDataCompression()
 
     private DatabaseId id;             // unique id
     private Tree tree;
@@ -200,6 +202,13 @@ public class DatabaseImpl implements Loggable, Cloneable {
 
     private CacheMode cacheMode;
 
+    /*
+     * Whether IN.findEntry uses interpolation search. This is not exposed in
+     * DatabaseConfig because, as measured by FindEntryBenchmark, it is only
+     * faster for strictly sequential keys. It may be set for testing.
+     */
+    private volatile boolean interpolationSearch;
+
     /*
      * For debugging -- this gives the ability to force all non-internal
      * databases to use key prefixing.
@@ -294,6 +303,12 @@ public class DatabaseImpl implements Loggable, Cloneable {
             clearKeyPrefixing();
         }
 
+        if (dbConfig.getDataCompression()) {
+            setDataCompression();
+        } else {
+            clearDataCompression();
+        }
+
         if (dbConfig.getTemporary()) {
             setTemporary();
         }
@@ -644,6 +659,29 @@ public class DatabaseImpl implements Loggable, Cloneable {
         flags &= ~PREFIXING_ENABLED;
     }
 
+    /**
+     * @return true if LN data compression is enabled in this database.
+     */
+    public boolean getDataCompression() {
+        return (flags & DATA_COMPRESSION_ENABLED) != 0;
+    }
+
+    /**
+     * Returns true if the flagVal enables data compression, used to create
+     * ReplicatedDatabaseConfig after reading a NameLNLogEntry.
+     */
+    static boolean getDataCompression(byte flagVal) {
+        return (flagVal & DATA_COMPRESSION_ENABLED) != 0;
+    }
+
+    public void setDataCompression() {
+        flags |= DATA_COMPRESSION_ENABLED;
+    }
+
+    public void clearDataCompression() {
+        flags &= ~DATA_COMPRESSION_ENABLED;
+    }
+
     /**
      * @return true if this database is replicated. Note that we only need to
      * check the IS_REPLICATED_BIT, because we require that we never have both
@@ -725,6 +763,17 @@ public class DatabaseImpl implements Loggable, Cloneable {
         return envImpl.getDefaultCacheMode();
     }
 
+    /**
+     * Sets whether IN.findEntry uses interpolation search, for all handles.
+     */
+    public void setInterpolationSearch(boolean interpolationSearch) {
+        this.interpolationSearch = interpolationSearch;
+    }
+
+    public boolean getInterpolationSearch() {
+        return interpolationSearch;
+    }
+
     /**
      * Set the duplicate comparison function for this database.
      *
@@ -1613,6 +1662,9 @@ public class DatabaseImpl implements Loggable, Cloneable {
         sb.append(" keyPrefixing=\"");
         sb.append(getKeyPrefixing());
         sb.append("\"");
+        sb.append(" dataCompression=\"");
+        sb.append(getDataCompression());
+        sb.append("\"");
         if (btreeComparator != null) {
             sb.append(" btc=\"");
             sb.append(getComparatorClassName(btreeComparator,
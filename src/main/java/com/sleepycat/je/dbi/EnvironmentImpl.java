@@ -18,6 +18,7 @@ import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_INSERTS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_BIN_DELTA_UPDATES;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_GROUP_DESC;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_GROUP_NAME;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_OPTIMISTIC_SEARCH_RESTARTS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_RELATCHES_REQUIRED;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_OP_ROOT_SPLITS;
 import static com.sleepycat.je.dbi.DbiStatDefinition.BACKUP_COPY_FILES_COUNT;
@@ -202,8 +203,14 @@ public class EnvironmentImpl implements EnvConfigObserver {
     private boolean allowBlindOps = false;
     private boolean allowBlindPuts = false;
 
+    private boolean suffixTruncation = false;
+
+    private boolean binKeyFilters = false;
+
     private int maxEmbeddedLN = -1;
 
+    private boolean optimisticTreeSearch;
+
     private CacheMode cacheMode;
 
     /* Whether or not initialization succeeded. */
@@ -461,6 +468,7 @@ public class EnvironmentImpl implements EnvConfigObserver {
     private final AtomicLongStat binDeltaInserts;
     private final AtomicLongStat binDeltaUpdates;
     private final AtomicLongStat binDeltaDeletes;
+    private final AtomicLongStat optimisticSearchRestarts;
     private final StatGroup thrputStats;
     private final AtomicLongStat priSearchOps;
     private final AtomicLongStat priSearchFailOps;
@@ -576,6 +584,8 @@ public class EnvironmentImpl implements EnvConfigObserver {
                 new AtomicLongStat(btreeOpStats, BT_OP_BIN_DELTA_UPDATES);
             binDeltaDeletes =
                 new AtomicLongStat(btreeOpStats, BT_OP_BIN_DELTA_DELETES);
+            optimisticSearchRestarts = new AtomicLongStat(
+                btreeOpStats, BT_OP_OPTIMISTIC_SEARCH_RESTARTS);
 
             thrputStats = new StatGroup(
                 THROUGHPUT_GROUP_NAME, THROUGHPUT_GROUP_DESC);
@@ -839,9 +849,18 @@ public class EnvironmentImpl implements EnvConfigObserver {
         allowBlindPuts = configManager.getBoolean(
             EnvironmentParams.BIN_DELTA_BLIND_PUTS);
 
+        suffixTruncation = configManager.getBoolean(
+            EnvironmentParams.TREE_SUFFIX_TRUNCATION);
+
+        binKeyFilters = configManager.getBoolean(
+            EnvironmentParams.TREE_BIN_KEY_FILTERS);
+
         maxEmbeddedLN = configManager.getInt(
             EnvironmentParams.TREE_MAX_EMBEDDED_LN);
 
+        optimisticTreeSearch = configManager.getBoolean(
+            EnvironmentParams.TREE_OPTIMISTIC_SEARCH);
+
         deadlockDetection = configManager.getBoolean(
             EnvironmentParams.LOCK_DEADLOCK_DETECT);
 
@@ -892,7 +911,12 @@ public class EnvironmentImpl implements EnvConfigObserver {
                 try {
                     RecoveryManager recoveryManager =
                         new RecoveryManager(this);
-                    recoveryManager.recover(isReadOnly);
+                    final RecoveryInfo recoveryInfo =
+                        recoveryManager.recover(isReadOnly);
+
+                    offHeapCache.openSnapshot(
+                        this, logManager.getLastLsnAtRecovery(),
+                        recoveryInfo.checkpointEndLsn);
 
                     postRecoveryConversion();
                     recoverySuccess = true;
@@ -981,6 +1005,15 @@ public class EnvironmentImpl implements EnvConfigObserver {
              */
             open();
 
+            if (doRecovery &&
+                configManager.getBoolean(
+                    EnvironmentParams.ENV_LOAD_CACHE_SNAPSHOT)) {
+                CacheSnapshot.load(
+                    this,
+                    configManager.getInt(
+                        EnvironmentParams.ENV_LOAD_CACHE_SNAPSHOT_THREADS));
+            }
+
             runOrPauseDaemons(configManager);
             success = true;
             return true;
@@ -1987,7 +2020,8 @@ public class EnvironmentImpl implements EnvConfigObserver {
             LoggerUtils.fine(envLogger,
                              this,
                              "About to shutdown daemons for Env " + envHome);
-            shutdownDaemons();
+            shutdownDaemons(
+                !isAbnormalClose && envState != DbEnvState.INVALID);
 
             /*
              * If backups are in progress, warn the caller that it was a
@@ -2322,6 +2356,31 @@ public class EnvironmentImpl implements EnvConfigObserver {
             config, invokingSource, false /*invokedFromDaemon*/);
     }
 
+    /**
+     * Saves a snapshot of the nodes resident in the main cache. A checkpoint
+     * is performed first, so that the LSNs saved are those of the current
+     * versions of the nodes.
+     */
+    public void saveCacheSnapshot() {
+
+        if (!isReadOnly) {
+            invokeCheckpoint(
+                new CheckpointConfig().setForce(true), "saveCacheSnapshot");
+        }
+
+        try {
+            final int nEntries = CacheSnapshot.save(this);
+
+            LoggerUtils.info(
+                envLogger, this,
+                "Saved cache snapshot with " + nEntries + " entries");
+
+        } catch (IOException e) {
+            throw EnvironmentFailureException.unexpectedException(
+                "Unable to save cache snapshot", e);
+        }
+    }
+
     /**
      * Coordinates an eviction with an in-progress checkpoint and returns
      * whether provisional logging is needed.
@@ -2419,12 +2478,24 @@ public class EnvironmentImpl implements EnvConfigObserver {
      * Ask all daemon threads to shut down.
      */
     public void shutdownDaemons() {
+        shutdownDaemons(false /*saveOffHeapCache*/);
+    }
+
+    /**
+     * Ask all daemon threads to shut down, and optionally save the off-heap
+     * cache for a warm restart. The cache is saved after the daemons that
+     * write to the log are shut down, and before the cache is cleared.
+     */
+    private void shutdownDaemons(boolean saveOffHeapCache) {
 
         /* Shutdown stats capture thread first so we can access stats. */
         statCapture.shutdown();
 
         synchronized (statSynchronizer) {
 
+            /* Complete any asynchronous commits still in progress. */
+            logManager.shutdownAsyncFlushes();
+
             inCompressor.shutdown();
 
             /*
@@ -2444,6 +2515,10 @@ public class EnvironmentImpl implements EnvConfigObserver {
              * main evictor since main eviction moves data to off-heap, and not
              * vice-versa.
              */
+            if (saveOffHeapCache) {
+                offHeapCache.saveSnapshot(this);
+            }
+
             if (sharedCache) {
 
                 /*
@@ -2523,6 +2598,14 @@ public class EnvironmentImpl implements EnvConfigObserver {
         return allowBlindOps;
     }
 
+    public boolean getSuffixTruncation() {
+        return suffixTruncation;
+    }
+
+    public boolean getBINKeyFilters() {
+        return binKeyFilters;
+    }
+
     public boolean allowBlindPuts() {
         return allowBlindPuts;
     }
@@ -2531,6 +2614,10 @@ public class EnvironmentImpl implements EnvConfigObserver {
         return maxEmbeddedLN;
     }
 
+    public boolean useOptimisticTreeSearch() {
+        return optimisticTreeSearch;
+    }
+
     /**
      * Transactional services.
      */
@@ -2839,6 +2926,17 @@ public class EnvironmentImpl implements EnvConfigObserver {
         }
     }
 
+    public void incPositionOps(final DatabaseImpl dbImpl, final int count) {
+        if (dbImpl.isInternalDb()) {
+            return;
+        }
+        if (dbImpl.isKnownSecondary()) {
+            secPositionOps.add(count);
+        } else {
+            priPositionOps.add(count);
+        }
+    }
+
     public void incInsertOps(final DatabaseImpl dbImpl) {
         if (dbImpl.isInternalDb()) {
             return;
@@ -2913,6 +3011,10 @@ public class EnvironmentImpl implements EnvConfigObserver {
         binDeltaDeletes.increment();
     }
 
+    public void incOptimisticSearchRestarts() {
+        optimisticSearchRestarts.increment();
+    }
+
     /**
      * For replicated environments only; just return true for a standalone
      * environment.
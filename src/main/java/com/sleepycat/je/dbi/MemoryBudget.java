@@ -353,6 +353,12 @@ public class MemoryBudget implements EnvConfigObserver {
     private final static int TUPLE_OUTPUT_OVERHEAD_64 = 32;
     private final static int TUPLE_OUTPUT_OVERHEAD_OOPS = 24;
 
+    // StampedLock, allocated for the latch of each upper IN when
+    // je.tree.optimisticSearch is true.
+    private final static int STAMPED_LOCK_OVERHEAD_32 = 40;
+    private final static int STAMPED_LOCK_OVERHEAD_64 = 64;
+    private final static int STAMPED_LOCK_OVERHEAD_OOPS = 48;
+
     public final static int LONG_OVERHEAD;
     public final static int ARRAY_OVERHEAD;
     public final static int ARRAY_SIZE_INCLUDED;
@@ -403,6 +409,7 @@ public class MemoryBudget implements EnvConfigObserver {
 
     public final static int ARRAYLIST_OVERHEAD;
     public final static int TUPLE_OUTPUT_OVERHEAD;
+    public final static int STAMPED_LOCK_OVERHEAD;
 
     /* Primitive long array item size is the same on all platforms. */
     public final static int PRIMITIVE_LONG_ARRAY_ITEM_OVERHEAD = 8;
@@ -498,6 +505,7 @@ public class MemoryBudget implements EnvConfigObserver {
             DELTAINENTRY_OVERHEAD = DELTAINENTRY_OVERHEAD_OOPS;
             ARRAYLIST_OVERHEAD = ARRAYLIST_OVERHEAD_OOPS;
             TUPLE_OUTPUT_OVERHEAD = TUPLE_OUTPUT_OVERHEAD_OOPS;
+            STAMPED_LOCK_OVERHEAD = STAMPED_LOCK_OVERHEAD_OOPS;
             DOS_WEAK_BINREF_OVERHEAD = DOS_WEAK_BINREF_OVERHEAD_OOPS;
             DOS_OFFHEAP_BINREF_OVERHEAD = DOS_OFFHEAP_BINREF_OVERHEAD_OOPS;
             DOS_DEFERRED_LSN_BATCH_OVERHEAD =
@@ -551,6 +559,7 @@ public class MemoryBudget implements EnvConfigObserver {
             DELTAINENTRY_OVERHEAD = DELTAINENTRY_OVERHEAD_64;
             ARRAYLIST_OVERHEAD = ARRAYLIST_OVERHEAD_64;
             TUPLE_OUTPUT_OVERHEAD = TUPLE_OUTPUT_OVERHEAD_64;
+            STAMPED_LOCK_OVERHEAD = STAMPED_LOCK_OVERHEAD_64;
             DOS_WEAK_BINREF_OVERHEAD = DOS_WEAK_BINREF_OVERHEAD_64;
             DOS_OFFHEAP_BINREF_OVERHEAD = DOS_OFFHEAP_BINREF_OVERHEAD_64;
             DOS_DEFERRED_LSN_BATCH_OVERHEAD =
@@ -603,6 +612,7 @@ public class MemoryBudget implements EnvConfigObserver {
             DELTAINENTRY_OVERHEAD = DELTAINENTRY_OVERHEAD_32;
             ARRAYLIST_OVERHEAD = ARRAYLIST_OVERHEAD_32;
             TUPLE_OUTPUT_OVERHEAD = TUPLE_OUTPUT_OVERHEAD_32;
+            STAMPED_LOCK_OVERHEAD = STAMPED_LOCK_OVERHEAD_32;
             DOS_WEAK_BINREF_OVERHEAD = DOS_WEAK_BINREF_OVERHEAD_32;
             DOS_OFFHEAP_BINREF_OVERHEAD = DOS_OFFHEAP_BINREF_OVERHEAD_32;
             DOS_DEFERRED_LSN_BATCH_OVERHEAD =
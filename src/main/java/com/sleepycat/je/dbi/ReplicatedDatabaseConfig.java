@@ -89,6 +89,8 @@ public class ReplicatedDatabaseConfig extends BasicVersionedWriteLoggable {
         replicaConfig.setKeyPrefixing(DatabaseImpl.getKeyPrefixing(flags) ||
                                       DatabaseImpl.getSortedDuplicates(flags));
         replicaConfig.setTemporary(DatabaseImpl.isTemporary(flags));
+        replicaConfig.setDataCompression(
+            DatabaseImpl.getDataCompression(flags));
         replicaConfig.setReplicated(true);
         replicaConfig.setNodeMaxEntries(maxTreeEntriesPerNode);
 
@@ -14,14 +14,22 @@
 package com.sleepycat.je.dbi;
 
 import java.io.FileNotFoundException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.sleepycat.je.CacheMode;
 import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.EnvironmentFailureException;
+import com.sleepycat.je.ThreadInterruptedException;
 import com.sleepycat.je.evictor.OffHeapCache;
 import com.sleepycat.je.log.ErasedException;
 import com.sleepycat.je.log.LogEntryType;
@@ -37,7 +45,9 @@ import com.sleepycat.je.tree.LN;
 import com.sleepycat.je.tree.Node;
 import com.sleepycat.je.tree.OldBINDelta;
 import com.sleepycat.je.utilint.DbLsn;
+import com.sleepycat.je.utilint.LoggerUtils;
 import com.sleepycat.je.utilint.SizeofMarker;
+import com.sleepycat.je.utilint.StoppableThreadFactory;
 
 /**
  * SortedLSNTreeWalker uses ordered disk access rather than random access to
@@ -147,6 +157,15 @@ public class SortedLSNTreeWalker {
      */
     private long lsnBatchSize = Long.MAX_VALUE;
 
+    /*
+     * The number of threads that read log entries ahead of the walk, or zero
+     * if entries are read by the walking thread only.
+     */
+    private int readAheadThreads = 0;
+
+    /* Used to read log entries ahead of the walk, when readAheadThreads > 0. */
+    private ExecutorService readAheadPool;
+
     /* Holder for returning LN key from fetchLSN. */
     private final DatabaseEntry lnKeyEntry = new DatabaseEntry();
 
@@ -310,6 +329,16 @@ public class SortedLSNTreeWalker {
         this.internalMemoryLimit = internalMemoryLimit;
     }
 
+    /**
+     * Causes each sorted batch of LSNs to be read by the given number of
+     * threads, ahead of the thread that processes them. This only overlaps
+     * the I/O; the nodes are still processed (and inserted into the tree) by
+     * the walking thread in sorted LSN order.
+     */
+    void setReadAheadThreads(int readAheadThreads) {
+        this.readAheadThreads = readAheadThreads;
+    }
+
     private void incInternalMemoryUsage(long increment) {
         internalMemoryUsage += increment;
     }
@@ -333,6 +362,27 @@ public class SortedLSNTreeWalker {
 
     void walkInternal() {
 
+        if (readAheadThreads > 0) {
+            readAheadPool = new ThreadPoolExecutor(
+                readAheadThreads, readAheadThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new StoppableThreadFactory(
+                    envImpl, "LogReadAhead",
+                    LoggerUtils.getLogger(getClass())));
+        }
+
+        try {
+            walkPhases();
+        } finally {
+            if (readAheadPool != null) {
+                readAheadPool.shutdownNow();
+                readAheadPool = null;
+            }
+        }
+    }
+
+    private void walkPhases() {
+
         /*
          * Phase 1: seed the SLTW with all of the roots of the DatabaseImpl[].
          * For each root, look for all in-memory child nodes and process them
@@ -495,7 +545,8 @@ public class SortedLSNTreeWalker {
 
             } else if (accumulateChildren &&
                        !childCached &&
-                       lsn != DbLsn.NULL_LSN) {
+                       lsn != DbLsn.NULL_LSN &&
+                       shouldFetch(lsn)) {
 
                 /*
                  * Child is not in cache. Put its LSN in the current batch of
@@ -626,8 +677,17 @@ public class SortedLSNTreeWalker {
         while (!pendingLSNs.isEmpty()) {
             final long[] currentLSNs = pendingLSNs.getAndSortPendingLSNs();
             pendingLSNs = createLSNAccumulator();
-            for (long lsn : currentLSNs) {
-                fetchAndProcessLSN(lsn, pendingLSNs);
+
+            final LogReadAhead readAhead = (readAheadPool != null) ?
+                new LogReadAhead(currentLSNs) : null;
+            try {
+                for (long lsn : currentLSNs) {
+                    fetchAndProcessLSN(lsn, pendingLSNs, readAhead);
+                }
+            } finally {
+                if (readAhead != null) {
+                    readAhead.cancel();
+                }
             }
         }
     }
@@ -636,12 +696,14 @@ public class SortedLSNTreeWalker {
      * Fetch the node at 'lsn' and callback to let the invoker process it.  If
      * it is an IN, accumulate LSNs for it.
      */
-    private void fetchAndProcessLSN(long lsn, LSNAccumulator pendingLSNs) {
+    private void fetchAndProcessLSN(long lsn,
+                                    LSNAccumulator pendingLSNs,
+                                    LogReadAhead readAhead) {
 
         lnKeyEntry.setData(null);
 
         final FetchResult result = fetchLSNHandleExceptions(
-            lsn, lnKeyEntry, pendingLSNs);
+            lsn, lnKeyEntry, pendingLSNs, readAhead);
 
         if (result == null) {
             return;
@@ -676,12 +738,13 @@ public class SortedLSNTreeWalker {
     private FetchResult fetchLSNHandleExceptions(
         long lsn,
         DatabaseEntry lnKeyEntry,
-        LSNAccumulator pendingLSNs) {
+        LSNAccumulator pendingLSNs,
+        LogReadAhead readAhead) {
 
         DatabaseException dbe = null;
 
         try {
-            return fetchLSN(lsn, lnKeyEntry, pendingLSNs);
+            return fetchLSN(lsn, lnKeyEntry, pendingLSNs, readAhead);
 
         } catch (DatabaseException e) {
             if (excPredicate == null ||
@@ -844,7 +907,8 @@ public class SortedLSNTreeWalker {
     private FetchResult fetchLSN(
         long lsn,
         DatabaseEntry lnKeyEntry,
-        LSNAccumulator pendingLSNs) {
+        LSNAccumulator pendingLSNs,
+        LogReadAhead readAhead) {
 
         final LogManager logManager = envImpl.getLogManager();
         final OffHeapCache ohCache = envImpl.getOffHeapCache();
@@ -964,7 +1028,9 @@ public class SortedLSNTreeWalker {
             /* Fetch log entry. */
             final WholeEntry wholeEntry;
             try {
-                wholeEntry = logManager.getWholeLogEntry(lsn);
+                wholeEntry = (readAhead != null) ?
+                    readAhead.getWholeLogEntry(lsn) :
+                    logManager.getWholeLogEntry(lsn);
 
             } catch (FileNotFoundException|ErasedException e) {
                 final String msg =
@@ -1203,4 +1269,106 @@ public class SortedLSNTreeWalker {
     protected boolean fetchAndInsertIntoTree() {
         return false;
     }
+
+    /*
+     * Overridden by subclasses that fetch only some of the non-resident
+     * children. A child that is not fetched is passed to the callback as if
+     * it were not accumulated, and its subtree is not walked.
+     */
+    protected boolean shouldFetch(@SuppressWarnings("unused") long lsn) {
+        return true;
+    }
+
+    /**
+     * Reads the log entries for a sorted batch of LSNs using the read-ahead
+     * pool. A bounded window of reads is kept outstanding ahead of the LSN
+     * being fetched by the walking thread. LSNs that the walking thread skips
+     * (because the slot changed, for example) are cancelled when a later LSN
+     * is fetched.
+     */
+    private class LogReadAhead {
+
+        private final long[] lsns;
+        private final Future<?>[] reads;
+        private final int window;
+
+        /* Index of the next LSN to submit for reading. */
+        private int nextSubmit = 0;
+
+        /* Index after the last LSN fetched by the walking thread. */
+        private int nextFetch = 0;
+
+        LogReadAhead(long[] lsns) {
+            this.lsns = lsns;
+            reads = new Future<?>[lsns.length];
+            window = readAheadThreads * 16;
+        }
+
+        WholeEntry getWholeLogEntry(long lsn)
+            throws FileNotFoundException, ErasedException {
+
+            final LogManager logManager = envImpl.getLogManager();
+
+            final int index =
+                Arrays.binarySearch(lsns, nextFetch, lsns.length, lsn);
+
+            if (index < 0) {
+                /* A full BIN LSN that was added after the batch was sorted. */
+                return logManager.getWholeLogEntry(lsn);
+            }
+
+            for (int i = nextFetch; i < index; i += 1) {
+                cancel(i);
+            }
+            nextFetch = index + 1;
+
+            final int submitLimit = Math.min(lsns.length, nextFetch + window);
+            while (nextSubmit < submitLimit) {
+                final long readLsn = lsns[nextSubmit];
+                reads[nextSubmit] = readAheadPool.submit(
+                    () -> logManager.getWholeLogEntry(readLsn));
+                nextSubmit += 1;
+            }
+
+            final Future<?> read = reads[index];
+            reads[index] = null;
+
+            try {
+                return (WholeEntry) read.get();
+
+            } catch (InterruptedException e) {
+                throw new ThreadInterruptedException(envImpl, e);
+
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof FileNotFoundException) {
+                    throw (FileNotFoundException) cause;
+                }
+                if (cause instanceof ErasedException) {
+                    throw (ErasedException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw EnvironmentFailureException.unexpectedException(
+                    envImpl, (Exception) cause);
+            }
+        }
+
+        void cancel() {
+            for (int i = nextFetch; i < nextSubmit; i += 1) {
+                cancel(i);
+            }
+        }
+
+        private void cancel(int index) {
+            if (reads[index] != null) {
+                reads[index].cancel(false);
+                reads[index] = null;
+            }
+        }
+    }
 }
@@ -0,0 +1,276 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.evictor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.tree.IN;
+import com.sleepycat.je.utilint.AtomicLongStat;
+
+/**
+ * Records node accesses so that the LRU lists can be updated later, in
+ * batches, rather than by each accessing thread. Used by the Evictor when
+ * {@link com.sleepycat.je.EnvironmentConfig#EVICTOR_BUFFER_LRU_ACCESSES} is
+ * true.
+ *
+ * The buffer is split into stripes, and a thread always uses the stripe
+ * selected by its thread ID, so threads running on different CPUs rarely
+ * share a stripe. Each stripe is a bounded ring of node references. Adding
+ * to a stripe is a single compare-and-set of its write counter, and never
+ * blocks.
+ *
+ * The buffer is lossy. An access is dropped if its stripe is full, or if
+ * the compare-and-set fails repeatedly because other threads are adding to
+ * the same stripe. Since the LRU is itself an approximation, losing a
+ * fraction of the accesses of a hot node does not change its position
+ * materially, because the node is accessed again soon.
+ *
+ * Application threads never drain the buffer, since draining synchronizes
+ * on the LRU lists. When a stripe becomes half full, the thread that filled
+ * it schedules a drain of all stripes in the evictor's dedicated drainer
+ * thread, unless one is already scheduled. The drainer thread is separate
+ * from the evictor thread pool, so scheduling a drain never takes a pool
+ * thread or queue slot needed for eviction. All stripes are also drained
+ * before each eviction batch. Accesses added to a full stripe before the
+ * drainer reaches it are dropped. Draining is protected by a lock per
+ * stripe, which is acquired without waiting, so a thread never waits for
+ * another thread to drain.
+ *
+ * A pending access holds a strong reference to its node, so the number of
+ * pending accesses is bounded by the stripe size, and a slot is cleared as
+ * soon as it is drained. The pending accesses of an environment are
+ * discarded when it is removed from a shared cache, and all are discarded
+ * when the evictor is shut down, so the buffer never retains the nodes of
+ * a closed environment.
+ */
+class AccessBuffer {
+
+    /* Number of slots per stripe, a power of two. */
+    private static final int STRIPE_SIZE = 64;
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+
+    /* Number of compare-and-set attempts before an access is dropped. */
+    private static final int MAX_ATTEMPTS = 3;
+
+    /* Replaces the node of a discarded access, which the drain skips. */
+    private static final Object DISCARDED = new Object();
+
+    private final Evictor evictor;
+    private final Stripe[] stripes;
+    private final int stripesMask;
+
+    /* Whether a drain task has been scheduled and has not yet finished. */
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private final AtomicLongStat nContention;
+    private final AtomicLongStat nDrops;
+
+    private static class Stripe {
+
+        /* Each slot holds an IN, DISCARDED, or null if not yet stored. */
+        final AtomicReferenceArray<Object> slots =
+            new AtomicReferenceArray<>(STRIPE_SIZE);
+
+        /* The number of slots claimed by writers. */
+        final AtomicLong writeCount = new AtomicLong();
+
+        /*
+         * The number of slots drained, updated only with drainLock held. A
+         * slot is cleared before the count is advanced past it.
+         */
+        volatile long readCount;
+
+        final ReentrantLock drainLock = new ReentrantLock();
+    }
+
+    /**
+     * @param nStripes the minimum number of stripes, which is rounded up to
+     * a power of two.
+     */
+    AccessBuffer(final Evictor evictor,
+                 final int nStripes,
+                 final AtomicLongStat nContention,
+                 final AtomicLongStat nDrops) {
+
+        this.evictor = evictor;
+        this.nContention = nContention;
+        this.nDrops = nDrops;
+
+        final int n = Integer.highestOneBit(Math.max(nStripes - 1, 1)) << 1;
+        stripes = new Stripe[n];
+        stripesMask = n - 1;
+
+        for (int i = 0; i < n; i += 1) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Records an access of the given node. The node must be latched by the
+     * caller, but the latch is not needed when the access is applied.
+     */
+    void add(final IN node) {
+
+        final Stripe stripe = getStripe();
+
+        for (int i = 0; i < MAX_ATTEMPTS; i += 1) {
+
+            final long readCount = stripe.readCount;
+            final long writeCount = stripe.writeCount.get();
+            final long pending = writeCount - readCount;
+
+            if (pending >= STRIPE_SIZE) {
+                nDrops.increment();
+                scheduleDrain();
+                return;
+            }
+
+            if (stripe.writeCount.compareAndSet(writeCount, writeCount + 1)) {
+
+                stripe.slots.lazySet((int) (writeCount & STRIPE_MASK), node);
+
+                if (pending + 1 >= STRIPE_SIZE / 2) {
+                    scheduleDrain();
+                }
+                return;
+            }
+
+            nContention.increment();
+        }
+
+        nDrops.increment();
+    }
+
+    /**
+     * Drains all stripes that are not being drained by another thread.
+     * Called by the evictor before each eviction batch.
+     */
+    void drainAll() {
+        for (final Stripe stripe : stripes) {
+            tryDrain(stripe);
+        }
+    }
+
+    /**
+     * Asks the evictor to run a drain task in its drainer thread, unless one
+     * is already scheduled.
+     */
+    private void scheduleDrain() {
+
+        if (drainScheduled.get() ||
+            !drainScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        if (!evictor.scheduleAccessDrain()) {
+            drainScheduled.set(false);
+        }
+    }
+
+    /**
+     * Drains all stripes. Called by the drain task in the drainer thread.
+     */
+    void runScheduledDrain() {
+        try {
+            drainAll();
+        } finally {
+            drainScheduled.set(false);
+        }
+    }
+
+    /**
+     * Discards the pending accesses of the nodes of the given environment,
+     * or of all environments if env is null, so that the buffer no longer
+     * references them. Waits for concurrent drains of each stripe to finish.
+     */
+    void discard(final EnvironmentImpl env) {
+
+        for (final Stripe stripe : stripes) {
+
+            stripe.drainLock.lock();
+
+            try {
+                final long writeCount = stripe.writeCount.get();
+
+                for (long i = stripe.readCount; i < writeCount; i += 1) {
+
+                    final int index = (int) (i & STRIPE_MASK);
+                    final Object obj = stripe.slots.get(index);
+
+                    if (obj instanceof IN &&
+                        (env == null || ((IN) obj).getEnv() == env)) {
+
+                        /*
+                         * Replace the node with a marker rather than null,
+                         * which would stop the drain at this slot.
+                         */
+                        stripe.slots.set(index, DISCARDED);
+                    }
+                }
+            } finally {
+                stripe.drainLock.unlock();
+            }
+        }
+    }
+
+    private Stripe getStripe() {
+        final long id = Thread.currentThread().getId();
+        final int hash = (int) ((id * 0x9E3779B97F4A7C15L) >>> 32);
+        return stripes[hash & stripesMask];
+    }
+
+    private void tryDrain(final Stripe stripe) {
+
+        if (!stripe.drainLock.tryLock()) {
+            return;
+        }
+
+        try {
+            final long writeCount = stripe.writeCount.get();
+            long readCount = stripe.readCount;
+
+            while (readCount < writeCount) {
+
+                final int index = (int) (readCount & STRIPE_MASK);
+                final Object obj = stripe.slots.get(index);
+
+                /*
+                 * The writer claimed the slot but has not yet stored the
+                 * node. Stop here and drain the rest next time.
+                 */
+                if (obj == null) {
+                    break;
+                }
+
+                stripe.slots.lazySet(index, null);
+                readCount += 1;
+                stripe.readCount = readCount;
+
+                if (obj == DISCARDED) {
+                    continue;
+                }
+
+                if (!evictor.applyBufferedAccess((IN) obj)) {
+                    nDrops.increment();
+                }
+            }
+        } finally {
+            stripe.drainLock.unlock();
+        }
+    }
+}
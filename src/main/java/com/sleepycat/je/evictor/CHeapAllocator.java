@@ -44,6 +44,16 @@ class CHeapAllocator implements OffHeapAllocator {
     private final AtomicLong usedBytes = new AtomicLong(0);
 
     public CHeapAllocator() {
+        unsafe = getUnsafe();
+    }
+
+    /**
+     * Returns the Unsafe singleton, after checking that it can be used.
+     * Also used by SlabAllocator, which is also loaded using reflection.
+     */
+    static Unsafe getUnsafe() {
+
+        final Unsafe unsafe;
 
         /*
          * We cannot call Unsafe.getUnsafe because it throws
@@ -80,6 +90,8 @@ class CHeapAllocator implements OffHeapAllocator {
                 "Unexpected Unsafe.ARRAY_INT_INDEX_SCALE: " +
                     Unsafe.ARRAY_INT_INDEX_SCALE);
         }
+
+        return unsafe;
     }
 
     @Override
@@ -92,6 +104,22 @@ class CHeapAllocator implements OffHeapAllocator {
         return usedBytes.get();
     }
 
+    /**
+     * Returns zero, since fragmentation in the C heap is not known.
+     */
+    @Override
+    public long getFragmentedBytes() {
+        return 0;
+    }
+
+    /**
+     * Returns zero, since free memory in the C heap is not known.
+     */
+    @Override
+    public long getFreeBytes() {
+        return 0;
+    }
+
     @Override
     public long allocate(int size) {
 
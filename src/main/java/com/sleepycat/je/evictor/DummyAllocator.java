@@ -32,6 +32,16 @@ class DummyAllocator implements OffHeapAllocator {
         return 0;
     }
 
+    @Override
+    public long getFragmentedBytes() {
+        return 0;
+    }
+
+    @Override
+    public long getFreeBytes() {
+        return 0;
+    }
+
     @Override
     public long allocate(int size) {
         return 0;
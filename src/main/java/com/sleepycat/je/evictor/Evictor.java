@@ -14,6 +14,10 @@
 package com.sleepycat.je.evictor;
 
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_DELTA_BLIND_OPS;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.BINS_FROZEN;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.BINS_THAWED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FETCH_FILTERED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FILTER_FALSE_POSITIVE;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_DELTA_FETCH_MISS;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FETCH;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.BIN_FETCH_MISS;
@@ -25,6 +29,9 @@ import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_DIRTY_NODES
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_EVICTION_RUNS;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_LNS_EVICTED;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_NODES_EVICTED;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_LRU_BUFFER_CONTENTION;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_LRU_BUFFER_DROPS;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_NODES_ADMITTED;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_NODES_MOVED_TO_PRI2_LRU;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_NODES_MUTATED;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.EVICTOR_NODES_PUT_BACK;
@@ -53,8 +60,10 @@ import static com.sleepycat.je.evictor.EvictorStatDefinition.PRI2_LRU_SIZE;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.THREAD_UNAVAILABLE;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.UPPER_IN_FETCH;
 import static com.sleepycat.je.evictor.EvictorStatDefinition.UPPER_IN_FETCH_MISS;
+import static com.sleepycat.je.evictor.EvictorStatDefinition.UPPER_IN_FETCH_MISS_RATIO;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -508,6 +517,11 @@ import com.sleepycat.je.utilint.TestHookExecute;
  *    (a) It is a BIN that was last accessed with KEEP_HOT cache mode.
  *    (b) N has an entry with a NULL LSN and a null target.
  *
+ * 2a. ADMIT - Move N to the back of the priority-1 LRUSet, if the TINY_LFU
+ *    policy is used, N belongs to the window LRUSet, N is not being evicted
+ *    via a cache mode, and N was accessed more frequently than the node at
+ *    the front of the priority-1 LRUSet (see EvictionPolicy).
+ *
  * 3. PARTIAL EVICT - perform partial eviction on N, if none of the cases
  *    listed above is true. Currently, partial eviction applies to BINs only
  *    and involves the eviction (stripping) of evictable LNs. If a cached LN
@@ -536,6 +550,12 @@ import com.sleepycat.je.utilint.TestHookExecute;
  *    if none of the above apply and N is a level-2 node with off-heap BINs
  *    that last belonged to the priority-1 LRUSet.
  *
+ * 8a. RETAIN - Put N to the back of the priority-1 LRUSet, if none of the
+ *    above apply, the TINY_LFU policy is used, N belongs to the priority-1
+ *    LRUSet (not the window), N is not being evicted via a cache mode, the
+ *    window is over its share, and N was accessed at least as frequently as
+ *    the node at the front of the window LRUSet (see EvictionPolicy).
+ *
  * 9. EVICT - Evict N is none of the above apply.
  *
  * -------
@@ -612,6 +632,55 @@ public class Evictor implements EnvConfigObserver {
         }
     }
 
+    /**
+     * The values of the internal EnvironmentParams.EVICTOR_POLICY param.
+     *
+     * LRU is the policy described in the class comment.
+     *
+     * TINY_LFU (W-TinyLFU) adds a window LRUSet and a FrequencySketch per
+     * LRUList index. The public addBack method, which is called when a node
+     * becomes an eviction candidate (in particular, when it is fetched),
+     * adds the node to the window LRUSet rather than the priority-1 LRUSet,
+     * and the IN's window-LRU flag records this. An access is recorded in
+     * the sketch by addBack, and by moveBack when it actually moves the
+     * node, i.e., the node was not already at the back of its list. The
+     * latter condition prevents the repeated latching of a BIN during a
+     * cursor scan from counting as many accesses.
+     *
+     * When the window LRUList holds more than WINDOW_PERCENT of the nodes of
+     * its index, the priority-1 targets of the index alternate between the
+     * front of the window LRUList and the front of the priority-1 LRUList.
+     *
+     * A target from the window is compared to the node at the front of the
+     * priority-1 LRUList. If the target is more frequent, it is moved to the
+     * back of the priority-1 LRUList (see ADMIT in the class comment).
+     * Otherwise, including a tie, the target is evicted as usual.
+     *
+     * A target from the priority-1 LRUList is processed as usual, so its LNs
+     * are stripped and its BIN may be mutated to a delta in LRU order, as
+     * with the LRU policy. Without these targets, the nodes of the
+     * priority-1 LRUList would keep their resident LNs, and fewer BINs would
+     * fit in the cache. However, when the target would be evicted, it is
+     * instead moved to the back of the priority-1 LRUList if it is at least
+     * as frequent as the node at the front of the window LRUList, which is
+     * the next window target (see RETAIN in the class comment). Eviction
+     * always makes progress, because every other target is a window target,
+     * and each admission shrinks the window; a priority-1 target is never
+     * retained when the window is not over its share.
+     *
+     * The sketch ages all frequencies periodically, so a node that stops
+     * being accessed is eventually evicted. Because the sketch also
+     * remembers evicted nodes, a node of the working set that was evicted
+     * and refetched is readmitted.
+     *
+     * Only priority-1 nodes use the window; pri2AddBack and the other
+     * methods that move a node to a specific LRUSet clear the flag.
+     */
+    public enum EvictionPolicy {
+        LRU,
+        TINY_LFU
+    }
+
     /*
      * The purpose of EvictionDebugStats is to capture the stats of a single
      * eviction run (i.e., an execution of the Evictor.doEviction() method by
@@ -953,12 +1022,16 @@ public class Evictor implements EnvConfigObserver {
             ++size;
         }
 
-        synchronized void moveBack(IN node) {
+        /**
+         * Returns true if the node was moved, or false if it is not in the
+         * list or is already at the back.
+         */
+        synchronized boolean moveBack(IN node) {
 
             /* If the node is not in the list, don't do anything */
             if (node.getNextLRUNode() == null) {
                 assert(node.getPrevLRUNode() == null);
-                return;
+                return false;
             }
 
             if (doExpensiveCheck && !contains2(node)) {
@@ -977,6 +1050,7 @@ public class Evictor implements EnvConfigObserver {
                 /* The node is aready at the back */
                 assert(back == node);
                 assert(node.getPrevLRUNode().getNextLRUNode() == node);
+                return false;
 
             } else {
                 assert(front != back);
@@ -1004,6 +1078,7 @@ public class Evictor implements EnvConfigObserver {
                 
                 back.setNextLRUNode(node);
                 back = node;
+                return true;
             }
         }
         
@@ -1061,6 +1136,10 @@ public class Evictor implements EnvConfigObserver {
             }
         }
         
+        synchronized IN peekFront() {
+            return front;
+        }
+
         synchronized IN removeFront() {
             if (front == null) {
                 assert(back == null);
@@ -1338,6 +1417,12 @@ public class Evictor implements EnvConfigObserver {
     /* Prevent endless eviction loops under extreme resource constraints. */
     private static final int MAX_BATCHES_PER_RUN = 100;
 
+    /*
+     * The share of each priority-1 LRUList, in percent, that is allotted to
+     * its window LRUList when the TINY_LFU policy is used.
+     */
+    private static final int WINDOW_PERCENT = 1;
+
     private static final boolean traceUINs = false;
     private static final boolean traceBINs = false;
     private static final Level traceLevel = Level.INFO;
@@ -1469,6 +1554,38 @@ public class Evictor implements EnvConfigObserver {
     private int nextPri1LRUList = 0;
     private int nextPri2LRUList = 0;
 
+    /*
+     * The window LRUSet and the access frequencies of nodes for the TINY_LFU
+     * policy, or null if the LRU policy is used. The window LRUList and
+     * sketch at index i are used for the nodes of the i-th LRUList of the
+     * priority-1 LRUSet. Each sketch is protected by synchronizing on it.
+     */
+    private final LRUList[] windowLRUSet;
+    private final FrequencySketch[] sketches;
+
+    /*
+     * The memory size of the sketches, and the environment whose admin
+     * memory budget is charged for it, or null if no environment is charged.
+     * With a shared cache the charge is moved to another environment when
+     * the charged environment is removed, so that each environment's budget
+     * is zero at close. Protected by synchronizing on the Evictor.
+     */
+    private final long sketchMemorySize;
+    private EnvironmentImpl sketchMemoryEnv;
+
+    /*
+     * Buffers moveBack calls when EVICTOR_BUFFER_LRU_ACCESSES is true, or
+     * null otherwise.
+     */
+    private final AccessBuffer accessBuffer;
+
+    /*
+     * Runs the drains of the accessBuffer in a single dedicated thread, or
+     * is null if accessBuffer is null. Drains are not run by evictionPool,
+     * so they never compete with eviction tasks for its threads or queue.
+     */
+    private final ThreadPoolExecutor accessDrainPool;
+
     /*
      * The evictor is disabled during the 1st phase of recovery. The
      * RecoveryManager enables the evictor after it finishes its 1st
@@ -1523,6 +1640,16 @@ public class Evictor implements EnvConfigObserver {
     /* Number of target nodes put back to the LRU w/o any other action taken */
     private final LongStat nNodesPutBack;
 
+    /* Number of target nodes put back because they are accessed often. */
+    private final LongStat nNodesAdmitted;
+
+    /*
+     * Contention and drops in the LRU access buffer. Use AtomicLongStat
+     * because they are incremented by application threads.
+     */
+    private final AtomicLongStat nLRUBufferContention;
+    private final AtomicLongStat nLRUBufferDrops;
+
     /* Number of target nodes skipped. */
     private final LongStat nNodesSkipped;
 
@@ -1575,6 +1702,8 @@ public class Evictor implements EnvConfigObserver {
 
     private final FloatStat binFetchMissRatio;
 
+    private final FloatStat upperINFetchMissRatio;
+
     /*
      * Number of calls to BIN.mutateToFullBIN()
      */
@@ -1584,6 +1713,10 @@ public class Evictor implements EnvConfigObserver {
      * Number of blind operations on BIN deltas
      */
     private final AtomicLongStat nBinDeltaBlindOps;
+    private final AtomicLongStat nBINsFrozen;
+    private final AtomicLongStat nBINsThawed;
+    private final AtomicLongStat nBINFetchFiltered;
+    private final AtomicLongStat nBINFilterFalsePositives;
 
     /* Stats for IN compact array representations currently in cache. */
     private final AtomicLong nINSparseTarget;
@@ -1628,6 +1761,12 @@ public class Evictor implements EnvConfigObserver {
         nNodesStripped = new LongStat(stats, EVICTOR_NODES_STRIPPED);
         nNodesMutated = new LongStat(stats, EVICTOR_NODES_MUTATED);
         nNodesPutBack = new LongStat(stats, EVICTOR_NODES_PUT_BACK);
+        nNodesAdmitted = new LongStat(
+            stats, EVICTOR_NODES_ADMITTED);
+        nLRUBufferContention = new AtomicLongStat(
+            stats, EVICTOR_LRU_BUFFER_CONTENTION);
+        nLRUBufferDrops = new AtomicLongStat(
+            stats, EVICTOR_LRU_BUFFER_DROPS);
         nNodesSkipped = new LongStat(stats, EVICTOR_NODES_SKIPPED);
         nNodesMovedToPri2LRU = new LongStat(
             stats, EVICTOR_NODES_MOVED_TO_PRI2_LRU);
@@ -1641,7 +1780,14 @@ public class Evictor implements EnvConfigObserver {
         nUpperINFetchMiss = new AtomicLongStat(stats, UPPER_IN_FETCH_MISS);
         nFullBINMiss = new AtomicLongStat(stats, FULL_BIN_MISS);
         nBinDeltaBlindOps = new AtomicLongStat(stats, BIN_DELTA_BLIND_OPS);
+        nBINsFrozen = new AtomicLongStat(stats, BINS_FROZEN);
+        nBINsThawed = new AtomicLongStat(stats, BINS_THAWED);
+        nBINFetchFiltered = new AtomicLongStat(stats, BIN_FETCH_FILTERED);
+        nBINFilterFalsePositives =
+            new AtomicLongStat(stats, BIN_FILTER_FALSE_POSITIVE);
         binFetchMissRatio = new FloatStat(stats, BIN_FETCH_MISS_RATIO);
+        upperINFetchMissRatio =
+            new FloatStat(stats, UPPER_IN_FETCH_MISS_RATIO);
 
         nThreadUnavailable = new AtomicLongStat(stats, THREAD_UNAVAILABLE);
 
@@ -1694,6 +1840,50 @@ public class Evictor implements EnvConfigObserver {
             pri2LRUSet[i] = new LRUList(numLRULists + i);
         }
 
+        final EvictionPolicy policy = EvictionPolicy.valueOf(
+            configManager.get(EnvironmentParams.EVICTOR_POLICY));
+
+        if (policy == EvictionPolicy.TINY_LFU) {
+
+            /*
+             * Size each sketch for the number of 4 KB nodes that would fill
+             * the cache, which overestimates the number of cached nodes but
+             * leaves room for the history of evicted nodes.
+             */
+            final long expectedNodes =
+                firstEnvImpl.getMemoryBudget().getMaxMemory() / 4096;
+
+            windowLRUSet = new LRUList[numLRULists];
+            sketches = new FrequencySketch[numLRULists];
+
+            for (int i = 0; i < numLRULists; ++i) {
+                windowLRUSet[i] = new LRUList(2 * numLRULists + i);
+                sketches[i] = new FrequencySketch(
+                    Math.max(1024, expectedNodes / numLRULists));
+            }
+
+            long memSize = 0;
+            for (final FrequencySketch sketch : sketches) {
+                memSize += sketch.getMemorySize();
+            }
+            sketchMemorySize = memSize;
+            chargeSketchMemory(firstEnvImpl);
+        } else {
+            windowLRUSet = null;
+            sketches = null;
+            sketchMemorySize = 0;
+        }
+
+        if (configManager.getBoolean(
+            EnvironmentParams.EVICTOR_BUFFER_LRU_ACCESSES)) {
+
+            accessBuffer = new AccessBuffer(
+                this, 4 * Runtime.getRuntime().availableProcessors(),
+                nLRUBufferContention, nLRUBufferDrops);
+        } else {
+            accessBuffer = null;
+        }
+
         if (isShared) {
             envInfos = new ArrayList<EnvInfo>();
         } else {
@@ -1726,6 +1916,23 @@ public class Evictor implements EnvConfigObserver {
                 isShared ? null : envImpl, "JEEvictor", logger),
             rejectHandler);
 
+        /*
+         * At most one drain task is queued or running at a time, since the
+         * AccessBuffer schedules a drain only if none is pending. A task is
+         * rejected only after shutdown, when the drain is not needed.
+         */
+        if (accessBuffer != null) {
+            accessDrainPool = new ThreadPoolExecutor(
+                1, 1, keepAliveTime, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(1),
+                new StoppableThreadFactory(
+                    isShared ? null : envImpl, "JEEvictorAccessDrainer",
+                    logger),
+                new ThreadPoolExecutor.DiscardPolicy());
+        } else {
+            accessDrainPool = null;
+        }
+
         allowBinDeltas = configManager.getBoolean(
             EnvironmentParams.EVICTOR_ALLOW_BIN_DELTAS);
 
@@ -1808,6 +2015,48 @@ public class Evictor implements EnvConfigObserver {
                 evictionPool.shutdownNow();
             }
         }
+
+        if (accessBuffer != null) {
+            accessDrainPool.shutdown();
+            boolean drainFinished = false;
+            try {
+                drainFinished = accessDrainPool.awaitTermination(
+                    terminateMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                /* Give up, as above. */
+            } finally {
+                if (!drainFinished) {
+                    accessDrainPool.shutdownNow();
+                }
+            }
+            accessBuffer.discard(null);
+        }
+
+        releaseSketchMemory();
+    }
+
+    /**
+     * Charges the sketch memory to the given environment, if no environment
+     * is currently charged.
+     */
+    private synchronized void chargeSketchMemory(EnvironmentImpl env) {
+        if (sketchMemorySize == 0 || sketchMemoryEnv != null) {
+            return;
+        }
+        env.getMemoryBudget().updateAdminMemoryUsage(sketchMemorySize);
+        sketchMemoryEnv = env;
+    }
+
+    /**
+     * Releases the sketch memory from the environment that is charged.
+     */
+    private synchronized void releaseSketchMemory() {
+        if (sketchMemoryEnv == null) {
+            return;
+        }
+        sketchMemoryEnv.getMemoryBudget().updateAdminMemoryUsage(
+            0 - sketchMemorySize);
+        sketchMemoryEnv = null;
     }
 
     public void requestShutdown() {
@@ -1830,6 +2079,7 @@ public class Evictor implements EnvConfigObserver {
             info.env = env;
             info.ins = env.getInMemoryINs();
             envInfos.add(info);
+            chargeSketchMemory(env);
         } else {
             throw EnvironmentFailureException.unexpectedState();
         }
@@ -1850,6 +2100,9 @@ public class Evictor implements EnvConfigObserver {
                     for (int j = 0; j < numLRULists; ++j) {
                         pri1LRUSet[j].removeINsForEnv(env);
                         pri2LRUSet[j].removeINsForEnv(env);
+                        if (windowLRUSet != null) {
+                            windowLRUSet[j].removeINsForEnv(env);
+                        }
                     }
                 } catch (AssertionError e) {
                     System.out.println("YYYYYYYYYY " + e);
@@ -1858,7 +2111,18 @@ public class Evictor implements EnvConfigObserver {
                 }
 
                 envInfos.remove(i);
-                return;
+                break;
+            }
+        }
+
+        if (accessBuffer != null) {
+            accessBuffer.discard(env);
+        }
+
+        if (sketchMemoryEnv == env) {
+            releaseSketchMemory();
+            if (!envInfos.isEmpty()) {
+                chargeSketchMemory(envInfos.get(0).env);
             }
         }
     }
@@ -1881,20 +2145,69 @@ public class Evictor implements EnvConfigObserver {
     }
 
     /**
-     * Add the node to the back of the priority-1 LRUSet. The node is either
+     * Add the node to the back of the priority-1 LRUSet, or to the back of
+     * the window LRUSet if the TINY_LFU policy is used. The node is either
      * EX-latched already or is inaccessible from other threads.
      */
     public void addBack(IN node) {
 
+        if (windowLRUSet != null) {
+            if (windowAddBack(node)) {
+                recordAccess(node);
+            }
+        } else {
+            pri1AddBack(node);
+        }
+    }
+
+    /*
+     * Add the node to the back of the priority-1 LRUSet.
+     */
+    private void pri1AddBack(IN node) {
+
         if (isEnabled && node.getEnv().getInMemoryINs().isEnabled()) {
 
             assert(node.getInListResident());
 
             node.setInPri2LRU(false);
+            node.setInWindowLRU(false);
             pri1LRUSet[(int)(node.getNodeId() % numLRULists)].addBack(node);
         }
     }
 
+    /*
+     * Add the node to the back of the window LRUSet, and return whether it
+     * was added.
+     */
+    private boolean windowAddBack(IN node) {
+
+        if (isEnabled && node.getEnv().getInMemoryINs().isEnabled()) {
+
+            assert(node.getInListResident());
+
+            node.setInPri2LRU(false);
+            node.setInWindowLRU(true);
+            windowLRUSet[(int)(node.getNodeId() % numLRULists)].addBack(node);
+            return true;
+        }
+
+        return false;
+    }
+
+    /*
+     * Put an eviction target back to the LRUSet it last belonged to.
+     */
+    private void addBackToLRUSet(IN target) {
+
+        if (target.isInPri2LRU()) {
+            pri2AddBack(target);
+        } else if (target.isInWindowLRU()) {
+            windowAddBack(target);
+        } else {
+            pri1AddBack(target);
+        }
+    }
+
     /**
      * Add the node to the front of the priority-1 LRUSet. The node is either
      * EX-latched already or is inaccessible from other threads.
@@ -1906,6 +2219,7 @@ public class Evictor implements EnvConfigObserver {
             assert(node.getInListResident());
 
             node.setInPri2LRU(false);
+            node.setInWindowLRU(false);
             pri1LRUSet[(int)(node.getNodeId() % numLRULists)].addFront(node);
         }
     }
@@ -1919,6 +2233,7 @@ public class Evictor implements EnvConfigObserver {
         assert(node.getInListResident());
 
         node.setInPri2LRU(true);
+        node.setInWindowLRU(false);
         pri2LRUSet[(int)(node.getNodeId() % numLRULists)].addBack(node);
     }
     
@@ -1931,21 +2246,92 @@ public class Evictor implements EnvConfigObserver {
         assert(node.getInListResident());
 
         node.setInPri2LRU(true);
+        node.setInWindowLRU(false);
         pri2LRUSet[(int)(node.getNodeId() % numLRULists)].addFront(node);
     }
 
+    /*
+     * Return the LRUList the node belongs to, according to its flags.
+     */
+    private LRUList getLRUList(IN node) {
+
+        int listId = (int)(node.getNodeId() % numLRULists);
+
+        if (node.isInPri2LRU()) {
+            return pri2LRUSet[listId];
+        }
+        if (node.isInWindowLRU()) {
+            return windowLRUSet[listId];
+        }
+        return pri1LRUSet[listId];
+    }
+
     /**
-     * Move the node to the back of its containing LRUList, if any.
+     * Move the node to the back of its containing LRUList, if any. When
+     * LRU accesses are buffered, the move is deferred and may be dropped.
      */
     public void moveBack(IN node) {
 
         assert(node.isLatchOwner());
 
-        if (node.isInPri2LRU()) {
-            pri2LRUSet[(int)(node.getNodeId() % numLRULists)].moveBack(node);
-        } else {
-            pri1LRUSet[(int)(node.getNodeId() % numLRULists)].moveBack(node);
+        if (accessBuffer != null) {
+            accessBuffer.add(node);
+            return;
+        }
+
+        if (getLRUList(node).moveBack(node)) {
+            recordAccess(node);
+        }
+    }
+
+    /**
+     * Runs a task in the access drainer thread to drain the AccessBuffer, and
+     * returns whether the task was queued. Returns false if the evictor is
+     * shutting down.
+     */
+    boolean scheduleAccessDrain() {
+
+        if (shutdownRequested.get()) {
+            return false;
+        }
+
+        accessDrainPool.execute(new DrainAccessesTask(accessBuffer));
+        return true;
+    }
+
+    /**
+     * Performs a moveBack that was deferred by the AccessBuffer, and returns
+     * whether it was performed.
+     *
+     * The node's LRU flags, which determine the LRUList it belongs to, may
+     * only change while it is EX-latched, so the node must be latched here.
+     * The thread draining the buffer may already own the latch, since the
+     * buffer is drained when adding to it. Otherwise the latch is acquired
+     * without waiting, to avoid deadlocks, and the access is dropped if the
+     * node is latched by another thread.
+     */
+    boolean applyBufferedAccess(IN node) {
+
+        if (node.isLatchOwner()) {
+            if (getLRUList(node).moveBack(node)) {
+                recordAccess(node);
+            }
+            return true;
+        }
+
+        if (!node.latchNoWait(CacheMode.UNCHANGED)) {
+            return false;
+        }
+
+        try {
+            if (getLRUList(node).moveBack(node)) {
+                recordAccess(node);
+            }
+        } finally {
+            node.releaseLatch();
         }
+
+        return true;
     }
     
     /**
@@ -1955,11 +2341,7 @@ public class Evictor implements EnvConfigObserver {
 
         assert(node.isLatchOwner());
 
-        if (node.isInPri2LRU()) {
-            pri2LRUSet[(int)(node.getNodeId() % numLRULists)].moveFront(node);
-        } else {
-            pri1LRUSet[(int)(node.getNodeId() % numLRULists)].moveFront(node);
-        }
+        getLRUList(node).moveFront(node);
     }
 
     /**
@@ -1969,13 +2351,7 @@ public class Evictor implements EnvConfigObserver {
 
         assert(node.isLatchOwner());
 
-        int listId = (int)(node.getNodeId() % numLRULists);
-
-        if (node.isInPri2LRU()) {
-            pri2LRUSet[listId].remove(node);
-        } else {
-            pri1LRUSet[listId].remove(node);
-        }
+        getLRUList(node).remove(node);
     }
 
     /**
@@ -2003,12 +2379,7 @@ public class Evictor implements EnvConfigObserver {
 
         assert(node.isLatchOwner());
 
-        int listId = (int)(node.getNodeId() % numLRULists);
-
-        if (node.isInPri2LRU()) {
-            return pri2LRUSet[listId].contains(node);
-        }
-        return pri1LRUSet[listId].contains(node);
+        return getLRUList(node).contains(node);
     }
 
     public boolean getUseDirtyLRUSet() {
@@ -2019,6 +2390,9 @@ public class Evictor implements EnvConfigObserver {
         long size = 0;
         for (int i = 0; i < numLRULists; ++i) {
             size += pri1LRUSet[i].getSize();
+            if (windowLRUSet != null) {
+                size += windowLRUSet[i].getSize();
+            }
         }
 
         return size;
@@ -2037,6 +2411,9 @@ public class Evictor implements EnvConfigObserver {
         stats.reset();
         for (int i = 0; i < numLRULists; ++i) {
             pri1LRUSet[i].getStats(env, stats);
+            if (windowLRUSet != null) {
+                windowLRUSet[i].getStats(env, stats);
+            }
         }
     }
 
@@ -2320,6 +2697,11 @@ public class Evictor implements EnvConfigObserver {
 
         assert TestHookExecute.doHookSetupIfSet(evictProfile);
 
+        /* Apply buffered accesses, so targets are selected in LRU order. */
+        if (accessBuffer != null) {
+            accessBuffer.drainAll();
+        }
+
         /*
          * Perform special eviction,i.e., evict non-tree memory.
          *
@@ -2490,11 +2872,74 @@ public class Evictor implements EnvConfigObserver {
         return pri1LRUSet[0].copyList();
     }
 
+    /**
+     * Returns the INs in all LRU lists, most recently used first. The pri1
+     * set (including the window, if any) precedes the pri2 set. Within a set,
+     * the lists are interleaved by position, since the LRU order is only
+     * maintained within each list. Used to save a cache snapshot.
+     */
+    public List<IN> getINsByRecency() {
+
+        final List<IN> result = new ArrayList<>();
+
+        final List<LRUList> pri1Lists = new ArrayList<>();
+        if (windowLRUSet != null) {
+            pri1Lists.addAll(Arrays.asList(windowLRUSet));
+        }
+        pri1Lists.addAll(Arrays.asList(pri1LRUSet));
+
+        addINsByRecency(pri1Lists, result);
+        addINsByRecency(Arrays.asList(pri2LRUSet), result);
+
+        return result;
+    }
+
+    private static void addINsByRecency(final List<LRUList> lists,
+                                        final List<IN> result) {
+
+        final List<List<IN>> copies = new ArrayList<>(lists.size());
+        int maxSize = 0;
+
+        for (final LRUList list : lists) {
+            final List<IN> copy = list.copyList();
+            copies.add(copy);
+            maxSize = Math.max(maxSize, copy.size());
+        }
+
+        /* Each copy is ordered from the LRU end to the MRU end. */
+        for (int rank = 0; rank < maxSize; rank += 1) {
+            for (final List<IN> copy : copies) {
+                final int i = copy.size() - 1 - rank;
+                if (i >= 0) {
+                    result.add(copy.get(i));
+                }
+            }
+        }
+    }
+
     private IN getNextTarget(boolean inPri1LRUSet) {
 
         if (inPri1LRUSet) {
-            int listId = Math.abs(nextPri1LRUList++) % numLRULists;
-            IN target = pri1LRUSet[listId].removeFront();
+            final int n = nextPri1LRUList++;
+            int listId = Math.abs(n) % numLRULists;
+            IN target = null;
+
+            /*
+             * With the TINY_LFU policy, every other target of the list is
+             * the front of the window LRUList when the window exceeds its
+             * share of the list.
+             */
+            if (windowLRUSet != null &&
+                (Math.abs(n / numLRULists) & 1) == 0 &&
+                isWindowFull(listId)) {
+                target = windowLRUSet[listId].removeFront();
+            }
+            if (target == null) {
+                target = pri1LRUSet[listId].removeFront();
+            }
+            if (target == null && windowLRUSet != null) {
+                target = windowLRUSet[listId].removeFront();
+            }
 
             if (target != null &&
                 ((traceUINs && target.isUpperIN()) ||
@@ -2703,6 +3148,19 @@ public class Evictor implements EnvConfigObserver {
                 return 0;
             }
 
+            /*
+             * With the TINY_LFU policy, a node leaving the window is admitted
+             * to the priority-1 LRUSet, rather than evicted, if it is accessed
+             * more frequently than the next node to be evicted from there.
+             */
+            if (target.isInWindowLRU() &&
+                source != EvictionSource.CACHEMODE &&
+                isAdmitted(target)) {
+
+                admit(target, stats);
+                return 0;
+            }
+
             /*
              * Attempt partial eviction. The partialEviction() method also
              * determines whether the IN in evictable or not. For now,
@@ -2749,8 +3207,14 @@ public class Evictor implements EnvConfigObserver {
                 ((BIN)target).canMutateToBINDelta()) {
                 
                 BIN bin = (BIN)target;
+
+                /*
+                 * The delta of a frozen BIN with few slots may be no smaller
+                 * than the BIN, since the BIN has no unused slots.
+                 */
+                final boolean wasFrozen = bin.isFrozen();
                 evictedBytes += bin.mutateToBINDelta();
-                assert(evictedBytes > 0);
+                assert(evictedBytes > 0 || wasFrozen);
                 binDeltaPutBack(target, stats);
 
                 return evictedBytes;
@@ -2780,6 +3244,21 @@ public class Evictor implements EnvConfigObserver {
                 return evictedBytes;
             }
 
+            /*
+             * With the TINY_LFU policy, a node of the priority-1 LRUSet is
+             * retained if it is at least as frequent as the next node to
+             * leave the window.
+             */
+            if (windowLRUSet != null &&
+                source != EvictionSource.CACHEMODE &&
+                !target.isInWindowLRU() &&
+                !target.isInPri2LRU() &&
+                isRetained(target)) {
+
+                putBack(target, stats, 6);
+                return evictedBytes;
+            }
+
             /*
              * Evict the node. To do so, we must find and latch the
              * parent IN first, if we have not done this already.
@@ -2839,11 +3318,7 @@ public class Evictor implements EnvConfigObserver {
                 target.getNodeId());
         }
 
-        if (target.isInPri2LRU()) {
-            pri2AddBack(target);
-        } else {
-            addBack(target);
-        }
+        addBackToLRUSet(target);
 
         if (stats != null) {
             stats.incNumPutBack();
@@ -2852,6 +3327,137 @@ public class Evictor implements EnvConfigObserver {
         nNodesPutBack.increment();
     }
 
+    private void admit(IN target, EvictionDebugStats stats) {
+
+        if ((traceUINs && target.isUpperIN()) ||
+            (traceBINs && target.isBIN())) {
+            LoggerUtils.envLogMsg(
+                traceLevel, target.getEnv(),
+                Thread.currentThread().getId() + "-" +
+                Thread.currentThread().getName() +
+                "-" + target.getEnv().getName() +
+                " XXXX ADMITTED Eviction Target: " +
+                target.getNodeId());
+        }
+
+        pri1AddBack(target);
+
+        if (stats != null) {
+            stats.incNumPutBack();
+        }
+
+        nNodesAdmitted.increment();
+    }
+
+    /**
+     * Records an access of the node in its FrequencySketch, if the TINY_LFU
+     * policy is used.
+     */
+    private void recordAccess(IN node) {
+
+        if (sketches == null) {
+            return;
+        }
+
+        final FrequencySketch sketch =
+            sketches[(int)(node.getNodeId() % numLRULists)];
+
+        synchronized (sketch) {
+            sketch.increment(getSketchKey(node));
+        }
+    }
+
+    /**
+     * Returns whether the window LRUList of the given list ID holds more than
+     * its share, WINDOW_PERCENT, of the nodes of the two lists.
+     */
+    private boolean isWindowFull(int listId) {
+
+        final long windowSize = windowLRUSet[listId].getSize();
+        final long totalSize = windowSize + pri1LRUSet[listId].getSize();
+
+        return windowSize > Math.max(1, totalSize * WINDOW_PERCENT / 100);
+    }
+
+    /**
+     * Returns whether a target removed from the window LRUSet should be
+     * admitted to the priority-1 LRUSet, which is true if its estimated
+     * frequency is greater than that of the node at the front of the
+     * corresponding priority-1 LRUList, or if that list is empty.
+     *
+     * The front node is not latched, and the list is not synchronized
+     * during the comparison. This is safe because only the node's ID and
+     * environment are read, to compute its sketch key, and both are set
+     * before a node is added to an LRUList and never change afterward.
+     * Reading them is also safe after the node is evicted. If the front
+     * node is concurrently moved or removed by another thread, the target
+     * is compared to a node that is no longer the next to be evicted, which
+     * only makes the admission decision less accurate. Synchronizing on the
+     * list or latching the node would add contention with application
+     * threads for no benefit in correctness.
+     */
+    private boolean isAdmitted(IN target) {
+
+        final int listId = (int)(target.getNodeId() % numLRULists);
+        final IN next = pri1LRUSet[listId].peekFront();
+
+        if (next == null) {
+            return true;
+        }
+
+        final FrequencySketch sketch = sketches[listId];
+
+        synchronized (sketch) {
+            return sketch.frequency(getSketchKey(target)) >
+                sketch.frequency(getSketchKey(next));
+        }
+    }
+
+    /**
+     * Returns whether a target from the priority-1 LRUSet, which would
+     * otherwise be evicted, should be retained, which is true if the window
+     * LRUList is over its share and the target's estimated frequency is at
+     * least that of the node at the front of the window LRUList. The front
+     * node is not latched, for the reasons given in isAdmitted.
+     */
+    private boolean isRetained(IN target) {
+
+        final int listId = (int)(target.getNodeId() % numLRULists);
+
+        if (!isWindowFull(listId)) {
+            return false;
+        }
+
+        final IN next = windowLRUSet[listId].peekFront();
+
+        if (next == null) {
+            return false;
+        }
+
+        final FrequencySketch sketch = sketches[listId];
+
+        synchronized (sketch) {
+            return sketch.frequency(getSketchKey(target)) >=
+                sketch.frequency(getSketchKey(next));
+        }
+    }
+
+    /**
+     * Node IDs are unique only within an environment, so for a shared cache
+     * the environment is mixed into the key.
+     */
+    private long getSketchKey(IN node) {
+
+        final long nodeId = node.getNodeId();
+
+        if (!isShared) {
+            return nodeId;
+        }
+
+        return nodeId ^
+            (((long) System.identityHashCode(node.getEnv())) << 32);
+    }
+
     private void strippedPutBack(IN target, EvictionDebugStats stats) {
 
         if ((traceUINs && target.isUpperIN()) ||
@@ -2865,11 +3471,7 @@ public class Evictor implements EnvConfigObserver {
                 target.getNodeId());
         }
 
-        if (target.isInPri2LRU()) {
-            pri2AddBack(target);
-        } else {
-            addBack(target);
-        }
+        addBackToLRUSet(target);
                     
         if (stats != null) {
             stats.incNumStripped();
@@ -2891,11 +3493,7 @@ public class Evictor implements EnvConfigObserver {
                 target.getNodeId());
         }
 
-        if (target.isInPri2LRU()) {
-            pri2AddBack(target);
-        } else {
-            addBack(target);
-        }
+        addBackToLRUSet(target);
 
         if (stats != null) {
             stats.incNumMutated();
@@ -3034,8 +3632,22 @@ public class Evictor implements EnvConfigObserver {
 
         long evictedBytes = target.getBudgetedMemorySize();
 
+        /*
+         * The key filter must be created before detaching the BIN, and is
+         * not created for a BIN stored off-heap, since it may still be
+         * dirty. See IN.setChildKeyFilter.
+         */
+        final byte[] keyFilter =
+            (target.isBIN() && !storedOffHeap && dbEnv.getBINKeyFilters() &&
+             !db.isInternalDb()) ?
+            ((BIN) target).createKeyFilter() : null;
+
         parent.detachNode(index, logged /*updateLsn*/, loggedLsn);
 
+        if (keyFilter != null) {
+            parent.setChildKeyFilter(index, keyFilter);
+        }
+
         nNodesEvicted.increment();
 
         if (logged) {
@@ -3146,6 +3758,12 @@ public class Evictor implements EnvConfigObserver {
         binFetchMissRatio.set(
             (binFetches > 0 ? (binFetchMisses / binFetches) : 0));
 
+        float upperINFetchMisses = (float)nUpperINFetchMiss.get();
+        float upperINFetches = (float)nUpperINFetch.get();
+
+        upperINFetchMissRatio.set(
+            (upperINFetches > 0 ? (upperINFetchMisses / upperINFetches) : 0));
+
         StatGroup copy = stats.cloneGroup(config.getClear());
 
         /*
@@ -3233,6 +3851,22 @@ public class Evictor implements EnvConfigObserver {
         nBinDeltaBlindOps.increment();
     }
 
+    public void incNumBINsFrozen() {
+        nBINsFrozen.increment();
+    }
+
+    public void incNumBINsThawed() {
+        nBINsThawed.increment();
+    }
+
+    public void incBINFetchFiltered() {
+        nBINFetchFiltered.increment();
+    }
+
+    public void incBINFilterFalsePositives() {
+        nBINFilterFalsePositives.increment();
+    }
+
     public AtomicLong getNINSparseTarget() {
         return nINSparseTarget;
     }
@@ -3301,6 +3935,23 @@ public class Evictor implements EnvConfigObserver {
         }
     }
 
+    /**
+     * Drains the AccessBuffer in the access drainer thread, so that
+     * application threads do not synchronize on the LRU lists.
+     */
+    static class DrainAccessesTask implements Runnable {
+
+        private final AccessBuffer accessBuffer;
+
+        DrainAccessesTask(AccessBuffer accessBuffer) {
+            this.accessBuffer = accessBuffer;
+        }
+
+        public void run() {
+            accessBuffer.runScheduledDrain();
+        }
+    }
+
     static class RejectEvictHandler implements RejectedExecutionHandler {
 
         private final AtomicLongStat threadUnavailableStat;
@@ -3311,6 +3962,7 @@ public class Evictor implements EnvConfigObserver {
 
         public void rejectedExecution(Runnable r,
                                       ThreadPoolExecutor executor) {
+
             threadUnavailableStat.increment();
         }
     }
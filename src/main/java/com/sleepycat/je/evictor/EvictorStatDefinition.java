@@ -137,6 +137,41 @@ public class EvictorStatDefinition {
             EVICTOR_NODES_PUT_BACK_NAME,
             EVICTOR_NODES_PUT_BACK_DESC);
 
+    public static final String EVICTOR_NODES_ADMITTED_NAME =
+        "nNodesAdmitted";
+    public static final String EVICTOR_NODES_ADMITTED_DESC =
+        "Number of target nodes (INs) moved from the window LRU list " +
+            "to the main LRU list, rather than evicted, because they were " +
+            "accessed more frequently than the next node to be evicted, " +
+            "when the TINY_LFU eviction policy is used.";
+    public static final StatDefinition EVICTOR_NODES_ADMITTED =
+        new StatDefinition(
+            EVICTOR_NODES_ADMITTED_NAME,
+            EVICTOR_NODES_ADMITTED_DESC);
+
+    public static final String EVICTOR_LRU_BUFFER_CONTENTION_NAME =
+        "nLRUBufferContention";
+    public static final String EVICTOR_LRU_BUFFER_CONTENTION_DESC =
+        "Number of times a thread recording a node access in the LRU " +
+            "access buffer collided with another thread, when LRU accesses " +
+            "are buffered.";
+    public static final StatDefinition EVICTOR_LRU_BUFFER_CONTENTION =
+        new StatDefinition(
+            EVICTOR_LRU_BUFFER_CONTENTION_NAME,
+            EVICTOR_LRU_BUFFER_CONTENTION_DESC);
+
+    public static final String EVICTOR_LRU_BUFFER_DROPS_NAME =
+        "nLRUBufferDrops";
+    public static final String EVICTOR_LRU_BUFFER_DROPS_DESC =
+        "Number of node accesses that were not applied to the LRU lists " +
+            "because the LRU access buffer was full or contended, or the " +
+            "node was latched by another thread, when LRU accesses are " +
+            "buffered.";
+    public static final StatDefinition EVICTOR_LRU_BUFFER_DROPS =
+        new StatDefinition(
+            EVICTOR_LRU_BUFFER_DROPS_NAME,
+            EVICTOR_LRU_BUFFER_DROPS_DESC);
+
     public static final String EVICTOR_NODES_MOVED_TO_PRI2_LRU_NAME =
         "nNodesMovedToDirtyLRU";
     public static final String EVICTOR_NODES_MOVED_TO_PRI2_LRU_DESC =
@@ -254,6 +289,20 @@ public class EvictorStatDefinition {
             BIN_FETCH_MISS_RATIO_DESC,
             StatType.CUMULATIVE);
 
+    /*
+     * UPPER_IN_FETCH_MISS / UPPER_IN_FETCH
+     */
+    public static final String UPPER_IN_FETCH_MISS_RATIO_NAME =
+        "nUpperINsFetchMissRatio";
+    public static final String UPPER_IN_FETCH_MISS_RATIO_DESC =
+        "The Upper IN fetch miss ratio " +
+            "(nUpperINsFetchMiss / nUpperINsFetch)";
+    public static final StatDefinition UPPER_IN_FETCH_MISS_RATIO =
+        new StatDefinition(
+            UPPER_IN_FETCH_MISS_RATIO_NAME,
+            UPPER_IN_FETCH_MISS_RATIO_DESC,
+            StatType.CUMULATIVE);
+
     /* 
      * Number of times IN.fetchIN() or IN.fetchINWithNoLatch() was called
      * to fetch a BIN, that BIN was not already cached, and a BIN-delta was
@@ -281,6 +330,59 @@ public class EvictorStatDefinition {
             BIN_DELTA_BLIND_OPS_NAME,
             BIN_DELTA_BLIND_OPS_DESC);
 
+    /*
+     * Number of times a BIN's capacity was reduced by BIN.freeze()
+     */
+    public static final String BINS_FROZEN_NAME =
+        "nBINsFrozen";
+    public static final String BINS_FROZEN_DESC =
+        "Number of times the capacity of a cold BIN was reduced to the " +
+            "number of slots in use, during partial eviction.";
+    public static final StatDefinition BINS_FROZEN =
+        new StatDefinition(
+            BINS_FROZEN_NAME,
+            BINS_FROZEN_DESC);
+
+    /*
+     * Number of times a BIN's capacity was restored by BIN.thaw()
+     */
+    public static final String BINS_THAWED_NAME =
+        "nBINsThawed";
+    public static final String BINS_THAWED_DESC =
+        "Number of times the capacity of a frozen BIN was restored, " +
+            "because a slot was needed for an insertion.";
+    public static final StatDefinition BINS_THAWED =
+        new StatDefinition(
+            BINS_THAWED_NAME,
+            BINS_THAWED_DESC);
+
+    /*
+     * Number of BIN fetches avoided by a key filter in the parent
+     */
+    public static final String BIN_FETCH_FILTERED_NAME =
+        "nBINsFetchFiltered";
+    public static final String BIN_FETCH_FILTERED_DESC =
+        "Number of BINs not fetched by an exact-match read, because the key " +
+            "filter kept by the BIN's parent showed that the key was absent.";
+    public static final StatDefinition BIN_FETCH_FILTERED =
+        new StatDefinition(
+            BIN_FETCH_FILTERED_NAME,
+            BIN_FETCH_FILTERED_DESC);
+
+    /*
+     * Number of BINs fetched after a key filter false positive
+     */
+    public static final String BIN_FILTER_FALSE_POSITIVE_NAME =
+        "nBINFilterFalsePositives";
+    public static final String BIN_FILTER_FALSE_POSITIVE_DESC =
+        "Number of BINs fetched by an exact-match read, because the key " +
+            "filter kept by the BIN's parent showed that the key may be " +
+            "present, but which did not contain the key.";
+    public static final StatDefinition BIN_FILTER_FALSE_POSITIVE =
+        new StatDefinition(
+            BIN_FILTER_FALSE_POSITIVE_NAME,
+            BIN_FILTER_FALSE_POSITIVE_DESC);
+
     /*
      * Number of calls to BIN.mutateToFullBIN()
      */
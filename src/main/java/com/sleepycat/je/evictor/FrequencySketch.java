@@ -0,0 +1,139 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.evictor;
+
+import com.sleepycat.je.dbi.MemoryBudget;
+
+/**
+ * An approximate, aging record of how often each node was accessed, used by
+ * the TinyLFU eviction policy. See {@link Evictor.EvictionPolicy}.
+ *
+ * This is a count-min sketch with four 4-bit counters per key. Each key
+ * hashes to one counter in each of four 64-bit words, and its frequency is
+ * the minimum of those counters, so the estimate may be too high (when keys
+ * collide) but is never too low. Counters saturate at 15.
+ *
+ * To favor recent accesses, all counters are halved after a sample of
+ * increments that is ten times the number of words in the table. A node
+ * that is no longer accessed therefore loses its frequency over time, and a
+ * long-lived node cannot accumulate a frequency that outlasts a change in
+ * the working set.
+ *
+ * The sketch remembers nodes that are no longer cached, which is what
+ * allows the frequency of a node to survive its eviction and refetching.
+ *
+ * A FrequencySketch is not thread safe. The Evictor synchronizes on it.
+ */
+class FrequencySketch {
+
+    /* Max value of a 4-bit counter. */
+    private static final int MAX_COUNT = 15;
+
+    /* Mask to halve all sixteen 4-bit counters in a word at once. */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /* Seeds for the four hash functions. */
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+        0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    /**
+     * @param expectedKeys the approximate number of distinct keys that will
+     * be accessed. The table has one 64-bit word per key, rounded up to a
+     * power of two.
+     */
+    FrequencySketch(final long expectedKeys) {
+        final int nWords = (int) Math.min(
+            1 << 30, Long.highestOneBit(Math.max(expectedKeys - 1, 1)) << 1);
+        table = new long[nWords];
+        tableMask = nWords - 1;
+        sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * nWords);
+    }
+
+    /**
+     * Returns the memory size of the table, which the Evictor charges to the
+     * cache budget.
+     */
+    long getMemorySize() {
+        return MemoryBudget.longArraySize(table.length);
+    }
+
+    /**
+     * Returns the estimated number of times the key was accessed recently,
+     * from 0 to 15.
+     */
+    int frequency(final long key) {
+        final long hash = spread(key);
+        int freq = MAX_COUNT;
+        for (int i = 0; i < 4; i += 1) {
+            final long h = rehash(hash, i);
+            final long word = table[(int) h & tableMask];
+            final int shift = counterShift(h);
+            freq = Math.min(freq, (int) ((word >>> shift) & 0xf));
+        }
+        return freq;
+    }
+
+    /**
+     * Records an access of the key, and ages the sketch when the sample is
+     * complete.
+     */
+    void increment(final long key) {
+        final long hash = spread(key);
+        boolean added = false;
+        for (int i = 0; i < 4; i += 1) {
+            final long h = rehash(hash, i);
+            final int index = (int) h & tableMask;
+            final int shift = counterShift(h);
+            if (((table[index] >>> shift) & 0xf) < MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++size >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Halves all counters.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i += 1) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size >>>= 1;
+    }
+
+    private static int counterShift(final long h) {
+        return (int) (h >>> 60) << 2;
+    }
+
+    private static long spread(long key) {
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return key ^ (key >>> 33);
+    }
+
+    private static long rehash(final long hash, final int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[(i + 1) & 3];
+        return h ^ (h >>> 29);
+    }
+}
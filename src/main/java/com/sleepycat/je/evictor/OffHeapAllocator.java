@@ -91,6 +91,26 @@ public interface OffHeapAllocator {
      */
     long getUsedBytes();
 
+    /**
+     * Returns the number of bytes of memory held by the allocator that are
+     * not part of any allocated block, and cannot be used for all block
+     * sizes without compaction. Returns zero if this is not known.
+     *
+     * Like {@link #getUsedBytes}, this method should not cause thread
+     * contention.
+     */
+    long getFragmentedBytes();
+
+    /**
+     * Returns the number of bytes of memory held by the allocator that can be
+     * used for blocks of any size. Returns zero if this is not known.
+     *
+     * When both this method and {@link #getFragmentedBytes} are implemented,
+     * the sum of these values and {@link #getUsedBytes} is the total amount
+     * of memory the allocator obtained from the system.
+     */
+    long getFreeBytes();
+
     /**
      * Allocates a block of a given size and returns its ID.
      *
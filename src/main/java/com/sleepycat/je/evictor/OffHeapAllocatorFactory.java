@@ -18,6 +18,19 @@ package com.sleepycat.je.evictor;
  */
 public class OffHeapAllocatorFactory {
 
+    /**
+     * The values of the {@link
+     * com.sleepycat.je.EnvironmentConfig#OFFHEAP_ALLOCATOR} param.
+     */
+    public enum AllocatorType {
+
+        /** The default CHeapAllocator, which allocates each block. */
+        MALLOC,
+
+        /** The SlabAllocator, which carves blocks from large regions. */
+        SLAB
+    }
+
     private OffHeapAllocator defaultAllocator;
 
     OffHeapAllocatorFactory()
@@ -43,4 +56,24 @@ public class OffHeapAllocatorFactory {
     public OffHeapAllocator getDefaultAllocator() {
         return defaultAllocator;
     }
+
+    /**
+     * Returns the allocator of the given type, creating a new instance for
+     * any type other than MALLOC. Like CHeapAllocator, the other allocator
+     * classes are loaded using reflection.
+     */
+    public OffHeapAllocator getAllocator(final AllocatorType type)
+        throws ClassNotFoundException, IllegalAccessException,
+        InstantiationException {
+
+        switch (type) {
+        case MALLOC:
+            return defaultAllocator;
+        case SLAB:
+            return (OffHeapAllocator) Class.forName(
+                "com.sleepycat.je.evictor.SlabAllocator").newInstance();
+        default:
+            throw new IllegalArgumentException(type.toString());
+        }
+    }
 }
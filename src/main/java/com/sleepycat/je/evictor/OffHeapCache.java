@@ -23,6 +23,8 @@ import static com.sleepycat.je.evictor.OffHeapStatDefinition.CACHED_BIN_DELTAS;
 import static com.sleepycat.je.evictor.OffHeapStatDefinition.CACHED_LNS;
 import static com.sleepycat.je.evictor.OffHeapStatDefinition.CRITICAL_NODES_TARGETED;
 import static com.sleepycat.je.evictor.OffHeapStatDefinition.DIRTY_NODES_EVICTED;
+import static com.sleepycat.je.evictor.OffHeapStatDefinition.FRAGMENTED_BYTES;
+import static com.sleepycat.je.evictor.OffHeapStatDefinition.FREE_BYTES;
 import static com.sleepycat.je.evictor.OffHeapStatDefinition.GROUP_DESC;
 import static com.sleepycat.je.evictor.OffHeapStatDefinition.GROUP_NAME;
 import static com.sleepycat.je.evictor.OffHeapStatDefinition.LNS_EVICTED;
@@ -37,7 +39,13 @@ import static com.sleepycat.je.evictor.OffHeapStatDefinition.NODES_TARGETED;
 import static com.sleepycat.je.evictor.OffHeapStatDefinition.THREAD_UNAVAILABLE;
 import static com.sleepycat.je.evictor.OffHeapStatDefinition.TOTAL_BLOCKS;
 import static com.sleepycat.je.evictor.OffHeapStatDefinition.TOTAL_BYTES;
+import static com.sleepycat.je.evictor.OffHeapStatDefinition.WARM_BINS_LOADED;
+import static com.sleepycat.je.evictor.OffHeapStatDefinition.WARM_ENTRIES;
+import static com.sleepycat.je.evictor.OffHeapStatDefinition.WARM_LNS_LOADED;
+import static com.sleepycat.je.evictor.OffHeapStatDefinition.WARM_MISSES;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Map;
@@ -618,6 +626,7 @@ public class OffHeapCache implements EnvConfigObserver {
     private int terminateMillis;
     private long maxMemory;
     private long memoryLimit;
+    private boolean overflowLimit;
     private final long evictBytes;
     private volatile Map<Long, Exception> freedBlocks;
     private volatile Map<Long, Exception> prevFreedBlocks;
@@ -652,6 +661,17 @@ public class OffHeapCache implements EnvConfigObserver {
     private final AtomicInteger cachedBINDeltas = new AtomicInteger(0);
     private final AtomicInteger totalBlocks = new AtomicInteger(0);
     private final AtomicInteger lruSize = new AtomicInteger(0);
+    private final AtomicLong nWarmBINsLoaded = new AtomicLong(0);
+    private final AtomicLong nWarmLNsLoaded = new AtomicLong(0);
+    private final AtomicLong nWarmMisses = new AtomicLong(0);
+
+    /*
+     * The snapshots written when each environment was last closed, for
+     * environments using OFFHEAP_WARM_RESTART. A snapshot is removed when all
+     * its entries have been used, or the environment is closed.
+     */
+    private final Map<EnvironmentImpl, OffHeapSnapshot> snapshots =
+        new ConcurrentHashMap<>();
 
     public OffHeapCache(final EnvironmentImpl envImpl) {
 
@@ -668,11 +688,14 @@ public class OffHeapCache implements EnvConfigObserver {
             try {
                 final OffHeapAllocatorFactory factory =
                     new OffHeapAllocatorFactory();
-                allocator = factory.getDefaultAllocator();
+                allocator = factory.getAllocator(
+                    OffHeapAllocatorFactory.AllocatorType.valueOf(
+                        configManager.get(
+                            EnvironmentParams.OFFHEAP_ALLOCATOR)));
             } catch (Throwable e) {
                 // TODO: allow continuing without an off-heap cache?
                 throw new IllegalStateException(
-                    "Unable to create default allocator for off-heap cache", e);
+                    "Unable to create allocator for off-heap cache", e);
             }
         }
 
@@ -771,6 +794,7 @@ public class OffHeapCache implements EnvConfigObserver {
         maxMemory = newMaxMemory;
         allocator.setMaxBytes(newMaxMemory);
         memoryLimit = newMaxMemory;
+        overflowLimit = false;
     }
 
     public void requestShutdown() {
@@ -817,6 +841,14 @@ public class OffHeapCache implements EnvConfigObserver {
          */
         final Chunk[] myChunks = chunks;
 
+        if (matchEnv != null) {
+            closeSnapshot(matchEnv);
+        } else {
+            for (final EnvironmentImpl envImpl : snapshots.keySet()) {
+                closeSnapshot(envImpl);
+            }
+        }
+
         if (myChunks == null) {
             return 0;
         }
@@ -847,6 +879,309 @@ public class OffHeapCache implements EnvConfigObserver {
         return size;
     }
 
+    private boolean isWarmRestart(final EnvironmentImpl envImpl) {
+        return isEnabled() &&
+            !envImpl.isMemOnly() &&
+            envImpl.getConfigManager().getBoolean(
+                EnvironmentParams.OFFHEAP_WARM_RESTART);
+    }
+
+    /**
+     * Returns the flags for the settings that determine the format of the
+     * off-heap blocks, which must not change between writing and using a
+     * snapshot.
+     */
+    private static int getSnapshotFormat(final EnvironmentImpl envImpl) {
+        int flags = 0;
+        if (envImpl.useOffHeapChecksums()) {
+            flags |= OffHeapSnapshot.FORMAT_CHECKSUMS;
+        }
+        if (envImpl.getCacheVLSN()) {
+            flags |= OffHeapSnapshot.FORMAT_CACHE_VLSN;
+        }
+        return flags;
+    }
+
+    /**
+     * Opens the snapshot written when the environment was last closed, if
+     * OFFHEAP_WARM_RESTART is configured. Called after recovery with the last
+     * used LSN and last checkpoint end found by recovery, which must match
+     * the values recorded in the snapshot.
+     *
+     * Errors are logged and the snapshot is not used. They do not prevent
+     * opening the environment.
+     */
+    public void openSnapshot(final EnvironmentImpl envImpl,
+                             final long lastUsedLsn,
+                             final long checkpointEndLsn) {
+
+        if (!isWarmRestart(envImpl)) {
+            return;
+        }
+
+        final OffHeapSnapshot snapshot;
+        try {
+            snapshot = OffHeapSnapshot.open(
+                envImpl.getEnvironmentHome(), LogEntryType.LOG_VERSION,
+                getSnapshotFormat(envImpl), lastUsedLsn, checkpointEndLsn,
+                !envImpl.isReadOnly() /*invalidate*/);
+        } catch (IOException e) {
+            LoggerUtils.warning(
+                logger, envImpl,
+                "Unable to open off-heap cache snapshot: " + e);
+            return;
+        }
+
+        if (snapshot == null) {
+            return;
+        }
+
+        envImpl.getMemoryBudget().updateAdminMemoryUsage(
+            snapshot.getMemorySize());
+
+        snapshots.put(envImpl, snapshot);
+
+        LoggerUtils.info(
+            logger, envImpl,
+            "Opened off-heap cache snapshot with " + snapshot.size() +
+                " entries");
+    }
+
+    private void closeSnapshot(final EnvironmentImpl envImpl) {
+
+        final OffHeapSnapshot snapshot = snapshots.remove(envImpl);
+
+        if (snapshot != null) {
+            snapshot.close();
+            envImpl.getMemoryBudget().updateAdminMemoryUsage(
+                0 - snapshot.getMemorySize());
+        }
+    }
+
+    /**
+     * Writes the off-heap BINs and LNs of the given environment to a
+     * snapshot, if OFFHEAP_WARM_RESTART is configured. Called during a
+     * normal close after the final checkpoint and after the daemons that
+     * write to the log have stopped, and before the cache is cleared.
+     *
+     * Only blocks that are the same as their logged version are saved, so
+     * dirty BINs and BINs in deferred-write and temporary databases are
+     * skipped. The LN memIds in the BINs are omitted, since they are not
+     * valid after a restart, and the LNs are saved as separate entries.
+     *
+     * Errors are logged and the snapshot is not written. They do not
+     * prevent closing the environment.
+     */
+    public void saveSnapshot(final EnvironmentImpl envImpl) {
+
+        if (!isWarmRestart(envImpl) || envImpl.isReadOnly()) {
+            return;
+        }
+
+        final Chunk[] myChunks = chunks;
+        OffHeapSnapshot.Writer writer = null;
+
+        try {
+            writer = new OffHeapSnapshot.Writer(
+                envImpl.getEnvironmentHome(), LogEntryType.LOG_VERSION,
+                getSnapshotFormat(envImpl));
+
+            if (myChunks != null) {
+                for (int entry = 0;
+                     entry < myChunks.length * CHUNK_SIZE;
+                     entry += 1) {
+
+                    final Chunk chunk = myChunks[entry / CHUNK_SIZE];
+                    final int chunkIdx = entry % CHUNK_SIZE;
+                    final IN owner = chunk.owners[chunkIdx];
+
+                    if (owner == null || owner.getEnv() != envImpl) {
+                        continue;
+                    }
+
+                    owner.latchNoUpdateLRU();
+                    try {
+                        if (owner == chunk.owners[chunkIdx] &&
+                            owner.getInListResident()) {
+                            addToSnapshot(writer, owner, entry);
+                        }
+                    } finally {
+                        owner.releaseLatch();
+                    }
+                }
+            }
+
+            /*
+             * Get the last used LSN last, so it includes anything logged
+             * while writing the snapshot. If something is logged after
+             * this, the snapshot will not be used.
+             */
+            writer.finish(
+                envImpl.getFileManager().getLastUsedLsn(),
+                envImpl.getCheckpointer().getLastCheckpointEnd());
+
+            LoggerUtils.info(
+                logger, envImpl,
+                "Wrote off-heap cache snapshot with " +
+                    writer.getNEntries() + " entries");
+
+            writer = null;
+
+        } catch (IOException e) {
+            LoggerUtils.warning(
+                logger, envImpl,
+                "Unable to write off-heap cache snapshot: " + e);
+        } finally {
+            if (writer != null) {
+                writer.abort();
+            }
+        }
+    }
+
+    private void addToSnapshot(final OffHeapSnapshot.Writer writer,
+                               final IN owner,
+                               final int entry)
+        throws IOException {
+
+        final DatabaseImpl dbImpl = owner.getDatabase();
+
+        if (dbImpl.isDeferredWriteMode() || dbImpl.isTemporary()) {
+            return;
+        }
+
+        final boolean saveLNs = !dbImpl.isLNImmediatelyObsolete();
+
+        if (owner.isBIN()) {
+            /* A BIN in main cache with off-heap LNs. */
+            final BIN bin = (BIN) owner;
+
+            if (saveLNs && bin.hasOffHeapLNs()) {
+                for (int i = 0; i < bin.getNEntries(); i += 1) {
+                    addLNToSnapshot(
+                        writer, bin.getLsn(i), bin.getOffHeapLNId(i));
+                }
+            }
+            return;
+        }
+
+        /* An upper IN with an off-heap child BIN. */
+        int index = -1;
+        for (int i = 0; i < owner.getNEntries(); i += 1) {
+            if (owner.getOffHeapBINId(i) == entry) {
+                index = i;
+                break;
+            }
+        }
+
+        final long lsn = (index >= 0) ? owner.getLsn(index) : DbLsn.NULL_LSN;
+
+        if (lsn == DbLsn.NULL_LSN || owner.isOffHeapBINDirty(index)) {
+            return;
+        }
+
+        final EnvironmentImpl envImpl = owner.getEnv();
+        final byte[] buf = getMemBytes(getMemId(entry));
+
+        final ParsedBIN pb = parseBINBytes(
+            envImpl, buf, false /*partialBuf*/, true /*parseLNIds*/);
+
+        writer.add(
+            OffHeapSnapshot.TYPE_BIN, lsn, stripLNIds(envImpl, buf, pb));
+
+        if (!saveLNs || pb.lnMemIds == null) {
+            return;
+        }
+
+        /* The slot LSNs of the LNs are needed, so materialize the BIN. */
+        final BIN bin = materializeBIN(pb, (pb.flags & BIN_FLAG_DELTA) != 0);
+
+        for (int i = 0; i < pb.lnMemIds.length; i += 1) {
+            addLNToSnapshot(writer, bin.getLsn(i), pb.lnMemIds[i]);
+        }
+    }
+
+    private void addLNToSnapshot(final OffHeapSnapshot.Writer writer,
+                                 final long lsn,
+                                 final long memId)
+        throws IOException {
+
+        if (memId == 0 || lsn == DbLsn.NULL_LSN) {
+            return;
+        }
+
+        writer.add(OffHeapSnapshot.TYPE_LN, lsn, getMemBytes(memId));
+    }
+
+    /**
+     * Returns a copy of a serialized BIN without its LN memIds. The block
+     * checksum is cleared, since the snapshot has its own checksum.
+     */
+    private static byte[] stripLNIds(final EnvironmentImpl envImpl,
+                                     final byte[] buf,
+                                     final ParsedBIN pb) {
+
+        final int checksumSize =
+            envImpl.useOffHeapChecksums() ? CHECKSUM_SIZE : 0;
+        final int lnIdsOffset = checksumSize + 1 + 8 + 8 + 4;
+        final int binOffset = pb.binBytes.position();
+
+        final byte[] newBuf =
+            new byte[lnIdsOffset + 2 + buf.length - binOffset];
+
+        System.arraycopy(buf, 0, newBuf, 0, lnIdsOffset);
+        putShort((short) 0, newBuf, lnIdsOffset);
+        System.arraycopy(
+            buf, binOffset, newBuf, lnIdsOffset + 2, buf.length - binOffset);
+
+        if (checksumSize > 0) {
+            putInt(0, newBuf, 0);
+        }
+
+        return newBuf;
+    }
+
+    /**
+     * Removes and returns the snapshot entry for the given LSN, if there is a
+     * snapshot for the environment. When the entry is not found, this is
+     * counted as a warm restart miss.
+     */
+    private byte[] removeSnapshotEntry(final EnvironmentImpl envImpl,
+                                       final long lsn,
+                                       final byte type) {
+
+        final OffHeapSnapshot snapshot = snapshots.get(envImpl);
+
+        if (snapshot == null) {
+            return null;
+        }
+
+        byte[] buf;
+        try {
+            buf = snapshot.remove(lsn, type);
+        } catch (IllegalStateException e) {
+            LoggerUtils.warning(logger, envImpl, e.getMessage());
+            buf = null;
+        } catch (IOException e) {
+            LoggerUtils.warning(
+                logger, envImpl,
+                "Unable to read off-heap cache snapshot: " + e);
+            buf = null;
+        }
+
+        if (buf == null) {
+            nWarmMisses.incrementAndGet();
+            return null;
+        }
+
+        if (snapshot.size() == 0 && snapshots.remove(envImpl, snapshot)) {
+            snapshot.close();
+            envImpl.getMemoryBudget().updateAdminMemoryUsage(
+                0 - snapshot.getMemorySize());
+        }
+
+        return buf;
+    }
+
     public StatGroup loadStats(StatsConfig config) {
 
         StatGroup stats = new StatGroup(GROUP_NAME, GROUP_DESC);
@@ -870,8 +1205,20 @@ public class OffHeapCache implements EnvConfigObserver {
         new IntStat(stats, CACHED_BINS, cachedBINs.get());
         new IntStat(stats, CACHED_BIN_DELTAS, cachedBINDeltas.get());
         new LongStat(stats, TOTAL_BYTES, allocator.getUsedBytes());
+        new LongStat(
+            stats, FRAGMENTED_BYTES, allocator.getFragmentedBytes());
+        new LongStat(stats, FREE_BYTES, allocator.getFreeBytes());
         new IntStat(stats, TOTAL_BLOCKS, totalBlocks.get());
         new IntStat(stats, LRU_SIZE, lruSize.get());
+        new LongStat(stats, WARM_BINS_LOADED, nWarmBINsLoaded.get());
+        new LongStat(stats, WARM_LNS_LOADED, nWarmLNsLoaded.get());
+        new LongStat(stats, WARM_MISSES, nWarmMisses.get());
+
+        int warmEntries = 0;
+        for (final OffHeapSnapshot snapshot : snapshots.values()) {
+            warmEntries += snapshot.size();
+        }
+        new IntStat(stats, WARM_ENTRIES, warmEntries);
 
         if (config.getClear()) {
             nAllocFailure.set(0);
@@ -889,6 +1236,9 @@ public class OffHeapCache implements EnvConfigObserver {
             nLNsStored.set(0);
             nBINsLoaded.set(0);
             nBINsStored.set(0);
+            nWarmBINsLoaded.set(0);
+            nWarmLNsLoaded.set(0);
+            nWarmMisses.set(0);
         }
 
         return stats;
@@ -1300,6 +1650,43 @@ public class OffHeapCache implements EnvConfigObserver {
         return ln;
     }
 
+    /**
+     * Loads an LN from the warm restart snapshot, if the snapshot contains
+     * the given LSN. The entry is removed from the snapshot.
+     */
+    public LN loadSnapshotLN(final EnvironmentImpl envImpl, final long lsn) {
+
+        final byte[] buf =
+            removeSnapshotEntry(envImpl, lsn, OffHeapSnapshot.TYPE_LN);
+
+        if (buf == null) {
+            return null;
+        }
+
+        final boolean useChecksums = envImpl.useOffHeapChecksums();
+        final int checksumSize = useChecksums ? CHECKSUM_SIZE : 0;
+        final int vlsnSize = envImpl.getCacheVLSN() ? VLSN_SIZE : 0;
+        final int lnDataOffset = vlsnSize + checksumSize;
+
+        final LN ln = LN.makeLN(
+            envImpl, Arrays.copyOfRange(buf, lnDataOffset, buf.length));
+        ln.clearDirty(); // New LNs are initially dirty.
+
+        if (vlsnSize > 0) {
+            ln.setVLSNSequence(getLong(buf, 0));
+        }
+
+        nWarmLNsLoaded.incrementAndGet();
+
+        if (DEBUG_TRACE) {
+            debug(
+                envImpl,
+                "Loaded snapshot LN LSN=" + DbLsn.getNoFormatString(lsn));
+        }
+
+        return ln;
+    }
+
     public void freeRedundantLN(final BIN bin,
                                 final int index,
                                 final LN ln,
@@ -1688,6 +2075,37 @@ public class OffHeapCache implements EnvConfigObserver {
         return materializeBIN(envImpl, getMemBytes(getMemId(entry)));
     }
 
+    /**
+     * Loads a BIN from the warm restart snapshot, if the snapshot contains
+     * the given LSN. The entry is removed from the snapshot. The returned
+     * BIN has no off-heap LNs, and its last logged LSNs are initialized.
+     */
+    public BIN loadSnapshotBIN(final EnvironmentImpl envImpl,
+                               final long lsn) {
+
+        final byte[] buf =
+            removeSnapshotEntry(envImpl, lsn, OffHeapSnapshot.TYPE_BIN);
+
+        if (buf == null) {
+            return null;
+        }
+
+        final ParsedBIN pb = parseBINBytes(
+            envImpl, buf, false /*partialBuf*/, false /*parseLNIds*/);
+
+        final BIN bin = materializeBIN(pb, (pb.flags & BIN_FLAG_DELTA) != 0);
+
+        nWarmBINsLoaded.incrementAndGet();
+
+        if (DEBUG_TRACE) {
+            debug(
+                envImpl,
+                "Loaded snapshot BIN LSN=" + DbLsn.getNoFormatString(lsn));
+        }
+
+        return bin;
+    }
+
     /**
      * Loads a BIN for the given entry, if its last logged LSN is the given
      * LSN. Can be used to store an entry for a BIN (the off-heap BIN ID)
@@ -2620,6 +3038,15 @@ public class OffHeapCache implements EnvConfigObserver {
             memId = allocator.allocate(size);
             totalBlocks.incrementAndGet();
 
+            /*
+             * A limit set after an overflow only applies until eviction has
+             * made room for an allocation. See below.
+             */
+            if (overflowLimit) {
+                overflowLimit = false;
+                memoryLimit = maxMemory;
+            }
+
             if (DEBUG_DOUBLE_FREE) {
                 final Long key = memId;
                 freedBlocks.remove(key);
@@ -2637,12 +3064,23 @@ public class OffHeapCache implements EnvConfigObserver {
             nAllocFailure.incrementAndGet();
 
             memoryLimit = allocator.getUsedBytes() - evictBytes;
+            overflowLimit = false;
 
         } catch (OffHeapAllocator.OffHeapOverflowException e) {
 
             nAllocOverflow.incrementAndGet();
 
+            /*
+             * Evict down from the memory in use. The limit is restored when
+             * an allocation next succeeds, because an overflow may occur well
+             * below the max memory. With the SLAB allocator this happens when
+             * a size class needs a slab while the free blocks are in the slabs
+             * of other classes. Eviction frees blocks in LRU order, not by
+             * slab, so several overflows may occur before a slab is freed,
+             * and a permanent limit would shrink the cache each time.
+             */
             memoryLimit = allocator.getUsedBytes();
+            overflowLimit = true;
         }
 
         if (needEviction()) {
@@ -3327,11 +3765,21 @@ public class OffHeapCache implements EnvConfigObserver {
                     if (newMemId == 0) {
                         /*
                          * When allocations are failing, freeing the BIN is the
-                         * simplest and most productive thing to do.
+                         * simplest and most productive thing to do. The LN
+                         * memIds in the old block include the LNs freed
+                         * above, so free the remaining LNs using the
+                         * materialized BIN, not the old block.
                          */
+                        for (int i = 0; i < bin.getNEntries(); i += 1) {
+                            if (bin.getOffHeapLNId(i) != 0) {
+                                nBytesEvicted += freeLN(bin, i);
+                                nEvicted += 1;
+                            }
+                        }
+
                         nBytesEvicted += flushAndDiscardBIN(
                             entry, pri2, dirty, memId, parent, index,
-                            backgroundIO, true /*freeLNs*/);
+                            backgroundIO, false /*freeLNs*/);
 
                         return nBytesEvicted;
                     }
@@ -3395,11 +3843,12 @@ public class OffHeapCache implements EnvConfigObserver {
             if (newMemId == 0) {
                 /*
                  * When allocations are failing, freeing the BIN is the
-                 * simplest and most productive thing to do.
+                 * simplest and most productive thing to do. All its LNs
+                 * were freed above.
                  */
                 nBytesEvicted += flushAndDiscardBIN(
                     entry, pri2, dirty, memId, parent, index, backgroundIO,
-                    true /*freeLNs*/);
+                    false /*freeLNs*/);
 
                 return nBytesEvicted;
             }
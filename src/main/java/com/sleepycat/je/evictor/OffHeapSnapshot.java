@@ -0,0 +1,514 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.evictor;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.zip.Checksum;
+
+import com.sleepycat.je.utilint.Adler32;
+import com.sleepycat.je.utilint.DbLsn;
+
+/**
+ * A file in the environment home containing the off-heap BINs and LNs that
+ * were cached when the environment was last closed. Used by the OffHeapCache
+ * when {@link com.sleepycat.je.EnvironmentConfig#OFFHEAP_WARM_RESTART} is
+ * true.
+ *
+ * Each entry is the off-heap block of a BIN or LN, keyed by the LSN from
+ * which the node would otherwise be fetched: the parent slot LSN of a BIN,
+ * or the BIN slot LSN of an LN. Only blocks that are identical to the logged
+ * version at that LSN are saved, which means that a BIN or LN fetched from
+ * the snapshot is the same as one fetched from the log, as long as the log
+ * has not changed since the snapshot was written.
+ *
+ * The header records the last used LSN and the end of the last checkpoint
+ * when the snapshot was written. When the environment is opened, these are
+ * compared to the values found by recovery, and the snapshot is used only if
+ * they match, i.e., if nothing was written to the log (or truncated from it)
+ * since the snapshot. The header is then invalidated on disk, so the
+ * snapshot cannot be used again after the log changes. A new snapshot is
+ * written by the next clean close.
+ *
+ * The file is kept open and each entry is read with a positional read when
+ * it is needed, so only the parts of the file that are used are read. The
+ * file is not mapped, because a mapping cannot be released explicitly and
+ * would hold the address space and the file until it is garbage collected.
+ * The file is closed when all entries have been used, or the environment is
+ * closed. Each entry is removed from the in-memory index
+ * when it is used, since the node is then cached, and its later versions
+ * will be logged at other LSNs. Because the log entry at an LSN never
+ * changes, an entry that is no longer referenced by the Btree is never
+ * used, but is harmless.
+ *
+ * File format:
+ *
+ *  Header:
+ *   magic (int), file version (int), log version (int), block format
+ *   flags (int), last used LSN (long), checkpoint end LSN (long), number of
+ *   entries (int), checksum of the preceding header bytes (int)
+ *  Entries:
+ *   type (byte), LSN (long), block size (int), checksum of block (int),
+ *   block bytes
+ */
+class OffHeapSnapshot {
+
+    static final String FILE_NAME = "je.offHeapCache";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    static final byte TYPE_BIN = 1;
+    static final byte TYPE_LN = 2;
+
+    /* Block format flags. */
+    static final int FORMAT_CHECKSUMS = 0x1;
+    static final int FORMAT_CACHE_VLSN = 0x2;
+
+    private static final int MAGIC = 0x4a454f48;
+    private static final int INVALID_MAGIC = 0;
+    private static final int FILE_VERSION = 1;
+
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 4 + 8 + 8 + 4 + 4;
+    private static final int ENTRY_HEADER_SIZE = 1 + 8 + 4 + 4;
+
+    /* Index keys that are not LSNs. LSNs are never negative. */
+    private static final long EMPTY = -1;
+    private static final long REMOVED = -2;
+
+    private final RandomAccessFile raf;
+    private final FileChannel channel;
+
+    /*
+     * Open addressing hash table mapping LSN to the file offset of the
+     * entry header.
+     */
+    private final long[] keys;
+    private final long[] locations;
+    private final int mask;
+    private int size;
+
+    /*
+     * The number of reads in progress, and whether close was called. The
+     * file is closed by close, or by the last read in progress after that.
+     */
+    private int nReads;
+    private boolean closed;
+
+    private OffHeapSnapshot(final RandomAccessFile raf,
+                            final long[] keys,
+                            final long[] locations,
+                            final int size) {
+        this.raf = raf;
+        this.channel = raf.getChannel();
+        this.keys = keys;
+        this.locations = locations;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of entries not yet used.
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the approximate heap memory used by the index.
+     */
+    long getMemorySize() {
+        return 16L * keys.length;
+    }
+
+    /**
+     * Removes the entry for the given LSN and returns its block, or returns
+     * null if there is no such entry, or the entry is not of the given type.
+     *
+     * @throws IllegalStateException if the block checksum is invalid.
+     *
+     * @throws IOException if the entry cannot be read.
+     */
+    byte[] remove(final long lsn, final byte type)
+        throws IOException {
+
+        final long location;
+
+        synchronized (this) {
+            if (size == 0 || closed) {
+                return null;
+            }
+
+            int i = hash(lsn) & mask;
+
+            while (true) {
+                final long key = keys[i];
+                if (key == EMPTY) {
+                    return null;
+                }
+                if (key == lsn) {
+                    break;
+                }
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = REMOVED;
+            location = locations[i];
+            size -= 1;
+            nReads += 1;
+        }
+
+        final byte[] block;
+        final int storedChecksum;
+
+        try {
+            final ByteBuffer entryHeader =
+                ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+            readFully(channel, entryHeader, location);
+            entryHeader.flip();
+
+            if (entryHeader.get() != type) {
+                return null;
+            }
+
+            entryHeader.getLong();
+            final int blockSize = entryHeader.getInt();
+            storedChecksum = entryHeader.getInt();
+
+            block = new byte[blockSize];
+            readFully(
+                channel, ByteBuffer.wrap(block),
+                location + ENTRY_HEADER_SIZE);
+        } finally {
+            endRead();
+        }
+
+        final int checksum = checksum(block);
+        if (checksum != storedChecksum) {
+            throw new IllegalStateException(
+                "Off-heap cache snapshot checksum error. Expected " +
+                storedChecksum + " but got " + checksum +
+                " for LSN " + DbLsn.getNoFormatString(lsn));
+        }
+
+        return block;
+    }
+
+    private synchronized void endRead() {
+        nReads -= 1;
+        if (closed && nReads == 0) {
+            closeFile();
+        }
+    }
+
+    /**
+     * Closes the file, after any reads in progress. Later calls to remove
+     * return null.
+     */
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (nReads == 0) {
+            closeFile();
+        }
+    }
+
+    private void closeFile() {
+        try {
+            raf.close();
+        } catch (IOException e) {
+            /* Ignore, the file was only read. */
+        }
+    }
+
+    /**
+     * Reads from the given position until the buffer is full.
+     */
+    private static void readFully(final FileChannel channel,
+                                  final ByteBuffer buf,
+                                  long position)
+        throws IOException {
+
+        while (buf.hasRemaining()) {
+            final int n = channel.read(buf, position);
+            if (n < 0) {
+                throw new IOException(
+                    "Off-heap cache snapshot is truncated at " + position);
+            }
+            position += n;
+        }
+    }
+
+    /**
+     * Opens the snapshot in the given environment home, if it exists and
+     * matches the given log state and block format. The snapshot file is
+     * invalidated if invalidate is true, and is deleted if it is unusable.
+     *
+     * @return the snapshot, or null if it does not exist, does not match,
+     * or is empty.
+     */
+    static OffHeapSnapshot open(final File envHome,
+                                final int logVersion,
+                                final int formatFlags,
+                                final long lastUsedLsn,
+                                final long checkpointEndLsn,
+                                final boolean invalidate)
+        throws IOException {
+
+        final File file = new File(envHome, FILE_NAME);
+        if (!file.exists()) {
+            return null;
+        }
+
+        final RandomAccessFile raf =
+            new RandomAccessFile(file, invalidate ? "rw" : "r");
+        OffHeapSnapshot snapshot = null;
+
+        try {
+            snapshot = open(
+                raf, logVersion, formatFlags, lastUsedLsn, checkpointEndLsn,
+                invalidate);
+        } finally {
+            if (snapshot == null) {
+                raf.close();
+            }
+        }
+
+        if (snapshot == null && invalidate) {
+            file.delete();
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Reads the header and the entry headers, and creates the snapshot if
+     * it is usable.
+     */
+    private static OffHeapSnapshot open(final RandomAccessFile raf,
+                                        final int logVersion,
+                                        final int formatFlags,
+                                        final long lastUsedLsn,
+                                        final long checkpointEndLsn,
+                                        final boolean invalidate)
+        throws IOException {
+
+        final FileChannel channel = raf.getChannel();
+        final long fileSize = channel.size();
+
+        if (fileSize < HEADER_SIZE) {
+            return null;
+        }
+
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0);
+        header.flip();
+
+        final int headerChecksum = checksum(
+            Arrays.copyOf(header.array(), HEADER_SIZE - 4));
+
+        final boolean valid =
+            header.getInt() == MAGIC &&
+            header.getInt() == FILE_VERSION &&
+            header.getInt() == logVersion &&
+            header.getInt() == formatFlags &&
+            header.getLong() == lastUsedLsn &&
+            header.getLong() == checkpointEndLsn;
+
+        final int nEntries = header.getInt();
+
+        if (!valid || header.getInt() != headerChecksum || nEntries <= 0) {
+            return null;
+        }
+
+        /*
+         * Invalidate the header before the snapshot is used, so it cannot be
+         * used again after the log has changed, even if the environment is
+         * not closed cleanly.
+         */
+        if (invalidate) {
+            final ByteBuffer magic = ByteBuffer.allocate(4);
+            magic.putInt(INVALID_MAGIC).flip();
+            channel.write(magic, 0);
+            channel.force(false);
+        }
+
+        /* Keep the table at most half full. */
+        final int capacity = Integer.highestOneBit(
+            Math.max(nEntries - 1, 1)) << 2;
+
+        final long[] keys = new long[capacity];
+        final long[] locations = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+
+        final int tableMask = capacity - 1;
+        final ByteBuffer entryHeader = ByteBuffer.allocate(ENTRY_HEADER_SIZE);
+        int size = 0;
+        long offset = HEADER_SIZE;
+
+        while (offset < fileSize) {
+
+            entryHeader.clear();
+            readFully(channel, entryHeader, offset);
+            entryHeader.flip();
+
+            entryHeader.get();
+            final long lsn = entryHeader.getLong();
+            final long entryEnd =
+                offset + ENTRY_HEADER_SIZE + entryHeader.getInt();
+
+            if (entryEnd > fileSize) {
+                throw new IOException(
+                    "Off-heap cache snapshot is truncated at " + offset);
+            }
+
+            int i = hash(lsn) & tableMask;
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & tableMask;
+            }
+            keys[i] = lsn;
+            locations[i] = offset;
+            size += 1;
+
+            offset = entryEnd;
+        }
+
+        if (size != nEntries) {
+            throw new IOException(
+                "Off-heap cache snapshot is incomplete. Expected " +
+                nEntries + " entries but found " + size);
+        }
+
+        return new OffHeapSnapshot(raf, keys, locations, size);
+    }
+
+    /**
+     * Deletes the snapshot file, if any.
+     */
+    static void delete(final File envHome) {
+        new File(envHome, FILE_NAME).delete();
+    }
+
+    private static int hash(final long lsn) {
+        final long h = lsn * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int checksum(final byte[] bytes) {
+        final Checksum checksum = Adler32.makeChecksum();
+        checksum.update(bytes, 0, bytes.length);
+        return (int) checksum.getValue();
+    }
+
+    /**
+     * Writes a new snapshot to a temporary file, which replaces the
+     * snapshot file when it is complete.
+     */
+    static class Writer {
+
+        private final File envHome;
+        private final File tempFile;
+        private final int logVersion;
+        private final int formatFlags;
+        private final DataOutputStream out;
+        private int nEntries;
+
+        Writer(final File envHome,
+               final int logVersion,
+               final int formatFlags)
+            throws IOException {
+
+            this.envHome = envHome;
+            this.logVersion = logVersion;
+            this.formatFlags = formatFlags;
+
+            tempFile = new File(envHome, FILE_NAME + TEMP_SUFFIX);
+
+            out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(tempFile), 1 << 16));
+
+            /* The header is written last. */
+            out.write(new byte[HEADER_SIZE]);
+        }
+
+        void add(final byte type, final long lsn, final byte[] block)
+            throws IOException {
+
+            out.writeByte(type);
+            out.writeLong(lsn);
+            out.writeInt(block.length);
+            out.writeInt(checksum(block));
+            out.write(block);
+            nEntries += 1;
+        }
+
+        int getNEntries() {
+            return nEntries;
+        }
+
+        /**
+         * Writes the header, syncs the file and renames it to replace the
+         * previous snapshot.
+         */
+        void finish(final long lastUsedLsn, final long checkpointEndLsn)
+            throws IOException {
+
+            out.close();
+
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC);
+            header.putInt(FILE_VERSION);
+            header.putInt(logVersion);
+            header.putInt(formatFlags);
+            header.putLong(lastUsedLsn);
+            header.putLong(checkpointEndLsn);
+            header.putInt(nEntries);
+            header.putInt(checksum(
+                Arrays.copyOf(header.array(), HEADER_SIZE - 4)));
+            header.flip();
+
+            try (RandomAccessFile raf = new RandomAccessFile(tempFile, "rw")) {
+                raf.getChannel().write(header, 0);
+                raf.getChannel().force(true);
+            }
+
+            final File file = new File(envHome, FILE_NAME);
+            file.delete();
+
+            if (!tempFile.renameTo(file)) {
+                throw new IOException(
+                    "Unable to rename " + tempFile + " to " + file);
+            }
+        }
+
+        /**
+         * Closes and deletes the temporary file after a failure.
+         */
+        void abort() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                /* Ignore, the file is deleted. */
+            }
+            tempFile.delete();
+        }
+    }
+}
@@ -209,6 +209,29 @@ public class OffHeapStatDefinition {
             TOTAL_BYTES_DESC,
             StatType.CUMULATIVE);
 
+    public static final String FRAGMENTED_BYTES_NAME =
+        "offHeapFragmentedBytes";
+    public static final String FRAGMENTED_BYTES_DESC =
+        "Number of bytes held by the off-heap allocator that are not in " +
+            "allocated blocks, and can only be used for blocks of certain " +
+            "sizes. Zero for the default allocator.";
+    public static final StatDefinition FRAGMENTED_BYTES =
+        new StatDefinition(
+            FRAGMENTED_BYTES_NAME,
+            FRAGMENTED_BYTES_DESC,
+            StatType.CUMULATIVE);
+
+    public static final String FREE_BYTES_NAME =
+        "offHeapFreeBytes";
+    public static final String FREE_BYTES_DESC =
+        "Number of bytes held by the off-heap allocator that can be used " +
+            "for blocks of any size. Zero for the default allocator.";
+    public static final StatDefinition FREE_BYTES =
+        new StatDefinition(
+            FREE_BYTES_NAME,
+            FREE_BYTES_DESC,
+            StatType.CUMULATIVE);
+
     public static final String TOTAL_BLOCKS_NAME =
         "offHeapTotalBlocks";
     public static final String TOTAL_BLOCKS_DESC =
@@ -228,4 +251,47 @@ public class OffHeapStatDefinition {
             LRU_SIZE_NAME,
             LRU_SIZE_DESC,
             StatType.CUMULATIVE);
+
+    public static final String WARM_BINS_LOADED_NAME =
+        "offHeapWarmBINsLoaded";
+    public static final String WARM_BINS_LOADED_DESC =
+        "Number of BINs loaded from the off-heap cache snapshot written " +
+            "when the environment was last closed, rather than fetched " +
+            "from the log.";
+    public static final StatDefinition WARM_BINS_LOADED =
+        new StatDefinition(
+            WARM_BINS_LOADED_NAME,
+            WARM_BINS_LOADED_DESC);
+
+    public static final String WARM_LNS_LOADED_NAME =
+        "offHeapWarmLNsLoaded";
+    public static final String WARM_LNS_LOADED_DESC =
+        "Number of LNs loaded from the off-heap cache snapshot written " +
+            "when the environment was last closed, rather than fetched " +
+            "from the log.";
+    public static final StatDefinition WARM_LNS_LOADED =
+        new StatDefinition(
+            WARM_LNS_LOADED_NAME,
+            WARM_LNS_LOADED_DESC);
+
+    public static final String WARM_MISSES_NAME =
+        "offHeapWarmMisses";
+    public static final String WARM_MISSES_DESC =
+        "Number of BINs and LNs fetched from the log because they were not " +
+            "in the off-heap cache snapshot, while the snapshot was in use.";
+    public static final StatDefinition WARM_MISSES =
+        new StatDefinition(
+            WARM_MISSES_NAME,
+            WARM_MISSES_DESC);
+
+    public static final String WARM_ENTRIES_NAME =
+        "offHeapWarmEntries";
+    public static final String WARM_ENTRIES_DESC =
+        "Number of BINs and LNs in the off-heap cache snapshot that have " +
+            "not yet been loaded.";
+    public static final StatDefinition WARM_ENTRIES =
+        new StatDefinition(
+            WARM_ENTRIES_NAME,
+            WARM_ENTRIES_DESC,
+            StatType.CUMULATIVE);
 }
@@ -0,0 +1,685 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.evictor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import sun.misc.Unsafe;
+
+/**
+ * An off-heap allocator that carves blocks of a fixed set of size classes
+ * out of large regions, rather than calling 'malloc' for each block.
+ *
+ * Memory is obtained from the system in regions of up to MAX_REGION_SIZE.
+ * Each region is divided into slabs of SLAB_SIZE, and a slab is assigned to
+ * a single size class when a block of that class is needed. Size classes are
+ * spaced at most 12.5% apart, so that rounding a block up to its class wastes
+ * little memory. A free block is put on the free list of its slab, and when
+ * all blocks of a slab are free, the slab is returned to the region and may
+ * be assigned to another size class. When all slabs of a region are free,
+ * and the memory is not needed, the region is returned to the system.
+ *
+ * Slabs are always taken from the lowest numbered region that has a free
+ * slab, so that allocations are concentrated in the first regions and the
+ * last regions tend to become free when the cache shrinks. Blocks are never
+ * moved.
+ *
+ * Because regions are only obtained when the total would not exceed the
+ * maximum size passed to {@link #setMaxBytes}, the memory held by this
+ * allocator never exceeds that size. When no slab is free and another region
+ * would exceed the maximum, {@link #allocate} throws OffHeapOverflowException
+ * and the off-heap cache evicts blocks. Unlike the default {@link
+ * CHeapAllocator}, the memory in use, the memory lost to fragmentation and
+ * the free memory are known exactly.
+ *
+ * Blocks larger than MAX_SLAB_BLOCK are allocated with a CHeapAllocator,
+ * under poolLock so that they are counted against the maximum together
+ * with the regions. They are identified by their address. A block in a
+ * slab is identified by a memory ID with SLAB_BLOCK_BIT set, and the region
+ * index and the offset of the block in the region in the lower bits. As
+ * with CHeapAllocator, the size of a block is stored in its first four
+ * bytes.
+ *
+ * The blocks of each size class are protected by synchronizing on the
+ * SizeClass object, and the regions and free slabs are protected by
+ * synchronizing on poolLock. When both are needed, the SizeClass is locked
+ * first.
+ *
+ * This class should not be referenced symbolically by any other class,
+ * other than CHeapAllocator, for the reasons described there. The {@link
+ * OffHeapAllocatorFactory} loads this class by name, using reflection.
+ */
+class SlabAllocator implements OffHeapAllocator {
+
+    private static final boolean CHECK_BOUNDS = true;
+
+    /* Number of bytes for storing the int block size. */
+    private static final int SIZE_BYTES = 4;
+
+    /* The unit of memory assigned to a size class. */
+    private static final int SLAB_SIZE = 256 * 1024;
+
+    /* The largest block, including its size, allocated from a slab. */
+    private static final int MAX_SLAB_BLOCK = 32 * 1024;
+
+    /* Limits on the size of a region. */
+    private static final long MAX_REGION_SIZE = 64L * 1024 * 1024;
+    private static final int MIN_REGIONS = 16;
+
+    /* Set in the memory ID of a block allocated from a slab. */
+    private static final long SLAB_BLOCK_BIT = 1L << 62;
+
+    /* Marks the end of a slab's free list. */
+    private static final int NO_BLOCK = -1;
+
+    /*
+     * Block sizes of the size classes: multiples of 16 up to 128, and then
+     * eight classes between each power of two and the next, up to
+     * MAX_SLAB_BLOCK. See getSizeClass.
+     */
+    private static final int[] CLASS_SIZES;
+
+    static {
+        final int nClasses = 8 + 8 * (Integer.numberOfTrailingZeros(
+            MAX_SLAB_BLOCK) - 7);
+        CLASS_SIZES = new int[nClasses];
+        for (int i = 0; i < 8; i += 1) {
+            CLASS_SIZES[i] = (i + 1) * 16;
+        }
+        for (int i = 8; i < nClasses; i += 1) {
+            final int shift = 7 + ((i - 8) >> 3);
+            CLASS_SIZES[i] =
+                (1 << shift) + ((((i - 8) & 7) + 1) << (shift - 3));
+        }
+        assert CLASS_SIZES[nClasses - 1] == MAX_SLAB_BLOCK;
+    }
+
+    private static class Region {
+
+        final int index;
+        final long address;
+        final Slab[] slabs;
+
+        /* The free slabs, protected by poolLock. */
+        Slab freeSlabs;
+        int nFreeSlabs;
+
+        Region(final int index, final long address, final int nSlabs) {
+            this.index = index;
+            this.address = address;
+            slabs = new Slab[nSlabs];
+            for (int i = nSlabs - 1; i >= 0; i -= 1) {
+                final Slab slab = new Slab(this, i * SLAB_SIZE);
+                slabs[i] = slab;
+                slab.next = freeSlabs;
+                freeSlabs = slab;
+            }
+            nFreeSlabs = nSlabs;
+        }
+
+        long size() {
+            return (long) slabs.length * SLAB_SIZE;
+        }
+    }
+
+    private static class Slab {
+
+        final Region region;
+        final int offset;
+
+        /*
+         * The size class, or null when the slab is free. It does not change
+         * while the slab has allocated blocks.
+         */
+        volatile SizeClass sizeClass;
+
+        /*
+         * The fields below are protected by the SizeClass lock while the slab
+         * is assigned, and by poolLock while it is free.
+         */
+
+        /* Number of allocated blocks. */
+        int nUsed;
+
+        /* Number of blocks carved from the slab so far. */
+        int nCarved;
+
+        /* Region offset of the first block of the free list, or NO_BLOCK. */
+        int freeBlock = NO_BLOCK;
+
+        /* Links in the SizeClass partial list or the Region free list. */
+        Slab prev;
+        Slab next;
+
+        Slab(final Region region, final int offset) {
+            this.region = region;
+            this.offset = offset;
+        }
+    }
+
+    private static class SizeClass {
+
+        final int blockSize;
+        final int blocksPerSlab;
+
+        /* The slabs having free blocks, protected by this object. */
+        Slab partial;
+
+        SizeClass(final int blockSize) {
+            this.blockSize = blockSize;
+            blocksPerSlab = SLAB_SIZE / blockSize;
+        }
+
+        void addPartial(final Slab slab) {
+            slab.prev = null;
+            slab.next = partial;
+            if (partial != null) {
+                partial.prev = slab;
+            }
+            partial = slab;
+        }
+
+        void removePartial(final Slab slab) {
+            if (slab.prev != null) {
+                slab.prev.next = slab.next;
+            } else {
+                partial = slab.next;
+            }
+            if (slab.next != null) {
+                slab.next.prev = slab.prev;
+            }
+            slab.prev = null;
+            slab.next = null;
+        }
+    }
+
+    private final Unsafe unsafe;
+    private final CHeapAllocator largeAllocator;
+    private final SizeClass[] sizeClasses;
+
+    private final Object poolLock = new Object();
+
+    /*
+     * The regions, indexed by Region.index. A slot is null if its region was
+     * returned to the system. The array is replaced when it grows, and slots
+     * are set and cleared in place, always under poolLock. It is read without
+     * synchronization only to find the region of an allocated block. That
+     * slot was set before the block was allocated, and is not cleared while
+     * the region has allocated blocks.
+     */
+    private volatile Region[] regions = new Region[0];
+
+    /* Set by setMaxBytes, under poolLock. */
+    private volatile long maxBytes;
+    private long regionSize;
+
+    /* Totals maintained under poolLock. */
+    private volatile long regionBytes;
+    private volatile long nAssignedSlabs;
+    private volatile long nFreeSlabs;
+
+    /* Total size of the blocks allocated from slabs. */
+    private final AtomicLong slabBlockBytes = new AtomicLong(0);
+
+    public SlabAllocator() {
+
+        unsafe = CHeapAllocator.getUnsafe();
+        largeAllocator = new CHeapAllocator();
+
+        sizeClasses = new SizeClass[CLASS_SIZES.length];
+        for (int i = 0; i < sizeClasses.length; i += 1) {
+            sizeClasses[i] = new SizeClass(CLASS_SIZES[i]);
+        }
+    }
+
+    /**
+     * Returns the index of the smallest size class that holds the given
+     * number of bytes, which must not exceed MAX_SLAB_BLOCK.
+     */
+    private static int getSizeClass(final int nBytes) {
+
+        if (nBytes <= 128) {
+            return (Math.max(nBytes, 1) - 1) >> 4;
+        }
+
+        final int shift = 31 - Integer.numberOfLeadingZeros(nBytes - 1);
+        return 8 + ((shift - 7) << 3) +
+            ((nBytes - 1 - (1 << shift)) >> (shift - 3));
+    }
+
+    /**
+     * Sets the maximum memory held by the allocator, and the size of regions
+     * obtained after this call. Existing regions keep their size. When the
+     * maximum is reduced, free regions are returned to the system.
+     */
+    @Override
+    public void setMaxBytes(long maxBytes) {
+
+        synchronized (poolLock) {
+
+            final long size = maxBytes / MIN_REGIONS;
+            regionSize = Math.max(
+                SLAB_SIZE,
+                Math.min(MAX_REGION_SIZE, size - (size % SLAB_SIZE)));
+
+            this.maxBytes = maxBytes;
+
+            final Region[] myRegions = regions;
+            for (int i = myRegions.length - 1; i >= 0; i -= 1) {
+                if (getReservedBytes() <= maxBytes) {
+                    break;
+                }
+                final Region region = myRegions[i];
+                if (region != null &&
+                    region.nFreeSlabs == region.slabs.length) {
+                    releaseRegion(region);
+                }
+            }
+        }
+    }
+
+    @Override
+    public long getUsedBytes() {
+        return slabBlockBytes.get() + largeAllocator.getUsedBytes();
+    }
+
+    /**
+     * Returns the bytes in slabs assigned to a size class that are not in
+     * allocated blocks. This includes free blocks and the space left at the
+     * end of each slab, but not the rounding of a block to its size class,
+     * which is included in {@link #getUsedBytes}.
+     */
+    @Override
+    public long getFragmentedBytes() {
+        return Math.max(
+            0, nAssignedSlabs * SLAB_SIZE - slabBlockBytes.get());
+    }
+
+    /**
+     * Returns the bytes in slabs that are not assigned to a size class.
+     */
+    @Override
+    public long getFreeBytes() {
+        return nFreeSlabs * SLAB_SIZE;
+    }
+
+    /**
+     * Returns the memory obtained from the system, which is always at most
+     * the max bytes.
+     */
+    private long getReservedBytes() {
+        return regionBytes + largeAllocator.getUsedBytes();
+    }
+
+    @Override
+    public long allocate(int size)
+        throws OffHeapOverflowException {
+
+        final int nBytes = size + SIZE_BYTES;
+
+        if (nBytes > MAX_SLAB_BLOCK) {
+
+            /*
+             * The check and the allocation are done under poolLock, like the
+             * allocation of a region, so that concurrent allocations cannot
+             * together exceed maxBytes.
+             */
+            synchronized (poolLock) {
+                if (getReservedBytes() + nBytes > maxBytes) {
+                    throw new OffHeapOverflowException();
+                }
+                return largeAllocator.allocate(size);
+            }
+        }
+
+        final SizeClass sizeClass = sizeClasses[getSizeClass(nBytes)];
+        final Region region;
+        final int offset;
+
+        synchronized (sizeClass) {
+
+            Slab slab = sizeClass.partial;
+
+            if (slab == null) {
+                slab = assignSlab(sizeClass);
+                sizeClass.addPartial(slab);
+            }
+
+            region = slab.region;
+
+            if (slab.freeBlock != NO_BLOCK) {
+                offset = slab.freeBlock;
+                slab.freeBlock = unsafe.getInt(region.address + offset);
+            } else {
+                offset = slab.offset + (slab.nCarved * sizeClass.blockSize);
+                slab.nCarved += 1;
+            }
+
+            slab.nUsed += 1;
+
+            if (slab.nUsed == sizeClass.blocksPerSlab) {
+                sizeClass.removePartial(slab);
+            }
+        }
+
+        slabBlockBytes.addAndGet(sizeClass.blockSize);
+
+        final long address = region.address + offset;
+        unsafe.putInt(address, size);
+        unsafe.setMemory(address + SIZE_BYTES, size, (byte) 0);
+
+        return SLAB_BLOCK_BIT | (((long) region.index) << 32) | offset;
+    }
+
+    @Override
+    public int free(long memId) {
+
+        if ((memId & SLAB_BLOCK_BIT) == 0) {
+            return largeAllocator.free(memId);
+        }
+
+        final Region region = regions[getRegionIndex(memId)];
+        final int offset = (int) memId;
+        final Slab slab = region.slabs[offset / SLAB_SIZE];
+        final SizeClass sizeClass = slab.sizeClass;
+        boolean slabIsFree = false;
+
+        synchronized (sizeClass) {
+
+            unsafe.putInt(region.address + offset, slab.freeBlock);
+            slab.freeBlock = offset;
+
+            if (slab.nUsed == sizeClass.blocksPerSlab) {
+                sizeClass.addPartial(slab);
+            }
+
+            slab.nUsed -= 1;
+
+            if (slab.nUsed == 0) {
+                sizeClass.removePartial(slab);
+                slabIsFree = true;
+            }
+        }
+
+        slabBlockBytes.addAndGet(0 - sizeClass.blockSize);
+
+        if (slabIsFree) {
+            freeSlab(slab);
+        }
+
+        return sizeClass.blockSize;
+    }
+
+    /**
+     * Assigns a free slab to the given size class, obtaining a new region if
+     * no slab is free. Called with the SizeClass locked.
+     */
+    private Slab assignSlab(final SizeClass sizeClass)
+        throws OffHeapOverflowException {
+
+        synchronized (poolLock) {
+
+            Region region = null;
+
+            for (final Region r : regions) {
+                if (r != null && r.nFreeSlabs > 0) {
+                    region = r;
+                    break;
+                }
+            }
+
+            if (region == null) {
+                region = addRegion();
+            }
+
+            final Slab slab = region.freeSlabs;
+            region.freeSlabs = slab.next;
+            region.nFreeSlabs -= 1;
+            nFreeSlabs -= 1;
+            nAssignedSlabs += 1;
+
+            slab.next = null;
+            slab.prev = null;
+            slab.nUsed = 0;
+            slab.nCarved = 0;
+            slab.freeBlock = NO_BLOCK;
+            slab.sizeClass = sizeClass;
+
+            return slab;
+        }
+    }
+
+    /**
+     * Returns a slab with no allocated blocks to its region, and returns
+     * free regions to the system when their memory is not needed.
+     */
+    private void freeSlab(final Slab slab) {
+
+        synchronized (poolLock) {
+
+            final Region region = slab.region;
+
+            slab.sizeClass = null;
+            slab.prev = null;
+            slab.next = region.freeSlabs;
+            region.freeSlabs = slab;
+            region.nFreeSlabs += 1;
+            nFreeSlabs += 1;
+            nAssignedSlabs -= 1;
+
+            if (region.nFreeSlabs < region.slabs.length) {
+                return;
+            }
+
+            /*
+             * Keep a free region only if the allocator still holds blocks,
+             * the max is not exceeded, and there are less than half a region
+             * of other free slabs.
+             */
+            if (nAssignedSlabs > 0 &&
+                getReservedBytes() <= maxBytes &&
+                (nFreeSlabs - region.slabs.length) * SLAB_SIZE <
+                    regionSize / 2) {
+                return;
+            }
+
+            releaseRegion(region);
+
+            /* When no blocks remain, return all memory to the system. */
+            if (nAssignedSlabs == 0) {
+                for (final Region r : regions) {
+                    if (r != null) {
+                        releaseRegion(r);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtains a new region from the system. Called with poolLock held.
+     */
+    private Region addRegion()
+        throws OffHeapOverflowException {
+
+        final long available = maxBytes - getReservedBytes();
+        final long size = Math.min(
+            regionSize, available - (available % SLAB_SIZE));
+
+        if (size < SLAB_SIZE) {
+            throw new OffHeapOverflowException();
+        }
+
+        Region[] myRegions = regions;
+        int index = 0;
+        while (index < myRegions.length && myRegions[index] != null) {
+            index += 1;
+        }
+
+        final long address = unsafe.allocateMemory(size);
+        final Region region =
+            new Region(index, address, (int) (size / SLAB_SIZE));
+
+        if (index == myRegions.length) {
+            final Region[] newRegions = new Region[index + 1];
+            System.arraycopy(myRegions, 0, newRegions, 0, index);
+            myRegions = newRegions;
+        }
+
+        myRegions[index] = region;
+        regions = myRegions;
+
+        regionBytes += size;
+        nFreeSlabs += region.slabs.length;
+
+        return region;
+    }
+
+    /**
+     * Returns a free region to the system. Called with poolLock held.
+     */
+    private void releaseRegion(final Region region) {
+
+        assert region.nFreeSlabs == region.slabs.length;
+
+        regions[region.index] = null;
+        regionBytes -= region.size();
+        nFreeSlabs -= region.slabs.length;
+
+        unsafe.freeMemory(region.address);
+    }
+
+    private static int getRegionIndex(final long memId) {
+        return (int) ((memId & ~SLAB_BLOCK_BIT) >>> 32);
+    }
+
+    /**
+     * Returns the address of the block, where its size is stored.
+     */
+    private long getAddress(final long memId) {
+
+        if ((memId & SLAB_BLOCK_BIT) == 0) {
+            return memId;
+        }
+
+        return regions[getRegionIndex(memId)].address + (int) memId;
+    }
+
+    @Override
+    public int size(long memId) {
+
+        return unsafe.getInt(getAddress(memId));
+    }
+
+    @Override
+    public int totalSize(long memId) {
+
+        if ((memId & SLAB_BLOCK_BIT) == 0) {
+            return largeAllocator.totalSize(memId);
+        }
+
+        return CLASS_SIZES[getSizeClass(size(memId) + SIZE_BYTES)];
+    }
+
+    @Override
+    public void copy(long memId, int memOff, byte[] buf, int bufOff, int len) {
+
+        if (CHECK_BOUNDS) {
+            if (memId == 0) {
+                throw new NullPointerException("memId is 0");
+            }
+            if (buf == null) {
+                throw new NullPointerException("buf is null");
+            }
+            if (memOff < 0 || memOff + len > size(memId)) {
+                throw new IndexOutOfBoundsException(
+                    "memOff=" + memOff +
+                    " memSize=" + size(memId) +
+                    " copyLen=" + len);
+            }
+            if (bufOff < 0 || bufOff + len > buf.length) {
+                throw new IndexOutOfBoundsException(
+                    "bufOff=" + bufOff +
+                    " bufSize=" + buf.length +
+                    " copyLen=" + len);
+            }
+        }
+
+        unsafe.copyMemory(
+            null, getAddress(memId) + SIZE_BYTES + memOff,
+            buf, Unsafe.ARRAY_BYTE_BASE_OFFSET + bufOff,
+            len);
+    }
+
+    @Override
+    public void copy(byte[] buf, int bufOff, long memId, int memOff, int len) {
+
+        if (CHECK_BOUNDS) {
+            if (memId == 0) {
+                throw new NullPointerException("memId is 0");
+            }
+            if (buf == null) {
+                throw new NullPointerException("buf is null");
+            }
+            if (memOff < 0 || memOff + len > size(memId)) {
+                throw new IndexOutOfBoundsException(
+                    "memOff=" + memOff +
+                    " memSize=" + size(memId) +
+                    " copyLen=" + len);
+            }
+            if (bufOff < 0 || bufOff + len > buf.length) {
+                throw new IndexOutOfBoundsException(
+                    "bufOff=" + bufOff +
+                    " bufSize=" + buf.length +
+                    " copyLen=" + len);
+            }
+        }
+
+        unsafe.copyMemory(
+            buf, Unsafe.ARRAY_BYTE_BASE_OFFSET + bufOff,
+            null, getAddress(memId) + SIZE_BYTES + memOff,
+            len);
+    }
+
+    @Override
+    public void copy(long fromMemId,
+                     int fromMemOff,
+                     long toMemId,
+                     int toMemOff,
+                     int len) {
+
+        if (CHECK_BOUNDS) {
+            if (fromMemId == 0 || toMemId == 0) {
+                throw new NullPointerException("memId is 0");
+            }
+            if (fromMemOff < 0 || fromMemOff + len > size(fromMemId)) {
+                throw new IndexOutOfBoundsException(
+                    "memOff=" + fromMemOff +
+                    " memSize=" + size(fromMemId) +
+                    " copyLen=" + len);
+            }
+            if (toMemOff < 0 || toMemOff + len > size(toMemId)) {
+                throw new IndexOutOfBoundsException(
+                    "memOff=" + toMemOff +
+                    " memSize=" + size(toMemId) +
+                    " copyLen=" + len);
+            }
+        }
+
+        unsafe.copyMemory(
+            null, getAddress(fromMemId) + SIZE_BYTES + fromMemOff,
+            null, getAddress(toMemId) + SIZE_BYTES + toMemOff,
+            len);
+    }
+}
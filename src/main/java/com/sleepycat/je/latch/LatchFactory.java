@@ -21,15 +21,23 @@ public class LatchFactory {
     /**
      * Creates a SharedLatch using a given LatchContext.
      *
+     * This method is used for Btree latches.
+     *
      * @param exclusiveOnly indicates whether this latch can only be set
      * exclusively (not shared).
+     *
+     * @param optimisticReads indicates whether this latch supports optimistic
+     * reads, see {@link SharedLatch#tryOptimisticRead}. It is ignored if
+     * exclusiveOnly is true. Supporting optimistic reads adds a StampedLock
+     * to the latch, see MemoryBudget.STAMPED_LOCK_OVERHEAD.
      */
     public static SharedLatch createSharedLatch(final LatchContext context,
-                                                final boolean exclusiveOnly) {
+                                                final boolean exclusiveOnly,
+                                                final boolean optimisticReads) {
         if (exclusiveOnly) {
             return new LatchImpl(context);
         }
-        return new SharedLatchImpl(false /*fair*/, context);
+        return new SharedLatchImpl(false /*fair*/, context, optimisticReads);
     }
 
     /**
@@ -46,7 +54,8 @@ public class LatchFactory {
             return new LatchImpl(createContext(envImpl, name));
         }
         return new SharedLatchImpl(
-            false /*fair*/, createContext(envImpl, name));
+            false /*fair*/, createContext(envImpl, name),
+            false /*optimisticReads*/);
     }
 
     /**
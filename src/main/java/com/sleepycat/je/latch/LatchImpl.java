@@ -107,6 +107,21 @@ public class LatchImpl extends ReentrantLock implements SharedLatch {
         acquireExclusive();
     }
 
+    @Override
+    public long tryOptimisticRead() {
+        return 0;
+    }
+
+    @Override
+    public boolean supportsOptimisticReads() {
+        return false;
+    }
+
+    @Override
+    public boolean validateOptimisticRead(final long stamp) {
+        return false;
+    }
+
     @Override
     public void release() {
         if (!isHeldByCurrentThread()) {
@@ -35,4 +35,31 @@ public interface SharedLatch extends Latch {
      * {@link #acquireExclusive()}.
      */
     void acquireShared();
+
+    /**
+     * Returns a stamp for an optimistic read of the data protected by this
+     * latch, without acquiring the latch, or zero if the latch is currently
+     * held exclusively. The data read must be checked with {@link
+     * #validateOptimisticRead} before it is used, and the reader must expect
+     * to see inconsistent data (or exceptions) until then.
+     *
+     * Returns zero if optimistic reads are not supported, which is the case
+     * in exclusive-only mode.
+     */
+    long tryOptimisticRead();
+
+    /**
+     * Returns whether this latch supports optimistic reads, that is, whether
+     * it was created with the optimisticReads option and is not
+     * exclusive-only.
+     */
+    boolean supportsOptimisticReads();
+
+    /**
+     * Returns whether the latch has not been acquired exclusively since the
+     * given non-zero stamp was returned by {@link #tryOptimisticRead}. If
+     * true is returned, the data read since the stamp was obtained is
+     * consistent.
+     */
+    boolean validateOptimisticRead(long stamp);
 }
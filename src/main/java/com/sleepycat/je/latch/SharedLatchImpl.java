@@ -17,6 +17,7 @@ import static com.sleepycat.je.EnvironmentFailureException.unexpectedState;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
 
 import com.sleepycat.je.ThreadInterruptedException;
 import com.sleepycat.je.dbi.EnvironmentImpl;
@@ -29,9 +30,22 @@ public class SharedLatchImpl extends ReentrantReadWriteLock
     private final LatchContext context;
     private OwnerInfo lastOwnerInfo;
 
-    SharedLatchImpl(final boolean fair, final LatchContext context) {
+    /*
+     * Supports optimistic reads when non-null. The StampedLock is write
+     * locked while this latch is held exclusively, so that its stamp
+     * changes with each exclusive acquisition. It is never read locked, so
+     * acquiring it never blocks. writeStamp is accessed only by the
+     * exclusive owner.
+     */
+    private final StampedLock versionLock;
+    private long writeStamp;
+
+    SharedLatchImpl(final boolean fair,
+                    final LatchContext context,
+                    final boolean optimisticReads) {
         super(fair);
         this.context = context;
+        versionLock = optimisticReads ? new StampedLock() : null;
     }
 
     @Override
@@ -74,6 +88,10 @@ public class SharedLatchImpl extends ReentrantReadWriteLock
             writeLock().lock();
         }
 
+        if (versionLock != null) {
+            writeStamp = versionLock.writeLock();
+        }
+
         if (LatchSupport.TRACK_LATCHES) {
             LatchSupport.trackAcquire(this, context);
         }
@@ -142,6 +160,9 @@ public class SharedLatchImpl extends ReentrantReadWriteLock
             if (LatchSupport.TRACK_LATCHES) {
                 LatchSupport.trackRelease(this, context);
             }
+            if (versionLock != null) {
+                versionLock.unlockWrite(writeStamp);
+            }
             writeLock().unlock();
             return;
         }
@@ -152,6 +173,21 @@ public class SharedLatchImpl extends ReentrantReadWriteLock
         }
     }
 
+    @Override
+    public long tryOptimisticRead() {
+        return (versionLock != null) ? versionLock.tryOptimisticRead() : 0;
+    }
+
+    @Override
+    public boolean supportsOptimisticReads() {
+        return versionLock != null;
+    }
+
+    @Override
+    public boolean validateOptimisticRead(final long stamp) {
+        return versionLock != null && versionLock.validate(stamp);
+    }
+
     @Override
     public Thread getExclusiveOwner() {
         return getOwner();
@@ -0,0 +1,262 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.log;
+
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_BATCH_95_SIZE;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_BATCH_MAX_SIZE;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_95_MS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_99_MS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_AVG_MS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_BATCHES;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_MAX_MS;
+import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_REQUESTS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.utilint.LatencyPercentileStat;
+import com.sleepycat.je.utilint.LoggerUtils;
+import com.sleepycat.je.utilint.LongAvgStat;
+import com.sleepycat.je.utilint.LongMaxZeroStat;
+import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.StatGroup;
+import com.sleepycat.je.utilint.StoppableThreadFactory;
+
+/**
+ * Performs the log write and fsync for asynchronous commits in a dedicated
+ * thread, so that the committing threads do not block. Used by
+ * Transaction.commitAsync.
+ *
+ * Each request is made after the commit entry has been added to the log
+ * buffers. The flusher thread takes all pending requests as a batch and
+ * performs a single group commit for them using FSyncManager.flushAndSync,
+ * so it participates in group commit with the threads that commit
+ * synchronously. An fsync is performed if any request in the batch requires
+ * one. The requests that arrive while a group commit is in progress form the
+ * next batch.
+ *
+ * Batching is adaptive: when fewer requests are pending than were in the
+ * previous batch, the flusher waits up to half the duration of the previous
+ * group commit for more requests to arrive. Under light load the previous
+ * batch is small and there is no added delay, and under heavy load the
+ * delay is bounded by the cost of the group commit that it saves.
+ *
+ * The flusher thread is started by the first request, so no thread is used
+ * unless asynchronous commits are used.
+ */
+class AsyncCommitFlusher implements Runnable {
+
+    private final EnvironmentImpl envImpl;
+    private final FSyncManager fsyncManager;
+
+    private List<Request> pending = new ArrayList<>();
+    private Thread thread;
+    private boolean shutdown;
+
+    /* Accessed only by the flusher thread. */
+    private int lastBatchSize;
+    private long lastFlushNanos;
+
+    private final LongStat nRequests;
+    private final LongStat nBatches;
+    private final LatencyPercentileStat batch95Size;
+    private final LongMaxZeroStat batchMaxSize;
+    private final LongAvgStat commitAvgMs;
+    private final LatencyPercentileStat commit95Ms;
+    private final LatencyPercentileStat commit99Ms;
+    private final LongMaxZeroStat commitMaxMs;
+
+    private static class Request {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final boolean fsyncRequired;
+        final long startNanos = System.nanoTime();
+
+        Request(boolean fsyncRequired) {
+            this.fsyncRequired = fsyncRequired;
+        }
+    }
+
+    AsyncCommitFlusher(EnvironmentImpl envImpl,
+                       FSyncManager fsyncManager,
+                       StatGroup stats) {
+        this.envImpl = envImpl;
+        this.fsyncManager = fsyncManager;
+
+        nRequests = new LongStat(stats, FSYNCMGR_ASYNC_COMMIT_REQUESTS);
+        nBatches = new LongStat(stats, FSYNCMGR_ASYNC_COMMIT_BATCHES);
+        batch95Size = new LatencyPercentileStat(
+            stats, FSYNCMGR_ASYNC_BATCH_95_SIZE, 0.95f);
+        batchMaxSize = new LongMaxZeroStat(
+            stats, FSYNCMGR_ASYNC_BATCH_MAX_SIZE);
+        commitAvgMs = new LongAvgStat(stats, FSYNCMGR_ASYNC_COMMIT_AVG_MS);
+        commit95Ms = new LatencyPercentileStat(
+            stats, FSYNCMGR_ASYNC_COMMIT_95_MS, 0.95f);
+        commit99Ms = new LatencyPercentileStat(
+            stats, FSYNCMGR_ASYNC_COMMIT_99_MS, 0.99f);
+        commitMaxMs = new LongMaxZeroStat(stats, FSYNCMGR_ASYNC_COMMIT_MAX_MS);
+    }
+
+    /**
+     * Requests a flush, and optionally an fsync, of the log entries that
+     * have already been added to the log buffers.
+     *
+     * @return a future that completes when the flush is done, or completes
+     * exceptionally if the flush fails. Dependent actions that are not
+     * asynchronous are run by the flusher thread.
+     */
+    CompletableFuture<Void> flushAndSync(boolean fsyncRequired) {
+
+        synchronized (this) {
+            if (!shutdown) {
+                if (thread == null) {
+                    thread = new StoppableThreadFactory(
+                        envImpl, "JEAsyncCommitFlusher",
+                        LoggerUtils.getLogger(getClass())).newThread(this);
+                    thread.start();
+                }
+
+                final Request request = new Request(fsyncRequired);
+                pending.add(request);
+                nRequests.increment();
+                notify();
+                return request.future;
+            }
+        }
+
+        /* After shutdown, flush in the calling thread. */
+        fsyncManager.flushAndSync(fsyncRequired);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Completes all pending requests and stops the flusher thread.
+     */
+    void shutdown() {
+
+        final Thread flusherThread;
+
+        synchronized (this) {
+            shutdown = true;
+            notify();
+            flusherThread = thread;
+        }
+
+        if (flusherThread != null) {
+            try {
+                flusherThread.join();
+            } catch (InterruptedException e) {
+                /* Pending requests are completed by the flusher thread. */
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        while (true) {
+            final List<Request> batch = takeBatch();
+            if (batch == null) {
+                return;
+            }
+            flush(batch);
+        }
+    }
+
+    /**
+     * Waits for requests and returns them, or returns null if the flusher is
+     * shut down and no requests are pending.
+     */
+    private synchronized List<Request> takeBatch() {
+
+        try {
+            while (pending.isEmpty()) {
+                if (shutdown) {
+                    return null;
+                }
+                wait();
+            }
+
+            if (pending.size() < lastBatchSize) {
+                final long deadline = System.nanoTime() + lastFlushNanos / 2;
+
+                while (!shutdown && pending.size() < lastBatchSize) {
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                }
+            }
+        } catch (InterruptedException e) {
+
+            /*
+             * The flusher thread is not interrupted by JE. Stop waiting and
+             * flush the pending requests.
+             */
+        }
+
+        final List<Request> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void flush(List<Request> batch) {
+
+        boolean fsyncRequired = false;
+        for (final Request request : batch) {
+            fsyncRequired |= request.fsyncRequired;
+        }
+
+        Throwable failure = null;
+        final long startNanos = System.nanoTime();
+
+        try {
+            fsyncManager.flushAndSync(fsyncRequired);
+        } catch (Error e) {
+            envImpl.invalidate(e);
+            failure = e;
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        final long endNanos = System.nanoTime();
+
+        lastFlushNanos = endNanos - startNanos;
+        lastBatchSize = batch.size();
+
+        nBatches.increment();
+        batch95Size.add(batch.size());
+        batchMaxSize.setMax(batch.size());
+
+        for (final Request request : batch) {
+
+            final long commitMs = TimeUnit.NANOSECONDS.toMillis(
+                endNanos - request.startNanos);
+
+            commitAvgMs.add(commitMs);
+            commit95Ms.add(commitMs);
+            commit99Ms.add(commitMs);
+            commitMaxMs.setMax(commitMs);
+
+            if (failure == null) {
+                request.future.complete(null);
+            } else {
+                request.future.completeExceptionally(failure);
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ import java.util.zip.Checksum;
 
 import com.sleepycat.je.dbi.EnvironmentImpl;
 import com.sleepycat.je.utilint.Adler32;
+import com.sleepycat.je.utilint.CRC32C;
 import com.sleepycat.je.utilint.DbLsn;
 
 /**
@@ -27,17 +28,46 @@ public class ChecksumValidator {
     private static final boolean DEBUG = false;
 
     private final EnvironmentImpl envImpl;
+    private final Checksum adler32;
+    private Checksum crc32c;
     private Checksum cksum;
 
     public ChecksumValidator(final EnvironmentImpl envImpl) {
         this.envImpl = envImpl;
-        cksum = Adler32.makeChecksum();
+        adler32 = Adler32.makeChecksum();
+        cksum = adler32;
+    }
+
+    /**
+     * Creates a validator for the entry with the given header, using the
+     * checksum algorithm indicated by the header.
+     */
+    public ChecksumValidator(final EnvironmentImpl envImpl,
+                             final LogEntryHeader header) {
+        this(envImpl);
+        reset(header);
     }
 
     public void reset() {
         cksum.reset();
     }
 
+    /**
+     * Resets the checksum and selects the algorithm, Adler32 or CRC32C,
+     * indicated by the given entry header.
+     */
+    public void reset(final LogEntryHeader header) {
+        if (header.isCRC32C()) {
+            if (crc32c == null) {
+                crc32c = CRC32C.makeChecksum();
+            }
+            cksum = crc32c;
+        } else {
+            cksum = adler32;
+        }
+        cksum.reset();
+    }
+
     /**
      * Add this byte buffer to the checksum. Assume the byte buffer is already
      * positioned at the data.
@@ -0,0 +1,330 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.log;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes to the end of a log file using direct I/O (O_DIRECT), so that log
+ * writes bypass the file system cache and do not displace the pages of the
+ * files being read. Used when EnvironmentConfig.LOG_USE_DIRECT_IO is true.
+ *
+ * Direct I/O requires that the file offset, the length, and the memory
+ * address of each write are multiples of the file system block size. JE log
+ * writes have arbitrary offsets and lengths, so each write is expanded to
+ * whole blocks in an aligned buffer:
+ *
+ * - The part of the first block that precedes the write offset is copied
+ *   from the last block written by the previous write, which is retained by
+ *   this object, or is read from the file if the write does not follow the
+ *   previous write.
+ *
+ * - The part of the last block that follows the written data is read from
+ *   the file if the file has data there, and is otherwise zero.
+ *
+ * The padding may extend the file past the end of the written data. The end
+ * of the data is tracked here, and the next write overwrites the padding.
+ * The file is truncated to the end of the data by trim, which is called
+ * before each fsync and when the file is closed, so that the file length is
+ * the end of the log when the file is durable or is no longer the end of the
+ * log. Truncating after every write would add two system calls per write.
+ * If a crash occurs before the truncation, recovery truncates the zeros at
+ * the end of the log.
+ *
+ * Reads continue to use the file system cache, via the RandomAccessFile
+ * handles of the FileManager. The file system keeps the cache coherent with
+ * direct writes. The file header is written through the cache when the file
+ * is created, and the file system writes it before a direct read of the
+ * first block.
+ *
+ * The direct I/O APIs were added in Java 9 and 10, and are accessed using
+ * reflection so that JE can be built and run with Java 8. When they are not
+ * available, isSupported returns false and the FileManager writes through
+ * the cache.
+ *
+ * An instance is used for a single file, and is not thread safe. Writes to
+ * the end of the log are serialized by the FileManager.
+ */
+class DirectLogWriter {
+
+    /* The fallback when the block size cannot be determined. */
+    private static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    /* The initial size of the aligned buffer, in blocks. */
+    private static final int INITIAL_BUFFER_BLOCKS = 16;
+
+    /* com.sun.nio.file.ExtendedOpenOption.DIRECT, Java 10. */
+    private static final OpenOption DIRECT_OPTION;
+
+    /* ByteBuffer.alignedSlice(int), Java 9. */
+    private static final Method ALIGNED_SLICE;
+
+    /* FileStore.getBlockSize(), Java 10. */
+    private static final Method GET_BLOCK_SIZE;
+
+    static {
+        OpenOption directOption = null;
+        Method alignedSlice = null;
+        Method getBlockSize = null;
+        try {
+            final Class<?> optionClass =
+                Class.forName("com.sun.nio.file.ExtendedOpenOption");
+            for (final Object option : optionClass.getEnumConstants()) {
+                if ("DIRECT".equals(((Enum<?>) option).name())) {
+                    directOption = (OpenOption) option;
+                }
+            }
+            alignedSlice =
+                ByteBuffer.class.getMethod("alignedSlice", int.class);
+            getBlockSize = FileStore.class.getMethod("getBlockSize");
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            /* Direct I/O is not supported by this Java version. */
+        }
+        DIRECT_OPTION = directOption;
+        ALIGNED_SLICE = alignedSlice;
+        GET_BLOCK_SIZE = getBlockSize;
+    }
+
+    private final FileChannel channel;
+    private final int blockSize;
+    private final byte[] zeros;
+
+    /* Aligned direct buffer, grown as needed. */
+    private ByteBuffer buffer;
+
+    /*
+     * The end of the data written, and the file size, which is larger when
+     * the file ends with padding. dataEnd is volatile because getDataEnd may
+     * be called without synchronization.
+     */
+    private volatile long dataEnd;
+    private long fileSize;
+
+    /*
+     * Copy of the last block written, which holds the end of the data. The
+     * block starts at tailOffset and holds tailLen bytes of data, or
+     * tailOffset is -1 if there is no copy.
+     */
+    private final byte[] tail;
+    private long tailOffset = -1;
+    private int tailLen;
+
+    /**
+     * Returns whether the Java runtime supports direct I/O.
+     */
+    static boolean isSupported() {
+        return DIRECT_OPTION != null &&
+            ALIGNED_SLICE != null &&
+            GET_BLOCK_SIZE != null;
+    }
+
+    /**
+     * Opens an existing file for direct I/O.
+     *
+     * @throws IOException if the file cannot be opened, for example because
+     * the file system does not support direct I/O.
+     */
+    DirectLogWriter(File file)
+        throws IOException {
+
+        assert isSupported();
+
+        final Path path = file.toPath();
+        blockSize = getBlockSize(path);
+        channel = FileChannel.open(
+            path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            DIRECT_OPTION);
+        zeros = new byte[blockSize];
+        tail = new byte[blockSize];
+        fileSize = channel.size();
+        dataEnd = fileSize;
+    }
+
+    int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Writes len bytes of data at the given file offset.
+     */
+    void write(byte[] data, int off, int len, long destOffset)
+        throws IOException {
+
+        final long mask = blockSize - 1;
+        final long end = destOffset + len;
+        final long start = destOffset & ~mask;
+        final long alignedEnd = (end + mask) & ~mask;
+        final int total = (int) (alignedEnd - start);
+        final int prefixLen = (int) (destOffset - start);
+        final int lastBlockPos = total - blockSize;
+
+        ensureCapacity(total);
+
+        /*
+         * The remainder of the last block. Any part of the file that follows
+         * dataEnd is padding, and is zero.
+         */
+        boolean lastBlockRead = false;
+        if (end < alignedEnd) {
+            if (end < dataEnd) {
+                readBlock(alignedEnd - blockSize, lastBlockPos);
+                lastBlockRead = true;
+            } else {
+                fill(zeros, (int) (end - start), (int) (alignedEnd - end));
+            }
+        }
+
+        /* The beginning of the first block. */
+        if (prefixLen > 0) {
+            if (start == tailOffset && prefixLen <= tailLen) {
+                fill(tail, 0, prefixLen);
+            } else if (!lastBlockRead || lastBlockPos != 0) {
+                readBlock(start, 0);
+            }
+        }
+
+        fill(data, off, prefixLen, len);
+
+        buffer.limit(total);
+        buffer.position(0);
+        long writeOffset = start;
+        while (buffer.hasRemaining()) {
+            writeOffset += channel.write(buffer, writeOffset);
+        }
+
+        dataEnd = Math.max(dataEnd, end);
+        fileSize = Math.max(fileSize, alignedEnd);
+
+        /* Save the block holding the end of the data. */
+        tailOffset = end & ~mask;
+        tailLen = (int) (end - tailOffset);
+        buffer.limit(total);
+        buffer.position((int) (tailOffset - start));
+        buffer.get(tail, 0, Math.min(blockSize, buffer.remaining()));
+    }
+
+    /**
+     * Discards the copy of the last block written, when the file may have
+     * been modified by other means.
+     */
+    void clearTail() {
+        tailOffset = -1;
+    }
+
+    /**
+     * Returns the end of the data written, which is the length of the file
+     * excluding any padding.
+     */
+    long getDataEnd() {
+        return dataEnd;
+    }
+
+    /**
+     * Truncates the padding at the end of the file, if any, so that the file
+     * length is the end of the data. Called before an fsync, and by close.
+     */
+    void trim()
+        throws IOException {
+
+        if (fileSize > dataEnd) {
+            channel.truncate(dataEnd);
+            fileSize = dataEnd;
+        }
+    }
+
+    void close()
+        throws IOException {
+
+        try {
+            trim();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Reads the block at the given file offset into the buffer at the given
+     * position. Bytes past the end of the file are zero.
+     */
+    private void readBlock(long fileOffset, int bufferPos)
+        throws IOException {
+
+        final ByteBuffer dup = buffer.duplicate();
+        dup.limit(bufferPos + blockSize);
+        dup.position(bufferPos);
+
+        /*
+         * A single read is performed, since a short read means that the end
+         * of the file was reached, and a following read at an unaligned
+         * offset is not allowed.
+         */
+        final int nRead = Math.max(0, channel.read(dup, fileOffset));
+        fill(zeros, bufferPos + nRead, blockSize - nRead);
+    }
+
+    private void fill(byte[] src, int bufferPos, int len) {
+        fill(src, 0, bufferPos, len);
+    }
+
+    private void fill(byte[] src, int srcOff, int bufferPos, int len) {
+        buffer.limit(bufferPos + len);
+        buffer.position(bufferPos);
+        buffer.put(src, srcOff, len);
+    }
+
+    private void ensureCapacity(int size) {
+
+        if (buffer != null && buffer.capacity() >= size) {
+            buffer.clear();
+            return;
+        }
+
+        int capacity = (buffer == null) ?
+            (blockSize * INITIAL_BUFFER_BLOCKS) : (buffer.capacity() * 2);
+        capacity = Math.max(capacity, size);
+
+        try {
+            buffer = (ByteBuffer) ALIGNED_SLICE.invoke(
+                ByteBuffer.allocateDirect(capacity + blockSize), blockSize);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException(e);
+        }
+        buffer.limit(capacity);
+    }
+
+    private static int getBlockSize(Path path) {
+        try {
+            final long size = (Long) GET_BLOCK_SIZE.invoke(
+                Files.getFileStore(path));
+            if (size > 0 && size <= (1 << 16) && (size & (size - 1)) == 0) {
+                return (int) size;
+            }
+        } catch (IOException |
+                 IllegalAccessException |
+                 InvocationTargetException e) {
+            /* Use the default. */
+        }
+        return DEFAULT_BLOCK_SIZE;
+    }
+}
@@ -18,6 +18,8 @@ import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_FSYNC_REQUESTS;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_TIMEOUTS;
 import static com.sleepycat.je.log.LogStatDefinition.FSYNCMGR_N_GROUP_COMMIT_REQUESTS;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.StatsConfig;
 import com.sleepycat.je.ThreadInterruptedException;
@@ -109,6 +111,9 @@ class FSyncManager {
     private final LongStat nTimeouts;
     private final LongStat nRequests;
 
+    /* Performs group commits for asynchronous commits. */
+    private final AsyncCommitFlusher asyncFlusher;
+
     /* For unit tests. */
     private TestHook<Object> flushHook;
 
@@ -129,6 +134,8 @@ class FSyncManager {
         nFSyncs = new AtomicLongStat(stats, FSYNCMGR_FSYNCS);
         nTimeouts = new LongStat(stats, FSYNCMGR_TIMEOUTS);
         nRequests = new LongStat(stats, FSYNCMGR_N_GROUP_COMMIT_REQUESTS);
+
+        asyncFlusher = new AsyncCommitFlusher(envImpl, this, stats);
     }
 
     /**
@@ -290,6 +297,23 @@ class FSyncManager {
         }
     }
 
+    /**
+     * Requests a flush and optional fsync, like flushAndSync, but performs
+     * it in the async commit flusher thread rather than in this thread.
+     *
+     * @return a future that completes when the flush and fsync are done.
+     */
+    CompletableFuture<Void> flushAndSyncAsync(boolean fsyncRequired) {
+        return asyncFlusher.flushAndSync(fsyncRequired);
+    }
+
+    /**
+     * Completes pending asynchronous requests and stops the flusher thread.
+     */
+    void shutdownAsync() {
+        asyncFlusher.shutdown();
+    }
+
     /*
      * Stats.
      */
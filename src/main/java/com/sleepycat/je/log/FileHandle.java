@@ -20,13 +20,20 @@ import com.sleepycat.je.DatabaseException;
 import com.sleepycat.je.dbi.EnvironmentImpl;
 import com.sleepycat.je.latch.Latch;
 import com.sleepycat.je.latch.LatchFactory;
+import com.sleepycat.je.latch.SharedLatch;
 
 /**
  * A FileHandle embodies a File and its accompanying latch.
+ *
+ * When the handle is created for shared reads, the latch may be acquired in
+ * shared mode by readers that use positional reads, which do not change the
+ * file pointer.  Opening, closing and evicting the handle always acquire the
+ * latch exclusively.
  */
 public class FileHandle {
     private RandomAccessFile file;
     private Latch fileLatch;
+    private final boolean sharedReads;
     private int logVersion;
     private long fileNum;
 
@@ -35,9 +42,27 @@ public class FileHandle {
      * be called before using the handle to access the file.
      */
     FileHandle(EnvironmentImpl envImpl, long fileNum, String label) {
-        fileLatch = LatchFactory.createExclusiveLatch(
-            envImpl, "file_" + label + "_fileHandle", false /*collectStats*/);
+        this(envImpl, fileNum, label, false /*sharedReads*/);
+    }
+
+    /**
+     * Creates a new handle but does not initialize it, optionally allowing
+     * the latch to be shared by concurrent readers.
+     */
+    FileHandle(EnvironmentImpl envImpl,
+               long fileNum,
+               String label,
+               boolean sharedReads) {
+        final String latchName = "file_" + label + "_fileHandle";
+        if (sharedReads) {
+            fileLatch = LatchFactory.createSharedLatch(
+                envImpl, latchName, false /*exclusiveOnly*/);
+        } else {
+            fileLatch = LatchFactory.createExclusiveLatch(
+                envImpl, latchName, false /*collectStats*/);
+        }
         this.fileNum = fileNum;
+        this.sharedReads = sharedReads;
     }
 
     /**
@@ -71,6 +96,17 @@ public class FileHandle {
         fileLatch.acquireExclusive();
     }
 
+    /**
+     * Acquires the latch in shared mode, for reading via positional reads.
+     * May only be called if the handle was created for shared reads.
+     */
+    void latchShared()
+        throws DatabaseException {
+
+        assert sharedReads;
+        ((SharedLatch) fileLatch).acquireShared();
+    }
+
     boolean latchNoWait()
         throws DatabaseException {
 
@@ -16,12 +16,16 @@ package com.sleepycat.je.log;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_BYTES_READ_FROM_WRITEQUEUE;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_BYTES_WRITTEN_FROM_WRITEQUEUE;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_OPENS;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_SWITCHES;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_SWITCH_AVG_MS;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FILE_SWITCH_MAX_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_95_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_99_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_AVG_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_FSYNC_MAX_MS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_LOG_FSYNCS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_OPEN_FILES;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_POSITIONAL_READS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_RANDOM_READS;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_RANDOM_READ_BYTES;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_RANDOM_WRITES;
@@ -34,6 +38,10 @@ import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_SEQUENTIAL_WRITE_BY
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITEQUEUE_OVERFLOW;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITEQUEUE_OVERFLOW_FAILURES;
 import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITES_FROM_WRITEQUEUE;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITE_95_US;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITE_99_US;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITE_AVG_US;
+import static com.sleepycat.je.log.LogStatDefinition.FILEMGR_WRITE_MAX_US;
 
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -57,6 +65,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.sleepycat.je.DatabaseException;
@@ -226,6 +235,18 @@ public class FileManager {
      */
     private final boolean useODSYNC;
 
+    /*
+     * Use direct I/O to write the end of the log. Cleared if direct I/O
+     * cannot be used for a log file.
+     */
+    private volatile boolean useDirectIO;
+
+    /*
+     * Use positional FileChannel reads, which do not move the file pointer,
+     * so that cached file handles can be shared by concurrent readers.
+     */
+    private final boolean usePositionalRead;
+
     /* public for unit tests. */
     public boolean VERIFY_CHECKSUMS = false;
 
@@ -292,6 +313,7 @@ public class FileManager {
     final LongStat nSequentialWriteBytes;
     final IntStat nFileOpens;
     final IntStat nOpenFiles;
+    final LongStat nPositionalReads;
     final LongStat nBytesReadFromWriteQueue;
     final LongStat nBytesWrittenFromWriteQueue;
     final LongStat nReadsFromWriteQueue;
@@ -304,6 +326,19 @@ public class FileManager {
     final LatencyPercentileStat fSync95Ms;
     final LatencyPercentileStat fSync99Ms;
     final LongMaxZeroStat fSyncMaxMs;
+    final LongAvgStat writeAvgUs;
+    final LatencyPercentileStat write95Us;
+    final LatencyPercentileStat write99Us;
+    final LongMaxZeroStat writeMaxUs;
+    final LongStat nFileSwitches;
+    final LongAvgStat fileSwitchAvgMs;
+    final LongMaxZeroStat fileSwitchMaxMs;
+
+    /*
+     * The write latency percentiles are tracked in microseconds up to this
+     * value, and larger values are reported as this value.
+     */
+    private static final int MAX_TRACKED_WRITE_US = 100000;
 
     /**
      * Set up the file cache and initialize the file manager to point to the
@@ -340,6 +375,7 @@ public class FileManager {
             new LongStat(stats, FILEMGR_SEQUENTIAL_WRITE_BYTES);
         nFileOpens = new IntStat(stats, FILEMGR_FILE_OPENS);
         nOpenFiles = new IntStat(stats, FILEMGR_OPEN_FILES);
+        nPositionalReads = new LongStat(stats, FILEMGR_POSITIONAL_READS);
         nBytesReadFromWriteQueue =
             new LongStat(stats, FILEMGR_BYTES_READ_FROM_WRITEQUEUE);
         nBytesWrittenFromWriteQueue =
@@ -358,6 +394,16 @@ public class FileManager {
         fSync99Ms =
             new LatencyPercentileStat(stats, FILEMGR_FSYNC_99_MS, 0.99f);
         fSyncMaxMs = new LongMaxZeroStat(stats, FILEMGR_FSYNC_MAX_MS);
+        writeAvgUs = new LongAvgStat(stats, FILEMGR_WRITE_AVG_US);
+        write95Us = new LatencyPercentileStat(
+            stats, FILEMGR_WRITE_95_US, 0.95f, MAX_TRACKED_WRITE_US);
+        write99Us = new LatencyPercentileStat(
+            stats, FILEMGR_WRITE_99_US, 0.99f, MAX_TRACKED_WRITE_US);
+        writeMaxUs = new LongMaxZeroStat(stats, FILEMGR_WRITE_MAX_US);
+        nFileSwitches = new LongStat(stats, FILEMGR_FILE_SWITCHES);
+        fileSwitchAvgMs = new LongAvgStat(stats, FILEMGR_FILE_SWITCH_AVG_MS);
+        fileSwitchMaxMs =
+            new LongMaxZeroStat(stats, FILEMGR_FILE_SWITCH_MAX_MS);
 
         try {
             /* Read configurations. */
@@ -374,6 +420,23 @@ public class FileManager {
             useODSYNC = configManager.getBoolean(
                 EnvironmentParams.LOG_USE_ODSYNC);
 
+            useDirectIO = configManager.getBoolean(
+                EnvironmentParams.LOG_USE_DIRECT_IO) &&
+                !readOnly &&
+                !envImpl.isMemOnly();
+
+            if (useDirectIO && !DirectLogWriter.isSupported()) {
+                useDirectIO = false;
+                LoggerUtils.warning(
+                    envImpl.getLogger(), envImpl,
+                    EnvironmentParams.LOG_USE_DIRECT_IO.getName() +
+                    " is ignored because direct I/O is not supported by" +
+                    " this Java version.");
+            }
+
+            usePositionalRead = configManager.getBoolean(
+                EnvironmentParams.LOG_USE_POSITIONAL_READ);
+
             VERIFY_CHECKSUMS = configManager.getBoolean(
                 EnvironmentParams.LOG_VERIFY_CHECKSUMS);
 
@@ -1305,6 +1368,15 @@ public class FileManager {
                             clearFileCache(fileNum);
                         }
                     }
+                } else if (usePositionalRead) {
+
+                    /*
+                     * The handle was found in the cache.  Readers use
+                     * positional reads and can share the handle, so latch it
+                     * in shared mode.  This only waits for a thread that is
+                     * opening or closing the handle.
+                     */
+                    fileHandle.latchShared();
                 } else {
 
                     /*
@@ -1368,8 +1440,8 @@ public class FileManager {
     private FileHandle addFileHandle(Long fileNum)
         throws IOException, DatabaseException {
 
-        FileHandle fileHandle =
-            new FileHandle(envImpl, fileNum, getFileNumberString(fileNum));
+        FileHandle fileHandle = new FileHandle(
+            envImpl, fileNum, getFileNumberString(fileNum), usePositionalRead);
         fileCache.add(fileNum, fileHandle);
         fileHandle.latch();
         return fileHandle;
@@ -1773,14 +1845,15 @@ public class FileManager {
                  * a header [#11915] [#12616].
                  */
                 assert fullBuffer.getRewriteAllowed() ||
-                    (DbLsn.getFileOffset(firstLsn) >= file.length() ||
-                     file.length() == firstLogEntryOffset()) :
+                    (DbLsn.getFileOffset(firstLsn) >=
+                        endOfLog.getFileLength(file) ||
+                     endOfLog.getFileLength(file) == firstLogEntryOffset()) :
                         "FileManager would overwrite non-empty file 0x" +
                         Long.toHexString(DbLsn.getFileNumber(firstLsn)) +
                         " lsnOffset=0x" +
                         Long.toHexString(DbLsn.getFileOffset(firstLsn)) +
                         " fileLength=0x" +
-                        Long.toHexString(file.length());
+                        Long.toHexString(endOfLog.getFileLength(file));
 
                 if (LOGWRITE_EXCEPTION_TESTING) {
                     generateLogWriteException
@@ -1870,8 +1943,9 @@ public class FileManager {
 
                 synchronized (file) {
 
-                    file.seek(destOffset);
-                    file.write(data.array(), pos + data.arrayOffset(), size);
+                    endOfLog.write(
+                        file, data.array(), pos + data.arrayOffset(), size,
+                        destOffset);
 
                     if (VERIFY_CHECKSUMS) {
                         file.seek(destOffset);
@@ -2008,6 +2082,11 @@ public class FileManager {
                                       long fileNum)
         throws IOException {
 
+        if (usePositionalRead) {
+            readFromFilePositional(file, readBuffer, offset, fileNum);
+            return;
+        }
+
         /*
          * Perform a RandomAccessFile read and update the buffer position.
          * ByteBuffer.array() is safe to use since all non-direct ByteBuffers
@@ -2042,6 +2121,51 @@ public class FileManager {
         }
     }
 
+    /**
+     * Performs a positional FileChannel read, which does not use or change
+     * the file pointer.  No synchronization on the file object is needed, so
+     * threads sharing a file handle may read concurrently.  The I/O stats
+     * fields are updated without synchronization, since they are only used
+     * to classify reads as random or sequential.
+     */
+    private void readFromFilePositional(RandomAccessFile file,
+                                        ByteBuffer readBuffer,
+                                        long offset,
+                                        long fileNum)
+        throws IOException {
+
+        final int size = readBuffer.remaining();
+
+        if (lastFileNumberTouched == fileNum &&
+            (Math.abs(offset - lastFileTouchedOffset) <
+             ADJACENT_TRACK_SEEK_DELTA)) {
+            nSequentialReads.increment();
+            nSequentialReadBytes.add(size);
+        } else {
+            nRandomReads.increment();
+            nRandomReadBytes.add(size);
+        }
+        nPositionalReads.increment();
+
+        final FileChannel channel = file.getChannel();
+        long position = offset;
+
+        /*
+         * Unlike RandomAccessFile.read, a channel read may return fewer bytes
+         * than are available, so loop until the buffer is full or EOF.
+         */
+        while (readBuffer.hasRemaining()) {
+            final int bytesRead = channel.read(readBuffer, position);
+            if (bytesRead <= 0) {
+                break;
+            }
+            position += bytesRead;
+        }
+
+        lastFileNumberTouched = fileNum;
+        lastFileTouchedOffset = position;
+    }
+
     private void printLogBuffer(ByteBuffer entryBuffer, long lsn) {
 
         int curPos = entryBuffer.position();
@@ -2112,7 +2236,7 @@ public class FileManager {
         }
         ChecksumValidator validator = null;
         /* Add header to checksum bytes */
-        validator = new ChecksumValidator(envImpl);
+        validator = new ChecksumValidator(envImpl, header);
         int headerSizeMinusChecksum = header.getSizeMinusChecksum();
         int itemStart = entryBuffer.position();
         entryBuffer.position(itemStart - headerSizeMinusChecksum);
@@ -2514,6 +2638,9 @@ public class FileManager {
             return;
         }
 
+        /* The file may be the end of the log, written with direct I/O. */
+        endOfLog.clearDirectWriterCache();
+
         /* Open this file. */
         FileHandle handle = null;
         try {
@@ -2860,6 +2987,12 @@ public class FileManager {
     class LogEndFileDescriptor {
         private RandomAccessFile endOfLogRWFile = null;
         private RandomAccessFile endOfLogSyncFile = null;
+
+        /*
+         * Used instead of endOfLogRWFile to write when direct I/O is used.
+         * Protected by fsyncFileSynchronizer, like the writes.
+         */
+        private DirectLogWriter endOfLogDirectWriter = null;
         private final ReentrantLock fsyncFileSynchronizer = new ReentrantLock();
 
         /*
@@ -3084,8 +3217,8 @@ public class FileManager {
 
                     RandomAccessFile file = getWritableFile(qwFileNum, false);
                     synchronized (file) {
-                        file.seek(qwStartingOffset);
-                        file.write(queuedWrites, 0, queuedWritesPosition);
+                        write(file, queuedWrites, 0, queuedWritesPosition,
+                              qwStartingOffset);
                         nBytesWrittenFromWriteQueue.add(queuedWritesPosition);
                         nWritesFromWriteQueue.increment();
                         if (VERIFY_CHECKSUMS) {
@@ -3142,6 +3275,10 @@ public class FileManager {
                             makeFileHandle(fileNumber,
                                            getAppropriateReadWriteMode()).
                             getFile();
+                        if (useDirectIO) {
+                            endOfLogDirectWriter =
+                                openDirectWriter(fileNumber);
+                        }
                     } finally {
                         if (doLock) {
                             fsyncFileSynchronizer.unlock();
@@ -3161,6 +3298,83 @@ public class FileManager {
             }
         }
 
+        /**
+         * Opens the file for writing with direct I/O, or returns null and
+         * disables direct I/O if the file system does not support it.
+         */
+        private DirectLogWriter openDirectWriter(final long fileNumber) {
+            final File file = new File(getFullFileName(fileNumber));
+            try {
+                return new DirectLogWriter(file);
+            } catch (IOException | UnsupportedOperationException e) {
+                useDirectIO = false;
+                LoggerUtils.warning(
+                    envImpl.getLogger(), envImpl,
+                    "Direct I/O is disabled because it is not supported" +
+                    " for " + file + ": " + e);
+                return null;
+            }
+        }
+
+        /**
+         * Writes data to the end of the log, using direct I/O if it is
+         * enabled for the file, and updates the write latency stats.
+         *
+         * The fsyncFileSynchronizer and the file mutex must be held.
+         */
+        private void write(final RandomAccessFile file,
+                           final byte[] data,
+                           final int off,
+                           final int len,
+                           final long destOffset)
+            throws IOException {
+
+            final long start = System.nanoTime();
+
+            if (endOfLogDirectWriter != null && file == endOfLogRWFile) {
+                endOfLogDirectWriter.write(data, off, len, destOffset);
+            } else {
+                file.seek(destOffset);
+                file.write(data, off, len);
+            }
+
+            final long writeUs = TimeUnit.NANOSECONDS.toMicros(
+                System.nanoTime() - start);
+            writeAvgUs.add(writeUs);
+            write95Us.add(writeUs);
+            write99Us.add(writeUs);
+            writeMaxUs.setMax(writeUs);
+        }
+
+        /**
+         * Returns the length of the given file, excluding any padding at the
+         * end written by the direct writer. For assertions.
+         */
+        private long getFileLength(final RandomAccessFile file)
+            throws IOException {
+
+            final DirectLogWriter writer = endOfLogDirectWriter;
+            if (writer != null && file == endOfLogRWFile) {
+                return writer.getDataEnd();
+            }
+            return file.length();
+        }
+
+        /**
+         * Discards any data cached by the direct writer, because the end of
+         * log file may be modified other than by writing.
+         */
+        private void clearDirectWriterCache() {
+            fsyncFileSynchronizer.lock();
+            try {
+                if (endOfLogDirectWriter != null) {
+                    endOfLogDirectWriter.clearTail();
+                }
+            } finally {
+                fsyncFileSynchronizer.unlock();
+            }
+        }
+
         /**
          * FSync the log file that makes up the end of the log.
          */
@@ -3189,6 +3403,11 @@ public class FileManager {
                     bumpWriteCount("fsync");
                     FileChannel ch = file.getChannel();
 
+                    /* Remove direct write padding before it is made durable. */
+                    if (endOfLogDirectWriter != null) {
+                        endOfLogDirectWriter.trim();
+                    }
+
                     long start = System.currentTimeMillis();
                     try {
                         ch.force(false);
@@ -3259,6 +3478,17 @@ public class FileManager {
                         firstException = e;
                     }
                 }
+                if (endOfLogDirectWriter != null) {
+                    DirectLogWriter writer = endOfLogDirectWriter;
+                    endOfLogDirectWriter = null;
+                    try {
+                        writer.close();
+                    } catch (IOException e) {
+                        if (firstException == null) {
+                            firstException = e;
+                        }
+                    }
+                }
                 if (endOfLogSyncFile != null) {
                     RandomAccessFile file = endOfLogSyncFile;
 
@@ -3398,6 +3628,16 @@ public class FileManager {
         }
     };
 
+    /**
+     * Update file switch statistics given that moving to a new log file took
+     * the specified amount of time in the logging critical section.
+     */
+    void noteFileSwitchTime(long switchMs) {
+        nFileSwitches.increment();
+        fileSwitchAvgMs.add(switchMs);
+        fileSwitchMaxMs.setMax(switchMs);
+    }
+
     /**
      * Update fsync statistics given that an fsync was performed which took the
      * specified amount of time in milliseconds.  Returns true if this value is
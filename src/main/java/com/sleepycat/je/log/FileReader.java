@@ -697,7 +697,7 @@ public abstract class FileReader {
         }
 
         /* Clear out any previous data. */
-        cksumValidator.reset();
+        cksumValidator.reset(currentEntryHeader);
 
         int originalPosition = dataBuffer.position();
         if (currentEntryHeader.isInvisible()) {
@@ -37,7 +37,10 @@ import com.sleepycat.je.utilint.DbLsn;
  * The pin count is incremented under the readLatch. The
  * pin count is decremented without holding the latch.
  * Holding the readLatch will prevent the pin count from
- * being incremented.
+ * being incremented. Data is copied into a segment without
+ * holding the latch; the atomic decrement of the pin count
+ * makes the copied data visible to a reader that observes a
+ * zero pin count.
  *
  * Apart from the pin count, access to the buffer is protected by the
  * readLatch and the LWL:
@@ -314,7 +317,8 @@ public class LogBuffer implements LogSource {
     }
 
     /**
-     * Called with the buffer not latched.
+     * Called with the buffer not latched, after the data for a segment has
+     * been copied into the buffer.
      */
     public void free() {
         writePinCount.decrementAndGet();
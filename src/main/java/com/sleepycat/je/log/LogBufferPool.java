@@ -59,8 +59,9 @@ import com.sleepycat.je.utilint.StatGroup;
  * A LogBuffer has a pin count (LogBuffer.writePinCount) associated with
  * it. The pin count is incremented when space is allocated in the buffer.
  * The allocation of space is serialized under the LWL. Threads will add
- * data to the buffer by latching the buffer, but without holding the LWL.
- * After the data is added, the pin count is decremented. A buffer cannot be
+ * data to the buffer without holding the LWL or the buffer latch, so that
+ * entries are copied in parallel. After the data is added, the pin count is
+ * decremented. A buffer cannot be
  * used for reading unless the pin count is zero. It should be noted that the
  * increment of the pin count is done with the buffer latched. The decrement
  * does not latch the buffer.
@@ -73,16 +74,44 @@ import com.sleepycat.je.utilint.StatGroup;
  * The worst case is when the reader has to wait until the buffer
  * is filled (the pin count would be zero).
  *
+ * When EnvironmentConfig.LOG_MAX_NUM_BUFFERS is greater than the configured
+ * number of buffers, the size of the pool adapts to the write rate. When the
+ * current write buffer cannot be bumped because there is no free buffer, a
+ * new buffer is inserted in the ring after the current write buffer, rather
+ * than writing the dirty buffers under the LWL. When the buffers have been
+ * cycled SHRINK_BUMPS_PER_BUFFER times without a buffer shortage, a clean
+ * buffer is removed. The pool never shrinks below the configured number of
+ * buffers. Insertion and removal are done under the LWL and the
+ * bufferPoolLatch, and adjust the dirty and current buffer indexes.
+ *
  * @see LogBuffer
  */
 class LogBufferPool {
     private static final String DEBUG_NAME = LogBufferPool.class.getName();
 
+    /*
+     * When the pool is sized adaptively, an added buffer is removed after
+     * this many bumps per buffer occur without a buffer shortage.
+     */
+    private static final int SHRINK_BUMPS_PER_BUFFER = 4;
+
     private EnvironmentImpl envImpl = null;
     private int nLogBuffers;
     private int logBufferSize;      // size of each log buffer
     private LinkedList<LogBuffer> bufferPool;
 
+    /*
+     * Adaptive sizing. maxLogBuffers is zero if the pool has a fixed size.
+     * minLogBuffers is the configured number of buffers. extraBufferBytes is
+     * the memory of the added buffers, which is counted as admin memory
+     * since it is not part of the log buffer budget. These fields are
+     * changed under the LWL and the buffer pool latch.
+     */
+    private int minLogBuffers;
+    private int maxLogBuffers;
+    private int bumpsWithoutShortage;
+    private long extraBufferBytes;
+
     /*
      * The dirty start/end are the indexes of the first/last dirty buffers.
      * These dirty buffers do not include the current write buffer.
@@ -228,6 +257,9 @@ class LogBufferPool {
             newPool.add(new LogBuffer(newBufferSize, envImpl));
         }
 
+        final int maxBuffers = runInMemory ?
+            0 : configManager.getInt(EnvironmentParams.LOG_MAX_NUM_BUFFERS);
+
         /*
          * The following applies when this method is called to reset the pool
          * when an existing pool is in use:
@@ -245,6 +277,11 @@ class LogBufferPool {
         bufferPool = newPool;
         nLogBuffers = numBuffers;
         logBufferSize = newBufferSize;
+        minLogBuffers = numBuffers;
+        maxLogBuffers = (maxBuffers > numBuffers) ? maxBuffers : 0;
+        bumpsWithoutShortage = 0;
+        envImpl.getMemoryBudget().updateAdminMemoryUsage(0 - extraBufferBytes);
+        extraBufferBytes = 0;
         /* Current buffer is the active buffer that writes go into. */
         currentWriteBuffer = bufferPool.getFirst();
         currentWriteBufferIndex = 0;
@@ -289,6 +326,8 @@ class LogBufferPool {
          */
         if (flippedFile) {
 
+            final long startTime = System.currentTimeMillis();
+
             /*
              * Write the dirty buffers to the file and get an empty
              * currentWriteBuffer.
@@ -300,6 +339,8 @@ class LogBufferPool {
             /* Now that the buffers have been written, fsync. */
             if (!runInMemory) {
                 fileManager.syncLogEndAndFinishFile();
+                fileManager.noteFileSwitchTime(
+                    System.currentTimeMillis() - startTime);
             }
         } else if (!currentWriteBuffer.hasRoom(sizeNeeded)) {
 
@@ -554,7 +595,12 @@ class LogBufferPool {
                 /* Check to see if there is an undirty buffer to use. */
                 if (getNextSlot(currentWriteBufferIndex) == dirtyStart) {
                     nNoFreeBuffer.increment();
-                    return false;
+                    bumpsWithoutShortage = 0;
+
+                    /* Add a buffer if allowed, otherwise caller flushes. */
+                    if (!addBuffer()) {
+                        return false;
+                    }
                 }
             }
 
@@ -568,6 +614,15 @@ class LogBufferPool {
             /* Assign currentWriteBuffer with the latch held. */
             currentWriteBuffer = nextToUse;
 
+            if (maxLogBuffers > 0 &&
+                bufferPool.size() > minLogBuffers &&
+                ++bumpsWithoutShortage >=
+                    bufferPool.size() * SHRINK_BUMPS_PER_BUFFER &&
+                removeBuffer()) {
+                newInitialBuffer =
+                    bufferPool.get(getNextSlot(currentWriteBufferIndex));
+            }
+
             /* Paranoia: do this after transition to new buffer. */
             updateMinBufferLsn(newInitialBuffer);
             return true;
@@ -577,6 +632,75 @@ class LogBufferPool {
         }
     }
 
+    /**
+     * Inserts a new buffer in the ring after the current write buffer, if
+     * the pool is sized adaptively and is smaller than its maximum size.
+     * Dirty buffers following the current write buffer are shifted by one.
+     *
+     * The LWL and bufferPoolLatch must be held.
+     *
+     * @return whether a buffer was added.
+     */
+    private boolean addBuffer() {
+        assert bufferPoolLatch.isExclusiveOwner();
+
+        if (bufferPool.size() >= maxLogBuffers) {
+            return false;
+        }
+
+        final int newIndex = currentWriteBufferIndex + 1;
+        bufferPool.add(newIndex, new LogBuffer(logBufferSize, envImpl));
+
+        if (dirtyStart >= newIndex) {
+            dirtyStart += 1;
+        }
+        if (dirtyEnd >= newIndex) {
+            dirtyEnd += 1;
+        }
+
+        nLogBuffers = bufferPool.size();
+        extraBufferBytes += logBufferSize;
+        envImpl.getMemoryBudget().updateAdminMemoryUsage(logBufferSize);
+        return true;
+    }
+
+    /**
+     * Removes the clean buffer that follows the current write buffer, if
+     * there is one. A reader that has latched the removed buffer may still
+     * use it, but it will no longer be found by getReadBufferByLsn. Its
+     * contents have already been written.
+     *
+     * The LWL and bufferPoolLatch must be held.
+     *
+     * @return whether a buffer was removed.
+     */
+    private boolean removeBuffer() {
+        assert bufferPoolLatch.isExclusiveOwner();
+
+        final int removeIndex = getNextSlot(currentWriteBufferIndex);
+        if (removeIndex == dirtyStart) {
+            return false;
+        }
+
+        bufferPool.remove(removeIndex);
+
+        if (currentWriteBufferIndex > removeIndex) {
+            currentWriteBufferIndex -= 1;
+        }
+        if (dirtyStart > removeIndex) {
+            dirtyStart -= 1;
+        }
+        if (dirtyEnd > removeIndex) {
+            dirtyEnd -= 1;
+        }
+
+        nLogBuffers = bufferPool.size();
+        bumpsWithoutShortage = 0;
+        extraBufferBytes -= logBufferSize;
+        envImpl.getMemoryBudget().updateAdminMemoryUsage(0 - logBufferSize);
+        return true;
+    }
+
     /**
      * Set minBufferLsn to start of new initial buffer.  The update occurs only
      * after cycling once through the buffers in the pool.  This is a simple
@@ -38,14 +38,16 @@ class LogBufferSegment {
     public void put(ByteBuffer dataToCopy) {
 
         /*
-         * The acquisition of the log buffer latch is
-         * done to guarantee the java happens-before
-         * semantic. There is no other reason to take the
-         * latch here.
+         * The buffer latch is not acquired, so that writers copy their
+         * entries in parallel and do not contend with the thread allocating
+         * the next segment under the LWL. The happens-before relationship
+         * with readers is provided by the pin count: free() is an atomic
+         * decrement, and a reader does not access the buffer until it has
+         * read a zero pin count (see LogBuffer.waitForZeroAndLatch). Each
+         * segment is a disjoint region of the buffer, so concurrent copies
+         * do not interfere.
          */
-        logBuffer.latchForWrite();
         data.put(dataToCopy);
-        logBuffer.release();
         logBuffer.free();
     }
 }
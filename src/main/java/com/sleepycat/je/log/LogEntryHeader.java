@@ -18,6 +18,7 @@ import java.util.zip.Checksum;
 
 import com.sleepycat.je.log.entry.LogEntry;
 import com.sleepycat.je.utilint.Adler32;
+import com.sleepycat.je.utilint.CRC32C;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.VLSN;
 
@@ -98,6 +99,11 @@ public class LogEntryHeader {
     private static final byte INVISIBLE = (byte) 0x10;
     private static final byte IGNORE_INVISIBLE = ~INVISIBLE;
     private static final byte VLSN_PRESENT = (byte) 0x08;
+    /*
+     * The checksum is a CRC32C rather than an Adler32 value.  Only used for
+     * log version LOG_VERSION_CRC32C and greater.
+     */
+    private static final byte CRC32C_MASK = (byte) 0x04;
     /* Flags stored in version byte for logVersion 6 and below.*/
     private static final byte VERSION_6_FLAGS =
         PROVISIONAL_ALWAYS_MASK |
@@ -143,6 +149,7 @@ public class LogEntryHeader {
     private boolean replicated;
     private boolean invisible;
     private boolean vlsnPresent;
+    private boolean crc32c;
 
     /**
      * For reading a log entry.
@@ -215,11 +222,26 @@ public class LogEntryHeader {
     }
 
     /**
-     * For writing a log header. public for unit tests.
+     * For writing a log header with an Adler32 checksum. public for unit
+     * tests.
      */
     public LogEntryHeader(LogEntry entry,
                           Provisional provisional,
                           ReplicationContext repContext) {
+        this(entry, provisional, repContext, false /*crc32c*/);
+    }
+
+    /**
+     * For writing a log header.
+     *
+     * @param crc32c is true to use a CRC32C rather than an Adler32 checksum.
+     * It is ignored for the FileHeader entry, which may not have flags, and
+     * for log versions prior to LOG_VERSION_CRC32C.
+     */
+    public LogEntryHeader(LogEntry entry,
+                          Provisional provisional,
+                          ReplicationContext repContext,
+                          boolean crc32c) {
 
         LogEntryType logEntryType = entry.getLogType();
         entryType = logEntryType.getTypeNum();
@@ -237,6 +259,9 @@ public class LogEntryHeader {
             this.replicated = false;
         }
         invisible = false;
+        this.crc32c = crc32c &&
+            (entryType != FILE_HEADER_TYPE_NUM) &&
+            (entryVersion >= LogEntryType.LOG_VERSION_CRC32C);
 
         /*
          * If we about to write a new replicated entry, the VLSN will be null
@@ -280,6 +305,8 @@ public class LogEntryHeader {
         replicated = ((entryFlags & REPLICATED_MASK) != 0);
         invisible = ((entryFlags & INVISIBLE) != 0);
         vlsnPresent = ((entryFlags & VLSN_PRESENT) != 0) || replicated;
+        crc32c = ((entryFlags & CRC32C_MASK) != 0) &&
+            (entryVersion >= LogEntryType.LOG_VERSION_CRC32C);
     }
 
     /**
@@ -330,6 +357,21 @@ public class LogEntryHeader {
         return invisible;
     }
 
+    /**
+     * Returns whether the checksum of this entry is a CRC32C rather than an
+     * Adler32 value.
+     */
+    public boolean isCRC32C() {
+        return crc32c;
+    }
+
+    /**
+     * Returns a new Checksum of the type used for this entry.
+     */
+    public Checksum makeChecksum() {
+        return crc32c ? CRC32C.makeChecksum() : Adler32.makeChecksum();
+    }
+
     /**
      * Returns whether the type of this entry has been changed to LOG_ERASED.
      *
@@ -411,6 +453,9 @@ public class LogEntryHeader {
         if (vlsnPresent) {
             flags |= VLSN_PRESENT;
         }
+        if (crc32c) {
+            flags |= CRC32C_MASK;
+        }
         entryBuffer.put(flags);
 
         /*
@@ -461,7 +506,7 @@ public class LogEntryHeader {
          * to set the field in this instance, for use later when printing or
          * debugging the header.
          */
-        Checksum checksum = Adler32.makeChecksum();
+        Checksum checksum = makeChecksum();
         checksum.update(entryBuffer.array(),
                         entryBuffer.arrayOffset() + CHECKSUM_BYTES,
                         entryBuffer.limit() - CHECKSUM_BYTES);
@@ -517,6 +562,10 @@ public class LogEntryHeader {
             sb.append(" isInvisible=\"1\"");
         }
 
+        if (isCRC32C()) {
+            sb.append(" isCRC32C=\"1\"");
+        }
+
         sb.append(" prev=\"0x").append(Long.toHexString(prevOffset));
         if (verbose) {
             sb.append("\" size=\"").append(itemSize);
@@ -547,7 +596,7 @@ public class LogEntryHeader {
          * so don't just turn the whole buffer into an array to pass
          * into the checksum object.
          */
-        Checksum checksum = Adler32.makeChecksum();
+        Checksum checksum = makeChecksum();
         int checksumSize = itemSize + (getSize() - CHECKSUM_BYTES);
         checksum.update(entryBuffer.array(),
                         entryTypePosition + entryBuffer.arrayOffset(),
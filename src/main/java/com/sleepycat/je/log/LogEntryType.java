@@ -234,8 +234,17 @@ public class LogEntryType {
      *
      * [#26954] LOG_ERASED type was added. Also added new _jeMetadata
      * internal DB.
+     *
+     * Version 18 (in JE 18.3.13)
+     * ----------------------
+     * Added the CRC32C entry header flag, which indicates that the entry
+     * checksum is a CRC32C rather than an Adler32 value.
+     *
+     * Added the dataCompressed flag to LNLogEntry, which indicates that the
+     * LN data is stored in compressed form. Compressed data is never written
+     * in the replication format.
      */
-    public static final int LOG_VERSION = 17;
+    public static final int LOG_VERSION = 18;
 
     /**
      * The latest log version for which the replicated log format of any
@@ -268,6 +277,16 @@ public class LogEntryType {
      */
     public static final int LOG_VERSION_DURABLE_VLSN = 13;
 
+    /*
+     * The log version that added the CRC32C entry header flag.
+     */
+    public static final int LOG_VERSION_CRC32C = 18;
+
+    /*
+     * The log version that added compressed LN data.
+     */
+    public static final int LOG_VERSION_COMPRESSED_LN = 18;
+
     /**
      * Should be used for reading the entry header of the file header, since
      * the actual version is not known until the FileHeader item is read.
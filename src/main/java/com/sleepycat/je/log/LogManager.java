@@ -16,6 +16,9 @@ package com.sleepycat.je.log;
 import static com.sleepycat.je.log.LogStatDefinition.GROUP_DESC;
 import static com.sleepycat.je.log.LogStatDefinition.GROUP_NAME;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_END_OF_LOG;
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LNS_COMPRESSED;
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LN_COMPRESSED_BYTES;
+import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_LN_COMPRESS_RAW_BYTES;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_REPEAT_FAULT_READS;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_REPEAT_ITERATOR_READS;
 import static com.sleepycat.je.log.LogStatDefinition.LOGMGR_TEMP_BUFFER_WRITES;
@@ -25,6 +28,7 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import com.sleepycat.je.DatabaseException;
@@ -42,6 +46,7 @@ import com.sleepycat.je.log.entry.LogEntry;
 import com.sleepycat.je.log.entry.RestoreRequired;
 import com.sleepycat.je.txn.WriteLockInfo;
 import com.sleepycat.je.util.verify.VerifierUtils;
+import com.sleepycat.je.utilint.AtomicLongStat;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.LSNStat;
 import com.sleepycat.je.utilint.LongStat;
@@ -62,6 +67,7 @@ public class LogManager {
     private final LogBufferPool logBufferPool; // log buffers
     private final Object logWriteMutex;           // synchronizes log writes
     private final boolean doChecksumOnRead;      // if true, do checksum on read
+    private final boolean useCRC32C;             // CRC32C checksums on write
     private final FileManager fileManager;       // access to files
     private final FSyncManager grpManager;
     private final EnvironmentImpl envImpl;
@@ -97,6 +103,15 @@ public class LogManager {
     /* The location of the next entry to be written to the log. */
     private final LSNStat endOfLog;
 
+    /*
+     * Number of LNs written with compressed data, and the uncompressed and
+     * compressed sizes of their data. Incremented by application threads
+     * outside the log write latch.
+     */
+    private final AtomicLongStat nLNsCompressed;
+    private final AtomicLongStat lnCompressRawBytes;
+    private final AtomicLongStat lnCompressedBytes;
+
     /*
      * Used to determine if we switched log buffers. For
      * NOSYNC durability, if we switched log buffers,
@@ -153,6 +168,8 @@ public class LogManager {
         /* See if we're configured to do a checksum when reading in objects. */
         doChecksumOnRead =
             configManager.getBoolean(EnvironmentParams.LOG_CHECKSUM_READ);
+        useCRC32C =
+            configManager.getBoolean(EnvironmentParams.LOG_CHECKSUM_CRC32C);
 
         logWriteMutex = new Object();
         readBufferSize =
@@ -165,6 +182,21 @@ public class LogManager {
             new LongStat(stats, LOGMGR_REPEAT_ITERATOR_READS);
         nTempBufferWrites = new LongStat(stats, LOGMGR_TEMP_BUFFER_WRITES);
         endOfLog = new LSNStat(stats, LOGMGR_END_OF_LOG);
+        nLNsCompressed = new AtomicLongStat(stats, LOGMGR_LNS_COMPRESSED);
+        lnCompressRawBytes =
+            new AtomicLongStat(stats, LOGMGR_LN_COMPRESS_RAW_BYTES);
+        lnCompressedBytes =
+            new AtomicLongStat(stats, LOGMGR_LN_COMPRESSED_BYTES);
+    }
+
+    /**
+     * Counts an LN whose data will be written in compressed form.
+     */
+    public void countLNCompression(final int rawBytes,
+                                   final int compressedBytes) {
+        nLNsCompressed.increment();
+        lnCompressRawBytes.add(rawBytes);
+        lnCompressedBytes.add(compressedBytes);
     }
 
     boolean getChecksumOnRead() {
@@ -333,7 +365,8 @@ public class LogManager {
             if (logEntry.getLogType().marshallOutsideLatch()) {
 
                 item.header = new LogEntryHeader(
-                    logEntry, params.provisional, params.repContext);
+                    logEntry, params.provisional, params.repContext,
+                    useCRC32C);
 
                 item.buffer = marshallIntoBuffer(item.header, logEntry);
             }
@@ -589,7 +622,8 @@ public class LogManager {
         } else {
             assert item.header == null;
             item.header = new LogEntryHeader(
-                params.entry, params.provisional, params.repContext);
+                params.entry, params.provisional, params.repContext,
+                useCRC32C);
             entrySize = item.header.getEntrySize();
         }
 
@@ -1099,7 +1133,7 @@ public class LogManager {
             }
 
             /* Add header to checksum bytes */
-            validator = new ChecksumValidator(envImpl);
+            validator = new ChecksumValidator(envImpl, header);
             int headerSizeMinusChecksum = header.getSizeMinusChecksum();
             entryBuffer.position(itemStart -
                                  headerSizeMinusChecksum);
@@ -1334,6 +1368,30 @@ public class LogManager {
         flushInternal(true /*flushWriteQueue*/);
     }
 
+    /**
+     * Flush all log entries to the log, and perform an fsync if fsyncRequired
+     * is true, in the async commit flusher thread. Used for asynchronous
+     * commits, after the commit entry has been logged without flushing.
+     *
+     * @return a future that completes when the flush and fsync are done.
+     */
+    public CompletableFuture<Void> flushAsync(boolean fsyncRequired) {
+
+        if (readOnly) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return grpManager.flushAndSyncAsync(fsyncRequired);
+    }
+
+    /**
+     * Completes pending asynchronous flushes and stops the async commit
+     * flusher thread. Later requests are performed synchronously.
+     */
+    public void shutdownAsyncFlushes() {
+        grpManager.shutdownAsync();
+    }
+
     /**
      * Flush log buffers, but do not flush the write queue. This is used only
      * by FsyncManager, just prior to an fsync. When FsyncManager performs the
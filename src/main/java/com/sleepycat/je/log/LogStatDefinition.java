@@ -144,6 +144,16 @@ public class LogStatDefinition {
             FILEMGR_OPEN_FILES_DESC,
             StatType.CUMULATIVE);
 
+    public static final String FILEMGR_POSITIONAL_READS_NAME =
+        "nPositionalReads";
+    public static final String FILEMGR_POSITIONAL_READS_DESC =
+        "Number of disk reads performed with a positional channel read, " +
+            "without blocking other readers of the same file.";
+    public static final StatDefinition FILEMGR_POSITIONAL_READS =
+        new StatDefinition(
+            FILEMGR_POSITIONAL_READS_NAME,
+            FILEMGR_POSITIONAL_READS_DESC);
+
     public static final String FILEMGR_BYTES_READ_FROM_WRITEQUEUE_NAME =
         "nBytesReadFromWriteQueue";
     public static final String FILEMGR_BYTES_READ_FROM_WRITEQUEUE_DESC =
@@ -202,6 +212,64 @@ public class LogStatDefinition {
             FILEMGR_WRITEQUEUE_OVERFLOW_FAILURES_NAME,
             FILEMGR_WRITEQUEUE_OVERFLOW_FAILURES_DESC);
 
+    public static final String FILEMGR_WRITE_AVG_US_NAME = "writeAvgUs";
+    public static final String FILEMGR_WRITE_AVG_US_DESC =
+        "Average number of microseconds used to perform log file writes, " +
+            "not including writes to the write queue.";
+    public static final StatDefinition FILEMGR_WRITE_AVG_US =
+        new StatDefinition(FILEMGR_WRITE_AVG_US_NAME,
+                           FILEMGR_WRITE_AVG_US_DESC);
+
+    public static final String FILEMGR_WRITE_95_US_NAME = "write95Us";
+    public static final String FILEMGR_WRITE_95_US_DESC =
+        "95th percentile of microseconds used to perform log file writes.";
+    public static final StatDefinition FILEMGR_WRITE_95_US =
+        new StatDefinition(FILEMGR_WRITE_95_US_NAME,
+                           FILEMGR_WRITE_95_US_DESC);
+
+    public static final String FILEMGR_WRITE_99_US_NAME = "write99Us";
+    public static final String FILEMGR_WRITE_99_US_DESC =
+        "99th percentile of microseconds used to perform log file writes.";
+    public static final StatDefinition FILEMGR_WRITE_99_US =
+        new StatDefinition(FILEMGR_WRITE_99_US_NAME,
+                           FILEMGR_WRITE_99_US_DESC);
+
+    public static final String FILEMGR_WRITE_MAX_US_NAME = "writeMaxUs";
+    public static final String FILEMGR_WRITE_MAX_US_DESC =
+        "Maximum number of microseconds used to perform a single log file " +
+            "write.";
+    public static final StatDefinition FILEMGR_WRITE_MAX_US =
+        new StatDefinition(FILEMGR_WRITE_MAX_US_NAME,
+                           FILEMGR_WRITE_MAX_US_DESC);
+
+    public static final String FILEMGR_FILE_SWITCHES_NAME =
+        "nFileSwitches";
+    public static final String FILEMGR_FILE_SWITCHES_DESC =
+        "Number of times that logging moved to a new log file.";
+    public static final StatDefinition FILEMGR_FILE_SWITCHES =
+        new StatDefinition(
+            FILEMGR_FILE_SWITCHES_NAME,
+            FILEMGR_FILE_SWITCHES_DESC);
+
+    public static final String FILEMGR_FILE_SWITCH_AVG_MS_NAME =
+        "fileSwitchAvgMs";
+    public static final String FILEMGR_FILE_SWITCH_AVG_MS_DESC =
+        "Average number of milliseconds spent in the logging critical " +
+            "section when moving to a new log file, to write the log " +
+            "buffers and finish the previous file.";
+    public static final StatDefinition FILEMGR_FILE_SWITCH_AVG_MS =
+        new StatDefinition(FILEMGR_FILE_SWITCH_AVG_MS_NAME,
+                           FILEMGR_FILE_SWITCH_AVG_MS_DESC);
+
+    public static final String FILEMGR_FILE_SWITCH_MAX_MS_NAME =
+        "fileSwitchMaxMs";
+    public static final String FILEMGR_FILE_SWITCH_MAX_MS_DESC =
+        "Maximum number of milliseconds spent in the logging critical " +
+            "section when moving to a new log file.";
+    public static final StatDefinition FILEMGR_FILE_SWITCH_MAX_MS =
+        new StatDefinition(FILEMGR_FILE_SWITCH_MAX_MS_NAME,
+                           FILEMGR_FILE_SWITCH_MAX_MS_DESC);
+
     /* The following stat definitions are used in FSyncManager. */
     public static final String FSYNCMGR_FSYNCS_NAME =
         "nFSyncs";
@@ -277,6 +345,87 @@ public class LogStatDefinition {
             FSYNCMGR_FSYNC_REQUESTS_NAME,
             FSYNCMGR_FSYNC_REQUESTS_DESC);
 
+    /* The following stat definitions are used in AsyncCommitFlusher. */
+    public static final String FSYNCMGR_ASYNC_COMMIT_REQUESTS_NAME =
+        "nAsyncCommitRequests";
+    public static final String FSYNCMGR_ASYNC_COMMIT_REQUESTS_DESC =
+        "Number of asynchronous commits that required a log write, with or " +
+            "without an fsync.";
+    public static final StatDefinition FSYNCMGR_ASYNC_COMMIT_REQUESTS =
+        new StatDefinition(
+            FSYNCMGR_ASYNC_COMMIT_REQUESTS_NAME,
+            FSYNCMGR_ASYNC_COMMIT_REQUESTS_DESC);
+
+    public static final String FSYNCMGR_ASYNC_COMMIT_BATCHES_NAME =
+        "nAsyncCommitBatches";
+    public static final String FSYNCMGR_ASYNC_COMMIT_BATCHES_DESC =
+        "Number of group commits performed by the asynchronous commit " +
+            "flusher.";
+    public static final StatDefinition FSYNCMGR_ASYNC_COMMIT_BATCHES =
+        new StatDefinition(
+            FSYNCMGR_ASYNC_COMMIT_BATCHES_NAME,
+            FSYNCMGR_ASYNC_COMMIT_BATCHES_DESC);
+
+    public static final String FSYNCMGR_ASYNC_BATCH_95_SIZE_NAME =
+        "asyncCommitBatch95Size";
+    public static final String FSYNCMGR_ASYNC_BATCH_95_SIZE_DESC =
+        "95th percentile of the number of asynchronous commits completed by " +
+            "a single group commit.";
+    public static final StatDefinition FSYNCMGR_ASYNC_BATCH_95_SIZE =
+        new StatDefinition(
+            FSYNCMGR_ASYNC_BATCH_95_SIZE_NAME,
+            FSYNCMGR_ASYNC_BATCH_95_SIZE_DESC);
+
+    public static final String FSYNCMGR_ASYNC_BATCH_MAX_SIZE_NAME =
+        "asyncCommitBatchMaxSize";
+    public static final String FSYNCMGR_ASYNC_BATCH_MAX_SIZE_DESC =
+        "Maximum number of asynchronous commits completed by a single group " +
+            "commit.";
+    public static final StatDefinition FSYNCMGR_ASYNC_BATCH_MAX_SIZE =
+        new StatDefinition(
+            FSYNCMGR_ASYNC_BATCH_MAX_SIZE_NAME,
+            FSYNCMGR_ASYNC_BATCH_MAX_SIZE_DESC);
+
+    public static final String FSYNCMGR_ASYNC_COMMIT_AVG_MS_NAME =
+        "asyncCommitAvgMs";
+    public static final String FSYNCMGR_ASYNC_COMMIT_AVG_MS_DESC =
+        "Average number of milliseconds from an asynchronous commit request " +
+            "until its group commit is complete.";
+    public static final StatDefinition FSYNCMGR_ASYNC_COMMIT_AVG_MS =
+        new StatDefinition(
+            FSYNCMGR_ASYNC_COMMIT_AVG_MS_NAME,
+            FSYNCMGR_ASYNC_COMMIT_AVG_MS_DESC);
+
+    public static final String FSYNCMGR_ASYNC_COMMIT_95_MS_NAME =
+        "asyncCommit95Ms";
+    public static final String FSYNCMGR_ASYNC_COMMIT_95_MS_DESC =
+        "95th percentile of milliseconds from an asynchronous commit " +
+            "request until its group commit is complete.";
+    public static final StatDefinition FSYNCMGR_ASYNC_COMMIT_95_MS =
+        new StatDefinition(
+            FSYNCMGR_ASYNC_COMMIT_95_MS_NAME,
+            FSYNCMGR_ASYNC_COMMIT_95_MS_DESC);
+
+    public static final String FSYNCMGR_ASYNC_COMMIT_99_MS_NAME =
+        "asyncCommit99Ms";
+    public static final String FSYNCMGR_ASYNC_COMMIT_99_MS_DESC =
+        "99th percentile of milliseconds from an asynchronous commit " +
+            "request until its group commit is complete.";
+    public static final StatDefinition FSYNCMGR_ASYNC_COMMIT_99_MS =
+        new StatDefinition(
+            FSYNCMGR_ASYNC_COMMIT_99_MS_NAME,
+            FSYNCMGR_ASYNC_COMMIT_99_MS_DESC);
+
+    public static final String FSYNCMGR_ASYNC_COMMIT_MAX_MS_NAME =
+        "asyncCommitMaxMs";
+    public static final String FSYNCMGR_ASYNC_COMMIT_MAX_MS_DESC =
+        "Maximum number of milliseconds from an asynchronous commit request " +
+            "until its group commit is complete.";
+    public static final StatDefinition FSYNCMGR_ASYNC_COMMIT_MAX_MS =
+        new StatDefinition(
+            FSYNCMGR_ASYNC_COMMIT_MAX_MS_NAME,
+            FSYNCMGR_ASYNC_COMMIT_MAX_MS_DESC);
+
     /* The following stat definitions are used in LogManager. */
     public static final String LOGMGR_REPEAT_FAULT_READS_NAME =
         "nRepeatFaultReads";
@@ -308,6 +457,36 @@ public class LogStatDefinition {
             LOGMGR_TEMP_BUFFER_WRITES_NAME,
             LOGMGR_TEMP_BUFFER_WRITES_DESC);
 
+    public static final String LOGMGR_LNS_COMPRESSED_NAME =
+        "nLNsCompressed";
+    public static final String LOGMGR_LNS_COMPRESSED_DESC =
+        "Number of LNs whose data was written to the log in compressed " +
+            "form.";
+    public static final StatDefinition LOGMGR_LNS_COMPRESSED =
+        new StatDefinition(
+            LOGMGR_LNS_COMPRESSED_NAME,
+            LOGMGR_LNS_COMPRESSED_DESC);
+
+    public static final String LOGMGR_LN_COMPRESS_RAW_BYTES_NAME =
+        "lnCompressRawBytes";
+    public static final String LOGMGR_LN_COMPRESS_RAW_BYTES_DESC =
+        "Uncompressed size of the LN data that was written to the log in " +
+            "compressed form.";
+    public static final StatDefinition LOGMGR_LN_COMPRESS_RAW_BYTES =
+        new StatDefinition(
+            LOGMGR_LN_COMPRESS_RAW_BYTES_NAME,
+            LOGMGR_LN_COMPRESS_RAW_BYTES_DESC);
+
+    public static final String LOGMGR_LN_COMPRESSED_BYTES_NAME =
+        "lnCompressedBytes";
+    public static final String LOGMGR_LN_COMPRESSED_BYTES_DESC =
+        "Compressed size of the LN data that was written to the log in " +
+            "compressed form.";
+    public static final StatDefinition LOGMGR_LN_COMPRESSED_BYTES =
+        new StatDefinition(
+            LOGMGR_LN_COMPRESSED_BYTES_NAME,
+            LOGMGR_LN_COMPRESSED_BYTES_DESC);
+
     public static final String LOGMGR_END_OF_LOG_NAME =
         "endOfLog";
     public static final String LOGMGR_END_OF_LOG_DESC =
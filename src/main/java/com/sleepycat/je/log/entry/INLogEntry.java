@@ -285,6 +285,7 @@ public class INLogEntry<T extends IN> extends BaseEntry<T>
 
         /* Read IN. */
         in = newInstanceOfType();
+        in.initLatchForRead(envImpl);
         readMainItem(in, entryBuffer, logVersion);
 
         if (!version6OrLater) {
@@ -19,6 +19,9 @@ import java.lang.reflect.Constructor;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import com.sleepycat.je.DatabaseEntry;
 import com.sleepycat.je.EnvironmentFailureException;
@@ -134,6 +137,7 @@ import com.sleepycat.je.utilint.VLSN;
  *   1-byte flags2
  *     havePriorSize
  *     havePriorFile
+ *     dataCompressed
  *   databaseid
  *   abortLsn                -- if transactional and haveAbortLSN
  *   txn id                  -- if transactional
@@ -145,7 +149,9 @@ import com.sleepycat.je.utilint.VLSN;
  *   expiration              -- if haveExpiration
  *   priorSize               -- if havePriorSize
  *   priorFile               -- if havePriorFile
- *   data
+ *   data                    -- if !dataCompressed
+ *   uncompressed data size  -- if dataCompressed
+ *   compressed data         -- if dataCompressed
  *   key
  * }
  *
@@ -153,7 +159,11 @@ import com.sleepycat.je.utilint.VLSN;
  *     abortKnownDeleted, embeddedLN, haveAbortKey, haveAbortData,
  *     haveAbortVLSN, abort key, abort data, abort vlsn,
  *     haveAbortLSN, abortLsn, haveAbortExpiration, abort expiration,
- *     havePriorSize, priorSize, havePriorFile, priorFile
+ *     havePriorSize, priorSize, havePriorFile, priorFile, dataCompressed
+ *   and the data is always written uncompressed.
+ *
+ * The dataCompressed flag is only used for log version
+ * LOG_VERSION_COMPRESSED_LN and greater.
  *
  * NOTE: LNLogEntry is sub-classed by NameLNLogEntry, which adds some extra
  * fields after the record key.
@@ -172,6 +182,22 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
     /* flags2 */
     private static final byte HAVE_PRIOR_SIZE_MASK = 0x1;
     private static final byte HAVE_PRIOR_FILE_MASK = 0x2;
+    private static final byte DATA_COMPRESSED_MASK = 0x4;
+
+    /**
+     * LN data smaller than this is not compressed, since the savings would
+     * not be worth the cost of compression.
+     */
+    public static final int MIN_COMPRESS_SIZE = 128;
+
+    /*
+     * A Deflater and Inflater per thread, since creating them allocates
+     * native memory and is much more expensive than compressing a record.
+     */
+    private static final ThreadLocal<Deflater> DEFLATER =
+        ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER =
+        ThreadLocal.withInitial(Inflater::new);
 
     /**
      * Used for computing the minimum log space used by an LNLogEntry.
@@ -186,6 +212,9 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
      * made (including any changes to the format of the underlying LN and other
      * loggables).
      *
+     * The dataCompressed flag added in LOG_VERSION_COMPRESSED_LN is not
+     * counted, since it is never used in the replication format.
+     *
      * @see #getLastFormatChange
      */
     private static final int LAST_FORMAT_CHANGE = 16;
@@ -332,6 +361,18 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
     private int priorSize;
     private long priorFile = DbLsn.MAX_FILE_NUM;
 
+    /*
+     * Whether the LN data is stored in compressed form, and if so, the
+     * compressed bytes and the uncompressed length. When reading, the LN is
+     * created without data and the data is inflated by inflateData the first
+     * time the LN is accessed, so that readers that only need the key or the
+     * txn info do not pay for decompression.
+     */
+    private boolean dataCompressed;
+    private byte[] compressedData;
+    private int uncompressedSize;
+    private volatile boolean inflatePending;
+
     /*
      * Transient fields.
      */
@@ -455,6 +496,10 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
         expirationInHours = false;
         priorSize = 0;
         priorFile = DbLsn.MAX_FILE_NUM;
+        dataCompressed = false;
+        compressedData = null;
+        uncompressedSize = 0;
+        inflatePending = false;
 
         dupStatus = null;
     }
@@ -504,7 +549,7 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
         if (logVersion >= 12) {
             byte flags = entryBuffer.get();
             byte flags2 = (logVersion >= 16) ? entryBuffer.get() : (byte) 0;
-            setFlags(flags, flags2);
+            setFlags(flags, flags2, logVersion);
         }
 
         /*
@@ -542,7 +587,7 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             }
 
             if (logVersion < 12) {
-                setFlags(entryBuffer.get(), (byte) 0);
+                setFlags(entryBuffer.get(), (byte) 0, logVersion);
                 haveAbortLSN = (abortLsn != DbLsn.NULL_LSN);
             }
 
@@ -551,7 +596,7 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             txn.readFromLog(entryBuffer, logVersion);
 
         } else if (logVersion == 11) {
-            setFlags(entryBuffer.get(), (byte) 0);
+            setFlags(entryBuffer.get(), (byte) 0, logVersion);
         }
 
         if (logVersion >= 11) {
@@ -595,7 +640,14 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
         if (logVersion >= 6) {
 
             ln = newLNInstance(envImpl);
-            ln.readFromLog(entryBuffer, logVersion);
+            if (dataCompressed) {
+                uncompressedSize = LogUtils.readPackedInt(entryBuffer);
+                compressedData = LogUtils.readByteArray(
+                    entryBuffer, false /*unpacked*/);
+                inflatePending = true;
+            } else {
+                ln.readFromLog(entryBuffer, logVersion);
+            }
 
             int keySize;
             if (keyIsLastSerializedField) {
@@ -618,7 +670,9 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             (logVersion < 8) ? DupStatus.NEED_CONVERSION : DupStatus.UNKNOWN;
     }
 
-    private void setFlags(final byte flags, final byte flags2) {
+    private void setFlags(final byte flags,
+                          final byte flags2,
+                          final int logVersion) {
 
         embeddedLN = ((flags & EMBEDDED_LN_MASK) != 0);
         abortKnownDeleted = ((flags & ABORT_KD_MASK) != 0);
@@ -631,6 +685,8 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
 
         havePriorSize = ((flags2 & HAVE_PRIOR_SIZE_MASK) != 0);
         havePriorFile = ((flags2 & HAVE_PRIOR_FILE_MASK) != 0);
+        dataCompressed = ((flags2 & DATA_COMPRESSED_MASK) != 0) &&
+            (logVersion >= LogEntryType.LOG_VERSION_COMPRESSED_LN);
     }
 
     @Override
@@ -656,6 +712,12 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             return false;
         }
 
+        /* Compressed data is never replicated, see writeBaseLNEntry. */
+        if (srcVersion >= LogEntryType.LOG_VERSION_COMPRESSED_LN &&
+            (logBuffer.get(1) & DATA_COMPRESSED_MASK) != 0) {
+            return true;
+        }
+
         final byte flags = logBuffer.get(0);
 
         /*
@@ -696,11 +758,19 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
     @Override
     public StringBuilder dumpEntry(StringBuilder sb, boolean verbose) {
 
+        inflateData();
+
         dbId.dumpLog(sb, verbose);
 
         ln.dumpKey(sb, key);
         ln.dumpLog(sb, verbose);
 
+        if (dataCompressed) {
+            sb.append("<compressed size=\"");
+            sb.append(compressedData.length);
+            sb.append("\"/>");
+        }
+
         sb.append("<embeddedLN val=\"");
         sb.append(embeddedLN);
         sb.append("\"/>");
@@ -762,6 +832,7 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
 
     @Override
     public LN getMainItem() {
+        inflateData();
         return ln;
     }
 
@@ -808,9 +879,15 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
         final boolean keyIsLastSerializedField,
         final boolean forReplication) {
 
-        int size = ln.getLogSize(logVersion, forReplication) +
-            dbId.getLogSize(logVersion, forReplication) +
-            key.length;
+        int size = dbId.getLogSize(logVersion, forReplication) + key.length;
+
+        if (writeCompressedData(logVersion, forReplication)) {
+            size += LogUtils.getPackedIntLogSize(uncompressedSize) +
+                LogUtils.getByteArrayLogSize(compressedData);
+        } else {
+            inflateData();
+            size += ln.getLogSize(logVersion, forReplication);
+        }
 
         if (!keyIsLastSerializedField) {
             size += LogUtils.getPackedIntLogSize(key.length);
@@ -937,6 +1014,9 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
                 if (havePriorFile) {
                     flags2 |= HAVE_PRIOR_FILE_MASK;
                 }
+                if (writeCompressedData(logVersion, forReplication)) {
+                    flags2 |= DATA_COMPRESSED_MASK;
+                }
             }
         }
 
@@ -1010,7 +1090,13 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             }
         }
 
-        ln.writeToLog(destBuffer, logVersion, forReplication);
+        if (writeCompressedData(logVersion, forReplication)) {
+            LogUtils.writePackedInt(destBuffer, uncompressedSize);
+            LogUtils.writeByteArray(destBuffer, compressedData);
+        } else {
+            inflateData();
+            ln.writeToLog(destBuffer, logVersion, forReplication);
+        }
 
         if (!keyIsLastSerializedField) {
             LogUtils.writePackedInt(destBuffer, key.length);
@@ -1018,16 +1104,127 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
         LogUtils.writeBytesNoLength(destBuffer, key);
     }
 
+    /**
+     * Whether the compressed form of the data is written, rather than the
+     * LN. Compressed data is a property of the local log only, and entries
+     * sent to replicas always contain the uncompressed data, so that the
+     * replica stores it according to its own database configuration.
+     */
+    private boolean writeCompressedData(final int logVersion,
+                                        final boolean forReplication) {
+        return dataCompressed &&
+            !forReplication &&
+            logVersion >= LogEntryType.LOG_VERSION_COMPRESSED_LN;
+    }
+
+    /**
+     * Compresses the LN data, to be written in compressed form when this
+     * entry is logged. Must be called before the entry is logged, since it
+     * changes the entry size.
+     *
+     * @return the compressed data size, or zero if the data was not
+     * compressed because it is deleted, too small or not compressible.
+     */
+    public int compressData() {
+
+        assert !dataCompressed;
+
+        final byte[] data = ln.getData();
+        if (data == null || data.length < MIN_COMPRESS_SIZE) {
+            return 0;
+        }
+
+        /*
+         * The compressed data and its length must be smaller than the
+         * original data. The uncompressed length is stored in both formats.
+         */
+        final byte[] buf = new byte[data.length];
+        final Deflater deflater = DEFLATER.get();
+        final int len;
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            len = deflater.deflate(buf);
+            if (!deflater.finished()) {
+                return 0;
+            }
+        } finally {
+            deflater.reset();
+        }
+
+        if (len + LogUtils.getPackedIntLogSize(len) >= data.length) {
+            return 0;
+        }
+
+        compressedData = Arrays.copyOf(buf, len);
+        uncompressedSize = data.length;
+        dataCompressed = true;
+        return len;
+    }
+
+    /**
+     * Returns whether the LN data is stored in compressed form.
+     */
+    public boolean isDataCompressed() {
+        return dataCompressed;
+    }
+
+    /**
+     * Returns the uncompressed size of the LN data, if it is stored in
+     * compressed form.
+     */
+    public int getUncompressedSize() {
+        return uncompressedSize;
+    }
+
+    /**
+     * Inflates the LN data, if it was read in compressed form and has not
+     * yet been inflated. Synchronized because an entry may be shared by
+     * feeder threads, see LogItem.cachedEntry.
+     */
+    private void inflateData() {
+
+        if (!inflatePending) {
+            return;
+        }
+
+        synchronized (this) {
+            if (!inflatePending) {
+                return;
+            }
+
+            final byte[] data = new byte[uncompressedSize];
+            final Inflater inflater = INFLATER.get();
+            try {
+                inflater.setInput(compressedData);
+                final int len = inflater.inflate(data);
+                if (len != uncompressedSize || !inflater.finished()) {
+                    throw unexpectedState(
+                        "Compressed LN data has wrong size, expected " +
+                        uncompressedSize + " got " + len);
+                }
+            } catch (DataFormatException e) {
+                throw EnvironmentFailureException.unexpectedException(e);
+            } finally {
+                inflater.reset();
+            }
+
+            ln.setInflatedData(data);
+            inflatePending = false;
+        }
+    }
+
     @Override
     public boolean isImmediatelyObsolete(DatabaseImpl dbImpl) {
-        return (ln.isDeleted() ||
+        return (isDeleted() ||
                 embeddedLN ||
                 dbImpl.isLNImmediatelyObsolete());
     }
 
     @Override
     public boolean isDeleted() {
-        return ln.isDeleted();
+        /* An LN whose data has not yet been inflated is not deleted. */
+        return !inflatePending && ln.isDeleted();
     }
 
     /**
@@ -1117,6 +1314,7 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
                 keyParam.setData(key);
             }
             if (dataParam != null) {
+                inflateData();
                 dataParam.setData(ln.getData());
             }
         }
@@ -1131,6 +1329,7 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
 
     public LN getLN() {
         requireKnownDupStatus();
+        inflateData();
         return ln;
     }
 
@@ -1139,7 +1338,18 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
         return key;
     }
 
+    /**
+     * Returns the key without requiring postFetchInit to have been called,
+     * or null if the entry has an old log version and its key may need
+     * conversion.  Used to search for the key's BIN before the entry is
+     * replayed, by a thread other than the one that calls postFetchInit.
+     */
+    public byte[] getKeyIfNoConversion() {
+        return (dupStatus == DupStatus.NEED_CONVERSION) ? null : key;
+    }
+
     public byte[] getData() {
+        inflateData();
         return ln.getData();
     }
 
@@ -1149,6 +1359,8 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             return null;
         }
 
+        inflateData();
+
         if (ln.isDeleted()) {
             return Key.EMPTY_KEY;
         }
@@ -1177,7 +1389,7 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
      * example by StatsFileReader.
      */
     public int getUnconvertedDataLength() {
-        return ln.getData().length;
+        return dataCompressed ? uncompressedSize : ln.getData().length;
     }
 
     /**
@@ -1303,6 +1515,9 @@ public class LNLogEntry<T extends LN> extends BaseReplicableEntry<T> {
             return false;
         }
 
+        inflateData();
+        otherEntry.inflateData();
+
         if (!ln.logicalEquals(otherEntry.ln)) {
             return false;
         }
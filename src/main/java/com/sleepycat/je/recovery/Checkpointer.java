@@ -459,6 +459,14 @@ public class Checkpointer extends DaemonThread implements EnvConfigObserver {
         return lastCheckpointFirstActiveLsn;
     }
 
+    /**
+     * Returns the LSN of the CheckpointEnd entry of the last completed
+     * checkpoint.
+     */
+    public long getLastCheckpointEnd() {
+        return lastCheckpointEnd;
+    }
+
     /**
      * Coordinates an eviction with an in-progress checkpoint and returns
      * whether provisional logging is needed.
@@ -22,7 +22,12 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -89,6 +94,7 @@ import com.sleepycat.je.util.DbVerifyLog;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.LoggerUtils;
 import com.sleepycat.je.utilint.StoppableThread;
+import com.sleepycat.je.utilint.StoppableThreadFactory;
 import com.sleepycat.utilint.StringUtils;
 
 /**
@@ -238,6 +244,7 @@ public class RecoveryManager {
 
     private final EnvironmentImpl envImpl;
     private final int readBufferSize;
+    private final int nRecoveryThreads;
     private final RecoveryInfo info;                // stat info
     /* Committed txn ID to Commit LSN */
     private final Map<Long, Long> committedTxnIds;
@@ -283,6 +290,7 @@ public class RecoveryManager {
         DbConfigManager cm = env.getConfigManager();
         readBufferSize =
             cm.getInt(EnvironmentParams.LOG_ITERATOR_READ_SIZE);
+        nRecoveryThreads = cm.getInt(EnvironmentParams.ENV_RECOVERY_THREADS);
         committedTxnIds = new HashMap<>();
         abortedTxnIds = new HashSet<>();
         preparedTxns = new HashMap<>();
@@ -1276,6 +1284,11 @@ public class RecoveryManager {
         StartupTracker.Counter counter)
         throws DatabaseException {
 
+        if (!mappingTree && nRecoveryThreads > 1) {
+            readNonRootINsParallel(counter);
+            return;
+        }
+
         /* Don't need to track IDs. */
         INFileReader reader = new INFileReader(
             envImpl, readBufferSize,
@@ -1334,6 +1347,219 @@ public class RecoveryManager {
         }
     }
 
+    /**
+     * Read non-root INs for DBs other than the mapping tree, and replay them
+     * using {@link EnvironmentConfig#ENV_RECOVERY_THREADS} worker threads.
+     *
+     * The log is read sequentially by this thread, and each IN is handed to
+     * the worker that owns its database.  All INs for a given database are
+     * replayed by the same worker, in log order, so the result is the same
+     * as for a serial replay: the replay of an IN only searches and modifies
+     * the tree of its own database.
+     */
+    private void readNonRootINsParallel(StartupTracker.Counter counter)
+        throws DatabaseException {
+
+        /* Don't need to track IDs. */
+        INFileReader reader = new INFileReader(
+            envImpl, readBufferSize,
+            info.checkpointStartLsn,        // start lsn
+            info.nextAvailableLsn,          // finish lsn
+            false,                          // track ids
+            info.partialCheckpointStartLsn, // partialCkptStart
+            info.checkpointEndLsn,          // ckptEnd
+            null);                          // tracker
+
+        reader.addTargetType(LogEntryType.LOG_IN);
+        reader.addTargetType(LogEntryType.LOG_BIN);
+        reader.addTargetType(LogEntryType.LOG_BIN_DELTA);
+        reader.addTargetType(LogEntryType.LOG_OLD_BIN_DELTA);
+
+        final INReplayPool pool = new INReplayPool(nRecoveryThreads);
+
+        try {
+            DbTree dbMapTree = envImpl.getDbTree();
+
+            while (reader.readNextEntry()) {
+
+                counter.incNumRead();
+
+                DatabaseId dbId = reader.getDatabaseId();
+
+                if (dbId.equals(DbTree.ID_DB_ID)) {
+                    continue;
+                }
+
+                DatabaseImpl db = dbMapTree.getDb(dbId);
+
+                if (db == null) {
+                    /* This db has been deleted, ignore the entry. */
+                    counter.incNumDeleted();
+                    continue;
+                }
+
+                /* The worker releases the db after replaying the IN. */
+                boolean dispatched = false;
+                try {
+                    final IN in = reader.getIN(db);
+                    if (in.isRoot()) {
+                        continue;
+                    }
+
+                    pool.replay(db, in, reader.getLastLsn());
+                    dispatched = true;
+
+                    inListBuildDbIds.add(dbId);
+                    counter.incNumProcessed();
+
+                } finally {
+                    if (!dispatched) {
+                        dbMapTree.releaseDb(db);
+                    }
+                }
+            }
+
+            pool.finish();
+
+            counter.setRepeatIteratorReads(reader.getNRepeatIteratorReads());
+        } catch (Exception e) {
+            traceAndThrowException(reader.getLastLsn(), "readNonMapIns", e);
+        } finally {
+            pool.abort();
+        }
+    }
+
+    /**
+     * A pool of single-threaded executors used to replay INs in parallel.
+     * An IN is assigned to an executor by its database ID, so that the INs
+     * of a database are replayed in the order they were dispatched.  The
+     * number of dispatched INs that are not yet replayed is bounded, to limit
+     * the memory used by INs waiting in the queues.
+     *
+     * The first failure of a worker is saved and thrown in the dispatching
+     * thread by the next call to replay or finish.  Subsequent INs are not
+     * replayed after a failure or after the pool is aborted, but the workers
+     * still release their dbs.
+     */
+    private class INReplayPool {
+
+        /* Max number of queued INs, per worker. */
+        private static final int QUEUED_INS_PER_WORKER = 100;
+
+        private final ThreadPoolExecutor[] workers;
+        private final Semaphore queuedINs;
+        private final AtomicReference<Throwable> failure =
+            new AtomicReference<>();
+        private volatile boolean aborted;
+
+        INReplayPool(int nWorkers) {
+            workers = new ThreadPoolExecutor[nWorkers];
+            for (int i = 0; i < nWorkers; i += 1) {
+                workers[i] = new ThreadPoolExecutor(
+                    1 /*corePoolSize*/, 1 /*maxPoolThreads*/,
+                    0 /*keepAliveTime*/, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(),
+                    new StoppableThreadFactory(
+                        envImpl, "JERecoveryINReplay-" + i, logger));
+            }
+            queuedINs = new Semaphore(nWorkers * QUEUED_INS_PER_WORKER);
+        }
+
+        /**
+         * Queues the IN for replay.  The db must have been obtained with
+         * DbTree.getDb, and is released when the replay is complete.
+         */
+        void replay(final DatabaseImpl db, final IN in, final long logLsn) {
+
+            checkFailure();
+
+            try {
+                queuedINs.acquire();
+            } catch (InterruptedException e) {
+                throw new ThreadInterruptedException(envImpl, e);
+            }
+
+            final int i =
+                (db.getId().hashCode() & 0x7fffffff) % workers.length;
+
+            workers[i].execute(() -> {
+                try {
+                    if (!aborted && failure.get() == null) {
+                        in.postRecoveryInit(db, logLsn);
+                        in.latch();
+                        recoverIN(db, in, logLsn);
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    envImpl.getDbTree().releaseDb(db);
+                    queuedINs.release();
+                }
+            });
+        }
+
+        /**
+         * Waits for all queued INs to be replayed and stops the workers.
+         */
+        void finish() {
+            for (final ThreadPoolExecutor worker : workers) {
+                worker.shutdown();
+            }
+            try {
+                for (final ThreadPoolExecutor worker : workers) {
+                    while (!worker.awaitTermination(
+                        1, TimeUnit.SECONDS)) {
+                        checkFailure();
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new ThreadInterruptedException(envImpl, e);
+            }
+            checkFailure();
+        }
+
+        /**
+         * Stops the workers, skipping any queued INs, and waits for them to
+         * terminate.  Called after finish, or when the replay fails and
+         * queued INs should be skipped.  Waiting ensures that no worker
+         * accesses the Btree or releases a database after recovery has moved
+         * on.  Worker failures are not thrown here, since after finish they
+         * have already been thrown, and otherwise another exception is
+         * being thrown.
+         */
+        void abort() {
+            aborted = true;
+            for (final ThreadPoolExecutor worker : workers) {
+                worker.shutdown();
+            }
+            try {
+                for (final ThreadPoolExecutor worker : workers) {
+                    while (!worker.awaitTermination(
+                        1, TimeUnit.SECONDS)) {
+                        /* Skipped INs are released quickly. */
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new ThreadInterruptedException(envImpl, e);
+            }
+        }
+
+        private void checkFailure() {
+            final Throwable e = failure.get();
+            if (e == null) {
+                return;
+            }
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new EnvironmentFailureException(
+                envImpl, EnvironmentFailureReason.LOG_INTEGRITY, e);
+        }
+    }
+
     /**
      * Get an IN from the reader, set its database, and fit into tree.
      */
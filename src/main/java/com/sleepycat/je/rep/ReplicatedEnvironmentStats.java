@@ -43,6 +43,8 @@ import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_GROUP_COMMIT
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_GROUP_COMMIT_TXNS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_LNS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_NAME_LNS;
+import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_PREFETCHES;
+import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_PREFETCH_DROPS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.OUTPUT_QUEUE_95_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.OUTPUT_QUEUE_99_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.OUTPUT_QUEUE_AVG_DELAY_MS;
@@ -52,6 +54,7 @@ import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.REPLAY_QUEUE_9
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.REPLAY_QUEUE_AVG_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.REPLAY_QUEUE_MAX_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.TOTAL_COMMIT_PROCESSING_NANOS;
+import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.TOTAL_LN_APPLY_NANOS;
 import static com.sleepycat.je.rep.impl.node.ReplicaStatDefinition.N_LAG_CONSISTENCY_WAITS;
 import static com.sleepycat.je.rep.impl.node.ReplicaStatDefinition.N_LAG_CONSISTENCY_WAIT_MS;
 import static com.sleepycat.je.rep.impl.node.ReplicaStatDefinition.N_VLSN_CONSISTENCY_WAITS;
@@ -69,6 +72,11 @@ import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.MESSAGE_
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.MESSAGE_WRITE_RATE;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_BYTES_READ;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_BYTES_WRITTEN;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_COMPRESSED_BATCHES;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_COMPRESSED_BATCH_BYTES;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_COMPRESSED_BATCH_INPUT_BYTES;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_COMPRESS_NANOS;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_DECOMPRESS_NANOS;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_ENTRIES_WRITTEN_OLD_VERSION;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_MESSAGES_BATCHED;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_MESSAGES_READ;
@@ -774,6 +782,41 @@ public class ReplicatedEnvironmentStats implements Serializable {
         return replayStats.getLong(TOTAL_COMMIT_PROCESSING_NANOS);
     }
 
+    /**
+     * The total time spent applying data records (LNs) at the replica, not
+     * including the time the records spent waiting in the replay queue.
+     *
+     * <p>Replay lag may be broken down using this stat for the apply time,
+     * {@link #getReplayQueueAvgDelayMs} and related stats for the time
+     * entries wait in the replay queue before being applied, and {@link
+     * #getReplayTotalCommitProcessingNanos} for the commit time.</p>
+     *
+     * @since 18.3.13
+     */
+    public long getReplayTotalLNApplyNanos() {
+        return replayStats.getLong(TOTAL_LN_APPLY_NANOS);
+    }
+
+    /**
+     * The number of data records whose BIN was brought into the cache by a
+     * replay prefetch thread before the record was replayed.
+     *
+     * @since 18.3.13
+     */
+    public long getNReplayPrefetches() {
+        return replayStats.getLong(N_PREFETCHES);
+    }
+
+    /**
+     * The number of replay prefetch requests that were discarded because the
+     * prefetch queue was full.
+     *
+     * @since 18.3.13
+     */
+    public long getNReplayPrefetchDrops() {
+        return replayStats.getLong(N_PREFETCH_DROPS);
+    }
+
     /**
      * @hidden
      * TODO: Make visible after experimenting with this new stat
@@ -1081,6 +1124,59 @@ public class ReplicatedEnvironmentStats implements Serializable {
         return protocolStats.getLong(N_ENTRIES_WRITTEN_OLD_VERSION);
     }
 
+    /**
+     * The number of Replication Stream message batches that were compressed
+     * before being written to the network.
+     *
+     * @see ReplicationConfig#STREAM_COMPRESSION
+     *
+     * @since 18.3.13
+     */
+    public long getNProtocolCompressedBatches() {
+        return protocolStats.getLong(N_COMPRESSED_BATCHES);
+    }
+
+    /**
+     * The number of bytes in Replication Stream message batches before they
+     * were compressed.  Dividing this value by {@link
+     * #getNProtocolCompressedBatchBytes} gives the compression ratio.
+     *
+     * @since 18.3.13
+     */
+    public long getNProtocolCompressedBatchInputBytes() {
+        return protocolStats.getLong(N_COMPRESSED_BATCH_INPUT_BYTES);
+    }
+
+    /**
+     * The number of bytes written to the network for compressed Replication
+     * Stream message batches.
+     *
+     * @since 18.3.13
+     */
+    public long getNProtocolCompressedBatchBytes() {
+        return protocolStats.getLong(N_COMPRESSED_BATCH_BYTES);
+    }
+
+    /**
+     * The number of nanoseconds spent compressing Replication Stream message
+     * batches.
+     *
+     * @since 18.3.13
+     */
+    public long getProtocolCompressNanos() {
+        return protocolStats.getLong(N_COMPRESS_NANOS);
+    }
+
+    /**
+     * The number of nanoseconds spent decompressing Replication Stream
+     * message batches.
+     *
+     * @since 18.3.13
+     */
+    public long getProtocolDecompressNanos() {
+        return protocolStats.getLong(N_DECOMPRESS_NANOS);
+    }
+
     /* ConsistencyTracker Stats. */
 
     /**
@@ -327,6 +327,40 @@ public class ReplicationConfig extends ReplicationMutableConfig
     public static final String REPLAY_FREE_DISK_PERCENT =
         EnvironmentParams.REP_PARAM_PREFIX + "replayFreeDiskPercent";
 
+    /**
+     * Whether the replication stream sent from a master to this node, and
+     * from this node to its replicas when it is the master, is compressed.
+     *
+     * <p>When enabled, batches of replication stream messages are compressed
+     * as a unit before being written to the network. Compression is only
+     * used for a feeder-replica connection when it is enabled on both nodes,
+     * and both nodes support it; this is agreed upon during the
+     * feeder-replica handshake. Compression reduces the network bandwidth
+     * used by replication at the cost of additional CPU time on both nodes,
+     * and is most useful when nodes are in different data centers.</p>
+     *
+     * <p>The effectiveness of compression is reported by {@link
+     * ReplicatedEnvironmentStats#getNProtocolCompressedBatchInputBytes} and
+     * {@link ReplicatedEnvironmentStats#getNProtocolCompressedBatchBytes}.
+     * </p>
+     *
+     * <table border="1"
+     *        summary="Information about configuration option">
+     * <tr><td>Name</td><td>Type</td><td>Mutable</td>
+     * <td>Default</td></tr>
+     * <tr>
+     * <td>{@value}</td>
+     * <td>Boolean</td>
+     * <td>No</td>
+     * <td>false</td>
+     * </tr>
+     * </table>
+     *
+     * @since 18.3.13
+     */
+    public static final String STREAM_COMPRESSION =
+        EnvironmentParams.REP_PARAM_PREFIX + "streamCompression";
+
     /**
      * The maximum amount of time for a replay transaction to wait for a lock.
      *
@@ -241,6 +241,26 @@ public class RepParams {
                                true,            // mutable
                                true);           // forReplication
 
+    /**
+     * The number of threads used to prefetch the BINs needed by LN entries
+     * waiting in the replica's replay queue. Replay itself is serial, since
+     * entries must be logged in VLSN order, but the cache misses incurred by
+     * replay can be overlapped by searching for each entry's key in advance.
+     * Zero, the default, disables prefetching.
+     *
+     * The number of pending prefetches is bounded by
+     * {@link #REPLICA_MESSAGE_QUEUE_SIZE}; a prefetch is dropped when the
+     * bound is reached.
+     */
+    public static final IntConfigParam REPLAY_PREFETCH_THREADS =
+            new IntConfigParam(EnvironmentParams.REP_PARAM_PREFIX +
+                               "replayPrefetchThreads",
+                               0,               // min
+                               64,              // max
+                               0,               // default
+                               false,           // mutable
+                               true);           // forReplication
+
     /**
      * The lock timeout for replay transactions.
      */
@@ -857,6 +877,13 @@ public class RepParams {
                            false,              // mutable
                            true);              // forReplication
 
+    /* @see ReplicationConfig#STREAM_COMPRESSION */
+    public static final BooleanConfigParam STREAM_COMPRESSION =
+        new BooleanConfigParam(ReplicationConfig.STREAM_COMPRESSION,
+                               false,              // default
+                               false,              // mutable
+                               true);              // forReplication
+
     /* @see ReplicationConfig#REPLAY_MAX_OPEN_DB_HANDLES */
     public static final IntConfigParam REPLAY_MAX_OPEN_DB_HANDLES =
         new IntConfigParam(ReplicationMutableConfig.REPLAY_MAX_OPEN_DB_HANDLES,
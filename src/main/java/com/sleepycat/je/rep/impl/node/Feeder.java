@@ -265,6 +265,9 @@ final public class Feeder {
      */
     private volatile int streamLogVersion = 0;
 
+    /* Whether the stream to the replica is compressed. */
+    private volatile boolean streamCompression = false;
+
     /** The JE version of the replica, or null if not known. */
     private volatile JEVersion replicaJEVersion = null;
 
@@ -679,6 +682,7 @@ final public class Feeder {
                 protocolVersion = protocol.getVersion();
                 replicaNameIdPair = handshake.getReplicaNameIdPair();
                 streamLogVersion = handshake.getStreamLogVersion();
+                streamCompression = handshake.getStreamCompression();
                 replicaJEVersion = handshake.getReplicaJEVersion();
                 replicaNode = handshake.getReplicaNode();
 
@@ -1157,6 +1161,7 @@ final public class Feeder {
             protocol =
                 Protocol.get(repNode, protocolVersion, protocolVersion,
                              streamLogVersion);
+            protocol.setCompressBatches(streamCompression);
             Thread.currentThread().setName
                 ("Feeder Output for " +
                  Feeder.this.getReplicaNameIdPair().getName());
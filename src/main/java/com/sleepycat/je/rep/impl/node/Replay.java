@@ -37,6 +37,8 @@ import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_GROUP_COMMIT
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_LNS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_MESSAGE_QUEUE_OVERFLOWS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_NAME_LNS;
+import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_PREFETCHES;
+import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.N_PREFETCH_DROPS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.OUTPUT_QUEUE_95_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.OUTPUT_QUEUE_99_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.OUTPUT_QUEUE_AVG_DELAY_MS;
@@ -46,6 +48,7 @@ import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.REPLAY_QUEUE_9
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.REPLAY_QUEUE_AVG_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.REPLAY_QUEUE_MAX_DELAY_MS;
 import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.TOTAL_COMMIT_PROCESSING_NANOS;
+import static com.sleepycat.je.rep.impl.node.ReplayStatDefinition.TOTAL_LN_APPLY_NANOS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
@@ -107,6 +110,7 @@ import com.sleepycat.je.rep.stream.InputWireRecord;
 import com.sleepycat.je.rep.stream.MasterStatus.MasterSyncException;
 import com.sleepycat.je.rep.stream.Protocol;
 import com.sleepycat.je.rep.txn.ReplayTxn;
+import com.sleepycat.je.rep.utilint.BinaryProtocol.Message;
 import com.sleepycat.je.rep.utilint.LongMinZeroStat;
 import com.sleepycat.je.rep.utilint.SimpleTxnMap;
 import com.sleepycat.je.rep.vlsn.VLSNRange;
@@ -119,6 +123,7 @@ import com.sleepycat.je.txn.Txn;
 import com.sleepycat.je.txn.TxnAbort;
 import com.sleepycat.je.txn.TxnCommit;
 import com.sleepycat.je.txn.TxnEnd;
+import com.sleepycat.je.utilint.AtomicLongStat;
 import com.sleepycat.je.utilint.DbLsn;
 import com.sleepycat.je.utilint.LatencyPercentileStat;
 import com.sleepycat.je.utilint.LoggerUtils;
@@ -282,6 +287,12 @@ public class Replay {
     private final LongMaxStat maxCommitProcessingNanos;
     private final LongStat totalCommitProcessingNanos;
     private final LongStat latestCommitLagMs;
+    private final LongStat totalLNApplyNanos;
+    private final AtomicLongStat nPrefetches;
+    private final LongStat nPrefetchDrops;
+
+    /* Null if prefetching is disabled. */
+    private final ReplayPrefetcher prefetcher;
 
     private volatile long heartbeatRequestEnqueueTime = 0;
     private volatile long heartbeatRequestMasterNow = 0;
@@ -370,6 +381,9 @@ public class Replay {
         totalCommitProcessingNanos =
             new LongStat(statistics, TOTAL_COMMIT_PROCESSING_NANOS);
         latestCommitLagMs = new LongStat(statistics, LATEST_COMMIT_LAG_MS);
+        totalLNApplyNanos = new LongStat(statistics, TOTAL_LN_APPLY_NANOS);
+        nPrefetches = new AtomicLongStat(statistics, N_PREFETCHES);
+        nPrefetchDrops = new LongStat(statistics, N_PREFETCH_DROPS);
 
         replayQueueAvgDelayMs =
             new LongAvgStat(statistics, REPLAY_QUEUE_AVG_DELAY_MS);
@@ -398,6 +412,26 @@ public class Replay {
 
         replayLoggingThresholdNs = MILLISECONDS.toNanos(configManager.
            getDuration(RepParams.REPLAY_LOGGING_THRESHOLD));
+
+        final int nPrefetchThreads =
+            configManager.getInt(RepParams.REPLAY_PREFETCH_THREADS);
+        prefetcher = (nPrefetchThreads > 0) ?
+            new ReplayPrefetcher(
+                repImpl, nPrefetchThreads,
+                configManager.getInt(RepParams.REPLICA_MESSAGE_QUEUE_SIZE),
+                nPrefetches, nPrefetchDrops) :
+            null;
+    }
+
+    /**
+     * Called by the RepNode thread for each message before it is placed on
+     * the replay queue, to start bringing the BIN needed by an LN entry into
+     * the cache. Does nothing if prefetching is disabled.
+     */
+    void prefetch(Message message) {
+        if (prefetcher != null && message instanceof Protocol.Entry) {
+            prefetcher.prefetch((Protocol.Entry) message);
+        }
     }
 
     /**
@@ -725,7 +759,9 @@ public class Replay {
                 nLNs.increment();
                 /* A data operation. */
                 assert wireRecord.getLogEntry() instanceof LNLogEntry;
+                final long applyStartNs = System.nanoTime();
                 applyLN(repTxn, wireRecord);
+                totalLNApplyNanos.add(System.nanoTime() - applyStartNs);
             }
 
             /* Remember the last VLSN applied by this txn. */
@@ -1404,6 +1440,10 @@ public class Replay {
      */
     public void close() {
 
+        if (prefetcher != null) {
+            prefetcher.shutdown();
+        }
+
         for (ReplayTxn replayTxn : copyActiveTxns().values()) {
             try {
                 if (logger.isLoggable(Level.FINE)) {
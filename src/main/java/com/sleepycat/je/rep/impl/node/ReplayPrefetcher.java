@@ -0,0 +1,163 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.rep.impl.node;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sleepycat.je.CacheMode;
+import com.sleepycat.je.ThreadInterruptedException;
+import com.sleepycat.je.dbi.DatabaseId;
+import com.sleepycat.je.dbi.DatabaseImpl;
+import com.sleepycat.je.dbi.DbTree;
+import com.sleepycat.je.log.entry.LNLogEntry;
+import com.sleepycat.je.log.entry.LogEntry;
+import com.sleepycat.je.rep.impl.RepImpl;
+import com.sleepycat.je.rep.stream.Protocol;
+import com.sleepycat.je.tree.BIN;
+import com.sleepycat.je.utilint.AtomicLongStat;
+import com.sleepycat.je.utilint.LoggerUtils;
+import com.sleepycat.je.utilint.LongStat;
+import com.sleepycat.je.utilint.StoppableThreadFactory;
+
+/**
+ * Warms the cache for LN entries that are waiting in the replay queue, so
+ * that the single replay thread finds the BINs it needs already resident.
+ *
+ * Replay itself must remain serial: entries are logged at the replica in
+ * VLSN order, and the VLSN index and syncup depend on that order. What can
+ * be overlapped is the I/O needed to bring the target BIN (and its parents)
+ * into the cache. The RepNode thread hands each incoming LN entry to this
+ * prefetcher before queuing it for replay; a pool thread then performs a
+ * read-only tree search for the entry's key, and releases the BIN latch
+ * without locking or reading the record.
+ *
+ * Prefetching is strictly best-effort. If the pool's queue is full the
+ * request is dropped rather than delaying the RepNode thread, and any
+ * exception during a prefetch is ignored, since the replay thread will
+ * perform the same search and handle any real problem.
+ */
+class ReplayPrefetcher {
+
+    /* Max time to wait for in-progress prefetches during shutdown. */
+    private static final long SHUTDOWN_WAIT_MS = 10 * 1000;
+
+    private final RepImpl repImpl;
+    private final ThreadPoolExecutor pool;
+    private final AtomicLongStat nPrefetches;
+    private final LongStat nPrefetchDrops;
+    private final Logger logger;
+
+    ReplayPrefetcher(final RepImpl repImpl,
+                     final int nThreads,
+                     final int queueSize,
+                     final AtomicLongStat nPrefetches,
+                     final LongStat nPrefetchDrops) {
+        this.repImpl = repImpl;
+        this.nPrefetches = nPrefetches;
+        this.nPrefetchDrops = nPrefetchDrops;
+        logger = LoggerUtils.getLogger(getClass());
+
+        pool = new ThreadPoolExecutor(
+            nThreads, nThreads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<Runnable>(queueSize),
+            new StoppableThreadFactory(repImpl, "ReplayPrefetch", logger),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Submits a prefetch for the given message if it is an LN entry. Called
+     * by the RepNode thread before the message is placed on the replay
+     * queue, that is, before the replay thread can call postFetchInit on the
+     * log entry, so the key may be read here without synchronization.
+     */
+    void prefetch(final Protocol.Entry entry) {
+
+        final LogEntry logEntry = entry.getWireRecord().getLogEntry();
+        if (!(logEntry instanceof LNLogEntry)) {
+            return;
+        }
+
+        final LNLogEntry<?> lnEntry = (LNLogEntry<?>) logEntry;
+        final byte[] key = lnEntry.getKeyIfNoConversion();
+        if (key == null) {
+            return;
+        }
+
+        final DatabaseId dbId = lnEntry.getDbId();
+        try {
+            pool.execute(() -> doPrefetch(dbId, key));
+        } catch (RejectedExecutionException e) {
+            nPrefetchDrops.increment();
+        }
+    }
+
+    private void doPrefetch(final DatabaseId dbId, final byte[] key) {
+
+        if (repImpl.isClosing() || !repImpl.isValid()) {
+            return;
+        }
+
+        final DbTree dbTree = repImpl.getDbTree();
+        DatabaseImpl db = null;
+        try {
+            db = dbTree.getDb(dbId);
+            if (db == null || db.isDeleting()) {
+                return;
+            }
+
+            final BIN bin = db.getTree().search(key, CacheMode.DEFAULT);
+            if (bin != null) {
+                bin.releaseLatch();
+            }
+            nPrefetches.increment();
+        } catch (RuntimeException e) {
+            if (logger.isLoggable(Level.FINE)) {
+                LoggerUtils.fine(logger, repImpl,
+                                 "Replay prefetch failed for db " + dbId +
+                                 ": " + e);
+            }
+        } finally {
+            dbTree.releaseDb(db);
+        }
+    }
+
+    /**
+     * Discards pending prefetches, stops the pool threads, and waits up to
+     * SHUTDOWN_WAIT_MS for in-progress prefetches to finish, so that they do
+     * not access the environment after the replay unit is closed. The
+     * threads are not interrupted, since an interrupt during a file read
+     * would close the underlying FileChannel. A prefetch that is still
+     * running after the wait returns without effect once the environment is
+     * closing.
+     */
+    void shutdown() {
+        pool.getQueue().clear();
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(
+                SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                LoggerUtils.warning(logger, repImpl,
+                                    "Replay prefetch threads did not stop" +
+                                    " within " + SHUTDOWN_WAIT_MS + "ms");
+            }
+        } catch (InterruptedException e) {
+            throw new ThreadInterruptedException(repImpl, e);
+        }
+    }
+}
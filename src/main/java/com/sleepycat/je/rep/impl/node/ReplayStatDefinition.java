@@ -176,6 +176,36 @@ public class ReplayStatDefinition {
             TOTAL_COMMIT_PROCESSING_NANOS_NAME,
             TOTAL_COMMIT_PROCESSING_NANOS_DESC);
 
+    public static final String TOTAL_LN_APPLY_NANOS_NAME =
+        "totalLNApplyNanos";
+    public static final String TOTAL_LN_APPLY_NANOS_DESC =
+        "Total nanosecs spent applying data records (LNs), excluding the " +
+            "time spent waiting in the replay queue.";
+    public static final StatDefinition TOTAL_LN_APPLY_NANOS =
+        new StatDefinition(
+            TOTAL_LN_APPLY_NANOS_NAME,
+            TOTAL_LN_APPLY_NANOS_DESC);
+
+    public static final String N_PREFETCHES_NAME =
+        "nPrefetches";
+    public static final String N_PREFETCHES_DESC =
+        "Number of data records whose BIN was searched for by a replay " +
+            "prefetch thread before the record was replayed.";
+    public static final StatDefinition N_PREFETCHES =
+        new StatDefinition(
+            N_PREFETCHES_NAME,
+            N_PREFETCHES_DESC);
+
+    public static final String N_PREFETCH_DROPS_NAME =
+        "nPrefetchDrops";
+    public static final String N_PREFETCH_DROPS_DESC =
+        "Number of replay prefetch requests that were discarded because " +
+            "the prefetch queue was full.";
+    public static final StatDefinition N_PREFETCH_DROPS =
+        new StatDefinition(
+            N_PREFETCH_DROPS_NAME,
+            N_PREFETCH_DROPS_DESC);
+
     public static final String LATEST_COMMIT_LAG_MS_NAME =
         "latestCommitLagMs";
     public static final String LATEST_COMMIT_LAG_MS_DESC =
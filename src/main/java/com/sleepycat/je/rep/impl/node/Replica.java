@@ -576,6 +576,8 @@ public class Replica {
                         (Protocol.Heartbeat) message);
                 }
 
+                replay.prefetch(message);
+
                 while (!replayQueue.
                         offer(message,
                               ReplayThread.QUEUE_POLL_INTERVAL_NS,
@@ -67,11 +67,21 @@ public abstract class BaseProtocol extends BinaryProtocol {
      */
 
     /* The default (highest) version supported by the Protocol code. */
-    public static final int MAX_VERSION = 9;
+    public static final int MAX_VERSION = 10;
 
     /* The minimum version we're willing to interact with. */
     static final int MIN_VERSION = 3;
 
+    /*
+     * Version added in JE 18.3.13 to support compression of the replication
+     * stream, negotiated via the JE versions handshake messages. It is not
+     * used until JEVersion.CURRENT_VERSION reaches 18.3.13.
+     */
+    public static final int VERSION_10 = 10;
+
+    public static final JEVersion VERSION_10_JE_VERSION =
+        new JEVersion("18.3.13");
+
     /*
      * Version added in JE 18.3.4 to support return security check failure
      * response to stream client
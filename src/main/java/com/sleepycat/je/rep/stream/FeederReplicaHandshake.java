@@ -28,6 +28,7 @@ import com.sleepycat.je.rep.NodeType;
 import com.sleepycat.je.rep.impl.RepGroupImpl;
 import com.sleepycat.je.rep.impl.RepGroupImpl.NodeConflictException;
 import com.sleepycat.je.rep.impl.RepNodeImpl;
+import com.sleepycat.je.rep.impl.RepParams;
 import com.sleepycat.je.rep.impl.node.Feeder;
 import com.sleepycat.je.rep.impl.node.Feeder.ExitException;
 import com.sleepycat.je.rep.impl.node.NameIdPair;
@@ -71,6 +72,12 @@ public class FeederReplicaHandshake {
      */
     private int streamLogVersion;
 
+    /**
+     * Whether the feeder will compress the HA stream, which requires that
+     * both the feeder and the replica have it enabled.
+     */
+    private boolean streamCompression;
+
     /** The node associated with the replica, or null if not known. */
     private volatile RepNodeImpl replicaNode;
 
@@ -198,6 +205,15 @@ public class FeederReplicaHandshake {
         return null;
     }
 
+    /**
+     * Returns whether the negotiated HA stream is compressed. This method
+     * should only be called after the {@link #execute} method has returned
+     * successfully.
+     */
+    public boolean getStreamCompression() {
+        return streamCompression;
+    }
+
     /**
      * Returns the JE version supported by the replica, or {@code null} if the
      * value is not yet known.  This method should only be called after the
@@ -272,11 +288,20 @@ public class FeederReplicaHandshake {
         streamLogVersion =
             Math.min(getCurrentLogVersion(), replicaJEVersions.getLogVersion());
 
+        /*
+         * Compress the stream only if the replica asked for it, which
+         * implies that it can decompress it, and it's enabled here too.
+         */
+        streamCompression = replicaJEVersions.getStreamCompression() &&
+            repNode.getRepImpl().getConfigManager().getBoolean(
+                RepParams.STREAM_COMPRESSION);
+
         writeMessage(protocol,
                      protocol.new FeederJEVersions(
                          getCurrentJEVersion(),
                          streamLogVersion,
-                         repNode.getMinJEVersion()));
+                         repNode.getMinJEVersion(),
+                         streamCompression));
 
         /* Ensure that the feeder sends the agreed upon version. */
         protocol.setStreamLogVersion(streamLogVersion);
@@ -290,7 +315,8 @@ public class FeederReplicaHandshake {
              "Feeder-replica " + replicaNameIdPair.getName() +
              " handshake completed." +
              versionMsg +
-             " Stream Log: " + protocol.getStreamLogVersion());
+             " Stream Log: " + protocol.getStreamLogVersion() +
+             " Stream compression: " + streamCompression);
 
         return protocol;
     }
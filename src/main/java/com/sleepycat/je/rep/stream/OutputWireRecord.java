@@ -306,7 +306,8 @@ public class OutputWireRecord extends WireRecord {
                 if (logEntry.hasReplicationFormat()) {
                     newSize = logEntry.getSize(
                         logVersion, true /*forReplication*/);
-                    reserialize = header.getItemSize() > newSize;
+                    reserialize = header.getItemSize() > newSize ||
+                        isDataCompressed(logEntry);
                 } else {
                     reserialize = false;
                 }
@@ -333,6 +334,15 @@ public class OutputWireRecord extends WireRecord {
         return reserialize;
     }
 
+    /**
+     * Returns whether the entry is an LN with compressed data, which must
+     * always be re-serialized because compressed data is not replicated.
+     */
+    private static boolean isDataCompressed(final ReplicableLogEntry entry) {
+        return (entry instanceof LNLogEntry) &&
+            ((LNLogEntry<?>) entry).isDataCompressed();
+    }
+
     /**
      * Returns whether the format of the entry needs to be changed in order to
      * be read by a replica that only understands versions no later than {@code
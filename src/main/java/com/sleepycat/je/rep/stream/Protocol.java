@@ -393,6 +393,8 @@ public class Protocol extends BaseProtocol {
      */
     static JEVersion getProtocolJEVersion(final int protocolVersion) {
         switch (protocolVersion) {
+        case VERSION_10:
+            return VERSION_10_JE_VERSION;
         case VERSION_9:
             return VERSION_9_JE_VERSION;
         case VERSION_8:
@@ -418,7 +420,9 @@ public class Protocol extends BaseProtocol {
      */
     static int getJEVersionProtocolVersion(final JEVersion jeVersion) {
         if (jeVersion == null) {
-            return VERSION_9;
+            return VERSION_10;
+        } else if (jeVersion.compareTo(VERSION_10_JE_VERSION) >= 0) {
+            return VERSION_10;
         } else if (jeVersion.compareTo(VERSION_9_JE_VERSION) >= 0) {
             return VERSION_9;
         } else if (jeVersion.compareTo(VERSION_8_JE_VERSION) >= 0) {
@@ -781,12 +785,35 @@ public class Protocol extends BaseProtocol {
 
     public class ReplicaJEVersions extends JEVersions {
 
-        ReplicaJEVersions(JEVersion version, int logVersion) {
+        /*
+         * Whether the replica would like the stream to be compressed. Is
+         * false if protocol version < VERSION_10.
+         */
+        private boolean streamCompression;
+
+        ReplicaJEVersions(JEVersion version,
+                          int logVersion,
+                          boolean streamCompression) {
             super(version, logVersion);
+            this.streamCompression = streamCompression;
+        }
+
+        @Override
+        public ByteBuffer wireFormat() {
+            if (configuredVersion < VERSION_10) {
+                return super.wireFormat();
+            }
+            return wireFormat(getVersion().getVersionString(),
+                              (int) getLogVersion(),
+                              streamCompression);
         }
 
         public ReplicaJEVersions(ByteBuffer buffer) {
             super(buffer);
+            if (configuredVersion < VERSION_10) {
+                return;
+            }
+            this.streamCompression = getBoolean(buffer);
         }
 
         @Override
@@ -794,6 +821,12 @@ public class Protocol extends BaseProtocol {
             return REPLICA_JE_VERSIONS;
         }
 
+        /**
+         * Returns whether the replica requested stream compression.
+         */
+        public boolean getStreamCompression() {
+            return streamCompression;
+        }
     }
 
     public class FeederJEVersions extends JEVersions {
@@ -801,11 +834,19 @@ public class Protocol extends BaseProtocol {
         /* Is null if protocol version < VERSION_7. */
         private JEVersion minJEVersion;
 
+        /*
+         * Whether the feeder will compress the stream. Is false if protocol
+         * version < VERSION_10.
+         */
+        private boolean streamCompression;
+
         FeederJEVersions(JEVersion version,
                          int logVersion,
-                         JEVersion minJEVersion) {
+                         JEVersion minJEVersion,
+                         boolean streamCompression) {
             super(version, logVersion);
             this.minJEVersion = minJEVersion;
+            this.streamCompression = streamCompression;
         }
 
         @Override
@@ -813,10 +854,17 @@ public class Protocol extends BaseProtocol {
             if (configuredVersion < VERSION_7){
                 return super.wireFormat();
             }
+            if (configuredVersion < VERSION_10) {
+                return wireFormat(
+                    getVersion().getVersionString(),
+                    (int) getLogVersion(),
+                    minJEVersion.getVersionString());
+            }
             return wireFormat(
                 getVersion().getVersionString(),
                 (int) getLogVersion(),
-                minJEVersion.getVersionString());
+                minJEVersion.getVersionString(),
+                streamCompression);
         }
 
         public FeederJEVersions(ByteBuffer buffer) {
@@ -825,6 +873,10 @@ public class Protocol extends BaseProtocol {
                 return;
             }
             this.minJEVersion = new JEVersion(getString(buffer));
+            if (configuredVersion < VERSION_10) {
+                return;
+            }
+            this.streamCompression = getBoolean(buffer);
         }
 
         @Override
@@ -839,6 +891,14 @@ public class Protocol extends BaseProtocol {
         public JEVersion getMinJEVersion() {
             return minJEVersion;
         }
+
+        /**
+         * Returns whether the feeder will compress the stream, which is only
+         * true if the replica requested it.
+         */
+        public boolean getStreamCompression() {
+            return streamCompression;
+        }
     }
 
     /* Reject response to a ReplicaJEVersions request */
@@ -16,6 +16,7 @@ package com.sleepycat.je.rep.stream;
 import static com.sleepycat.je.log.LogEntryType.LOG_VERSION_EXPIRE_INFO;
 import static com.sleepycat.je.rep.impl.RepParams.GROUP_NAME;
 import static com.sleepycat.je.rep.impl.RepParams.MAX_CLOCK_DELTA;
+import static com.sleepycat.je.rep.impl.RepParams.STREAM_COMPRESSION;
 
 import java.io.IOException;
 import java.util.logging.Level;
@@ -270,7 +271,9 @@ public class ReplicaFeederHandshake {
 
         LoggerUtils.info(logger, repImpl,
                          "Replica-feeder " + feederNameIdPair.getName() +
-                         " handshake completed.");
+                         " handshake completed." +
+                         " Stream compression: " +
+                         feederJEVersions.getStreamCompression());
         return protocol;
     }
 
@@ -280,9 +283,12 @@ public class ReplicaFeederHandshake {
     private void verifyVersions()
         throws IOException {
 
+        final boolean streamCompression =
+            repImpl.getConfigManager().getBoolean(STREAM_COMPRESSION);
         protocol.write(protocol.new
                        ReplicaJEVersions(getCurrentJEVersion(),
-                                         getCurrentLogVersion()),
+                                         getCurrentLogVersion(),
+                                         streamCompression),
                        namedChannel);
         Message message = protocol.read(namedChannel);
         if (message instanceof JEVersionsReject) {
@@ -15,6 +15,11 @@ package com.sleepycat.je.rep.utilint;
 
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_BYTES_READ;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_BYTES_WRITTEN;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_COMPRESSED_BATCHES;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_COMPRESSED_BATCH_BYTES;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_COMPRESSED_BATCH_INPUT_BYTES;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_COMPRESS_NANOS;
+import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_DECOMPRESS_NANOS;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_ENTRIES_WRITTEN_OLD_VERSION;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_MESSAGES_BATCHED;
 import static com.sleepycat.je.rep.utilint.BinaryProtocolStatDefinition.N_MESSAGES_READ;
@@ -35,6 +40,9 @@ import java.util.Map;
 import java.util.logging.Formatter;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import com.sleepycat.je.EnvironmentFailureException;
 import com.sleepycat.je.StatsConfig;
@@ -110,6 +118,9 @@ public abstract class BinaryProtocol {
     public final MessageOp PROTOCOL_ERROR =
         new MessageOp((short) 1004, ProtocolError.class);
 
+    public final MessageOp COMPRESSED_BATCH =
+        new MessageOp((short) 1005, CompressedBatch.class);
+
     /* Statistics definition. */
     protected final StatGroup stats;
     protected final LongStat nReadNanos;
@@ -121,6 +132,48 @@ public abstract class BinaryProtocol {
     protected final LongStat nMessagesBatched;
     protected final LongStat nMessageBatches;
     protected final LongStat nEntriesWrittenOldVersion;
+    protected final LongStat nCompressedBatches;
+    protected final LongStat nCompressedBatchInputBytes;
+    protected final LongStat nCompressedBatchBytes;
+    protected final LongStat nCompressNanos;
+    protected final LongStat nDecompressNanos;
+
+    /*
+     * Batches smaller than this are not worth compressing, since the
+     * compressed batch has its own header and the fixed cost of deflation
+     * dominates.
+     */
+    private static final int MIN_COMPRESSED_BATCH_SIZE = 512;
+
+    /*
+     * Size of the fields preceding the deflated bytes in a compressed batch:
+     * the message header followed by the uncompressed length (int).
+     */
+    private static final int COMPRESSED_BATCH_HEADER_SIZE =
+        MESSAGE_HEADER_SIZE + 4;
+
+    /*
+     * Whether batches written by flushBufferedWrites are compressed. Set
+     * only after the peer has agreed to it during the handshake.
+     */
+    private volatile boolean compressBatches;
+
+    /*
+     * State used to compress batches, accessed only by the thread writing
+     * batches, and allocated on first use.
+     */
+    private Deflater deflater;
+    private byte[] deflateInput;
+    private byte[] deflateOutput;
+
+    /*
+     * State used to decompress batches, accessed only by the thread reading
+     * messages. inflatedBatch is non-null while messages from the most
+     * recently read compressed batch remain to be returned by read.
+     */
+    private Inflater inflater;
+    private byte[] inflateOutput;
+    private ByteBuffer inflatedBatch;
 
     protected final Logger logger;
     protected final Formatter formatter;
@@ -163,13 +216,20 @@ public abstract class BinaryProtocol {
         nMessageBatches = new LongStat(stats, N_MESSAGE_BATCHES);
         nEntriesWrittenOldVersion =
             new LongStat(stats, N_ENTRIES_WRITTEN_OLD_VERSION);
+        nCompressedBatches = new LongStat(stats, N_COMPRESSED_BATCHES);
+        nCompressedBatchInputBytes =
+            new LongStat(stats, N_COMPRESSED_BATCH_INPUT_BYTES);
+        nCompressedBatchBytes = new LongStat(stats, N_COMPRESSED_BATCH_BYTES);
+        nCompressNanos = new LongStat(stats, N_COMPRESS_NANOS);
+        nDecompressNanos = new LongStat(stats, N_DECOMPRESS_NANOS);
 
         /* Initialize with the pre-defined protocol messages. */
         for (MessageOp op :
             new MessageOp[] { CLIENT_VERSION,
                               SERVER_VERSION,
                               INCOMPATIBLE_VERSION,
-                              PROTOCOL_ERROR }) {
+                              PROTOCOL_ERROR,
+                              COMPRESSED_BATCH }) {
 
             if (ops.put(op.opId, op) != null) {
                 throw EnvironmentFailureException.unexpectedState
@@ -242,6 +302,20 @@ public abstract class BinaryProtocol {
         stats.clear();
     }
 
+    /**
+     * Determines whether message batches written by {@link
+     * #flushBufferedWrites} are compressed. Must only be enabled once the
+     * peer is known to understand compressed batches. Reading compressed
+     * batches is always supported.
+     */
+    public void setCompressBatches(boolean compressBatches) {
+        this.compressBatches = compressBatches;
+    }
+
+    public boolean getCompressBatches() {
+        return compressBatches;
+    }
+
     /* Messages <= this size will use the shared buffer. */
     private static int CACHED_BUFFER_SIZE = 0x4000;
 
@@ -462,18 +536,23 @@ public abstract class BinaryProtocol {
     public Message read(ReadableByteChannel channel)
         throws IOException {
 
+        /* Return any messages remaining from a compressed batch first. */
+        if (inflatedBatch != null) {
+            return readInflated();
+        }
+
         /* Get the message header. */
         fillBuffer(channel, header);
 
         /* Use the type value to determine the message type. */
         MessageOp op = getOp(header);
         try {
-            Constructor<? extends Message> cons = op.getConstructor();
-
             /* Read the size to determine the body of the message. */
             int messageBodySize = LogUtils.readInt(header);
             nBytesRead.add(MESSAGE_HEADER_SIZE + messageBodySize);
-            nMessagesRead.increment();
+            if (op != COMPRESSED_BATCH) {
+                nMessagesRead.increment();
+            }
             if (messageBodySize > 0) {
                 if (messageBodySize > maxMessageSize) {
                     throw EnvironmentFailureException.unexpectedState
@@ -486,7 +565,11 @@ public abstract class BinaryProtocol {
 
                 ByteBuffer body = allocateReadBuffer(messageBodySize);
                 fillBuffer(channel, body);
-                return cons.newInstance(this, body);
+                if (op == COMPRESSED_BATCH) {
+                    inflateBatch(body);
+                    return readInflated();
+                }
+                return newMessage(op, body);
             }
 
             if (messageBodySize < 0) {
@@ -494,7 +577,20 @@ public abstract class BinaryProtocol {
                     ("Message op: " + op + " Body size: " + messageBodySize);
             }
             /* No body */
-            return cons.newInstance(this, null);
+            return newMessage(op, null);
+        } finally {
+            /* The header buffer will be reused, so clear it. */
+            header.clear();
+        }
+    }
+
+    /**
+     * Creates a message from its body, which is null if the body is empty.
+     */
+    private Message newMessage(MessageOp op, ByteBuffer body) {
+        try {
+            Constructor<? extends Message> cons = op.getConstructor();
+            return cons.newInstance(this, body);
         } catch (InstantiationException e) {
             throw EnvironmentFailureException.unexpectedException(e);
         } catch (IllegalAccessException e) {
@@ -503,12 +599,84 @@ public abstract class BinaryProtocol {
             throw EnvironmentFailureException.unexpectedException(e);
         } catch (InvocationTargetException e) {
             throw EnvironmentFailureException.unexpectedException(e);
-        } finally {
-            /* The header buffer will be reused, so clear it. */
-            header.clear();
         }
     }
 
+    /**
+     * Decompresses the body of a COMPRESSED_BATCH message into inflatedBatch.
+     * The body consists of the uncompressed length (int) followed by the
+     * deflated messages, each with its usual header.
+     */
+    private void inflateBatch(ByteBuffer body) {
+
+        final long start = System.nanoTime();
+        final int inflatedSize = LogUtils.readInt(body);
+        if (inflatedSize <= 0 || inflatedSize > maxMessageSize) {
+            throw EnvironmentFailureException.unexpectedState
+                ("Compressed batch size: " + inflatedSize +
+                 " is invalid.  maxSizeAllowed: " + maxMessageSize);
+        }
+
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        if (inflateOutput == null || inflateOutput.length < inflatedSize) {
+            inflateOutput = new byte[inflatedSize];
+        }
+
+        inflater.reset();
+        inflater.setInput(body.array(), body.arrayOffset() + body.position(),
+                          body.remaining());
+        try {
+            final int n = inflater.inflate(inflateOutput, 0, inflatedSize);
+            if (n != inflatedSize || !inflater.finished()) {
+                throw EnvironmentFailureException.unexpectedState
+                    ("Compressed batch inflated to: " + n +
+                     " bytes, expected: " + inflatedSize);
+            }
+        } catch (DataFormatException e) {
+            throw EnvironmentFailureException.unexpectedException(e);
+        }
+
+        inflatedBatch = ByteBuffer.wrap(inflateOutput, 0, inflatedSize);
+        nDecompressNanos.add(System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the next message in inflatedBatch, which must be non-null.
+     * The body is copied into a read buffer, just as if it had been read
+     * from the channel.
+     */
+    private Message readInflated() {
+
+        final ByteBuffer batch = inflatedBatch;
+        final MessageOp op = getOp(batch);
+        final int messageBodySize = LogUtils.readInt(batch);
+        if (op == COMPRESSED_BATCH ||
+            messageBodySize < 0 || messageBodySize > batch.remaining()) {
+            throw EnvironmentFailureException.unexpectedState
+                ("Message op: " + op + " Body size: " + messageBodySize +
+                 " in compressed batch with remaining bytes: " +
+                 batch.remaining());
+        }
+        nMessagesRead.increment();
+
+        ByteBuffer body = null;
+        if (messageBodySize > 0) {
+            body = allocateReadBuffer(messageBodySize);
+            final int limit = batch.limit();
+            batch.limit(batch.position() + messageBodySize);
+            body.put(batch);
+            batch.limit(limit);
+            body.flip();
+        }
+
+        if (!batch.hasRemaining()) {
+            inflatedBatch = null;
+        }
+        return newMessage(op, body);
+    }
+
     @SuppressWarnings("unchecked")
     public <T extends Message> T read(ReadableByteChannel channel, Class<T> cl)
         throws IOException, ProtocolException {
@@ -657,12 +825,82 @@ public abstract class BinaryProtocol {
         }
 
         batchWriteBuffer.flip();
-        flushBuffer(channel, batchWriteBuffer);
+        final ByteBuffer compressedBatch = compressBatches ?
+            compressBatch(batchWriteBuffer) :
+            null;
+        flushBuffer(channel,
+                    (compressedBatch != null) ?
+                    compressedBatch :
+                    batchWriteBuffer);
         batchWriteBuffer.clear();
 
         return;
     }
 
+    /**
+     * Returns a COMPRESSED_BATCH message containing the deflated contents of
+     * the flipped batch buffer, or null if the batch is too small to be worth
+     * compressing or does not compress to a smaller size. The returned buffer
+     * is reused by the next call.
+     *
+     * Deflater at its fastest level is used, since the goal is to reduce the
+     * bandwidth used by the replication stream without adding noticeably to
+     * the latency of commits that need acks.
+     */
+    private ByteBuffer compressBatch(ByteBuffer batch) {
+
+        final int inputSize = batch.remaining();
+        if (inputSize < MIN_COMPRESSED_BATCH_SIZE) {
+            return null;
+        }
+
+        final long start = System.nanoTime();
+
+        if (deflater == null) {
+            deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+        if (deflateInput == null || deflateInput.length < inputSize) {
+            deflateInput = new byte[inputSize];
+            deflateOutput = new byte[inputSize];
+        }
+
+        /* Deflater does not accept a ByteBuffer in Java 8. */
+        batch.get(deflateInput, 0, inputSize);
+        batch.rewind();
+
+        deflater.reset();
+        deflater.setInput(deflateInput, 0, inputSize);
+        deflater.finish();
+
+        /*
+         * Limit the output so that the compressed batch, including its
+         * header, is smaller than the uncompressed batch.
+         */
+        final int maxDeflatedSize = inputSize - COMPRESSED_BATCH_HEADER_SIZE;
+        final int deflatedSize = deflater.deflate(
+            deflateOutput, COMPRESSED_BATCH_HEADER_SIZE, maxDeflatedSize - 1);
+
+        if (!deflater.finished()) {
+            /* Not compressible. */
+            nCompressNanos.add(System.nanoTime() - start);
+            return null;
+        }
+
+        final int compressedSize = COMPRESSED_BATCH_HEADER_SIZE + deflatedSize;
+        final ByteBuffer compressedBatch = ByteBuffer.wrap(deflateOutput);
+        LogUtils.writeShort(compressedBatch, COMPRESSED_BATCH.getOpId());
+        LogUtils.writeInt(compressedBatch, 4 + deflatedSize);
+        LogUtils.writeInt(compressedBatch, inputSize);
+        compressedBatch.position(0);
+        compressedBatch.limit(compressedSize);
+
+        nCompressedBatches.increment();
+        nCompressedBatchInputBytes.add(inputSize);
+        nCompressedBatchBytes.add(compressedSize);
+        nCompressNanos.add(System.nanoTime() - start);
+        return compressedBatch;
+    }
+
     /**
      * Writes the entire contents of the buffer to the blocking channel.
      */
@@ -1006,6 +1244,22 @@ public abstract class BinaryProtocol {
         }
     }
 
+    /**
+     * A batch of messages written as a single deflated unit, see
+     * flushBufferedWrites. The message is unwrapped by read, which returns
+     * the messages in the batch, so instances are never returned to callers.
+     */
+    public class CompressedBatch extends Message {
+
+        public CompressedBatch(@SuppressWarnings("unused") ByteBuffer buffer) {
+        }
+
+        @Override
+        public MessageOp getOp() {
+            return COMPRESSED_BATCH;
+        }
+    }
+
     public class ProtocolError extends RejectMessage {
 
         public ProtocolError(String errorMessage) {
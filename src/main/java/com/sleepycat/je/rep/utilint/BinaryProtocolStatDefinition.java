@@ -183,4 +183,54 @@ public class BinaryProtocolStatDefinition {
         new StatDefinition(
             N_ENTRIES_WRITTEN_OLD_VERSION_NAME,
             N_ENTRIES_WRITTEN_OLD_VERSION_DESC);
+    public static final String N_COMPRESSED_BATCHES_NAME =
+        "nCompressedBatches";
+    public static final String N_COMPRESSED_BATCHES_DESC =
+        "The number of message batches that were compressed before being " +
+            "written over the network.";
+    public static final StatDefinition N_COMPRESSED_BATCHES =
+        new StatDefinition(
+            N_COMPRESSED_BATCHES_NAME,
+            N_COMPRESSED_BATCHES_DESC);
+
+    public static final String N_COMPRESSED_BATCH_INPUT_BYTES_NAME =
+        "nCompressedBatchInputBytes";
+    public static final String N_COMPRESSED_BATCH_INPUT_BYTES_DESC =
+        "The number of bytes in message batches before they were " +
+            "compressed. The compression ratio is this value divided by " +
+            "nCompressedBatchBytes.";
+    public static final StatDefinition N_COMPRESSED_BATCH_INPUT_BYTES =
+        new StatDefinition(
+            N_COMPRESSED_BATCH_INPUT_BYTES_NAME,
+            N_COMPRESSED_BATCH_INPUT_BYTES_DESC);
+
+    public static final String N_COMPRESSED_BATCH_BYTES_NAME =
+        "nCompressedBatchBytes";
+    public static final String N_COMPRESSED_BATCH_BYTES_DESC =
+        "The number of bytes written over the network for compressed " +
+            "message batches, including their headers.";
+    public static final StatDefinition N_COMPRESSED_BATCH_BYTES =
+        new StatDefinition(
+            N_COMPRESSED_BATCH_BYTES_NAME,
+            N_COMPRESSED_BATCH_BYTES_DESC);
+
+    public static final String N_COMPRESS_NANOS_NAME =
+        "nCompressNanos";
+    public static final String N_COMPRESS_NANOS_DESC =
+        "The number of nanoseconds spent compressing message batches, " +
+            "including batches that did not compress well and were sent " +
+            "uncompressed.";
+    public static final StatDefinition N_COMPRESS_NANOS =
+        new StatDefinition(
+            N_COMPRESS_NANOS_NAME,
+            N_COMPRESS_NANOS_DESC);
+
+    public static final String N_DECOMPRESS_NANOS_NAME =
+        "nDecompressNanos";
+    public static final String N_DECOMPRESS_NANOS_DESC =
+        "The number of nanoseconds spent decompressing message batches.";
+    public static final StatDefinition N_DECOMPRESS_NANOS =
+        new StatDefinition(
+            N_DECOMPRESS_NANOS_NAME,
+            N_DECOMPRESS_NANOS_DESC);
 }
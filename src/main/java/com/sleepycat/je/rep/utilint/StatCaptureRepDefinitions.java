@@ -54,6 +54,9 @@ public class StatCaptureRepDefinitions extends StatCaptureDefinitions {
         ReplayStatDefinition.MIN_COMMIT_PROCESSING_NANOS,
         ReplayStatDefinition.MAX_COMMIT_PROCESSING_NANOS,
         ReplayStatDefinition.TOTAL_COMMIT_PROCESSING_NANOS,
+        ReplayStatDefinition.TOTAL_LN_APPLY_NANOS,
+        ReplayStatDefinition.N_PREFETCHES,
+        ReplayStatDefinition.N_PREFETCH_DROPS,
         ReplayStatDefinition.LATEST_COMMIT_LAG_MS,
         ReplayStatDefinition.N_GROUP_COMMIT_TIMEOUTS,
         ReplayStatDefinition.N_GROUP_COMMIT_MAX_EXCEEDED,
@@ -107,7 +110,12 @@ public class StatCaptureRepDefinitions extends StatCaptureDefinitions {
         BinaryProtocolStatDefinition.N_GROUP_ACK_MESSAGES,
         BinaryProtocolStatDefinition.N_MAX_GROUPED_ACKS,
         BinaryProtocolStatDefinition.N_GROUPED_ACKS,
-        BinaryProtocolStatDefinition.N_ENTRIES_WRITTEN_OLD_VERSION
+        BinaryProtocolStatDefinition.N_ENTRIES_WRITTEN_OLD_VERSION,
+        BinaryProtocolStatDefinition.N_COMPRESSED_BATCHES,
+        BinaryProtocolStatDefinition.N_COMPRESSED_BATCH_INPUT_BYTES,
+        BinaryProtocolStatDefinition.N_COMPRESSED_BATCH_BYTES,
+        BinaryProtocolStatDefinition.N_COMPRESS_NANOS,
+        BinaryProtocolStatDefinition.N_DECOMPRESS_NANOS
     };
 
     private static StatDefinition[] vlsnIndexStats = {
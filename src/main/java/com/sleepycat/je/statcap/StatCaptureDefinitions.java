@@ -64,6 +64,7 @@ public class StatCaptureDefinitions {
         CleanerStatDefinition.CLEANER_LNS_EXTINCT,
         CleanerStatDefinition.CLEANER_LNS_LOCKED,
         CleanerStatDefinition.CLEANER_LNS_MIGRATED,
+        CleanerStatDefinition.CLEANER_LN_BYTES_MIGRATED,
         CleanerStatDefinition.CLEANER_LNS_MARKED,
         CleanerStatDefinition.CLEANER_LNQUEUE_HITS,
         CleanerStatDefinition.CLEANER_PENDING_LNS_PROCESSED,
@@ -72,6 +73,9 @@ public class StatCaptureDefinitions {
         CleanerStatDefinition.CLEANER_PENDING_DBS_INCOMPLETE,
         CleanerStatDefinition.CLEANER_ENTRIES_READ,
         CleanerStatDefinition.CLEANER_DISK_READS,
+        CleanerStatDefinition.CLEANER_READ_AHEAD_BYTES,
+        CleanerStatDefinition.CLEANER_READ_MS,
+        CleanerStatDefinition.CLEANER_PROCESS_MS,
         CleanerStatDefinition.CLEANER_TOTAL_LOG_SIZE,
         CleanerStatDefinition.CLEANER_ACTIVE_LOG_SIZE,
         CleanerStatDefinition.CLEANER_RESERVED_LOG_SIZE,
@@ -109,6 +113,7 @@ public class StatCaptureDefinitions {
         BTreeStatDefinition.BT_OP_BIN_DELTA_INSERTS,
         BTreeStatDefinition.BT_OP_BIN_DELTA_UPDATES,
         BTreeStatDefinition.BT_OP_BIN_DELTA_DELETES,
+        BTreeStatDefinition.BT_OP_OPTIMISTIC_SEARCH_RESTARTS,
     };
 
     private static StatDefinition[] evictorStats = {
@@ -118,6 +123,9 @@ public class StatCaptureDefinitions {
         EvictorStatDefinition.EVICTOR_NODES_STRIPPED,
         EvictorStatDefinition.EVICTOR_NODES_MUTATED,
         EvictorStatDefinition.EVICTOR_NODES_PUT_BACK,
+        EvictorStatDefinition.EVICTOR_NODES_ADMITTED,
+        EvictorStatDefinition.EVICTOR_LRU_BUFFER_CONTENTION,
+        EvictorStatDefinition.EVICTOR_LRU_BUFFER_DROPS,
         EvictorStatDefinition.EVICTOR_NODES_MOVED_TO_PRI2_LRU,
         EvictorStatDefinition.EVICTOR_NODES_SKIPPED,
         EvictorStatDefinition.EVICTOR_ROOT_NODES_EVICTED,
@@ -134,9 +142,14 @@ public class StatCaptureDefinitions {
         EvictorStatDefinition.BIN_FETCH_MISS,
         EvictorStatDefinition.BIN_DELTA_FETCH_MISS,
         EvictorStatDefinition.BIN_FETCH_MISS_RATIO,
+        EvictorStatDefinition.UPPER_IN_FETCH_MISS_RATIO,
         EvictorStatDefinition.FULL_BIN_MISS,
 
         EvictorStatDefinition.BIN_DELTA_BLIND_OPS,
+        EvictorStatDefinition.BINS_FROZEN,
+        EvictorStatDefinition.BINS_THAWED,
+        EvictorStatDefinition.BIN_FETCH_FILTERED,
+        EvictorStatDefinition.BIN_FILTER_FALSE_POSITIVE,
 
         EvictorStatDefinition.CACHED_UPPER_INS,
         EvictorStatDefinition.CACHED_BINS,
@@ -178,8 +191,14 @@ public class StatCaptureDefinitions {
         OffHeapStatDefinition.CACHED_BINS,
         OffHeapStatDefinition.CACHED_BIN_DELTAS,
         OffHeapStatDefinition.TOTAL_BYTES,
+        OffHeapStatDefinition.FRAGMENTED_BYTES,
+        OffHeapStatDefinition.FREE_BYTES,
         OffHeapStatDefinition.TOTAL_BLOCKS,
         OffHeapStatDefinition.LRU_SIZE,
+        OffHeapStatDefinition.WARM_BINS_LOADED,
+        OffHeapStatDefinition.WARM_LNS_LOADED,
+        OffHeapStatDefinition.WARM_MISSES,
+        OffHeapStatDefinition.WARM_ENTRIES,
     };
 
     private static StatDefinition[] inCompStats = {
@@ -211,12 +230,20 @@ public class StatCaptureDefinitions {
         LogStatDefinition.FILEMGR_SEQUENTIAL_WRITE_BYTES,
         LogStatDefinition.FILEMGR_FILE_OPENS,
         LogStatDefinition.FILEMGR_OPEN_FILES,
+        LogStatDefinition.FILEMGR_POSITIONAL_READS,
         LogStatDefinition.FILEMGR_BYTES_READ_FROM_WRITEQUEUE,
         LogStatDefinition.FILEMGR_BYTES_WRITTEN_FROM_WRITEQUEUE,
         LogStatDefinition.FILEMGR_READS_FROM_WRITEQUEUE,
         LogStatDefinition.FILEMGR_WRITES_FROM_WRITEQUEUE,
         LogStatDefinition.FILEMGR_WRITEQUEUE_OVERFLOW,
         LogStatDefinition.FILEMGR_WRITEQUEUE_OVERFLOW_FAILURES,
+        LogStatDefinition.FILEMGR_WRITE_AVG_US,
+        LogStatDefinition.FILEMGR_WRITE_95_US,
+        LogStatDefinition.FILEMGR_WRITE_99_US,
+        LogStatDefinition.FILEMGR_WRITE_MAX_US,
+        LogStatDefinition.FILEMGR_FILE_SWITCHES,
+        LogStatDefinition.FILEMGR_FILE_SWITCH_AVG_MS,
+        LogStatDefinition.FILEMGR_FILE_SWITCH_MAX_MS,
         LogStatDefinition.FSYNCMGR_FSYNCS,
         LogStatDefinition.FSYNCMGR_FSYNC_REQUESTS,
         LogStatDefinition.FSYNCMGR_TIMEOUTS,
@@ -226,10 +253,21 @@ public class StatCaptureDefinitions {
         LogStatDefinition.FILEMGR_FSYNC_99_MS,
         LogStatDefinition.FILEMGR_FSYNC_MAX_MS,
         LogStatDefinition.FSYNCMGR_N_GROUP_COMMIT_REQUESTS,
+        LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_REQUESTS,
+        LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_BATCHES,
+        LogStatDefinition.FSYNCMGR_ASYNC_BATCH_95_SIZE,
+        LogStatDefinition.FSYNCMGR_ASYNC_BATCH_MAX_SIZE,
+        LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_AVG_MS,
+        LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_95_MS,
+        LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_99_MS,
+        LogStatDefinition.FSYNCMGR_ASYNC_COMMIT_MAX_MS,
         LogStatDefinition.LOGMGR_REPEAT_FAULT_READS,
         LogStatDefinition.LOGMGR_REPEAT_ITERATOR_READS,
         LogStatDefinition.LOGMGR_TEMP_BUFFER_WRITES,
         LogStatDefinition.LOGMGR_END_OF_LOG,
+        LogStatDefinition.LOGMGR_LNS_COMPRESSED,
+        LogStatDefinition.LOGMGR_LN_COMPRESS_RAW_BYTES,
+        LogStatDefinition.LOGMGR_LN_COMPRESSED_BYTES,
         LogStatDefinition.LBFP_NO_FREE_BUFFER,
         LogStatDefinition.LBFP_NOT_RESIDENT,
         LogStatDefinition.LBFP_MISS,
@@ -209,6 +209,12 @@ public class BIN extends IN {
     private static final INLongRep.EmptyRep EMPTY_OFFHEAP_LN_IDS =
         new INLongRep.EmptyRep(8, true);
 
+    /*
+     * A BIN is only frozen when at least this fraction (1/N) of its slots are
+     * unused, to avoid reallocating its arrays for a small saving.
+     */
+    private static final int FREEZE_MIN_UNUSED_DIVISOR = 8;
+
     /**
      * Used as the "empty rep" for the INLongRep expirationValues field.
      *
@@ -1428,14 +1434,98 @@ public class BIN extends IN {
             return oldMemSize - inMemorySize;
         }
 
-        /* Try LN eviction. Return if any were evicted. */
+        /*
+         * Try LN eviction. Return if any were evicted, after freezing the BIN
+         * since it is cold.
+         */
         final long lnBytesAndStatus = evictLNs();
         if ((lnBytesAndStatus & ~IN.NON_EVICTABLE_IN) != 0) {
-            return lnBytesAndStatus;
+            return lnBytesAndStatus + freeze();
         }
 
         /* Try discarding the VLSNCache. Return bytes and evictable status. */
-        return discardVLSNCache() | lnBytesAndStatus;
+        return (discardVLSNCache() + freeze()) | lnBytesAndStatus;
+    }
+
+    /**
+     * Freezes this BIN by reducing the capacity of its slot arrays to the
+     * number of slots in use, if that saves enough memory. Called during
+     * partial eviction, when the BIN is cold and therefore likely to be read
+     * rather than inserted into. For a BIN that is not filled by ordered
+     * insertions, typically a quarter or more of the slots are unused.
+     *
+     * A frozen BIN is accessed in the same way as any other, since only the
+     * array lengths are changed. It is thawed by {@link #thaw} when an
+     * insertion needs another slot. It is not logged as frozen; see {@link
+     * #getUnfrozenMaxEntries}.
+     *
+     * The BIN should be latched by the caller.
+     *
+     * @return the number of bytes reclaimed.
+     */
+    long freeze() {
+
+        if (isBINDelta()) {
+            return 0;
+        }
+
+        final int capacity = getMaxEntries();
+        final int nEntries = getNEntries();
+
+        if (nEntries == 0 ||
+            capacity - nEntries < capacity / FREEZE_MIN_UNUSED_DIVISOR) {
+            return 0;
+        }
+
+        final long oldSize = inMemorySize;
+        resize(nEntries);
+        getEvictor().incNumBINsFrozen();
+        return oldSize - inMemorySize;
+    }
+
+    /**
+     * Restores the capacity of a frozen BIN. Called by needsSplitting when
+     * there is no free slot, so that a frozen BIN is not split prematurely.
+     * Public for DbCacheSize.
+     *
+     * @return true if the BIN was frozen and now has free slots.
+     */
+    @Override
+    public boolean thaw() {
+
+        assert isLatchExclusiveOwner();
+
+        if (!isFrozen()) {
+            return false;
+        }
+
+        resize(getUnfrozenMaxEntries());
+        getEvictor().incNumBINsThawed();
+        return true;
+    }
+
+    /**
+     * Returns whether this BIN is frozen, i.e., has less than its unfrozen
+     * capacity. See {@link #freeze}.
+     */
+    public boolean isFrozen() {
+        return !isBINDelta() && getMaxEntries() < getUnfrozenMaxEntries();
+    }
+
+    /**
+     * Returns the capacity of this BIN when it is not frozen, which is
+     * normally the configured nodeMaxEntries. The capacity may be larger
+     * when it was enlarged during recovery; see reconstituteBIN.
+     */
+    @Override
+    int getUnfrozenMaxEntries() {
+
+        if (isBINDelta()) {
+            return getMaxEntries();
+        }
+
+        return Math.max(
+            getMaxEntries(), databaseImpl.getNodeMaxTreeEntries());
     }
 
     public long discardVLSNCache() {
@@ -1715,7 +1805,7 @@ public class BIN extends IN {
         if (isBINDelta()) {
             return fullBinMaxEntries;
         } else {
-            return getMaxEntries();
+            return getUnfrozenMaxEntries();
         }
     }
 
@@ -1827,6 +1917,47 @@ public class BIN extends IN {
         return BINDeltaBloomFilter.contains(bloomFilter, key);
     }
 
+    /**
+     * Creates a Bloom filter of all keys in this BIN, to be kept by the
+     * parent after this BIN is evicted. See IN.setChildKeyFilter.
+     *
+     * Returns null if this BIN is a delta, since its keys are not all known,
+     * if it is dirty, since its keys may differ from those at its last logged
+     * LSN, or if it is empty. Also returns null if the database has a key or
+     * duplicate comparator that may consider keys with different bytes to be
+     * equal, since the filter hashes the key bytes; see allowBlindPuts.
+     */
+    public byte[] createKeyFilter() {
+
+        if (isBINDelta() || getDirty() || getNEntries() == 0 ||
+            !databaseImpl.hasBtreeBinaryEqualityComparator() ||
+            !databaseImpl.hasDuplicateBinaryEqualityComparator()) {
+            return null;
+        }
+
+        final byte[] bf =
+            new byte[BINDeltaBloomFilter.getByteSize(getNEntries())];
+
+        final BINDeltaBloomFilter.HashContext hc =
+            new BINDeltaBloomFilter.HashContext();
+
+        if (keyPrefix != null) {
+            hc.hashKeyPrefix(keyPrefix);
+        }
+
+        for (int i = 0; i < getNEntries(); ++i) {
+
+            byte[] suffix = entryKeys.getKey(i, haveEmbeddedData(i));
+            if (suffix == null) {
+                suffix = Key.EMPTY_KEY;
+            }
+
+            BINDeltaBloomFilter.add(bf, suffix, hc);
+        }
+
+        return bf;
+    }
+
     /*
      * Used in IN.getLogSize() only
      */
@@ -155,6 +155,14 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
     public static final int MAX_FILE_OFFSET = 0xfffffe;
     private static final int THREE_BYTE_NEGATIVE_ONE = 0xffffff;
 
+    /*
+     * When interpolation search is configured, the maximum number of slots
+     * chosen by interpolation in findEntry before reverting to binary search.
+     * And the minimum number of entries for which interpolation is used.
+     */
+    private static final int MAX_INTERPOLATION_PROBES = 3;
+    private static final int MIN_INTERPOLATION_ENTRIES = 8;
+
     /**
      * Used as the "empty rep" for the INLongRep offHeapBINIds field.
      *
@@ -206,6 +214,7 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
     private static final int IN_RESIDENT_BIT = 0x100;
     private static final int IN_PROHIBIT_NEXT_DELTA_BIT = 0x200;
     private static final int IN_EXPIRATION_IN_HOURS = 0x400;
+    private static final int IN_WINDOW_LRU_BIT = 0x800;
 
     /* Tracing for LRU-related ops */
     private static final boolean traceLRU = false;
@@ -291,6 +300,15 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
      */
     private INLongRep offHeapBINIds = EMPTY_OFFHEAP_BIN_IDS;
 
+    /*
+     * In a level 2 IN, Bloom filters of the keys of evicted child BINs, and
+     * the LSN of the BIN version each filter was built from. Both arrays are
+     * indexed by slot and are null while no filter is stored. They are not
+     * logged. See setChildKeyFilter.
+     */
+    private byte[][] childKeyFilters;
+    private long[] childKeyFilterLsns;
+
     long inMemorySize;
 
     /*
@@ -433,7 +451,8 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         entryStates = null;
 
         latch = LatchFactory.createSharedLatch(
-            LatchSupport.DUMMY_LATCH_CONTEXT, isAlwaysLatchedExclusively());
+            LatchSupport.DUMMY_LATCH_CONTEXT, isAlwaysLatchedExclusively(),
+            false /*optimisticReads*/);
 
         /*
          * Use the latch to force it to grow to "runtime size".
@@ -468,7 +487,8 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
         setDatabase(db);
         latch = LatchFactory.createSharedLatch(
-            this, isAlwaysLatchedExclusively());
+            this, isAlwaysLatchedExclusively(),
+            db != null && useOptimisticLatch(db.getEnv()));
         flags = 0;
         nEntries = 0;
         this.identifierKey = identifierKey;
@@ -621,6 +641,47 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         return latch.isExclusiveOwner();
     }
 
+    /**
+     * Returns whether the latch of this node should support optimistic reads,
+     * which are used by Tree.search for upper INs when {@link
+     * EnvironmentImpl#useOptimisticTreeSearch} is true.
+     */
+    private boolean useOptimisticLatch(EnvironmentImpl envImpl) {
+        return !isAlwaysLatchedExclusively() &&
+            !isDIN() &&
+            envImpl != null &&
+            envImpl.useOptimisticTreeSearch();
+    }
+
+    /**
+     * Replaces the latch of a node created by the no-args constructor, so
+     * that it supports optimistic reads if needed. Called when the node is
+     * read from the log, before it is visible to other threads.
+     */
+    public final void initLatchForRead(EnvironmentImpl envImpl) {
+        if (useOptimisticLatch(envImpl)) {
+            latch = LatchFactory.createSharedLatch(
+                this, false /*exclusiveOnly*/, true /*optimisticReads*/);
+        }
+    }
+
+    /**
+     * Returns a stamp for reading this node without latching it, or zero if
+     * it is latched exclusively or is a BIN. See {@link
+     * SharedLatch#tryOptimisticRead}.
+     */
+    public final long tryOptimisticRead() {
+        return latch.tryOptimisticRead();
+    }
+
+    /**
+     * Returns whether this node has not been latched exclusively since the
+     * given stamp was returned by {@link #tryOptimisticRead}.
+     */
+    public final boolean validateOptimisticRead(long stamp) {
+        return latch.validateOptimisticRead(stamp);
+    }
+
     /* For unit testing. */
     public final int getLatchNWaiters() {
         return latch.getNWaiters();
@@ -994,6 +1055,18 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         }
     }
 
+    public final boolean isInWindowLRU() {
+        return (flags & IN_WINDOW_LRU_BIT) != 0;
+    }
+
+    public final void setInWindowLRU(boolean value) {
+        if (value) {
+            flags |= IN_WINDOW_LRU_BIT;
+        } else {
+            flags &= ~IN_WINDOW_LRU_BIT;
+        }
+    }
+
     public boolean isExpirationInHours() {
         return (flags & IN_EXPIRATION_IN_HOURS) != 0;
     }
@@ -1062,6 +1135,24 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         return entryStates.length;
     }
 
+    /**
+     * Returns the capacity of this node when it is not frozen, which is the
+     * capacity that is logged. Only BINs are frozen; see BIN.freeze.
+     */
+    int getUnfrozenMaxEntries() {
+        return getMaxEntries();
+    }
+
+    /**
+     * Restores the capacity of a frozen node, if it is frozen. Only BINs are
+     * frozen; see BIN.thaw.
+     *
+     * @return true if the node was frozen and now has free slots.
+     */
+    boolean thaw() {
+        return false;
+    }
+
     public final byte getState(int idx) {
         return entryStates[idx];
     }
@@ -2100,6 +2191,8 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         assert oldVal == 0;
 
         offHeapBINIds = offHeapBINIds.set(idx, newVal, this);
+
+        clearChildKeyFilters(idx, idx + 1);
     }
 
     public void clearOffHeapBINId(int idx) {
@@ -2137,6 +2230,121 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         return offHeapBINIds.getMemorySize();
     }
 
+    /**
+     * Stores a Bloom filter of the keys of the BIN at the given slot, which
+     * has just been detached by the evictor. The filter must have been built
+     * from a full, non-dirty BIN, whose keys are therefore those of the BIN
+     * version at the slot's current LSN.
+     *
+     * The filter is used only while the slot's LSN is the one it was built
+     * for, and the BIN is neither resident nor in the off-heap cache. While
+     * these conditions hold the BIN cannot have been modified, because a BIN
+     * is logged, giving it a new LSN, before it is evicted from both caches
+     * in a modified state.
+     *
+     * The filter is discarded, and its memory released, when the BIN is
+     * fetched or moved to the off-heap cache, and when the slot is cleared or
+     * shifted by an insertion, deletion or split; filters are not moved with
+     * their slots. The filter arrays are discarded with the last filter. See
+     * clearChildKeyFilters.
+     */
+    public final void setChildKeyFilter(int idx, byte[] filter) {
+
+        assert isLatchExclusiveOwner();
+        assert getNormalizedLevel() == 2;
+
+        final long lsn = getLsn(idx);
+
+        if (lsn == DbLsn.NULL_LSN) {
+            return;
+        }
+
+        if (childKeyFilters == null) {
+            childKeyFilters = new byte[getMaxEntries()][];
+            childKeyFilterLsns = new long[getMaxEntries()];
+            updateMemorySize(getChildKeyFiltersOverhead());
+        }
+
+        if (idx >= childKeyFilters.length) {
+            return;
+        }
+
+        final byte[] oldFilter = childKeyFilters[idx];
+
+        childKeyFilters[idx] = filter;
+        childKeyFilterLsns[idx] = lsn;
+
+        updateMemorySize(
+            (oldFilter != null) ?
+                BINDeltaBloomFilter.getMemorySize(oldFilter) : 0,
+            BINDeltaBloomFilter.getMemorySize(filter));
+    }
+
+    /**
+     * Returns the key filter for the BIN at the given slot, or null if there
+     * is no filter or the filter may not be used. See setChildKeyFilter.
+     */
+    final byte[] getChildKeyFilter(int idx) {
+
+        if (childKeyFilters == null ||
+            idx >= childKeyFilters.length ||
+            childKeyFilters[idx] == null ||
+            childKeyFilterLsns[idx] != getLsn(idx) ||
+            getTarget(idx) != null ||
+            getOffHeapBINId(idx) >= 0) {
+            return null;
+        }
+
+        return childKeyFilters[idx];
+    }
+
+    /**
+     * Discards the key filters of the slots from fromIdx (inclusive) to toIdx
+     * (exclusive), and discards the filter arrays if no filter remains.
+     */
+    private void clearChildKeyFilters(int fromIdx, int toIdx) {
+
+        if (childKeyFilters == null) {
+            return;
+        }
+
+        toIdx = Math.min(toIdx, childKeyFilters.length);
+        long delta = 0;
+
+        for (int i = fromIdx; i < toIdx; i++) {
+            final byte[] filter = childKeyFilters[i];
+            if (filter != null) {
+                delta -= BINDeltaBloomFilter.getMemorySize(filter);
+                childKeyFilters[i] = null;
+            }
+        }
+
+        if (delta == 0) {
+            return;
+        }
+
+        boolean empty = true;
+        for (final byte[] filter : childKeyFilters) {
+            if (filter != null) {
+                empty = false;
+                break;
+            }
+        }
+
+        if (empty) {
+            delta -= getChildKeyFiltersOverhead();
+            childKeyFilters = null;
+            childKeyFilterLsns = null;
+        }
+
+        updateMemorySize(delta);
+    }
+
+    private long getChildKeyFiltersOverhead() {
+        return MemoryBudget.objectArraySize(childKeyFilters.length) +
+            MemoryBudget.longArraySize(childKeyFilterLsns.length);
+    }
+
     private void setOffHeapBINDirty(int idx, boolean val) {
         if (val) {
             entryStates[idx] |= EntryStates.OFFHEAP_DIRTY_BIT;
@@ -2182,6 +2390,10 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
         entryTargets = entryTargets.set(idx, target, this);
 
+        if (target != null) {
+            clearChildKeyFilters(idx, idx + 1);
+        }
+
         if (target != null && target.isIN()) {
             ((IN) target).setParent(this);
         }
@@ -2324,6 +2536,7 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
              * (further below) to reduce the work done while latched.
              */
             byte[] ohBytes = null;
+            boolean fromSnapshot = false;
 
             if (getNormalizedLevel() == 2) {
                 ohBytes = ohCache.getBINBytes(this, idx);
@@ -2337,7 +2550,12 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
                 if (ohBytes != null) {
                     child = ohCache.materializeBIN(envImpl, ohBytes);
-                } else {
+                } else if (getNormalizedLevel() == 2) {
+                    child = ohCache.loadSnapshotBIN(envImpl, lsn);
+                    fromSnapshot = (child != null);
+                }
+
+                if (child == null) {
                     final WholeEntry wholeEntry = envImpl.getLogManager().
                         getLogEntryAllowInvisibleAtRecovery(
                             lsn, getLastLoggedSize(idx));
@@ -2504,6 +2722,8 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
                     if (ohBytes != null) {
                         child.postLoadInit(this, idx);
+                    } else if (fromSnapshot) {
+                        child.postSnapshotLoadInit(databaseImpl);
                     } else {
                         child.postFetchInit(databaseImpl, lsn);
                     }
@@ -2597,11 +2817,15 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
             try {
                 byte[] ohBytes = null;
+                boolean fromSnapshot = false;
 
                 if (getNormalizedLevel() == 2) {
                     ohBytes = ohCache.getBINBytes(this, idx);
                     if (ohBytes != null) {
                         child = ohCache.materializeBIN(envImpl, ohBytes);
+                    } else {
+                        child = ohCache.loadSnapshotBIN(envImpl, lsn);
+                        fromSnapshot = (child != null);
                     }
                 }
 
@@ -2620,6 +2844,8 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
                 if (ohBytes != null) {
                     child.postLoadInit(this, idx);
+                } else if (fromSnapshot) {
+                    child.postSnapshotLoadInit(databaseImpl);
                 } else {
                     child.postFetchInit(databaseImpl, lsn);
                 }
@@ -2798,6 +3024,10 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
                 child = ohCache.loadLN(bin, idx, cacheMode);
 
+                if (child == null) {
+                    child = ohCache.loadSnapshotLN(envImpl, lsn);
+                }
+
                 if (child == null) {
                     final WholeEntry wholeEntry = envImpl.getLogManager().
                         getLogEntryAllowInvisibleAtRecovery(
@@ -2965,6 +3195,23 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         getEnv().getOffHeapCache().postBINLoad(parent, idx, (BIN) this);
     }
 
+    /**
+     * Initialize a BIN loaded from the off-heap cache snapshot that was
+     * written when the environment was last closed.
+     *
+     * Does not call setLastLoggedLsn for the same reason as postLoadInit.
+     */
+    private void postSnapshotLoadInit(DatabaseImpl db) {
+        assert isLatchExclusiveOwner();
+
+        commonInit(db);
+        addToMainCache();
+
+        if (isBIN()) {
+            setFetchedCold(true);
+        }
+    }
+
     /**
      * Initialize a node read in during recovery.
      */
@@ -2974,7 +3221,8 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
     }
 
     /**
-     * Common actions of postFetchInit, postLoadInit and postRecoveryInit.
+     * Common actions of postFetchInit, postLoadInit, postSnapshotLoadInit and
+     * postRecoveryInit.
      */
     private void commonInit(DatabaseImpl db) {
         setDatabase(db);
@@ -3195,19 +3443,67 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         boolean entryZeroSpecialCompare =
             isUpperIN() && !exact && !indicateIfDuplicate;
 
+        /*
+         * With the default comparator, compare the search key to the key
+         * prefix once rather than at every probe. If they differ, the result
+         * is the same for every slot. Otherwise only the suffixes are
+         * compared below, without materializing the slot keys.
+         */
+        final boolean compareSuffixes = (comparator == null);
+        final int prefixLen = (keyPrefix == null) ? 0 : keyPrefix.length;
+        int prefixCmp = 0;
+
+        if (compareSuffixes && prefixLen > 0) {
+            prefixCmp = Key.compareUnsignedBytes(
+                key, 0, Math.min(key.length, prefixLen),
+                keyPrefix, 0, prefixLen);
+        }
+
+        /*
+         * With interpolation search, the first few slots are chosen from the
+         * position of the search key between the keys at the bounds, rather
+         * than in the middle. Any slot between the bounds gives a correct
+         * result, so the bounds are narrowed by the comparisons as usual.
+         */
+        int interpolationProbes = MAX_INTERPOLATION_PROBES;
+        long searchWord = 0;
+
+        if (compareSuffixes &&
+            prefixCmp == 0 &&
+            nEntries >= MIN_INTERPOLATION_ENTRIES &&
+            databaseImpl.getInterpolationSearch()) {
+
+            interpolationProbes = 0;
+            searchWord = INKeyRep.getWord(
+                key, prefixLen, key.length - prefixLen);
+        }
+
         assert nEntries >= 0;
 
         while (low <= high) {
 
-            middle = (high + low) / 2;
+            if (interpolationProbes < MAX_INTERPOLATION_PROBES) {
+                interpolationProbes += 1;
+                middle = interpolateEntry(
+                    searchWord, low, high, entryZeroSpecialCompare);
+            } else {
+                middle = (high + low) / 2;
+            }
+
             int s;
 
             if (middle == 0 && entryZeroSpecialCompare) {
                 s = 1;
-            } else {
+            } else if (!compareSuffixes) {
                 s = entryKeys.compareKeys(
                     key,  keyPrefix, middle,
                     haveEmbeddedData(middle), comparator);
+            } else if (prefixCmp != 0) {
+                s = prefixCmp;
+            } else {
+                s = entryKeys.compareSuffixes(
+                    key, prefixLen, key.length - prefixLen, middle,
+                    haveEmbeddedData(middle));
             }
 
             if (s < 0) {
@@ -3241,6 +3537,53 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         }
     }
 
+    /**
+     * Returns the index of the slot between low and high, inclusive, whose
+     * key is estimated to be closest to the search key, based on the first
+     * eight bytes of the key suffixes. Used for interpolation search by
+     * findEntry.
+     */
+    private int interpolateEntry(long searchWord,
+                                 int low,
+                                 int high,
+                                 boolean entryZeroSpecialCompare) {
+
+        /* The key in slot zero of an upper IN is not compared. */
+        final int first =
+            (low == 0 && entryZeroSpecialCompare) ? 1 : low;
+
+        if (first >= high) {
+            return (high + low) / 2;
+        }
+
+        final long lowWord =
+            entryKeys.getSuffixWord(first, haveEmbeddedData(first));
+
+        if (Long.compareUnsigned(searchWord, lowWord) <= 0) {
+            return first;
+        }
+
+        final long highWord =
+            entryKeys.getSuffixWord(high, haveEmbeddedData(high));
+
+        if (Long.compareUnsigned(searchWord, highWord) >= 0) {
+            return high;
+        }
+
+        /*
+         * lowWord < searchWord < highWord, so both differences are positive
+         * as unsigned values. Halve them so they are also positive as signed
+         * values when converted to double.
+         */
+        final double fraction =
+            ((double) ((searchWord - lowWord) >>> 1)) /
+            ((double) ((highWord - lowWord) >>> 1));
+
+        final int idx = first + (int) ((high - first) * fraction);
+
+        return Math.max(first, Math.min(high, idx));
+    }
+
     /**
      * Inserts a slot with the given key, lsn and child node into this IN, if
      * a slot with the same key does not exist already. The state of the new
@@ -3544,6 +3887,7 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
      */
     void clearEntry(int idx) {
 
+        clearChildKeyFilters(idx, idx + 1);
         entryTargets = entryTargets.set(idx, null, this);
         entryKeys = entryKeys.set(idx, null, this);
         offHeapBINIds = offHeapBINIds.set(idx, 0, this);
@@ -4097,6 +4441,9 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
     void copyEntries(final int from, final int to, final int n) {
 
+        /* Key filters are not moved; see setChildKeyFilter. */
+        clearChildKeyFilters(Math.min(from, to), Math.max(from, to) + n);
+
         entryTargets = entryTargets.copy(from, to, n, this);
         entryKeys = entryKeys.copy(from, to, n, this);
         offHeapBINIds = offHeapBINIds.copy(from, to, n, this);
@@ -4116,9 +4463,61 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
         }
     }
 
+    /**
+     * Returns the key to store in the parent slot for the right-hand node of
+     * a split, given the left and right nodes after the split.
+     *
+     * For a BIN using the default key comparison, this is the shortest key
+     * greater than the left BIN's last key and less than or equal to the
+     * right BIN's first key; see Key.getShortestSeparator. The parent then
+     * routes every key correctly, since no key in the left BIN is greater
+     * than or equal to the separator. This reduces the size of the keys in
+     * upper INs, and with key prefixing also the size of their suffixes.
+     *
+     * For an upper IN the right node's first key is always used, because the
+     * subtree of the left node's last slot may contain keys up to the right
+     * node's first key. Separators created at the BIN level are propagated
+     * up the tree by upper IN splits.
+     */
+    private byte[] getSeparatorKey(IN left, IN right) {
+
+        final byte[] rightKey = right.getKey(0);
+
+        if (!isBIN() ||
+            getKeyComparator() != null ||
+            !getEnv().getSuffixTruncation()) {
+            return rightKey;
+        }
+
+        return Key.getShortestSeparator(
+            left.getKey(left.getNEntries() - 1), rightKey);
+    }
+
+    /**
+     * Returns the number of bytes used to store the keys of this node: the
+     * key prefix plus the key suffix of each slot.
+     */
+    public final long getKeyBytes() {
+
+        long bytes = (keyPrefix != null) ? keyPrefix.length : 0;
+
+        for (int i = 0; i < nEntries; i++) {
+            final byte[] suffix = entryKeys.get(i);
+            if (suffix != null) {
+                bytes += suffix.length;
+            }
+        }
+
+        return bytes;
+    }
+
     /**
      * Return true if this node needs splitting.  For the moment, needing to be
      * split is defined by there being no free entries available.
+     *
+     * If this is a full frozen BIN, it is thawed to add free entries, and
+     * false is returned. Callers that may not insert into this node should
+     * check their other conditions first, to avoid a needless thaw.
      */
     public final boolean needsSplitting() {
 
@@ -4136,7 +4535,12 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
             }
         }
 
-        return ((getMaxEntries() - nEntries) < 1);
+        if ((getMaxEntries() - nEntries) >= 1) {
+            return false;
+        }
+
+        /* A frozen BIN is thawed, rather than split, when it is full. */
+        return !thaw();
     }
 
     /**
@@ -4380,7 +4784,7 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
                     childIndex, newSibling, newSiblingLsn, newIdKey);
 
                 boolean inserted = parent.insertEntry(
-                    this, getKey(0), myNewLsn);
+                    this, getSeparatorKey(newSibling, this), myNewLsn);
                 assert inserted;
             } else {
 
@@ -4391,7 +4795,8 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
                 parent.updateSplitSlot(childIndex, this, myNewLsn, getKey(0));
 
                 boolean inserted = parent.insertEntry(
-                    newSibling, newIdKey, newSiblingLsn);
+                    newSibling, getSeparatorKey(this, newSibling),
+                    newSiblingLsn);
                 assert inserted;
             }
 
@@ -4690,6 +5095,16 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
             calcMemorySize += offHeapBINIds.getMemorySize();
         }
 
+        if (childKeyFilters != null) {
+            calcMemorySize += getChildKeyFiltersOverhead();
+            for (final byte[] filter : childKeyFilters) {
+                if (filter != null) {
+                    calcMemorySize +=
+                        BINDeltaBloomFilter.getMemorySize(filter);
+                }
+            }
+        }
+
         return calcMemorySize;
     }
 
@@ -4697,7 +5112,9 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
      * Overridden by subclasses.
      */
     protected long getFixedMemoryOverhead() {
-        return MemoryBudget.IN_FIXED_OVERHEAD;
+        return MemoryBudget.IN_FIXED_OVERHEAD +
+            (latch.supportsOptimisticReads() ?
+             MemoryBudget.STAMPED_LOCK_OVERHEAD : 0);
     }
 
     /*
@@ -5797,7 +6214,7 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
         final int maxEntriesToWrite =
             (!deltasOnly ?
-             getMaxEntries() :
+             getUnfrozenMaxEntries() :
              bin.getDeltaCapacity(nEntriesToWrite));
 
         size += LogUtils.getPackedIntLogSize(nEntriesToWrite);
@@ -5914,7 +6331,7 @@ public class IN extends Node implements Comparable<IN>, LatchContext {
 
         final int maxEntriesToWrite =
             (!deltasOnly ?
-             getMaxEntries() :
+             getUnfrozenMaxEntries() :
              bin.getDeltaCapacity(nEntriesToWrite));
         /*
         if (deltasOnly) {
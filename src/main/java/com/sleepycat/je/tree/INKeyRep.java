@@ -89,6 +89,45 @@ public abstract class INKeyRep
         boolean embeddedData,
         Comparator<byte[]> comparator);
 
+    /**
+     * Compares the given portion of the search key to the key suffix stored
+     * at the given index, using the default unsigned byte comparison. The
+     * caller must have determined that the search key starts with the key
+     * prefix, and passes the portion following the prefix. Used by
+     * IN.findEntry to avoid comparing the prefix at every probe.
+     */
+    public abstract int compareSuffixes(
+        byte[] searchKey,
+        int searchKeyOff,
+        int searchKeyLen,
+        int idx,
+        boolean embeddedData);
+
+    /**
+     * Returns the first eight bytes of the key suffix stored at the given
+     * index as an unsigned big-endian long, padded with zeros if the suffix
+     * is shorter. The values returned for two slots have the same order as
+     * their keys, although different keys may have the same value. Used by
+     * IN.findEntry for interpolation search.
+     */
+    public abstract long getSuffixWord(int idx, boolean embeddedData);
+
+    /**
+     * Returns the first eight bytes of the given portion of a byte array, as
+     * described for {@link #getSuffixWord}.
+     */
+    static long getWord(byte[] buf, int off, int len) {
+
+        final int n = Math.min(len, 8);
+        long word = 0;
+
+        for (int i = 0; i < n; i++) {
+            word = (word << 8) | (buf[off + i] & 0xff);
+        }
+
+        return word << ((8 - n) << 3);
+    }
+
     /**
      * The default representation that's capable of storing keys of any size.
      */
@@ -252,7 +291,8 @@ public abstract class INKeyRep
             return cmp;
         }
 
-        private int compareSuffixes(
+        @Override
+        public int compareSuffixes(
             byte[] searchKey,
             int searchKeyOff,
             int searchKeyLen,
@@ -275,6 +315,22 @@ public abstract class INKeyRep
                 searchKey, searchKeyOff, searchKeyLen, myKey, 0, myKeyLen);
         }
 
+        @Override
+        public long getSuffixWord(int idx, boolean embeddedData) {
+
+            final byte[] myKey = keys[idx];
+
+            if (myKey == null) {
+                return 0;
+            }
+
+            final int myKeyLen = embeddedData ?
+                DupKeyData.getKeyLength(myKey, 0, myKey.length) :
+                myKey.length;
+
+            return getWord(myKey, 0, myKeyLen);
+        }
+
 
         @Override
         public INKeyRep copy(int from, int to, int n, IN parent) {
@@ -442,9 +498,18 @@ public abstract class INKeyRep
 
         @Override
         public INKeyRep resize(int capacity) {
-            return new MaxKeySize(
+
+            final int oldCapacity = length();
+            final MaxKeySize newRep = new MaxKeySize(
                 Arrays.copyOfRange(keys, 0, capacity * fixedKeyLen),
                 fixedKeyLen);
+
+            /* Added slots are zero-filled, which is not a null key. */
+            for (int i = oldCapacity; i < capacity; i++) {
+                newRep.keys[i * fixedKeyLen] = NULL_KEY;
+            }
+
+            return newRep;
         }
 
         @Override
@@ -657,7 +722,8 @@ public abstract class INKeyRep
             return cmp;
         }
 
-        private int compareSuffixes(
+        @Override
+        public int compareSuffixes(
             byte[] searchKey,
             int searchKeyOff,
             int searchKeyLen,
@@ -687,6 +753,26 @@ public abstract class INKeyRep
                 keys, myKeyOff, myKeyLen);
         }
 
+        @Override
+        public long getSuffixWord(int idx, boolean embeddedData) {
+
+            int myKeyOff = idx * fixedKeyLen;
+
+            if (keys[myKeyOff] == NULL_KEY) {
+                return 0;
+            }
+
+            int myKeyLen = keys[myKeyOff] - Byte.MIN_VALUE;
+
+            myKeyOff += LENGTH_BYTES;
+
+            if (embeddedData) {
+                myKeyLen = DupKeyData.getKeyLength(keys, myKeyOff, myKeyLen);
+            }
+
+            return getWord(keys, myKeyOff, myKeyLen);
+        }
+
         @Override
         public INKeyRep copy(int from, int to, int n, IN parent) {
             System.arraycopy(keys, (from * fixedKeyLen),
@@ -13,6 +13,7 @@
 
 package com.sleepycat.je.tree;
 
+import java.util.Arrays;
 import java.util.Comparator;
 
 import com.sleepycat.je.DatabaseEntry;
@@ -29,6 +30,37 @@ import com.sleepycat.utilint.StringUtils;
  */
 public final class Key implements Comparable<Key> {
 
+    /**
+     * Finds where two byte ranges of the given length start to differ.
+     * Returns an index such that all bytes before it are equal. The index is
+     * that of the first differing byte, or, when no difference was found,
+     * may be less than len; the caller compares the remaining bytes.
+     */
+    interface Mismatch {
+        int mismatch(byte[] key1, int off1, byte[] key2, int off2, int len);
+    }
+
+    /*
+     * Keys shorter than this are compared a byte at a time, since comparing
+     * a word at a time gains little for them.
+     */
+    private static final int MIN_MISMATCH_LEN = 16;
+
+    /*
+     * Compares eight bytes at a time, or null if UnsafeKeyMismatch is not
+     * supported by this JVM. Loaded by name; see UnsafeKeyMismatch.
+     */
+    private static final Mismatch WORD_MISMATCH = loadWordMismatch();
+
+    private static Mismatch loadWordMismatch() {
+        try {
+            return (Mismatch) Class.forName(
+                "com.sleepycat.je.tree.UnsafeKeyMismatch").newInstance();
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
     public abstract static class DumpType {
 
         private String name;
@@ -232,7 +264,15 @@ public final class Key implements Comparable<Key> {
                                            int len2) {
         int limit = Math.min(len1, len2);
 
-        for (int i = 0; i < limit; i++) {
+        /*
+         * Skip the equal leading bytes a word at a time, when possible. The
+         * loop below then returns the difference at the first unequal byte,
+         * or compares the remaining bytes.
+         */
+        int i = (limit >= MIN_MISMATCH_LEN && WORD_MISMATCH != null) ?
+            WORD_MISMATCH.mismatch(key1, off1, key2, off2, limit) : 0;
+
+        for (; i < limit; i++) {
             byte b1 = key1[i + off1];
             byte b2 = key2[i + off2];
             if (b1 == b2) {
@@ -262,7 +302,10 @@ public final class Key implements Comparable<Key> {
 
         int limit = Math.min(a1Len, a2Len);
 
-        for (int i = 0; i < limit; i++) {
+        int i = (limit >= MIN_MISMATCH_LEN && WORD_MISMATCH != null) ?
+            WORD_MISMATCH.mismatch(key1, 0, key2, 0, limit) : 0;
+
+        for (; i < limit; i++) {
             byte b1 = key1[i];
             byte b2 = key2[i];
             if (b1 != b2) {
@@ -273,6 +316,30 @@ public final class Key implements Comparable<Key> {
         return limit;
     }
 
+    /**
+     * Returns the shortest key that is greater than leftKey and less than or
+     * equal to rightKey, using the default unsigned byte comparison. This is
+     * the shortest prefix of rightKey that is not a prefix of leftKey.
+     * Returns rightKey itself if no shorter key exists.
+     *
+     * Used to truncate the key that separates two BINs after a split.
+     * leftKey must be less than rightKey.
+     */
+    public static byte[] getShortestSeparator(byte[] leftKey,
+                                              byte[] rightKey) {
+
+        final int len =
+            getKeyPrefixLength(leftKey, leftKey.length, rightKey) + 1;
+
+        assert len <= rightKey.length;
+
+        if (len >= rightKey.length) {
+            return rightKey;
+        }
+
+        return Arrays.copyOf(rightKey, len);
+    }
+
     /*
      * Return a new byte[] containing the common prefix of key1 and key2.
      * Return null if there is no common prefix.
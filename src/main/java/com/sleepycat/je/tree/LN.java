@@ -273,6 +273,14 @@ public class LN extends Node implements VersionedWriteLoggable {
         setDirty();
     }
 
+    /**
+     * Sets the data of an LN that was read from the log with compressed
+     * data, after the data is inflated. Unlike modify, does not dirty the LN.
+     */
+    public void setInflatedData(byte[] inflatedData) {
+        data = inflatedData;
+    }
+
     /**
      * Sets data to empty and returns old data.  Called when converting an old
      * format LN in a duplicates DB.
@@ -659,13 +667,27 @@ public class LN extends Node implements VersionedWriteLoggable {
          * size/lsn. Recovery uses these values to count prior versions
          * obsolete, but only when they are not immediately obsolete.
          */
-        params.entry = createLogEntry(
+        final LNLogEntry<?> logEntry = createLogEntry(
             entryType, dbImpl, txn,
             abortLsn, abortKD, abortKey, abortData, abortVLSN,
             abortExpiration, abortExpirationInHours,
             newKey, newEmbeddedLN, newExpiration, newExpirationInHours,
             priorSize, priorLsn, repContext);
 
+        /*
+         * Compress the data here, before the entry size is calculated and
+         * outside of the log write latch.
+         */
+        if (dbImpl.getDataCompression()) {
+            final int compressedSize = logEntry.compressData();
+            if (compressedSize > 0) {
+                envImpl.getLogManager().countLNCompression(
+                    data.length, compressedSize);
+            }
+        }
+
+        params.entry = logEntry;
+
         /*
          * Always log temporary DB LNs as provisional.  This prevents the
          * possibility of a FileNotFoundException during recovery, since
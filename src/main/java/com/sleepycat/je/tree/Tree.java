@@ -316,7 +316,8 @@ public final class Tree implements Loggable {
         };
 
         rootLatch = LatchFactory.createSharedLatch(
-            latchContext, false /*exclusiveOnly*/);
+            latchContext, false /*exclusiveOnly*/,
+            envImpl.useOptimisticTreeSearch());
 
 
         maxTreeEntriesPerNode = database.getNodeMaxTreeEntries();
@@ -2152,6 +2153,25 @@ public final class Tree implements Loggable {
         return search(key, SearchType.NORMAL, null, cacheMode, null);
     }
 
+    /**
+     * Search the tree for the BIN that should contain the given key, when
+     * the caller only needs the BIN if it contains the key; i.e., for an
+     * exact-match read.
+     *
+     * If the BIN is not resident and the parent has a key filter for it
+     * that shows the key is absent, null is returned without fetching the
+     * BIN. See IN.setChildKeyFilter.
+     *
+     * @return the latched BIN, or null if the tree is empty or the key is
+     * known to be absent.
+     */
+    public BIN searchExact(byte[] key, CacheMode cacheMode) {
+
+        return search(
+            key, SearchType.NORMAL, null, cacheMode, null,
+            true /*useKeyFilters*/);
+    }
+
     /**
      * Search the tree, starting at the root. Depending on search type either
      * (a) search for the BIN that *should* contain a given key, or (b) return
@@ -2182,6 +2202,43 @@ public final class Tree implements Loggable {
         CacheMode cacheMode,
         Comparator<byte[]> comparator) {
 
+        return search(
+            key, searchType, binBoundary, cacheMode, comparator,
+            false /*useKeyFilters*/);
+    }
+
+    private BIN search(
+        byte[] key,
+        SearchType searchType,
+        BINBoundary binBoundary,
+        CacheMode cacheMode,
+        Comparator<byte[]> comparator,
+        boolean useKeyFilters) {
+
+        /*
+         * Key filters hash the key bytes, so they cannot be used if keys
+         * with different bytes may be equal. See BIN.createKeyFilter.
+         */
+        if (useKeyFilters &&
+            (!database.hasBtreeBinaryEqualityComparator() ||
+             !database.hasDuplicateBinaryEqualityComparator())) {
+            useKeyFilters = false;
+        }
+
+        TreeWalkerStatsAccumulator treeStatsAccumulator =
+            getTreeStatsAccumulator();
+
+        if (treeStatsAccumulator == null &&
+            database.getEnv().useOptimisticTreeSearch()) {
+
+            final BIN bin = searchOptimistic(
+                key, searchType, binBoundary, cacheMode, comparator);
+
+            if (bin != null) {
+                return bin;
+            }
+        }
+
         IN rootIN = getRootIN(cacheMode);
 
         if (rootIN == null) {
@@ -2201,9 +2258,6 @@ public final class Tree implements Loggable {
         IN parent = rootIN;
         IN child = null;
 
-        TreeWalkerStatsAccumulator treeStatsAccumulator =
-            getTreeStatsAccumulator();
-
         try {
             if (treeStatsAccumulator != null) {
                 parent.accumulateStats(treeStatsAccumulator);
@@ -2240,6 +2294,17 @@ public final class Tree implements Loggable {
                     }
                 }
 
+                final byte[] keyFilter = useKeyFilters ?
+                    parent.getChildKeyFilter(index) : null;
+
+                if (keyFilter != null &&
+                    !BINDeltaBloomFilter.contains(keyFilter, key)) {
+                    database.getEnv().getEvictor().incBINFetchFiltered();
+                    parent.releaseLatch();
+                    success = true;
+                    return null;
+                }
+
                 child = parent.fetchINWithNoLatch(index, key);
 
                 if (child == null) {
@@ -2258,6 +2323,13 @@ public final class Tree implements Loggable {
                     child.accumulateStats(treeStatsAccumulator);
                 }
 
+                if (keyFilter != null &&
+                    child.isBIN() &&
+                    isKeyFilterFalsePositive((BIN) child, key)) {
+                    database.getEnv().getEvictor().
+                        incBINFilterFalsePositives();
+                }
+
                 parent.releaseLatch();
                 parent = child;
                 child = null;
@@ -2293,6 +2365,178 @@ public final class Tree implements Loggable {
         }
     }
 
+    /**
+     * Returns whether a BIN fetched after its key filter was checked does not
+     * contain the key. A BIN-delta is counted only if its own Bloom filter
+     * shows that the full BIN does not contain the key.
+     */
+    private static boolean isKeyFilterFalsePositive(BIN bin, byte[] key) {
+
+        if (bin.findEntry(key, false, true /*exact*/) >= 0) {
+            return false;
+        }
+
+        return !bin.isBINDelta() || !bin.mayHaveKeyInFullBin(key);
+    }
+
+    /**
+     * Performs a search (see {@link #search}) that descends the upper levels
+     * of the tree without latching them, if {@link
+     * EnvironmentImpl#useOptimisticTreeSearch} is true.
+     *
+     * A stamp is obtained for the root latch and for each upper IN on the
+     * path before it is read, and only the BIN is latched. The upper INs are
+     * modified only while they are latched exclusively, so if all stamps are
+     * still valid after the BIN is latched, then the path taken is the one a
+     * latched search would have taken at that moment, and the BIN is
+     * returned. The entire path must be validated, not only the BIN's
+     * parent, because an IN's key range may change without the IN itself
+     * being modified, e.g., when a split or compression modifies its parent.
+     *
+     * Until the stamps are validated the nodes may be in an inconsistent
+     * state, so any exception thrown while reading them is treated as a
+     * conflict. The BIN latch is released in that case.
+     *
+     * @return the latched BIN, or null if the search must be performed with
+     * latches. This happens if a node on the path was latched exclusively
+     * during the descent (which is counted as a restart), if a node on the
+     * path is not resident, or if the tree is empty.
+     */
+    private BIN searchOptimistic(
+        byte[] key,
+        SearchType searchType,
+        BINBoundary binBoundary,
+        CacheMode cacheMode,
+        Comparator<byte[]> comparator) {
+
+        final long rootStamp = rootLatch.tryOptimisticRead();
+
+        if (rootStamp == 0) {
+            return restartOptimisticSearch(null);
+        }
+
+        final ChildReference rootRef = root;
+        final Node rootNode = (rootRef != null) ? rootRef.getTarget() : null;
+
+        if (!(rootNode instanceof IN) || ((IN) rootNode).isBIN()) {
+            return null;
+        }
+
+        final IN rootIN = (IN) rootNode;
+        final int maxDepth = rootIN.getNormalizedLevel() - 1;
+
+        if (maxDepth < 1) {
+            return null;
+        }
+
+        final IN[] path = new IN[maxDepth];
+        final long[] stamps = new long[maxDepth];
+        int depth = 0;
+        boolean isFirstBin = true;
+        boolean isLastBin = true;
+        BIN bin = null;
+
+        try {
+            IN parent = rootIN;
+            long parentStamp = parent.tryOptimisticRead();
+
+            while (true) {
+                if (parentStamp == 0 || depth == maxDepth) {
+                    return restartOptimisticSearch(null);
+                }
+
+                path[depth] = parent;
+                stamps[depth] = parentStamp;
+                depth += 1;
+
+                final int nEntries = parent.getNEntries();
+                final int index;
+
+                if (searchType == SearchType.NORMAL) {
+                    index = parent.findEntry(key, false, false, comparator);
+                } else if (searchType == SearchType.LEFT) {
+                    index = 0;
+                } else {
+                    index = nEntries - 1;
+                }
+
+                if (index < 0 || index >= nEntries) {
+                    return restartOptimisticSearch(null);
+                }
+
+                if (index != nEntries - 1) {
+                    isLastBin = false;
+                }
+                if (index != 0) {
+                    isFirstBin = false;
+                }
+
+                final Node child = parent.getTarget(index);
+
+                if (!parent.validateOptimisticRead(parentStamp)) {
+                    return restartOptimisticSearch(null);
+                }
+
+                /* Let the latched search fetch a non-resident child. */
+                if (!(child instanceof IN)) {
+                    return null;
+                }
+
+                if (((IN) child).isBIN()) {
+                    bin = (BIN) child;
+                    break;
+                }
+
+                parent = (IN) child;
+                parentStamp = parent.tryOptimisticRead();
+            }
+
+            bin.latch(cacheMode);
+
+            boolean valid =
+                rootLatch.validateOptimisticRead(rootStamp) &&
+                root == rootRef &&
+                rootRef.getTarget() == rootIN &&
+                bin.getParent() == path[depth - 1];
+
+            for (int i = 0; valid && i < depth; i += 1) {
+                valid = path[i].validateOptimisticRead(stamps[i]);
+            }
+
+            if (!valid) {
+                return restartOptimisticSearch(bin);
+            }
+
+        } catch (RuntimeException|AssertionError e) {
+            return restartOptimisticSearch(bin);
+        }
+
+        for (int i = 1; i < depth; i += 1) {
+            path[i].incFetchStats(database.getEnv(), false /*isMiss*/);
+        }
+        bin.incFetchStats(database.getEnv(), false /*isMiss*/);
+
+        if (binBoundary != null) {
+            binBoundary.isFirstBin = isFirstBin;
+            binBoundary.isLastBin = isLastBin;
+        }
+
+        return bin;
+    }
+
+    /**
+     * Called when an optimistic search cannot be completed because a node on
+     * the path was modified concurrently. Releases the BIN latch, if held,
+     * and returns null.
+     */
+    private BIN restartOptimisticSearch(BIN bin) {
+        if (bin != null) {
+            bin.releaseLatchIfOwner();
+        }
+        database.getEnv().incOptimisticSearchRestarts();
+        return null;
+    }
+
     /*
      * Search for the given key in the subtree rooted at the given parent IN.
      * The search descends until the given target level, and the IN that
@@ -0,0 +1,123 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.tree;
+
+import java.lang.reflect.Field;
+import java.nio.ByteOrder;
+
+import sun.misc.Unsafe;
+
+/**
+ * Compares byte arrays eight bytes at a time, using the sun.misc.Unsafe class
+ * to read a long from an arbitrary offset in a byte array. This is used by
+ * {@link Key#compareUnsignedBytes} for the default key comparison, which is
+ * called for every probe of the binary search in IN.findEntry.
+ *
+ * This class should not be referenced symbolically by any other other class.
+ * This is necessary to avoid a linkage error if JE is run on a JVM without the
+ * Unsafe class. {@link Key} loads this class by name, using reflection, and
+ * falls back to comparing a byte at a time if it cannot be loaded.
+ */
+class UnsafeKeyMismatch implements Key.Mismatch {
+
+    private static final int WORD_BYTES = 8;
+
+    private static final boolean LITTLE_ENDIAN =
+        ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+    private final Unsafe unsafe;
+    private final long baseOffset;
+
+    public UnsafeKeyMismatch() {
+
+        /*
+         * Reading a long at an unaligned offset is only safe on
+         * architectures that support unaligned access.
+         */
+        final String arch = System.getProperty("os.arch");
+        if (!"amd64".equals(arch) &&
+            !"x86_64".equals(arch) &&
+            !"aarch64".equals(arch)) {
+            throw new UnsupportedOperationException(
+                "Unaligned access not known to be supported for os.arch: " +
+                arch);
+        }
+
+        /* See CHeapAllocator.getUnsafe. */
+        try {
+            final Field field = Unsafe.class.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = (Unsafe) field.get(null);
+        } catch (Throwable e) {
+            throw new UnsupportedOperationException(
+                "Unable to get Unsafe object", e);
+        }
+
+        if (unsafe == null) {
+            throw new UnsupportedOperationException(
+                "Unsafe singleton is null");
+        }
+
+        if (Unsafe.ARRAY_BYTE_INDEX_SCALE != 1) {
+            throw new UnsupportedOperationException(
+                "Unexpected Unsafe.ARRAY_BYTE_INDEX_SCALE: " +
+                Unsafe.ARRAY_BYTE_INDEX_SCALE);
+        }
+
+        baseOffset = Unsafe.ARRAY_BYTE_BASE_OFFSET;
+    }
+
+    @Override
+    public int mismatch(final byte[] key1,
+                        final int off1,
+                        final byte[] key2,
+                        final int off2,
+                        final int len) {
+
+        /*
+         * Unsafe does no bounds checking, so leave out-of-bounds arguments to
+         * the caller's checked loop, which will throw the usual exception.
+         */
+        if (off1 < 0 || off2 < 0 ||
+            off1 + len > key1.length || off2 + len > key2.length) {
+            return 0;
+        }
+
+        final long base1 = baseOffset + off1;
+        final long base2 = baseOffset + off2;
+        final int limit = len - WORD_BYTES;
+        int i = 0;
+
+        for (; i <= limit; i += WORD_BYTES) {
+
+            final long w1 = unsafe.getLong(key1, base1 + i);
+            final long w2 = unsafe.getLong(key2, base2 + i);
+
+            if (w1 != w2) {
+
+                /*
+                 * The lowest addressed byte is the least significant byte of
+                 * a long on a little-endian machine, and the most significant
+                 * on a big-endian machine.
+                 */
+                final long diff = w1 ^ w2;
+                return i + ((LITTLE_ENDIAN ?
+                             Long.numberOfTrailingZeros(diff) :
+                             Long.numberOfLeadingZeros(diff)) >>> 3);
+            }
+        }
+
+        return i;
+    }
+}
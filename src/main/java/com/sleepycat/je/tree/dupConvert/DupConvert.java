@@ -483,7 +483,7 @@ public class DupConvert {
          * If the current BIN can hold the new slot, don't bother to do a
          * search to find it.
          */
-        if (bin.needsSplitting() || !bin.isKeyInBounds(newKey)) {
+        if (!bin.isKeyInBounds(newKey) || bin.needsSplitting()) {
 
             /* Compact keys after finishing with a BIN. */
             bin.compactMemory();
@@ -228,4 +228,11 @@ public class DummyLockManager extends LockManager {
 
         superiorLockManager.dumpLockTable(stats, clear);
     }
+
+    @Override
+    public void dump()
+        throws DatabaseException {
+
+        superiorLockManager.dump();
+    }
 }
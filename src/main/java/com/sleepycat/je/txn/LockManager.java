@@ -27,8 +27,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.ConcurrentModificationException;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -70,27 +68,16 @@ import com.sleepycat.je.utilint.TinyHashSet;
 public abstract class LockManager implements EnvConfigObserver {
 
     /*
-     * The total memory cost for a lock is the Lock object, plus its entry and
-     * key in the lock hash table.
+     * The total memory cost for a lock is the Lock object, plus its entry in
+     * the lock table, see LockTable.getEntryOverhead. These are set in the
+     * constructor, since the entry overhead depends on the lock table
+     * implementation.
      *
      * The addition and removal of Lock objects, and the corresponding cost of
-     * their hashmap entry and key are tracked through the LockManager.
+     * their lock table entry are tracked through the LockManager.
      */
-    private static final long TOTAL_LOCKIMPL_OVERHEAD =
-        MemoryBudget.LOCKIMPL_OVERHEAD +
-        MemoryBudget.HASHMAP_ENTRY_OVERHEAD +
-        MemoryBudget.LONG_OVERHEAD;
-
-    static final long TOTAL_THINLOCKIMPL_OVERHEAD =
-        MemoryBudget.THINLOCKIMPL_OVERHEAD +
-        MemoryBudget.HASHMAP_ENTRY_OVERHEAD +
-        MemoryBudget.LONG_OVERHEAD;
-
-    private static final long REMOVE_TOTAL_LOCKIMPL_OVERHEAD =
-        0 - TOTAL_LOCKIMPL_OVERHEAD;
-
-    private static final long REMOVE_TOTAL_THINLOCKIMPL_OVERHEAD =
-        0 - TOTAL_THINLOCKIMPL_OVERHEAD;
+    private final long totalLockImplOverhead;
+    private final long totalThinLockImplOverhead;
 
     private static final long THINLOCK_MUTATE_OVERHEAD =
         MemoryBudget.LOCKIMPL_OVERHEAD -
@@ -114,7 +101,7 @@ public abstract class LockManager implements EnvConfigObserver {
     
     final int nLockTables;
     final Object[] lockTableMutexes;
-    private final Map<Long,Lock>[] lockTables;          // keyed by LSN
+    private final LockTable[] lockTables;               // keyed by LSN
     private final EnvironmentImpl envImpl;
     private final MemoryBudget memoryBudget;
 
@@ -143,24 +130,27 @@ public abstract class LockManager implements EnvConfigObserver {
      */
     private final Map<Thread, TinyHashSet<ThreadLocker>> threadLockers;
 
-    /*
-     * @SuppressWarnings is used to stifle a type safety complaint about the
-     * assignment of lockTables = new Map[nLockTables]. There's no way to
-     * specify the type of the array.
-     */
-    @SuppressWarnings("unchecked")
     public LockManager(final EnvironmentImpl envImpl) {
 
         final DbConfigManager configMgr = envImpl.getConfigManager();
         nLockTables = configMgr.getInt(EnvironmentParams.N_LOCK_TABLES);
-        lockTables = new Map[nLockTables];
+        final boolean primitiveKeys =
+            configMgr.getBoolean(EnvironmentParams.LOCK_PRIMITIVE_TABLES);
+        this.envImpl = envImpl;
+        memoryBudget = envImpl.getMemoryBudget();
+        lockTables = new LockTable[nLockTables];
         lockTableMutexes = new Object[nLockTables];
         for (int i = 0; i < nLockTables; i++) {
-            lockTables[i] = new HashMap<>();
+            lockTables[i] = LockTable.createLockTable(
+                primitiveKeys, memoryBudget, i);
             lockTableMutexes[i] = new Object();
         }
-        this.envImpl = envImpl;
-        memoryBudget = envImpl.getMemoryBudget();
+
+        final long entryOverhead = lockTables[0].getEntryOverhead();
+        totalLockImplOverhead =
+            MemoryBudget.LOCKIMPL_OVERHEAD + entryOverhead;
+        totalThinLockImplOverhead =
+            MemoryBudget.THINLOCKIMPL_OVERHEAD + entryOverhead;
 
         stats = new StatGroup(GROUP_NAME, GROUP_DESC);
         nRequests = new LongStat(stats, LOCK_REQUESTS);
@@ -681,7 +671,7 @@ public abstract class LockManager implements EnvConfigObserver {
                                     final int lockTableIndex,
                                     final boolean cloneLockInfo) {
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             return null;
@@ -697,7 +687,7 @@ public abstract class LockManager implements EnvConfigObserver {
     List<LockInfo> getWaitersInternal(final Long lsn,
                                       final int lockTableIndex) {
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             return null;
@@ -715,7 +705,7 @@ public abstract class LockManager implements EnvConfigObserver {
                                       final Locker locker,
                                       final int lockTableIndex) {
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             return null;
@@ -728,7 +718,7 @@ public abstract class LockManager implements EnvConfigObserver {
     boolean isLockUncontendedInternal(final Long lsn,
                                       final int lockTableIndex) {
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             return true;
@@ -742,7 +732,7 @@ public abstract class LockManager implements EnvConfigObserver {
     boolean ownsOrSharesLockInternal(final Locker locker,
                                      final Long lsn,
                                      final int lockTableIndex) {
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             return false;
@@ -764,7 +754,7 @@ public abstract class LockManager implements EnvConfigObserver {
 
     Lock lookupLockInternal(final Long lsn, final int lockTableIndex) {
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         return lockTable.get(lsn);
     }
 
@@ -786,13 +776,13 @@ public abstract class LockManager implements EnvConfigObserver {
         nRequests.increment();
 
         /* Get the target lock. */
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         Lock useLock = lockTable.get(lsn);
         if (useLock == null) {
             useLock = new ThinLockImpl();
             lockTable.put(lsn, useLock);
             memoryBudget.updateLockMemoryUsage(
-                TOTAL_THINLOCKIMPL_OVERHEAD, lockTableIndex);
+                totalThinLockImplOverhead, lockTableIndex);
         }
 
         /*
@@ -1151,6 +1141,17 @@ public abstract class LockManager implements EnvConfigObserver {
             isLockNotTxnTimeout, locker, lsn, type, grantType, useLock,
             timeout, start, now, database, owners, waiters);
 
+        /*
+         * The lock tables are dumped here, rather than by getTimeoutInfo,
+         * because dump synchronizes on each lock table in turn, and must not
+         * be called while another lock table mutex is held.
+         */
+        if (lockTableDump) {
+            System.out.println("++++++++++ begin lock table dump ++++++++++");
+            dump();
+            System.out.println("++++++++++ end lock table dump ++++++++++");
+        }
+
         final LockConflictException ex =
             isLockNotTxnTimeout ?
             new LockTimeoutException(locker, info.message) :
@@ -1211,38 +1212,6 @@ public abstract class LockManager implements EnvConfigObserver {
         final Set<LockInfo> owners,
         final List<LockInfo> waiters) {
 
-        /*
-         * Because we're accessing parts of the lock, need to have protected
-         * access to the lock table because things can be changing out from
-         * underneath us.  This is a big hammer to grab for so long while we
-         * traverse the graph, but it's only when we have a deadlock and we're
-         * creating a debugging message.
-         *
-         * The alternative would be to handle ConcurrentModificationExceptions
-         * and retry until none of them happen.
-         */
-        if (lockTableDump) {
-            System.out.println("++++++++++ begin lock table dump ++++++++++");
-            for (int i = 0; i < nLockTables; i++) {
-                boolean success = false;
-                for (int j = 0; j < 3; j++) {
-                    try {
-                        final StringBuilder sb = new StringBuilder();
-                        dumpToStringNoLatch(sb, i);
-                        System.out.println(sb.toString());
-                        success = true;
-                        break; // for j...
-                    } catch (ConcurrentModificationException CME) {
-                        // continue
-                    }
-                }
-                if (!success) {
-                    System.out.println("Couldn't dump locktable " + i);
-                }
-            }
-            System.out.println("++++++++++ end lock table dump ++++++++++");
-        }
-
         final StringBuilder sb = new StringBuilder();
         sb.append(isLockNotTxnTimeout ? "Lock" : "Transaction");
         sb.append(" expired. Locker ").append(locker);
@@ -1339,7 +1308,7 @@ public abstract class LockManager implements EnvConfigObserver {
     Set<Locker> releaseAndFindNotifyTargetsInternal(final long lsn,
                                                     final Locker locker,
                                                     final int lockTableIndex) {
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         Lock lock = lockTable.get(lsn);
         if (lock == null) {
             lock = lockTable.get(lsn);
@@ -1366,10 +1335,10 @@ public abstract class LockManager implements EnvConfigObserver {
 
             if (lock.isThin()) {
                 memoryBudget.updateLockMemoryUsage
-                    (REMOVE_TOTAL_THINLOCKIMPL_OVERHEAD, lockTableIndex);
+                    (0 - totalThinLockImplOverhead, lockTableIndex);
             } else {
                 memoryBudget.updateLockMemoryUsage
-                    (REMOVE_TOTAL_LOCKIMPL_OVERHEAD, lockTableIndex);
+                    (0 - totalLockImplOverhead, lockTableIndex);
             }
         } else {
 
@@ -1409,7 +1378,7 @@ public abstract class LockManager implements EnvConfigObserver {
                         final Locker locker,
                         final int lockTableIndex) {
 
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock useLock = lockTable.get(lsn);
         /* Lock may or may not be currently held. */
         if (useLock != null) {
@@ -1437,7 +1406,7 @@ public abstract class LockManager implements EnvConfigObserver {
      */
     boolean isLockedInternal(final Long lsn, final int lockTableIndex) {
 
-        final Map<Long, Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock entry = lockTable.get(lsn);
         return (entry != null) && entry.nOwners() != 0;
 
@@ -1457,7 +1426,7 @@ public abstract class LockManager implements EnvConfigObserver {
                             final LockType type,
                             final int lockTableIndex) {
 
-        final Map<Long, Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock entry = lockTable.get(lsn);
         return entry != null && entry.isOwner(locker, type);
     }
@@ -1477,7 +1446,7 @@ public abstract class LockManager implements EnvConfigObserver {
                              final Locker locker,
                              final int lockTableIndex) {
 
-        final Map<Long, Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock entry = lockTable.get(lsn);
         return entry != null && entry.isWaiter(locker);
     }
@@ -1493,7 +1462,7 @@ public abstract class LockManager implements EnvConfigObserver {
      */
     int nWaitersInternal(final Long lsn, final int lockTableIndex) {
 
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock entry = lockTable.get(lsn);
         return entry == null ? -1 : entry.nWaiters();
     }
@@ -1509,7 +1478,7 @@ public abstract class LockManager implements EnvConfigObserver {
      */
     int nOwnersInternal(final Long lsn, final int lockTableIndex) {
 
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock entry = lockTable.get(lsn);
         return entry == null ? -1 : entry.nOwners();
     }
@@ -1526,7 +1495,7 @@ public abstract class LockManager implements EnvConfigObserver {
     Locker getWriteOwnerLockerInternal(final Long lsn,
                                        final int lockTableIndex) {
 
-        final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+        final LockTable lockTable = lockTables[lockTableIndex];
         final Lock lock = lockTable.get(lsn);
         if (lock == null) {
             return null;
@@ -1777,10 +1746,10 @@ public abstract class LockManager implements EnvConfigObserver {
         final IntStat readLocks = new IntStat(oneTable, LOCK_READ_LOCKS);
         final IntStat writeLocks = new IntStat(oneTable, LOCK_WRITE_LOCKS);
 
-        final Map<Long, Lock> lockTable = lockTables[i];
+        final LockTable lockTable = lockTables[i];
         totalLocks.add(lockTable.size());
 
-        for (final Lock lock : lockTable.values()) {
+        lockTable.forEach((lsn, lock) -> {
             waiters.add(lock.nWaiters());
             owners.add(lock.nOwners());
 
@@ -1794,7 +1763,7 @@ public abstract class LockManager implements EnvConfigObserver {
                     readLocks.increment();
                 }
             }
-        }
+        });
 
         tableStats.addAll(oneTable);
     }
@@ -1823,19 +1792,16 @@ public abstract class LockManager implements EnvConfigObserver {
     private void dumpToStringNoLatch(final StringBuilder sb,
                                      final int whichTable) {
 
-        final Map<Long,Lock> lockTable = lockTables[whichTable];
-
-        for (final Map.Entry<Long, Lock> entry : lockTable.entrySet()) {
-            final Long lsn = entry.getKey();
-            final Lock lock = entry.getValue();
+        final LockTable lockTable = lockTables[whichTable];
 
+        lockTable.forEach((lsn, lock) -> {
             sb.append("---- LSN: ").
                 append(DbLsn.getNoFormatString(lsn)).
                 append("----\n");
 
             sb.append(lock);
             sb.append('\n');
-        }
+        });
     }
 
     /*
@@ -1935,7 +1901,7 @@ public abstract class LockManager implements EnvConfigObserver {
                                     requestLocktype, lockTableIndex)) {
                     return false;
                 }
-                final Map<Long,Lock> lockTable = lockTables[lockTableIndex];
+                final LockTable lockTable = lockTables[lockTableIndex];
                 checkedLock = lockTable.get(lsn);
                 /* Clone LockInfo objects to get a stable snapshot. */
                 ownersForCheckedLock = getOwnersInternal(
@@ -2035,8 +2001,7 @@ public abstract class LockManager implements EnvConfigObserver {
 
                 final int lockTableIndex = getLockTableIndex(lsn);
                 synchronized (lockTableMutexes[lockTableIndex]) {
-                    final Map<Long, Lock> lockTable =
-                        lockTables[lockTableIndex];
+                    final LockTable lockTable = lockTables[lockTableIndex];
                     realtimeLock = lockTable.get(lsn);
                 }
 
@@ -0,0 +1,312 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.txn;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.sleepycat.je.dbi.MemoryBudget;
+
+/**
+ * A single lock table, mapping an LSN to its Lock.  The LockManager shards
+ * locks across nLockTables instances, and each instance is protected by the
+ * corresponding lock table mutex.  A LockTable is not thread safe, and all
+ * methods, including forEach, must be called with the mutex held.
+ *
+ * Two implementations are provided, see {@link #createLockTable}:
+ * <ul>
+ * <li>HashLockTable stores locks in a HashMap keyed by Long, which is the
+ * original implementation.</li>
+ * <li>LongLockTable stores locks in an open-addressing table keyed by a
+ * primitive long.  No Long or HashMap.Node objects are allocated, and a
+ * lookup touches two adjacent arrays rather than a chain of objects.</li>
+ * </ul>
+ */
+abstract class LockTable {
+
+    /**
+     * Called for each lock in the table by {@link #forEach}.
+     */
+    interface Visitor {
+        void visit(long lsn, Lock lock);
+    }
+
+    /**
+     * Creates a lock table.
+     *
+     * @param primitiveKeys is true to create an open-addressing table keyed
+     * by primitive long LSNs, or false to create a HashMap based table.
+     *
+     * @param memoryBudget is charged for the arrays of an open-addressing
+     * table.
+     *
+     * @param lockTableIndex is the index of the table, for debugging memory
+     * usage.
+     */
+    static LockTable createLockTable(final boolean primitiveKeys,
+                                     final MemoryBudget memoryBudget,
+                                     final int lockTableIndex) {
+        return primitiveKeys ?
+            new LongLockTable(memoryBudget, lockTableIndex) :
+            new HashLockTable();
+    }
+
+    /**
+     * Returns the memory overhead of each lock in the table, not including
+     * the Lock object.  The LockManager adds this to the memory budget when
+     * a lock is added, and subtracts it when a lock is removed.
+     */
+    abstract long getEntryOverhead();
+
+    /**
+     * Returns the lock for the given LSN, or null if none exists.
+     */
+    abstract Lock get(long lsn);
+
+    /**
+     * Adds or replaces the lock for the given LSN.
+     */
+    abstract void put(long lsn, Lock lock);
+
+    /**
+     * Removes the lock for the given LSN, if any.
+     */
+    abstract void remove(long lsn);
+
+    /**
+     * Returns the number of locks in the table.
+     */
+    abstract int size();
+
+    /**
+     * Calls the visitor for each lock in the table.
+     *
+     * @throws java.util.ConcurrentModificationException if the table is
+     * modified during the iteration and the implementation detects it.
+     */
+    abstract void forEach(Visitor visitor);
+
+    /**
+     * The original lock table, a HashMap keyed by Long.
+     */
+    private static class HashLockTable extends LockTable {
+
+        private final Map<Long, Lock> map = new HashMap<>();
+
+        @Override
+        long getEntryOverhead() {
+            return MemoryBudget.HASHMAP_ENTRY_OVERHEAD +
+                MemoryBudget.LONG_OVERHEAD;
+        }
+
+        @Override
+        Lock get(final long lsn) {
+            return map.get(lsn);
+        }
+
+        @Override
+        void put(final long lsn, final Lock lock) {
+            map.put(lsn, lock);
+        }
+
+        @Override
+        void remove(final long lsn) {
+            map.remove(lsn);
+        }
+
+        @Override
+        int size() {
+            return map.size();
+        }
+
+        @Override
+        void forEach(final Visitor visitor) {
+            for (final Map.Entry<Long, Lock> entry : map.entrySet()) {
+                visitor.visit(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * An open-addressing hash table with linear probing, keyed by primitive
+     * long LSNs.  A slot is empty when its lock is null, so any long value
+     * may be used as a key.  Removal uses backward-shift deletion, so no
+     * tombstones are needed and probe sequences stay short.
+     *
+     * The table is kept at most half full, and is shrunk when it becomes
+     * sparse so that a burst of locks does not pin a large table.
+     *
+     * A lock has no per-entry overhead other than its slots in the arrays.
+     * Instead, when the arrays are resized, the difference between the new
+     * and old array sizes is added to the memory budget. The small initial
+     * arrays are not budgeted, since the table is created before the
+     * evictor, which a budget update may alert.
+     */
+    private static class LongLockTable extends LockTable {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        /* Multiplier for Fibonacci hashing, 2^64 / golden ratio. */
+        private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+        private final MemoryBudget memoryBudget;
+        private final int lockTableIndex;
+        private long[] keys;
+        private Lock[] locks;
+        private int size;
+        private int shift;
+
+        LongLockTable(final MemoryBudget memoryBudget,
+                      final int lockTableIndex) {
+            this.memoryBudget = memoryBudget;
+            this.lockTableIndex = lockTableIndex;
+            allocate(INITIAL_CAPACITY);
+        }
+
+        @Override
+        long getEntryOverhead() {
+            return 0;
+        }
+
+        private void allocate(final int capacity) {
+            keys = new long[capacity];
+            locks = new Lock[capacity];
+            shift = Long.numberOfLeadingZeros(capacity - 1);
+        }
+
+        private static long arraysSize(final int capacity) {
+            return MemoryBudget.longArraySize(capacity) +
+                MemoryBudget.objectArraySize(capacity);
+        }
+
+        /**
+         * Returns the home slot for the given LSN.  The LSN is multiplied by
+         * a large odd constant so that the high bits, which are used as the
+         * index, depend on all bits of the file number and offset.
+         */
+        private int slot(final long lsn) {
+            return (int) ((lsn * HASH_MULTIPLIER) >>> shift);
+        }
+
+        @Override
+        Lock get(final long lsn) {
+            final long[] k = keys;
+            final Lock[] l = locks;
+            final int mask = k.length - 1;
+            for (int i = slot(lsn);; i = (i + 1) & mask) {
+                final Lock lock = l[i];
+                if (lock == null) {
+                    return null;
+                }
+                if (k[i] == lsn) {
+                    return lock;
+                }
+            }
+        }
+
+        @Override
+        void put(final long lsn, final Lock lock) {
+            assert lock != null;
+            final int mask = keys.length - 1;
+            int i = slot(lsn);
+            while (locks[i] != null) {
+                if (keys[i] == lsn) {
+                    locks[i] = lock;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = lsn;
+            locks[i] = lock;
+            size += 1;
+            if (size > (keys.length >>> 1)) {
+                resize(keys.length << 1);
+            }
+        }
+
+        @Override
+        void remove(final long lsn) {
+            final int mask = keys.length - 1;
+            int i = slot(lsn);
+            while (true) {
+                if (locks[i] == null) {
+                    return;
+                }
+                if (keys[i] == lsn) {
+                    break;
+                }
+                i = (i + 1) & mask;
+            }
+
+            /*
+             * Shift back following entries of the probe sequence that would
+             * otherwise become unreachable once slot i is emptied.
+             */
+            int hole = i;
+            for (int j = (hole + 1) & mask; locks[j] != null;
+                 j = (j + 1) & mask) {
+                final int home = slot(keys[j]);
+                if (((j - home) & mask) >= ((j - hole) & mask)) {
+                    keys[hole] = keys[j];
+                    locks[hole] = locks[j];
+                    hole = j;
+                }
+            }
+            locks[hole] = null;
+            size -= 1;
+
+            if (keys.length > INITIAL_CAPACITY &&
+                size < (keys.length >>> 3)) {
+                resize(keys.length >>> 1);
+            }
+        }
+
+        private void resize(final int newCapacity) {
+            final long[] oldKeys = keys;
+            final Lock[] oldLocks = locks;
+            allocate(newCapacity);
+            memoryBudget.updateLockMemoryUsage(
+                arraysSize(newCapacity) - arraysSize(oldKeys.length),
+                lockTableIndex);
+            final int mask = newCapacity - 1;
+            for (int i = 0; i < oldKeys.length; i += 1) {
+                final Lock lock = oldLocks[i];
+                if (lock == null) {
+                    continue;
+                }
+                int j = slot(oldKeys[i]);
+                while (locks[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                locks[j] = lock;
+            }
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        void forEach(final Visitor visitor) {
+            for (int i = 0; i < keys.length; i += 1) {
+                final Lock lock = locks[i];
+                if (lock != null) {
+                    visitor.visit(keys[i], lock);
+                }
+            }
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
@@ -870,6 +871,42 @@ public class Txn extends Locker implements VersionedWriteLoggable {
         throw queuedPostCommitException;
     }
 
+    /**
+     * Commits this transaction without waiting for the log write or fsync
+     * required by the local sync policy of the given durability. The commit
+     * entry is logged as for NO_SYNC durability, and locks are released,
+     * before this method returns. The log write and fsync are then performed
+     * by the async commit flusher, which completes the returned future.
+     *
+     * Releasing locks before the commit is durable is safe, because a later
+     * transaction that depends on this one logs its commit entry at a higher
+     * LSN, and the log is flushed in LSN order, so that transaction cannot be
+     * durable unless this one is also durable.
+     *
+     * Replica acknowledgments, if any, are still awaited by commit() in the
+     * calling thread.
+     *
+     * @return a future that completes when the commit is durable according to
+     * the local sync policy.
+     */
+    public CompletableFuture<Void> commitAsync(Durability durability)
+        throws DatabaseException {
+
+        final SyncPolicy localSync = durability.getLocalSync();
+
+        final long lsn = commit(new Durability(
+            SyncPolicy.NO_SYNC,
+            durability.getReplicaSync(),
+            durability.getReplicaAck()));
+
+        if (lsn == NULL_LSN || localSync == SyncPolicy.NO_SYNC) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return envImpl.getLogManager().flushAsync(
+            localSync == SyncPolicy.SYNC);
+    }
+
     /**
      * Releases all write locks, nulls the lock collection.
      */
@@ -337,6 +337,11 @@ import com.sleepycat.util.RuntimeExceptionWrapper;
  *      # Assume ordered insertions and no deletions, so BINs
  *      # are 100% full; default: unordered insertions and/or
  *      # deletions, BINs are 70% full
+ *  [-frozenbins]
+ *      # Assume the evictor strips the LNs of BINs, which
+ *      # trims the unused slots of BINs that are not full;
+ *      # default: BINs keep their unused slots, as when LNs
+ *      # are evicted by CacheMode.EVICT_LN
  *  [-duplicates]
  *      # Indicates that sorted duplicates are used, including
  *      # MANY_TO_ONE and MANY_TO_MANY secondary indices;
@@ -538,6 +543,7 @@ public class DbCacheSize {
     private int binMaxEntries = -1;
     private int keyPrefix = 0;
     private boolean orderedInsertion = false;
+    private boolean frozenBINs = false;
     private boolean duplicates = false;
     private boolean replicated = false;
     private boolean useTTL = false;
@@ -664,6 +670,11 @@ public class DbCacheSize {
                     usage("No value allowed after " + name);
                 }
                 orderedInsertion = true;
+            } else if (name.equals("-frozenbins")) {
+                if (val != null) {
+                    usage("No value allowed after " + name);
+                }
+                frozenBINs = true;
             } else if (name.equals("-duplicates")) {
                 if (val != null) {
                     usage("No value allowed after " + name);
@@ -867,6 +878,11 @@ public class DbCacheSize {
              "\n      # Assume ordered insertions and no deletions, so BINs" +
              "\n      # are 100% full; default: unordered insertions and/or" +
              "\n      # deletions, BINs are 70% full" +
+             "\n  [-frozenbins]" +
+             "\n      # Assume the evictor strips the LNs of BINs, which" +
+             "\n      # trims the unused slots of BINs that are not full;" +
+             "\n      # default: BINs keep their unused slots, as when LNs" +
+             "\n      # are evicted by CacheMode.EVICT_LN" +
              "\n  [-duplicates]" +
              "\n      # Indicates that sorted duplicates are used, including" +
              "\n      # MANY_TO_ONE and MANY_TO_MANY secondary indices;" +
@@ -1197,11 +1213,21 @@ public class DbCacheSize {
         /*
          * Evict all LNs so we can calculate BIN size without LNs.  This is
          * simulated by calling partialEviction directly.
+         *
+         * partialEviction also freezes the BIN, reducing its capacity to
+         * nodeAvg. Unless -frozenbins is specified, the BIN is thawed after
+         * each call, so that the estimate does not assume frozen BINs.
+         * Freezing only happens when the evictor strips a cold BIN, not when
+         * LNs are evicted by CacheMode.EVICT_LN, for example, so the smaller
+         * size can only be relied on when the evictor strips the LNs.
          */
         if (offHeapCache) {
             final long prevSize = getOffHeapCacheSize(envImpl);
 
             bin.partialEviction();
+            if (!frozenBINs) {
+                bin.thaw();
+            }
 
             binOffHeapLNs = 0;
             for (int i = 0; i < nodeAvg; i += 1) {
@@ -1214,6 +1240,9 @@ public class DbCacheSize {
 
         } else {
             bin.partialEviction();
+            if (!frozenBINs) {
+                bin.thaw();
+            }
 
             binOffHeapLNs = 0;
             binOffHeapLNIds = 0;
@@ -1235,6 +1264,9 @@ public class DbCacheSize {
             assert bin.getVLSNCache().getMemorySize() > 0;
 
             bin.partialEviction();
+            if (!frozenBINs) {
+                bin.thaw();
+            }
 
             if (dataSize <= bin.getEnv().getMaxEmbeddedLN()) {
                 assert bin.getVLSNCache().getMemorySize() > 0;
@@ -0,0 +1,167 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.utilint;
+
+import java.lang.reflect.Constructor;
+import java.util.zip.Checksum;
+
+import com.sleepycat.je.EnvironmentFailureException;
+
+/**
+ * CRC32C (Castagnoli) checksum implementation.
+ *
+ * When running on Java 9 or later, {@link #makeChecksum} returns an instance
+ * of java.util.zip.CRC32C, which the JIT compiles to the SSE4.2 crc32
+ * instruction on x86 (and the equivalent CRC instructions on ARMv8).  The
+ * class is located using reflection because JE is compiled for Java 8.
+ *
+ * On Java 8 an instance of this class is returned instead.  It is a pure
+ * Java, table-driven "slicing-by-8" implementation that processes eight
+ * bytes per iteration.  It produces identical values, so that log entries
+ * written with CRC32C checksums can always be read, but it is slower than
+ * Adler32 and therefore CRC32C checksums should only be configured for
+ * writing when running on Java 9 or later.
+ */
+public class CRC32C implements Checksum {
+
+    /* Reflected CRC32C polynomial. */
+    private static final int POLY = 0x82F63B78;
+
+    private static final int[][] TABLES = makeTables();
+
+    private static final Constructor<? extends Checksum> JAVA_CRC32C =
+        findJavaCRC32C();
+
+    private int crc = 0xFFFFFFFF;
+
+    /**
+     * Returns a new CRC32C checksum, using java.util.zip.CRC32C if available.
+     */
+    public static Checksum makeChecksum() {
+        if (JAVA_CRC32C == null) {
+            return new CRC32C();
+        }
+        try {
+            return JAVA_CRC32C.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw EnvironmentFailureException.unexpectedException(e);
+        }
+    }
+
+    /**
+     * Returns whether java.util.zip.CRC32C is used by {@link #makeChecksum}.
+     */
+    public static boolean isIntrinsic() {
+        return JAVA_CRC32C != null;
+    }
+
+    private static Constructor<? extends Checksum> findJavaCRC32C() {
+        try {
+            return Class.forName("java.util.zip.CRC32C").
+                asSubclass(Checksum.class).getConstructor();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static int[][] makeTables() {
+        final int[][] tables = new int[8][256];
+        for (int i = 0; i < 256; i += 1) {
+            int c = i;
+            for (int k = 0; k < 8; k += 1) {
+                c = ((c & 1) != 0) ? ((c >>> 1) ^ POLY) : (c >>> 1);
+            }
+            tables[0][i] = c;
+        }
+        for (int i = 0; i < 256; i += 1) {
+            int c = tables[0][i];
+            for (int t = 1; t < 8; t += 1) {
+                c = (c >>> 8) ^ tables[0][c & 0xff];
+                tables[t][i] = c;
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Update current checksum with specified byte.
+     */
+    @Override
+    public void update(int b) {
+        crc = (crc >>> 8) ^ TABLES[0][(crc ^ b) & 0xff];
+    }
+
+    /**
+     * Update current checksum with specified bytes.
+     */
+    @Override
+    public void update(byte[] b, int off, int len) {
+        final int[] t0 = TABLES[0];
+        final int[] t1 = TABLES[1];
+        final int[] t2 = TABLES[2];
+        final int[] t3 = TABLES[3];
+        final int[] t4 = TABLES[4];
+        final int[] t5 = TABLES[5];
+        final int[] t6 = TABLES[6];
+        final int[] t7 = TABLES[7];
+        int c = crc;
+
+        while (len >= 8) {
+            final int lo = c ^
+                ((b[off] & 0xff) |
+                 ((b[off + 1] & 0xff) << 8) |
+                 ((b[off + 2] & 0xff) << 16) |
+                 ((b[off + 3] & 0xff) << 24));
+            final int hi =
+                (b[off + 4] & 0xff) |
+                ((b[off + 5] & 0xff) << 8) |
+                ((b[off + 6] & 0xff) << 16) |
+                ((b[off + 7] & 0xff) << 24);
+            c = t7[lo & 0xff] ^
+                t6[(lo >>> 8) & 0xff] ^
+                t5[(lo >>> 16) & 0xff] ^
+                t4[lo >>> 24] ^
+                t3[hi & 0xff] ^
+                t2[(hi >>> 8) & 0xff] ^
+                t1[(hi >>> 16) & 0xff] ^
+                t0[hi >>> 24];
+            off += 8;
+            len -= 8;
+        }
+
+        while (len > 0) {
+            c = (c >>> 8) ^ t0[(c ^ b[off]) & 0xff];
+            off += 1;
+            len -= 1;
+        }
+
+        crc = c;
+    }
+
+    /**
+     * Reset CRC32C checksum to initial value.
+     */
+    @Override
+    public void reset() {
+        crc = 0xFFFFFFFF;
+    }
+
+    /**
+     * Returns current checksum value.
+     */
+    @Override
+    public long getValue() {
+        return (~crc) & 0xFFFFFFFFL;
+    }
+}
@@ -268,6 +268,7 @@ public class LogVerifier {
 
             /* Do not validate the bytes of the checksum itself. */
             if (header.hasChecksum()) {
+                validator.reset(header);
                 validator.update(headerBuf.array(),
                     LogEntryHeader.CHECKSUM_BYTES,
                     maxSize - LogEntryHeader.CHECKSUM_BYTES);
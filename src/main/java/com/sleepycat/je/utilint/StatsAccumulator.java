@@ -21,6 +21,8 @@ import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_INS_BYLEVEL;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_INS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_LNS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_MAINTREE_MAXDEPTH;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_UPPER_IN_KEY_BYTES;
+import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_UPPER_IN_SLOTS;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_GROUP_DESC;
 import static com.sleepycat.je.dbi.BTreeStatDefinition.BT_COUNT_GROUP_NAME;
 
@@ -44,6 +46,8 @@ public class StatsAccumulator implements TreeWalkerStatsAccumulator {
     private long lnCount = 0;
     private long deletedLNCount = 0;
     private int mainTreeMaxDepth = 0;
+    private long upperINKeyBytes = 0;
+    private long upperINSlots = 0;
 
     public PrintStream progressStream;
     int progressInterval;
@@ -71,6 +75,8 @@ public class StatsAccumulator implements TreeWalkerStatsAccumulator {
         if (inNodeIdsSeen.add(nid)) {
             tallyLevel(level, insSeenByLevel);
             verifyNode(node);
+            upperINKeyBytes += node.getKeyBytes();
+            upperINSlots += node.getNEntries();
         }
     }
 
@@ -159,6 +165,14 @@ public class StatsAccumulator implements TreeWalkerStatsAccumulator {
         return mainTreeMaxDepth;
     }
 
+    long getUpperINKeyBytes() {
+        return upperINKeyBytes;
+    }
+
+    long getUpperINSlots() {
+        return upperINSlots;
+    }
+
     public StatGroup getStats() {
         StatGroup group = new StatGroup(
             BT_COUNT_GROUP_NAME, BT_COUNT_GROUP_DESC);
@@ -167,6 +181,8 @@ public class StatsAccumulator implements TreeWalkerStatsAccumulator {
         new LongStat(group, BT_COUNT_LNS, getLNCount());
         new LongStat(group, BT_COUNT_DELETED_LNS, getDeletedLNCount());
         new IntStat(group, BT_COUNT_MAINTREE_MAXDEPTH, getMainTreeMaxDepth());
+        new LongStat(group, BT_COUNT_UPPER_IN_KEY_BYTES, getUpperINKeyBytes());
+        new LongStat(group, BT_COUNT_UPPER_IN_SLOTS, getUpperINSlots());
         new LongArrayStat(group, BT_COUNT_INS_BYLEVEL, getINsByLevel());
         new LongArrayStat(group, BT_COUNT_BINS_BYLEVEL, getBINsByLevel());
         new LongArrayStat(group, BT_COUNT_BIN_ENTRIES_HISTOGRAM,
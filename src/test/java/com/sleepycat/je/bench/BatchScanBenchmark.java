@@ -0,0 +1,220 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.bench;
+
+import java.io.File;
+
+import com.sleepycat.je.Cursor;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.Get;
+import com.sleepycat.je.Transaction;
+
+/**
+ * Measures the throughput of a full cursor scan performed with {@link
+ * Cursor#getBatch} and with one {@link Cursor#get} call per record.
+ *
+ * The records fit in cache, so the scan measures the per-record overhead of
+ * the cursor: latching, locking, and cursor cloning. The scan is repeated
+ * for the given number of seconds for each method, after an untimed warm-up
+ * of the same length. With -txn true, each scan is performed in a
+ * transaction, so all read locks are held until it commits. Each scan is
+ * checked to return all records in order.
+ *
+ * The environment is created in a directory under the -h directory, which
+ * must exist. The records per second are printed for each method.
+ *
+ * Usage:
+ *   java com.sleepycat.je.bench.BatchScanBenchmark -h dir
+ *     [-records 1000000] [-dataSize 100] [-batchSize 100] [-seconds 10]
+ *     [-txn false] [-cacheMB 512]
+ */
+public class BatchScanBenchmark extends Benchmark {
+
+    private int nRecords = 1000000;
+    private int dataSize = 100;
+    private int batchSize = 100;
+    private int seconds = 10;
+    private boolean txn = false;
+    private int cacheMB = 512;
+
+    private Environment env;
+    private Database db;
+
+    public static void main(final String[] args)
+        throws Exception {
+
+        final BatchScanBenchmark bench = new BatchScanBenchmark();
+        bench.parseArgs(args);
+        bench.open();
+
+        try {
+            bench.run(false);
+            bench.run(true);
+        } finally {
+            bench.close();
+        }
+    }
+
+    @Override
+    boolean parseArg(final String name, final String val) {
+        if (name.equals("-records")) {
+            nRecords = Integer.parseInt(val);
+        } else if (name.equals("-dataSize")) {
+            dataSize = Integer.parseInt(val);
+        } else if (name.equals("-batchSize")) {
+            batchSize = Integer.parseInt(val);
+        } else if (name.equals("-seconds")) {
+            seconds = Integer.parseInt(val);
+        } else if (name.equals("-txn")) {
+            txn = Boolean.parseBoolean(val);
+        } else if (name.equals("-cacheMB")) {
+            cacheMB = Integer.parseInt(val);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    String getUsageArgs() {
+        return "[-records N] [-dataSize N] [-batchSize N] [-seconds N]" +
+            " [-txn true|false] [-cacheMB N]";
+    }
+
+    private void open() {
+
+        final File envDir = makeEnvDir("txn-" + txn);
+
+        final EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setTransactional(txn);
+        envConfig.setCacheSize(((long) cacheMB) << 20);
+
+        env = new Environment(envDir, envConfig);
+
+        final DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setTransactional(txn);
+        db = openDatabase(env, dbConfig);
+
+        insertRecords(env, db, nRecords, dataSize, i -> makeKey((int) i));
+    }
+
+    private void close() {
+        db.close();
+        env.close();
+    }
+
+    private void run(final boolean useBatch)
+        throws Exception {
+
+        final Result result =
+            measure(null, seconds, nanos -> doScans(useBatch, nanos));
+
+        System.out.println(
+            "method=" + (useBatch ? "getBatch" : "get") +
+            " batchSize=" + (useBatch ? batchSize : 1) +
+            " txn=" + txn +
+            " records=" + nRecords +
+            " recordsPerSec=" + result.perSecond());
+    }
+
+    /**
+     * Scans all records repeatedly for at least the given time, and returns
+     * the number of records read.
+     */
+    private long doScans(final boolean useBatch, final long nanos) {
+
+        final long end = System.nanoTime() + nanos;
+        long n = 0;
+
+        while (System.nanoTime() < end) {
+            final Transaction t =
+                txn ? env.beginTransaction(null, null) : null;
+            try (Cursor cursor = db.openCursor(t, null)) {
+                final int count = useBatch ?
+                    scanBatch(cursor) : scanSingle(cursor);
+                if (count != nRecords) {
+                    throw new IllegalStateException(
+                        "Expected " + nRecords + " records, got " + count);
+                }
+                n += count;
+            }
+            if (t != null) {
+                t.commit();
+            }
+        }
+
+        return n;
+    }
+
+    private int scanSingle(final Cursor cursor) {
+
+        final DatabaseEntry key = new DatabaseEntry();
+        final DatabaseEntry data = new DatabaseEntry();
+        int count = 0;
+
+        while (cursor.get(key, data, Get.NEXT, null) != null) {
+            checkKey(key, count);
+            count += 1;
+        }
+
+        return count;
+    }
+
+    private int scanBatch(final Cursor cursor) {
+
+        final DatabaseEntry[] keys = new DatabaseEntry[batchSize];
+        final DatabaseEntry[] datas = new DatabaseEntry[batchSize];
+        for (int i = 0; i < batchSize; i += 1) {
+            keys[i] = new DatabaseEntry();
+            datas[i] = new DatabaseEntry();
+        }
+        int count = 0;
+
+        while (true) {
+            final int n = cursor.getBatch(keys, datas, Get.NEXT, null);
+            if (n == 0) {
+                break;
+            }
+            for (int i = 0; i < n; i += 1) {
+                checkKey(keys[i], count);
+                count += 1;
+            }
+        }
+
+        return count;
+    }
+
+    private static void checkKey(final DatabaseEntry key, final int i) {
+        final byte[] bytes = key.getData();
+        if (bytes.length != 8 ||
+            bytes[4] != (byte) (i >>> 24) ||
+            bytes[5] != (byte) (i >>> 16) ||
+            bytes[6] != (byte) (i >>> 8) ||
+            bytes[7] != (byte) i) {
+            throw new IllegalStateException("Unexpected key at " + i);
+        }
+    }
+
+    private static byte[] makeKey(final int val) {
+        return new byte[] {
+            0, 0, 0, 0,
+            (byte) (val >>> 24), (byte) (val >>> 16),
+            (byte) (val >>> 8), (byte) val};
+    }
+}
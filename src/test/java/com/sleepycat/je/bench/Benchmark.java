@@ -0,0 +1,285 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.bench;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.Put;
+import com.sleepycat.je.StatsConfig;
+
+/**
+ * The base class of the benchmarks in this package, which are standalone
+ * programs run with java, not unit tests. It parses the "-name value"
+ * arguments common to all benchmarks, creates an environment directory for
+ * each configuration, and runs the warm-up and timed phases of a
+ * measurement.
+ *
+ * A subclass parses its own arguments in {@link #parseArg}, and describes
+ * them for the usage message in {@link #getUsageArgs}. Unless {@link
+ * #usesHomeDir} is overridden to return false, -h is required and names an
+ * existing directory, under which {@link #makeEnvDir} creates the directory
+ * of each configuration. A results line of name=value pairs is printed for
+ * each configuration.
+ */
+abstract class Benchmark {
+
+    static final long NANOS_PER_SECOND = 1000000000L;
+
+    /* The directory given by -h. */
+    File homeDir;
+
+    /**
+     * Parses one argument and its value, and returns false if the name is
+     * not known.
+     */
+    abstract boolean parseArg(String name, String val);
+
+    /**
+     * Returns the arguments shown in the usage message, not including -h.
+     */
+    abstract String getUsageArgs();
+
+    /**
+     * Returns whether -h is required. Benchmarks that do not open an
+     * environment return false.
+     */
+    boolean usesHomeDir() {
+        return true;
+    }
+
+    /**
+     * Parses the arguments, and exits with a usage message if they are
+     * incorrect.
+     */
+    final void parseArgs(final String[] args) {
+
+        for (int i = 0; i < args.length; i += 1) {
+            final String name = args[i];
+            if (i + 1 >= args.length) {
+                usage("Missing value for " + name);
+            }
+            final String val = args[++i];
+            if (name.equals("-h") && usesHomeDir()) {
+                homeDir = new File(val);
+            } else if (!parseArg(name, val)) {
+                usage("Unknown arg: " + name);
+            }
+        }
+
+        if (usesHomeDir() && homeDir == null) {
+            usage("-h is required");
+        }
+    }
+
+    final void usage(final String msg) {
+        System.err.println(msg);
+        System.err.println(
+            "usage: java " + getClass().getName() +
+            (usesHomeDir() ? " -h dir " : " ") + getUsageArgs());
+        System.exit(2);
+    }
+
+    /**
+     * Returns the directory with the given name under the -h directory,
+     * creating it, or deleting the files from a previous run.
+     */
+    final File makeEnvDir(final String name) {
+
+        final File envDir = new File(homeDir, name);
+        envDir.mkdirs();
+        final File[] oldFiles = envDir.listFiles();
+        if (oldFiles != null) {
+            for (final File f : oldFiles) {
+                f.delete();
+            }
+        }
+        return envDir;
+    }
+
+    /**
+     * A configuration that is run with a boolean setting off and on.
+     */
+    interface BooleanRun {
+        void run(boolean value) throws Exception;
+    }
+
+    /**
+     * Runs with the setting false and then true, or only with one of them if
+     * the option is "false" or "true". Options of the form "both|true|false"
+     * are parsed as strings and passed to this method.
+     */
+    static void runBoth(final String option, final BooleanRun run)
+        throws Exception {
+
+        if (!"true".equals(option)) {
+            run.run(false);
+        }
+        if (!"false".equals(option)) {
+            run.run(true);
+        }
+    }
+
+    /**
+     * Opens the database named "bench", creating it if necessary.
+     */
+    static Database openDatabase(final Environment env,
+                                 final DatabaseConfig dbConfig) {
+        dbConfig.setAllowCreate(true);
+        return env.openDatabase(null, "bench", dbConfig);
+    }
+
+    /**
+     * Inserts records 0 to nRecords - 1 with the keys returned by makeKey
+     * and data of the given size, and syncs the environment.
+     */
+    static void insertRecords(final Environment env,
+                              final Database db,
+                              final int nRecords,
+                              final int dataSize,
+                              final LongFunction<byte[]> makeKey) {
+
+        final DatabaseEntry key = new DatabaseEntry();
+        final DatabaseEntry data = new DatabaseEntry(new byte[dataSize]);
+
+        for (int i = 0; i < nRecords; i += 1) {
+            key.setData(makeKey.apply(i));
+            db.put(null, key, data, Put.OVERWRITE, null);
+        }
+        env.sync();
+    }
+
+    /**
+     * Performs the operations being measured for at least the given time,
+     * and returns the number performed.
+     */
+    interface TimedRun {
+        long run(long nanos) throws Exception;
+    }
+
+    /**
+     * The number of operations performed by a timed run, and its elapsed
+     * time.
+     */
+    static class Result {
+
+        final long n;
+        final long elapsedNanos;
+
+        Result(final long n, final long elapsedNanos) {
+            this.n = n;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        long perSecond() {
+            return (n * NANOS_PER_SECOND) / elapsedNanos;
+        }
+
+        String nanosPerOp() {
+            return String.format("%.1f", ((double) elapsedNanos) / n);
+        }
+    }
+
+    /**
+     * Does an untimed warm-up run, clears the stats of the environment if it
+     * is non-null, and does a timed run. Both runs last the given number of
+     * seconds.
+     */
+    static Result measure(final Environment env,
+                          final int seconds,
+                          final TimedRun run)
+        throws Exception {
+
+        final long nanos = seconds * NANOS_PER_SECOND;
+
+        run.run(nanos);
+
+        if (env != null) {
+            env.getStats(new StatsConfig().setClear(true));
+        }
+
+        final long start = System.nanoTime();
+        final long n = run.run(nanos);
+        return new Result(n, System.nanoTime() - start);
+    }
+
+    /**
+     * The work of one thread started by {@link #runThreads}.
+     */
+    interface ThreadRun {
+
+        /**
+         * Performs a batch of operations, and returns the number performed.
+         */
+        int runBatch(Random rnd);
+    }
+
+    /**
+     * Runs the given number of threads for at least the given time, each
+     * calling runBatch with its own Random until the time has elapsed, and
+     * returns the total number of operations. The threads start together.
+     */
+    static long runThreads(final int nThreads,
+                           final long nanos,
+                           final ThreadRun threadRun)
+        throws InterruptedException {
+
+        final AtomicLong total = new AtomicLong();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final long[] endTime = new long[1];
+        final Thread[] threads = new Thread[nThreads];
+
+        for (int t = 0; t < nThreads; t += 1) {
+            final int seed = t;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    final Random rnd = new Random(seed);
+                    long n = 0;
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    final long end = endTime[0];
+                    do {
+                        n += threadRun.runBatch(rnd);
+                    } while (System.nanoTime() < end);
+                    total.addAndGet(n);
+                }
+            };
+            threads[t].start();
+        }
+
+        endTime[0] = System.nanoTime() + nanos;
+        startLatch.countDown();
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        return total.get();
+    }
+
+    static double ratio(final long n, final long total) {
+        return (total == 0) ? 0 : ((double) n) / total;
+    }
+}
@@ -0,0 +1,154 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.bench;
+
+import java.util.Random;
+import java.util.zip.Checksum;
+
+import com.sleepycat.je.utilint.Adler32;
+import com.sleepycat.je.utilint.CRC32C;
+
+/**
+ * Measures the throughput of the log entry checksum algorithms for a range
+ * of entry sizes, as computed by LogEntryHeader when writing and by
+ * ChecksumValidator when reading.
+ *
+ * The algorithms are:
+ *   adler32     - Adler32.makeChecksum, the default log checksum
+ *   crc32c      - CRC32C.makeChecksum, used when je.log.checksumCRC32C is
+ *                 set; java.util.zip.CRC32C on Java 9 and later
+ *   crc32c-java - the pure Java CRC32C used on Java 8
+ *
+ * For each size, a checksum object is created per entry, as it is for log
+ * entries, and each algorithm is run for the given number of seconds after
+ * an untimed warm-up of the same length.
+ *
+ * Usage:
+ *   java com.sleepycat.je.bench.ChecksumBenchmark
+ *     [-sizes 32,128,512,2048,8192,65536] [-seconds 2]
+ */
+public class ChecksumBenchmark extends Benchmark {
+
+    private static final String[] ALGORITHMS =
+        {"adler32", "crc32c", "crc32c-java"};
+
+    private int[] sizes = {32, 128, 512, 2048, 8192, 65536};
+    private int seconds = 2;
+
+    /* Prevents the JIT from eliminating the checksum computation. */
+    private long sink;
+
+    public static void main(final String[] args)
+        throws Exception {
+
+        final ChecksumBenchmark bench = new ChecksumBenchmark();
+        bench.parseArgs(args);
+
+        System.out.println(
+            "crc32c intrinsic=" + CRC32C.isIntrinsic() +
+            " java.version=" + System.getProperty("java.version"));
+
+        for (final int size : bench.sizes) {
+            for (final String algorithm : ALGORITHMS) {
+                bench.run(algorithm, size);
+            }
+        }
+    }
+
+    @Override
+    boolean parseArg(final String name, final String val) {
+        if (name.equals("-sizes")) {
+            final String[] vals = val.split(",");
+            sizes = new int[vals.length];
+            for (int j = 0; j < vals.length; j += 1) {
+                sizes[j] = Integer.parseInt(vals[j].trim());
+            }
+        } else if (name.equals("-seconds")) {
+            seconds = Integer.parseInt(val);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    String getUsageArgs() {
+        return "[-sizes N,N,...] [-seconds N]";
+    }
+
+    @Override
+    boolean usesHomeDir() {
+        return false;
+    }
+
+    private void run(final String algorithm, final int size)
+        throws Exception {
+
+        /* Use several buffers so that the data is not always in L1. */
+        final Random rnd = new Random(size);
+        final byte[][] bufs = new byte[16][size];
+        for (final byte[] buf : bufs) {
+            rnd.nextBytes(buf);
+        }
+
+        final Result result = measure(
+            null, seconds, nanos -> doChecksums(algorithm, bufs, nanos));
+
+        final double mbPerSec =
+            ((double) result.perSecond()) * size / (1 << 20);
+
+        System.out.println(
+            "algorithm=" + algorithm +
+            " size=" + size +
+            " entriesPerSec=" + result.perSecond() +
+            " MBPerSec=" + String.format("%.1f", mbPerSec));
+    }
+
+    /**
+     * Checksums the buffers round-robin for at least the given time, and
+     * returns the number of checksums computed.
+     */
+    private long doChecksums(final String algorithm,
+                             final byte[][] bufs,
+                             final long nanos) {
+
+        final long end = System.nanoTime() + nanos;
+        long n = 0;
+
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < 1000; i += 1) {
+                final byte[] buf = bufs[(int) (n & (bufs.length - 1))];
+                final Checksum checksum = makeChecksum(algorithm);
+                checksum.update(buf, 0, buf.length);
+                sink += checksum.getValue();
+                n += 1;
+            }
+        }
+
+        return n;
+    }
+
+    private static Checksum makeChecksum(final String algorithm) {
+        switch (algorithm) {
+        case "adler32":
+            return Adler32.makeChecksum();
+        case "crc32c":
+            return CRC32C.makeChecksum();
+        case "crc32c-java":
+            return new CRC32C();
+        default:
+            throw new IllegalArgumentException(algorithm);
+        }
+    }
+}
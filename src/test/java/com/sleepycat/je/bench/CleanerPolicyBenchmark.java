@@ -0,0 +1,254 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.bench;
+
+import java.io.File;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.sleepycat.je.CheckpointConfig;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.EnvironmentStats;
+import com.sleepycat.je.Put;
+import com.sleepycat.je.StatsConfig;
+import com.sleepycat.je.WriteOptions;
+import com.sleepycat.je.dbi.TTL;
+import com.sleepycat.je.utilint.TestHookAdapter;
+
+/**
+ * Simulates a write and expiration workload with each {@link
+ * EnvironmentConfig#CLEANER_FILE_SELECTION_POLICY}, and compares the write
+ * amplification caused by cleaning.
+ *
+ * The workload updates -records records. A hot set of -hotPercent of the
+ * records receives -hotWritePercent of the writes, and the rest go to all
+ * records uniformly. A write is given a TTL with probability -ttlPercent,
+ * chosen uniformly from 1 to -maxTTLHours hours. The TTL clock is simulated
+ * and advances by one hour every -writesPerHour writes, so data expires
+ * during the run without waiting.
+ *
+ * Log files are small, and the cleaner and checkpointer threads are
+ * disabled. Every -cleanInterval writes, the log is cleaned until no more
+ * files are selected, and a checkpoint is performed so that cleaned files
+ * are deleted. This makes the runs of the two policies comparable. The
+ * first quarter of the writes is a warm-up, after which the stats are
+ * cleared.
+ *
+ * Each policy is run in its own environment directory under the -h
+ * directory, which must exist. The write amplification, the bytes of LNs
+ * migrated, the number of files cleaned and the final log size are printed
+ * for each policy.
+ *
+ * Usage:
+ *   java com.sleepycat.je.bench.CleanerPolicyBenchmark -h dir
+ *     [-records 100000] [-writes 2000000] [-dataSize 100]
+ *     [-hotPercent 10] [-hotWritePercent 90] [-ttlPercent 50]
+ *     [-maxTTLHours 48] [-writesPerHour 10000] [-cleanInterval 20000]
+ *     [-fileMB 1] [-minUtilization 50]
+ *     [-policies UTILIZATION,COST_BENEFIT]
+ */
+public class CleanerPolicyBenchmark extends Benchmark {
+
+    private int nRecords = 100000;
+    private int nWrites = 2000000;
+    private int dataSize = 100;
+    private int hotPercent = 10;
+    private int hotWritePercent = 90;
+    private int ttlPercent = 50;
+    private int maxTTLHours = 48;
+    private int writesPerHour = 10000;
+    private int cleanInterval = 20000;
+    private int fileMB = 1;
+    private int minUtilization = 50;
+    private String[] policies = {"UTILIZATION", "COST_BENEFIT"};
+
+    /* The simulated TTL clock time. */
+    private volatile long currentTime;
+
+    public static void main(final String[] args)
+        throws Exception {
+
+        final CleanerPolicyBenchmark bench = new CleanerPolicyBenchmark();
+        bench.parseArgs(args);
+
+        TTL.setTimeTestHook(new TestHookAdapter<Long>() {
+            @Override
+            public Long getHookValue() {
+                return bench.currentTime;
+            }
+        });
+
+        try {
+            for (final String policy : bench.policies) {
+                bench.run(policy);
+            }
+        } finally {
+            TTL.setTimeTestHook(null);
+        }
+    }
+
+    @Override
+    boolean parseArg(final String name, final String val) {
+        if (name.equals("-records")) {
+            nRecords = Integer.parseInt(val);
+        } else if (name.equals("-writes")) {
+            nWrites = Integer.parseInt(val);
+        } else if (name.equals("-dataSize")) {
+            dataSize = Integer.parseInt(val);
+        } else if (name.equals("-hotPercent")) {
+            hotPercent = Integer.parseInt(val);
+        } else if (name.equals("-hotWritePercent")) {
+            hotWritePercent = Integer.parseInt(val);
+        } else if (name.equals("-ttlPercent")) {
+            ttlPercent = Integer.parseInt(val);
+        } else if (name.equals("-maxTTLHours")) {
+            maxTTLHours = Integer.parseInt(val);
+        } else if (name.equals("-writesPerHour")) {
+            writesPerHour = Integer.parseInt(val);
+        } else if (name.equals("-cleanInterval")) {
+            cleanInterval = Integer.parseInt(val);
+        } else if (name.equals("-fileMB")) {
+            fileMB = Integer.parseInt(val);
+        } else if (name.equals("-minUtilization")) {
+            minUtilization = Integer.parseInt(val);
+        } else if (name.equals("-policies")) {
+            policies = val.split(",");
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    String getUsageArgs() {
+        return "[-records N] [-writes N] [-dataSize N]" +
+            " [-hotPercent N] [-hotWritePercent N] [-ttlPercent N]" +
+            " [-maxTTLHours N] [-writesPerHour N] [-cleanInterval N]" +
+            " [-fileMB N] [-minUtilization N] [-policies P,P,...]";
+    }
+
+    private void run(final String policy)
+        throws Exception {
+
+        final File envDir = makeEnvDir("policy-" + policy);
+
+        /* Start each run at the same simulated time, on an hour boundary. */
+        currentTime = TTL.MILLIS_PER_DAY * 365 * 40;
+
+        final EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setConfigParam(
+            EnvironmentConfig.LOG_FILE_MAX,
+            String.valueOf(((long) fileMB) << 20));
+        envConfig.setConfigParam(
+            EnvironmentConfig.ENV_RUN_CLEANER, "false");
+        envConfig.setConfigParam(
+            EnvironmentConfig.ENV_RUN_CHECKPOINTER, "false");
+        envConfig.setConfigParam(
+            EnvironmentConfig.CLEANER_MIN_UTILIZATION,
+            String.valueOf(minUtilization));
+        envConfig.setConfigParam(
+            EnvironmentConfig.CLEANER_FILE_SELECTION_POLICY, policy);
+
+        final Environment env = new Environment(envDir, envConfig);
+
+        final Database db = openDatabase(env, new DatabaseConfig());
+
+        final Random rnd = new Random(123);
+        final int nHot =
+            Math.max(1, (int) ((long) nRecords * hotPercent / 100));
+        final int nWarmup = nWrites / 4;
+        final long start = System.nanoTime();
+        long nFilesCleaned = 0;
+
+        for (int i = 0; i < nWrites; i += 1) {
+
+            if (i == nWarmup) {
+                env.getStats(new StatsConfig().setClear(true));
+                nFilesCleaned = 0;
+            }
+
+            if (i > 0 && i % writesPerHour == 0) {
+                currentTime += TTL.MILLIS_PER_HOUR;
+            }
+
+            if (i > 0 && i % cleanInterval == 0) {
+                nFilesCleaned += clean(env);
+            }
+
+            /* Hot records are spread over the key range. */
+            final int k = (rnd.nextInt(100) < hotWritePercent) ?
+                (int) ((long) rnd.nextInt(nHot) * nRecords / nHot) :
+                rnd.nextInt(nRecords);
+
+            final WriteOptions options = new WriteOptions();
+            if (rnd.nextInt(100) < ttlPercent) {
+                options.setTTL(1 + rnd.nextInt(maxTTLHours), TimeUnit.HOURS);
+            }
+
+            final byte[] data = new byte[dataSize];
+            rnd.nextBytes(data);
+
+            db.put(
+                null, new DatabaseEntry(makeKey(k)), new DatabaseEntry(data),
+                Put.OVERWRITE, options);
+        }
+
+        nFilesCleaned += clean(env);
+
+        final long elapsed = System.nanoTime() - start;
+        final EnvironmentStats stats = env.getStats(null);
+
+        System.out.println(
+            "policy=" + policy +
+            " writes=" + (nWrites - nWarmup) +
+            " writeAmplification=" +
+            String.format("%.3f", stats.getCleanerWriteAmplification()) +
+            " nLNBytesMigrated=" + stats.getNLNBytesMigrated() +
+            " nLNsMigrated=" + stats.getNLNsMigrated() +
+            " nFilesCleaned=" + nFilesCleaned +
+            " writeBytes=" +
+            (stats.getNSequentialWriteBytes() +
+             stats.getNRandomWriteBytes()) +
+            " logBytes=" + stats.getTotalLogSize() +
+            " seconds=" + (elapsed / NANOS_PER_SECOND));
+
+        db.close();
+        env.close();
+    }
+
+    /**
+     * Cleans until no more files are selected, and checkpoints so that the
+     * cleaned files are deleted. Returns the number of files cleaned.
+     */
+    private static int clean(final Environment env) {
+
+        int total = 0;
+        int n;
+        while ((n = env.cleanLog()) > 0) {
+            total += n;
+        }
+
+        env.checkpoint(new CheckpointConfig().setForce(true));
+        return total;
+    }
+
+    private static byte[] makeKey(final int val) {
+        return String.format("key-%010d", val).getBytes();
+    }
+}
@@ -0,0 +1,314 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.bench;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.sleepycat.je.Cursor;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.EnvironmentStats;
+import com.sleepycat.je.Get;
+import com.sleepycat.je.StatsConfig;
+
+/**
+ * Replays an access trace against a Btree whose BINs do not fit in cache,
+ * once with each value of the internal je.evictor.policy param, and compares
+ * the cache misses of the two policies.
+ *
+ * A trace is a sequence of operations on record numbers, one per line:
+ *   get N      - a point read of record N
+ *   scan N L   - a cursor scan of L records starting at record N
+ * Record numbers outside the range of -records are wrapped. Lines that are
+ * empty or start with '#' are ignored. A trace recorded from an application,
+ * e.g. by logging the record number of each read, may be given with -trace.
+ *
+ * Otherwise a synthetic trace is generated: point reads of a hot set of
+ * -hotPercent of the records, chosen in runs of consecutive records so that
+ * they fill a subset of the BINs, with -hotReadPercent of the reads going to
+ * the hot set and the rest uniformly to all records, interrupted after every
+ * -scanInterval reads by a scan of -scanLength records at a random position.
+ * This is the access pattern that TINY_LFU is meant to handle better than
+ * LRU, since a scan touches each of its BINs once and should not displace
+ * the hot BINs.
+ *
+ * Each policy is run in its own environment directory under the -h
+ * directory, which must exist. The first quarter of the trace is replayed as
+ * a warm-up before the stats are cleared. The BIN, upper IN and LN fetch
+ * misses and miss ratios are printed for each policy, along with the total
+ * fetch misses and the throughput. Since the evictor strips the LNs of a BIN
+ * before evicting the BIN, a policy may trade BIN misses for LN misses, so
+ * both should be compared.
+ *
+ * Usage:
+ *   java com.sleepycat.je.bench.EvictionPolicyBenchmark -h dir
+ *     [-trace file] [-records 1000000] [-ops 1000000] [-hotPercent 10]
+ *     [-hotReadPercent 90] [-scanInterval 10000] [-scanLength 50000]
+ *     [-cacheMB 16] [-dataSize 100] [-policies LRU,TINY_LFU]
+ */
+public class EvictionPolicyBenchmark extends Benchmark {
+
+    /* The number of consecutive records in each run of hot records. */
+    private static final int HOT_RUN_LENGTH = 128;
+
+    private File traceFile;
+    private int nRecords = 1000000;
+    private int nOps = 1000000;
+    private int hotPercent = 10;
+    private int hotReadPercent = 90;
+    private int scanInterval = 10000;
+    private int scanLength = 50000;
+    private int cacheMB = 16;
+    private int dataSize = 100;
+    private String[] policies = {"LRU", "TINY_LFU"};
+
+    /*
+     * The trace, as parallel arrays of the first record number and the
+     * number of records of each operation. A length of zero is a point read.
+     */
+    private int[] traceKeys;
+    private int[] traceLengths;
+
+    public static void main(final String[] args)
+        throws Exception {
+
+        final EvictionPolicyBenchmark bench = new EvictionPolicyBenchmark();
+        bench.parseArgs(args);
+
+        if (bench.traceFile != null) {
+            bench.readTrace();
+        } else {
+            bench.generateTrace();
+        }
+
+        for (final String policy : bench.policies) {
+            bench.run(policy);
+        }
+    }
+
+    @Override
+    boolean parseArg(final String name, final String val) {
+        if (name.equals("-trace")) {
+            traceFile = new File(val);
+        } else if (name.equals("-records")) {
+            nRecords = Integer.parseInt(val);
+        } else if (name.equals("-ops")) {
+            nOps = Integer.parseInt(val);
+        } else if (name.equals("-hotPercent")) {
+            hotPercent = Integer.parseInt(val);
+        } else if (name.equals("-hotReadPercent")) {
+            hotReadPercent = Integer.parseInt(val);
+        } else if (name.equals("-scanInterval")) {
+            scanInterval = Integer.parseInt(val);
+        } else if (name.equals("-scanLength")) {
+            scanLength = Integer.parseInt(val);
+        } else if (name.equals("-cacheMB")) {
+            cacheMB = Integer.parseInt(val);
+        } else if (name.equals("-dataSize")) {
+            dataSize = Integer.parseInt(val);
+        } else if (name.equals("-policies")) {
+            policies = val.split(",");
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    String getUsageArgs() {
+        return "[-trace file] [-records N] [-ops N] [-hotPercent N]" +
+            " [-hotReadPercent N] [-scanInterval N] [-scanLength N]" +
+            " [-cacheMB N] [-dataSize N] [-policies P,P,...]";
+    }
+
+    private void generateTrace() {
+
+        final Random rnd = new Random(123);
+        final int nHot =
+            Math.max(1, (int) ((long) nRecords * hotPercent / 100));
+
+        /*
+         * Choose the hot records in runs of HOT_RUN_LENGTH, at random
+         * positions in the key range, so that the hot records fill a subset
+         * of the BINs rather than a few slots in every BIN.
+         */
+        final int[] hotKeys = new int[nHot];
+        for (int i = 0; i < nHot; i += 1) {
+            if (i % HOT_RUN_LENGTH == 0) {
+                hotKeys[i] = rnd.nextInt(nRecords);
+            } else {
+                hotKeys[i] = (hotKeys[i - 1] + 1) % nRecords;
+            }
+        }
+
+        traceKeys = new int[nOps];
+        traceLengths = new int[nOps];
+
+        for (int i = 0; i < nOps; i += 1) {
+            if (scanInterval > 0 && i > 0 && i % scanInterval == 0) {
+                traceKeys[i] = rnd.nextInt(nRecords);
+                traceLengths[i] = scanLength;
+            } else if (rnd.nextInt(100) < hotReadPercent) {
+                traceKeys[i] = hotKeys[rnd.nextInt(nHot)];
+            } else {
+                traceKeys[i] = rnd.nextInt(nRecords);
+            }
+        }
+    }
+
+    private void readTrace()
+        throws IOException {
+
+        final List<int[]> ops = new ArrayList<>();
+
+        try (BufferedReader reader =
+             new BufferedReader(new FileReader(traceFile))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                final String[] fields = line.split("\\s+");
+                final int key =
+                    (int) (Long.parseLong(fields[1]) % nRecords);
+                if (fields[0].equals("get") && fields.length == 2) {
+                    ops.add(new int[] {key, 0});
+                } else if (fields[0].equals("scan") && fields.length == 3) {
+                    ops.add(new int[] {key, Integer.parseInt(fields[2])});
+                } else {
+                    throw new IllegalArgumentException(
+                        "Bad trace line: " + line);
+                }
+            }
+        }
+
+        traceKeys = new int[ops.size()];
+        traceLengths = new int[ops.size()];
+        for (int i = 0; i < traceKeys.length; i += 1) {
+            traceKeys[i] = ops.get(i)[0];
+            traceLengths[i] = ops.get(i)[1];
+        }
+    }
+
+    private void run(final String policy)
+        throws Exception {
+
+        final File envDir = makeEnvDir("policy-" + policy);
+
+        final EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setCacheSize(((long) cacheMB) << 20);
+        envConfig.setConfigParam("je.evictor.policy", policy);
+
+        final Environment env = new Environment(envDir, envConfig);
+
+        final Database db = openDatabase(env, new DatabaseConfig());
+
+        insertRecords(
+            env, db, nRecords, dataSize, EvictionPolicyBenchmark::makeKey);
+
+        /* Warm up: evict the BINs loaded by the inserts. */
+        replay(db, 0, traceKeys.length / 4);
+
+        env.getStats(new StatsConfig().setClear(true));
+
+        final long start = System.nanoTime();
+        final long nRead =
+            replay(db, traceKeys.length / 4, traceKeys.length);
+        final long elapsed = System.nanoTime() - start;
+
+        final EnvironmentStats stats = env.getStats(null);
+
+        System.out.println(
+            "policy=" + policy +
+            " ops=" + (traceKeys.length - traceKeys.length / 4) +
+            " recordsRead=" + nRead +
+            " recordsPerSec=" + new Result(nRead, elapsed).perSecond() +
+            " nBINsFetch=" + stats.getNBINsFetch() +
+            " nBINsFetchMiss=" + stats.getNBINsFetchMiss() +
+            " binMissRatio=" +
+            String.format("%.4f", ratio(stats.getNBINsFetchMiss(),
+                                        stats.getNBINsFetch())) +
+            " nUpperINsFetchMiss=" + stats.getNUpperINsFetchMiss() +
+            " upperINMissRatio=" +
+            String.format("%.4f", ratio(stats.getNUpperINsFetchMiss(),
+                                        stats.getNUpperINsFetch())) +
+            " nLNsFetchMiss=" + stats.getNLNsFetchMiss() +
+            " lnMissRatio=" +
+            String.format("%.4f", ratio(stats.getNLNsFetchMiss(),
+                                        stats.getNLNsFetch())) +
+            " totalFetchMiss=" +
+            (stats.getNBINsFetchMiss() + stats.getNUpperINsFetchMiss() +
+             stats.getNLNsFetchMiss()) +
+            " cacheBytes=" + stats.getCacheTotalBytes());
+
+        db.close();
+        env.close();
+    }
+
+    /**
+     * Replays the trace operations from index start to end, and returns the
+     * number of records read.
+     */
+    private long replay(final Database db, final int start, final int end) {
+
+        final DatabaseEntry key = new DatabaseEntry();
+        final DatabaseEntry data = new DatabaseEntry();
+        long nRead = 0;
+
+        for (int i = start; i < end; i += 1) {
+
+            key.setData(makeKey(traceKeys[i]));
+
+            if (traceLengths[i] == 0) {
+                if (db.get(null, key, data, Get.SEARCH, null) == null) {
+                    throw new IllegalStateException(
+                        "Record not found: " + traceKeys[i]);
+                }
+                nRead += 1;
+                continue;
+            }
+
+            try (Cursor cursor = db.openCursor(null, null)) {
+                if (cursor.get(key, data, Get.SEARCH_GTE, null) == null) {
+                    continue;
+                }
+                nRead += 1;
+                for (int j = 1; j < traceLengths[i]; j += 1) {
+                    if (cursor.get(key, data, Get.NEXT, null) == null) {
+                        break;
+                    }
+                    nRead += 1;
+                }
+            }
+        }
+
+        return nRead;
+    }
+
+    private static byte[] makeKey(final long val) {
+        return String.format("key-%012d", val).getBytes();
+    }
+}
@@ -0,0 +1,285 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.bench;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import com.sleepycat.bind.tuple.LongBinding;
+import com.sleepycat.je.CacheMode;
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.DbInternal;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.Put;
+import com.sleepycat.je.tree.BIN;
+import com.sleepycat.je.tree.Tree;
+
+/**
+ * Measures IN.findEntry, the binary search of a node's slots, for BINs
+ * built from several key distributions.
+ *
+ * The key distributions are:
+ *   sequential - 8 byte big-endian integers
+ *   long       - sequential LongBinding keys, starting at a large value
+ *   nearseq    - LongBinding keys with random gaps of 1 to 16
+ *   random     - 16 random bytes, with no common prefix
+ *   uuid       - 36 character random UUID strings
+ *   tenant     - "tenant-NNNN/user-NNNNNNNNNNNN" strings, with a long prefix
+ *                shared by the keys of a BIN
+ *   url        - URL strings with a common 39 byte prefix followed by a
+ *                category and item number
+ *
+ * For each distribution, the records are inserted in random order, so the
+ * BINs are filled and prefixed as by a typical application. Then all BINs
+ * are searched repeatedly: each BIN is latched, and each of its keys is
+ * looked up by an exact findEntry, whose result is checked. Searching the
+ * BINs in place measures findEntry with the actual key prefixes and slot
+ * representations, without the rest of the Btree search.
+ *
+ * Each distribution is run with and without interpolation search, which is
+ * enabled internally with DatabaseImpl.setInterpolationSearch, unless
+ * -interpolation true or false is specified. To compare other
+ * implementations of findEntry, run the benchmark with the classes built
+ * from each. Each configuration is run in its own environment directory
+ * under the -h directory, which must exist. The nanoseconds per
+ * findEntry, the average number of slots per BIN, and the average key and
+ * key prefix lengths are printed for each distribution.
+ *
+ * Usage:
+ *   java com.sleepycat.je.bench.FindEntryBenchmark -h dir
+ *     [-records 200000] [-seconds 5] [-prefixing true]
+ *     [-interpolation both|true|false]
+ *     [-dists sequential,long,nearseq,random,uuid,tenant,url]
+ */
+public class FindEntryBenchmark extends Benchmark {
+
+    private int nRecords = 200000;
+    private int seconds = 5;
+    private boolean prefixing = true;
+    private String interpolation = "both";
+    private String[] dists = {
+        "sequential", "long", "nearseq", "random", "uuid", "tenant", "url"};
+
+    /* Prevents the JIT from eliminating the searches. */
+    private long sink;
+
+    public static void main(final String[] args)
+        throws Exception {
+
+        final FindEntryBenchmark bench = new FindEntryBenchmark();
+        bench.parseArgs(args);
+
+        for (final String dist : bench.dists) {
+            runBoth(bench.interpolation, value -> bench.run(dist, value));
+        }
+    }
+
+    @Override
+    boolean parseArg(final String name, final String val) {
+        if (name.equals("-records")) {
+            nRecords = Integer.parseInt(val);
+        } else if (name.equals("-seconds")) {
+            seconds = Integer.parseInt(val);
+        } else if (name.equals("-prefixing")) {
+            prefixing = Boolean.parseBoolean(val);
+        } else if (name.equals("-interpolation")) {
+            interpolation = val;
+        } else if (name.equals("-dists")) {
+            dists = val.split(",");
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    String getUsageArgs() {
+        return "[-records N] [-seconds N] [-prefixing true|false]" +
+            " [-interpolation both|true|false] [-dists D,D,...]";
+    }
+
+    private void run(final String dist, final boolean useInterpolation)
+        throws Exception {
+
+        final File envDir = makeEnvDir(
+            "dist-" + dist + "-interpolation-" + useInterpolation);
+
+        final EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setCacheSize(256L << 20);
+
+        final Environment env = new Environment(envDir, envConfig);
+
+        final DatabaseConfig dbConfig = new DatabaseConfig();
+        dbConfig.setKeyPrefixing(prefixing);
+        final Database db = openDatabase(env, dbConfig);
+        DbInternal.getDbImpl(db).setInterpolationSearch(useInterpolation);
+
+        final List<byte[]> keys = makeKeys(dist);
+        Collections.shuffle(keys, new Random(123));
+
+        final DatabaseEntry data = new DatabaseEntry(new byte[100]);
+        for (final byte[] key : keys) {
+            db.put(null, new DatabaseEntry(key), data, Put.OVERWRITE, null);
+        }
+
+        /* Collect the BINs and their keys. */
+        final List<BIN> bins = new ArrayList<>();
+        final List<byte[][]> binKeys = new ArrayList<>();
+        long nSlots = 0;
+        long keyBytes = 0;
+        long prefixBytes = 0;
+
+        final Tree tree = DbInternal.getDbImpl(db).getTree();
+        BIN bin = tree.getFirstNode(CacheMode.UNCHANGED);
+
+        while (bin != null) {
+            final byte[][] slotKeys = new byte[bin.getNEntries()][];
+            for (int i = 0; i < slotKeys.length; i += 1) {
+                slotKeys[i] = bin.getKey(i);
+                keyBytes += slotKeys[i].length;
+            }
+            final byte[] prefix = bin.getKeyPrefix();
+            if (prefix != null) {
+                prefixBytes += prefix.length;
+            }
+            bins.add(bin);
+            binKeys.add(slotKeys);
+            nSlots += slotKeys.length;
+
+            /*
+             * getNextBin releases the latch of the last BIN when it returns
+             * null, although it is documented not to.
+             */
+            final BIN next = tree.getNextBin(bin, CacheMode.UNCHANGED);
+            if (next == null && bin.isLatchOwner()) {
+                bin.releaseLatch();
+            }
+            bin = next;
+        }
+
+        final Result result = measure(
+            null, seconds, nanos -> doSearches(bins, binKeys, nanos));
+
+        System.out.println(
+            "dist=" + dist +
+            " prefixing=" + prefixing +
+            " interpolation=" + useInterpolation +
+            " bins=" + bins.size() +
+            " avgSlots=" + (nSlots / bins.size()) +
+            " avgKeyLen=" + (keyBytes / nSlots) +
+            " avgPrefixLen=" + (prefixBytes / bins.size()) +
+            " nsPerFindEntry=" + result.nanosPerOp());
+
+        db.close();
+        env.close();
+    }
+
+    /**
+     * Searches each BIN for each of its keys, repeatedly for at least the
+     * given time, and returns the number of searches.
+     */
+    private long doSearches(final List<BIN> bins,
+                            final List<byte[][]> binKeys,
+                            final long nanos) {
+
+        final long end = System.nanoTime() + nanos;
+        long n = 0;
+
+        while (System.nanoTime() < end) {
+            for (int b = 0; b < bins.size(); b += 1) {
+                final BIN bin = bins.get(b);
+                final byte[][] slotKeys = binKeys.get(b);
+
+                bin.latch(CacheMode.UNCHANGED);
+                try {
+                    for (int i = 0; i < slotKeys.length; i += 1) {
+                        final int index = bin.findEntry(
+                            slotKeys[i], false /*indicateIfDuplicate*/,
+                            true /*exact*/);
+                        if (index != i) {
+                            throw new IllegalStateException(
+                                "Expected slot " + i + ", found " + index);
+                        }
+                        sink += index;
+                    }
+                } finally {
+                    bin.releaseLatch();
+                }
+                n += slotKeys.length;
+            }
+        }
+
+        return n;
+    }
+
+    private List<byte[]> makeKeys(final String dist) {
+
+        final Random rnd = new Random(456);
+        final List<byte[]> keys = new ArrayList<>(nRecords);
+        final DatabaseEntry entry = new DatabaseEntry();
+        long longVal = 1L << 40;
+
+        for (int i = 0; i < nRecords; i += 1) {
+            final byte[] key;
+            switch (dist) {
+            case "sequential":
+                key = new byte[8];
+                for (int j = 0; j < 8; j += 1) {
+                    key[j] = (byte) (((long) i) >>> (56 - 8 * j));
+                }
+                break;
+            case "long":
+                LongBinding.longToEntry(longVal + i, entry);
+                key = entry.getData();
+                break;
+            case "nearseq":
+                longVal += 1 + rnd.nextInt(16);
+                LongBinding.longToEntry(longVal, entry);
+                key = entry.getData();
+                break;
+            case "random":
+                key = new byte[16];
+                rnd.nextBytes(key);
+                break;
+            case "uuid":
+                key = new UUID(rnd.nextLong(), rnd.nextLong()).toString().
+                    getBytes();
+                break;
+            case "tenant":
+                key = String.format(
+                    "tenant-%04d/user-%012d",
+                    i % 16, rnd.nextInt(Integer.MAX_VALUE)).getBytes();
+                break;
+            case "url":
+                key = String.format(
+                    "https://www.example.com/store/category-%03d/item-%08d",
+                    rnd.nextInt(100), i).getBytes();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown dist: " + dist);
+            }
+            keys.add(key);
+        }
+
+        return keys;
+    }
+}
@@ -0,0 +1,174 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.bench;
+
+import java.io.File;
+import java.util.Random;
+
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.EnvironmentStats;
+import com.sleepycat.je.Get;
+import com.sleepycat.je.StatsConfig;
+
+/**
+ * Measures point reads against a Btree whose BINs do not fit in cache, with
+ * a given percentage of reads for absent keys, with and without {@link
+ * EnvironmentConfig#TREE_BIN_KEY_FILTERS}.
+ *
+ * Even keys are inserted and odd keys are absent, so a read of a random key
+ * misses with the requested probability. Each configuration is run in its
+ * own environment directory under the -h directory, which must exist. The
+ * BIN fetch misses, filtered fetches and false positive rate are printed for
+ * each configuration, along with the read throughput. Read results are
+ * checked, and any incorrect result is reported.
+ *
+ * Usage:
+ *   java com.sleepycat.je.bench.KeyFilterBenchmark -h dir
+ *     [-records 1000000] [-reads 1000000] [-missPercent 50]
+ *     [-cacheMB 16] [-dataSize 100] [-filters both|true|false]
+ */
+public class KeyFilterBenchmark extends Benchmark {
+
+    private int nRecords = 1000000;
+    private int nReads = 1000000;
+    private int missPercent = 50;
+    private int cacheMB = 16;
+    private int dataSize = 100;
+    private String filters = "both";
+
+    public static void main(final String[] args)
+        throws Exception {
+
+        final KeyFilterBenchmark bench = new KeyFilterBenchmark();
+        bench.parseArgs(args);
+        runBoth(bench.filters, bench::run);
+    }
+
+    @Override
+    boolean parseArg(final String name, final String val) {
+        if (name.equals("-records")) {
+            nRecords = Integer.parseInt(val);
+        } else if (name.equals("-reads")) {
+            nReads = Integer.parseInt(val);
+        } else if (name.equals("-missPercent")) {
+            missPercent = Integer.parseInt(val);
+        } else if (name.equals("-cacheMB")) {
+            cacheMB = Integer.parseInt(val);
+        } else if (name.equals("-dataSize")) {
+            dataSize = Integer.parseInt(val);
+        } else if (name.equals("-filters")) {
+            filters = val;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    String getUsageArgs() {
+        return "[-records N] [-reads N] [-missPercent N] [-cacheMB N]" +
+            " [-dataSize N] [-filters both|true|false]";
+    }
+
+    private void run(final boolean useFilters)
+        throws Exception {
+
+        final File envDir = makeEnvDir("filters-" + useFilters);
+
+        final EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setCacheSize(((long) cacheMB) << 20);
+        envConfig.setConfigParam(
+            EnvironmentConfig.TREE_BIN_KEY_FILTERS,
+            String.valueOf(useFilters));
+
+        final Environment env = new Environment(envDir, envConfig);
+
+        final Database db = openDatabase(env, new DatabaseConfig());
+
+        insertRecords(env, db, nRecords, dataSize, i -> makeKey(2 * i));
+
+        /* Warm up: evict the BINs loaded by the inserts. */
+        final Random rnd = new Random(123);
+        doReads(db, rnd, nReads / 4);
+
+        env.getStats(new StatsConfig().setClear(true));
+
+        final long start = System.nanoTime();
+        final int[] results = doReads(db, rnd, nReads);
+        final long elapsed = System.nanoTime() - start;
+
+        final EnvironmentStats stats = env.getStats(null);
+
+        System.out.println(
+            "filters=" + useFilters +
+            " reads=" + nReads +
+            " missPercent=" + missPercent +
+            " readsPerSec=" + new Result(nReads, elapsed).perSecond() +
+            " found=" + results[0] +
+            " incorrect=" + results[1] +
+            " nBINsFetchMiss=" + stats.getNBINsFetchMiss() +
+            " nBINsFetchFiltered=" + stats.getNBINsFetchFiltered() +
+            " nBINFilterFalsePositives=" +
+            stats.getNBINFilterFalsePositives() +
+            " falsePositiveRate=" +
+            String.format("%.4f", stats.getBINFilterFalsePositiveRate()) +
+            " cacheBytes=" + stats.getCacheTotalBytes());
+
+        db.close();
+        env.close();
+    }
+
+    /**
+     * Reads random keys, absent with probability missPercent, and returns
+     * the number found and the number of incorrect results.
+     */
+    private int[] doReads(final Database db,
+                          final Random rnd,
+                          final int n) {
+
+        final DatabaseEntry key = new DatabaseEntry();
+        final DatabaseEntry data = new DatabaseEntry();
+        int found = 0;
+        int incorrect = 0;
+
+        for (int i = 0; i < n; i += 1) {
+
+            final boolean absent = rnd.nextInt(100) < missPercent;
+            final long k = (2L * rnd.nextInt(nRecords)) + (absent ? 1 : 0);
+
+            key.setData(makeKey(k));
+
+            final boolean isFound =
+                db.get(null, key, data, Get.SEARCH, null) != null;
+
+            if (isFound) {
+                found += 1;
+            }
+            if (isFound == absent) {
+                incorrect += 1;
+            }
+        }
+
+        return new int[] {found, incorrect};
+    }
+
+    private static byte[] makeKey(final long val) {
+        return String.format("key-%012d", val).getBytes();
+    }
+}
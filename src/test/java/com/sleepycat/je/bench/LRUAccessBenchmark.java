@@ -0,0 +1,148 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.bench;
+
+import java.io.File;
+
+import com.sleepycat.je.Database;
+import com.sleepycat.je.DatabaseConfig;
+import com.sleepycat.je.DatabaseEntry;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.EnvironmentStats;
+import com.sleepycat.je.Get;
+
+/**
+ * Measures the throughput of concurrent point reads, with and without
+ * {@link EnvironmentConfig#EVICTOR_BUFFER_LRU_ACCESSES}.
+ *
+ * Each read moves the BIN it accesses to the back of its LRU list. Without
+ * buffering, every read synchronizes on an LRU list, which limits the
+ * scaling of reads with many threads. With buffering, reads record their
+ * accesses in a striped buffer that is drained by a dedicated thread.
+ *
+ * By default the records fit in cache, so the LRU synchronization is not
+ * hidden by I/O. A smaller -cacheMB may be used to include eviction. Each
+ * configuration is run in its own environment directory under the -h
+ * directory, which must exist. The read throughput, buffer contention and
+ * dropped accesses, BIN fetch misses, and the number of times an evictor
+ * pool thread was unavailable are printed for each configuration.
+ *
+ * Usage:
+ *   java com.sleepycat.je.bench.LRUAccessBenchmark -h dir
+ *     [-threads 64] [-records 1000000] [-seconds 10] [-cacheMB 512]
+ *     [-dataSize 100] [-nLRULists 4] [-buffer both|true|false]
+ */
+public class LRUAccessBenchmark extends Benchmark {
+
+    private int nThreads = 64;
+    private int nRecords = 1000000;
+    private int seconds = 10;
+    private int cacheMB = 512;
+    private int dataSize = 100;
+    private int nLRULists = 4;
+    private String buffer = "both";
+
+    public static void main(final String[] args)
+        throws Exception {
+
+        final LRUAccessBenchmark bench = new LRUAccessBenchmark();
+        bench.parseArgs(args);
+        runBoth(bench.buffer, bench::run);
+    }
+
+    @Override
+    boolean parseArg(final String name, final String val) {
+        if (name.equals("-threads")) {
+            nThreads = Integer.parseInt(val);
+        } else if (name.equals("-records")) {
+            nRecords = Integer.parseInt(val);
+        } else if (name.equals("-seconds")) {
+            seconds = Integer.parseInt(val);
+        } else if (name.equals("-cacheMB")) {
+            cacheMB = Integer.parseInt(val);
+        } else if (name.equals("-dataSize")) {
+            dataSize = Integer.parseInt(val);
+        } else if (name.equals("-nLRULists")) {
+            nLRULists = Integer.parseInt(val);
+        } else if (name.equals("-buffer")) {
+            buffer = val;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    String getUsageArgs() {
+        return "[-threads N] [-records N] [-seconds N] [-cacheMB N]" +
+            " [-dataSize N] [-nLRULists N] [-buffer both|true|false]";
+    }
+
+    private void run(final boolean useBuffer)
+        throws Exception {
+
+        final File envDir = makeEnvDir("buffer-" + useBuffer);
+
+        final EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setCacheSize(((long) cacheMB) << 20);
+        envConfig.setConfigParam(
+            EnvironmentConfig.EVICTOR_N_LRU_LISTS,
+            String.valueOf(nLRULists));
+        envConfig.setConfigParam(
+            EnvironmentConfig.EVICTOR_BUFFER_LRU_ACCESSES,
+            String.valueOf(useBuffer));
+
+        final Environment env = new Environment(envDir, envConfig);
+        final Database db = openDatabase(env, new DatabaseConfig());
+
+        insertRecords(
+            env, db, nRecords, dataSize, LRUAccessBenchmark::makeKey);
+
+        /* The warm-up also loads the cache. */
+        final Result result = measure(
+            env, seconds, nanos -> runThreads(nThreads, nanos, rnd -> {
+                final DatabaseEntry key = new DatabaseEntry();
+                final DatabaseEntry data = new DatabaseEntry();
+                for (int i = 0; i < 100; i += 1) {
+                    key.setData(makeKey(rnd.nextInt(nRecords)));
+                    if (db.get(null, key, data, Get.SEARCH, null) == null) {
+                        throw new IllegalStateException("Record not found");
+                    }
+                }
+                return 100;
+            }));
+
+        final EnvironmentStats stats = env.getStats(null);
+
+        System.out.println(
+            "buffer=" + useBuffer +
+            " threads=" + nThreads +
+            " nLRULists=" + nLRULists +
+            " readsPerSec=" + result.perSecond() +
+            " nLRUBufferContention=" + stats.getNLRUBufferContention() +
+            " nLRUBufferDrops=" + stats.getNLRUBufferDrops() +
+            " nBINsFetchMiss=" + stats.getNBINsFetchMiss() +
+            " nThreadUnavailable=" + stats.getNThreadUnavailable() +
+            " cacheBytes=" + stats.getCacheTotalBytes());
+
+        db.close();
+        env.close();
+    }
+
+    private static byte[] makeKey(final long val) {
+        return String.format("key-%012d", val).getBytes();
+    }
+}
@@ -0,0 +1,134 @@
+/*-
+ * Copyright (C) 2002, 2018, Oracle and/or its affiliates. All rights reserved.
+ *
+ * This file was distributed by Oracle as part of a version of Oracle Berkeley
+ * DB Java Edition made available at:
+ *
+ * http://www.oracle.com/technetwork/database/database-technologies/berkeleydb/downloads/index.html
+ *
+ * Please see the LICENSE file included in the top-level directory of the
+ * appropriate version of Oracle Berkeley DB Java Edition for a copy of the
+ * license and additional information.
+ */
+
+package com.sleepycat.je.bench;
+
+import java.io.File;
+
+import com.sleepycat.je.DbInternal;
+import com.sleepycat.je.Environment;
+import com.sleepycat.je.EnvironmentConfig;
+import com.sleepycat.je.dbi.EnvironmentImpl;
+import com.sleepycat.je.txn.BasicLocker;
+import com.sleepycat.je.txn.LockType;
+
+/**
+ * Measures the throughput of the SyncedLockManager, the lock manager used
+ * by all environments, with the HashMap lock tables and with the
+ * open-addressing lock tables of {@link
+ * EnvironmentConfig#LOCK_PRIMITIVE_TABLES}.
+ *
+ * Each thread repeatedly creates a BasicLocker, acquires read locks on
+ * -locksPerOp random LSNs out of -lsns, and releases them by ending the
+ * operation, which is what a non-transactional read of several records
+ * does. Read locks do not conflict, but threads share the locks of common
+ * LSNs, so both the single-owner and multi-owner paths are used. The lock
+ * manager is called directly so that the Btree is not part of the
+ * measurement.
+ *
+ * Each configuration is run in its own environment directory under the -h
+ * directory, which must exist. The lock and release throughput is printed
+ * for each configuration.
+ *
+ * Usage:
+ *   java com.sleepycat.je.bench.LockTableBenchmark -h dir
+ *     [-threads 8] [-lsns 1000000] [-locksPerOp 10] [-seconds 10]
+ *     [-nLockTables 1] [-primitive both|true|false]
+ */
+public class LockTableBenchmark extends Benchmark {
+
+    private int nThreads = 8;
+    private int nLsns = 1000000;
+    private int locksPerOp = 10;
+    private int seconds = 10;
+    private int nLockTables = 1;
+    private String primitive = "both";
+
+    public static void main(final String[] args)
+        throws Exception {
+
+        final LockTableBenchmark bench = new LockTableBenchmark();
+        bench.parseArgs(args);
+        runBoth(bench.primitive, bench::run);
+    }
+
+    @Override
+    boolean parseArg(final String name, final String val) {
+        if (name.equals("-threads")) {
+            nThreads = Integer.parseInt(val);
+        } else if (name.equals("-lsns")) {
+            nLsns = Integer.parseInt(val);
+        } else if (name.equals("-locksPerOp")) {
+            locksPerOp = Integer.parseInt(val);
+        } else if (name.equals("-seconds")) {
+            seconds = Integer.parseInt(val);
+        } else if (name.equals("-nLockTables")) {
+            nLockTables = Integer.parseInt(val);
+        } else if (name.equals("-primitive")) {
+            primitive = val;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    String getUsageArgs() {
+        return "[-threads N] [-lsns N] [-locksPerOp N] [-seconds N]" +
+            " [-nLockTables N] [-primitive both|true|false]";
+    }
+
+    private void run(final boolean usePrimitive)
+        throws Exception {
+
+        final File envDir = makeEnvDir("primitive-" + usePrimitive);
+
+        final EnvironmentConfig envConfig = new EnvironmentConfig();
+        envConfig.setAllowCreate(true);
+        envConfig.setConfigParam(
+            EnvironmentConfig.LOCK_N_LOCK_TABLES,
+            String.valueOf(nLockTables));
+        envConfig.setConfigParam(
+            EnvironmentConfig.LOCK_PRIMITIVE_TABLES,
+            String.valueOf(usePrimitive));
+
+        final Environment env = new Environment(envDir, envConfig);
+        final EnvironmentImpl envImpl = DbInternal.getNonNullEnvImpl(env);
+
+        final Result result = measure(
+            null, seconds, nanos -> runThreads(nThreads, nanos, rnd -> {
+                for (int i = 0; i < 100; i += 1) {
+                    final BasicLocker locker =
+                        BasicLocker.createBasicLocker(envImpl);
+                    for (int j = 0; j < locksPerOp; j += 1) {
+                        locker.lock(
+                            rnd.nextInt(nLsns), LockType.READ,
+                            false /*noWait*/, null /*database*/);
+                    }
+                    locker.operationEnd(true);
+                }
+                return 100;
+            }));
+
+        System.out.println(
+            "primitive=" + usePrimitive +
+            " threads=" + nThreads +
+            " nLockTables=" + nLockTables +
+            " lsns=" + nLsns +
+            " locksPerOp=" + locksPerOp +
+            " opsPerSec=" + result.perSecond() +
+            " locksPerSec=" + (result.perSecond() * locksPerOp));
+
+        env.close();
+    }
+}